@@ -0,0 +1,77 @@
+package com.wastewise.pickup.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that follows the observed latency (additive increase, multiplicative
+ * decrease). Every completed request is a sample: one slower than the target latency cuts the
+ * limit by the backoff ratio, and a fast one raises it by one while at least half of the limit
+ * is in use, so the limit only grows under real demand. Requests over the limit are refused
+ * at once rather than queued.
+ *
+ * The limit settles where the database and pools still answer within the target, instead of
+ * at a fixed number that is too low on a quiet day and too high during a burst.
+ */
+class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1 (exclusive)");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Take a slot if fewer than the limit are in use.
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give back a slot and adjust the limit to the request's latency.
+     */
+    void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        adjust(latencyNanos, inFlightBefore);
+    }
+
+    private synchronized void adjust(long latencyNanos, int inFlightBefore) {
+        if (latencyNanos > targetLatencyNanos) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (inFlightBefore * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,210 @@
+package com.wastewise.pickup.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wastewise.pickup.exception.AdmissionRejectedException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Decides, before a pickup request reaches its controller, whether the service takes it on
+ * now or sheds it with a fast 429 or 503 and a {@code Retry-After}, so that a burst is turned
+ * away instead of queueing for server threads and database connections.
+ *
+ * Writes (POST, PATCH, DELETE) are limited per client by a token bucket of
+ * {@code pickup.admission.rate.limit-for-period} requests per
+ * {@code pickup.admission.rate.refresh-period}; a client is its authenticated principal or
+ * else its remote address, never something the caller declares. Single creates and deletes in
+ * flight are bounded by an {@link AdaptiveConcurrencyLimit} between
+ * {@code pickup.admission.write.min-limit} and {@code pickup.admission.write.max-limit} that
+ * shrinks once they take longer than {@code pickup.admission.write.target-latency}. Bulk
+ * creates, assignments and bulk status changes take much longer per request and have a fixed
+ * {@code pickup.admission.batch.max-concurrent} instead, as do status transitions and other
+ * updates with {@code pickup.admission.status.max-concurrent}; neither feeds the adaptive
+ * limit. Reads have their own fixed {@code pickup.admission.read.max-concurrent}, so shed
+ * writes never take their capacity and a read flood does not starve writes. Keep the three
+ * write maximums together below the connection pool size.
+ *
+ * Long-lived streams (stream, occurrences, archive, export, events) are not admitted here:
+ * they would hold a slot for their whole duration.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "pickup.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionGate {
+
+    static final String REJECTIONS_METRIC = "pickup.admission.rejections";
+
+    private static final String BASE_PATH = "/wastewise/scheduler/pickups";
+    private static final Set<String> STREAMS = Set.of("stream", "occurrences", "archive", "export", "events");
+    private static final Set<String> BATCHES = Set.of("POST /bulk", "POST /assignments", "PATCH /status");
+
+    private final RateLimiterConfig rateConfig;
+    private final Cache<String, RateLimiter> clientLimiters;
+    private final AdaptiveConcurrencyLimit writeLimit;
+    private final Bulkhead batches;
+    private final Bulkhead updates;
+    private final Bulkhead reads;
+    private final Duration overloadRetryAfter;
+
+    private final Counter rateLimited;
+    private final Counter writesShed;
+    private final Counter batchesShed;
+    private final Counter updatesShed;
+    private final Counter readsShed;
+
+    public AdmissionGate(MeterRegistry meterRegistry,
+                         @Value("${pickup.admission.rate.limit-for-period:20}") int limitForPeriod,
+                         @Value("${pickup.admission.rate.refresh-period:1s}") Duration refreshPeriod,
+                         @Value("${pickup.admission.rate.max-clients:10000}") long maxClients,
+                         @Value("${pickup.admission.write.initial-limit:4}") int writeInitialLimit,
+                         @Value("${pickup.admission.write.min-limit:1}") int writeMinLimit,
+                         @Value("${pickup.admission.write.max-limit:5}") int writeMaxLimit,
+                         @Value("${pickup.admission.write.target-latency:500ms}") Duration writeTargetLatency,
+                         @Value("${pickup.admission.write.backoff-ratio:0.9}") double writeBackoffRatio,
+                         @Value("${pickup.admission.batch.max-concurrent:2}") int batchMaxConcurrent,
+                         @Value("${pickup.admission.status.max-concurrent:2}") int statusMaxConcurrent,
+                         @Value("${pickup.admission.read.max-concurrent:100}") int readMaxConcurrent,
+                         @Value("${pickup.admission.overload-retry-after:1s}") Duration overloadRetryAfter) {
+        this.rateConfig = RateLimiterConfig.custom()
+                .limitForPeriod(limitForPeriod)
+                .limitRefreshPeriod(refreshPeriod)
+                .timeoutDuration(Duration.ZERO)
+                .build();
+        // Idle clients are forgotten; they start again with a full bucket
+        this.clientLimiters = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(refreshPeriod.multipliedBy(10))
+                .build();
+        this.writeLimit = new AdaptiveConcurrencyLimit(writeInitialLimit, writeMinLimit, writeMaxLimit,
+                writeTargetLatency.toNanos(), writeBackoffRatio);
+        this.batches = bulkhead("pickup-batch-writes", batchMaxConcurrent);
+        this.updates = bulkhead("pickup-updates", statusMaxConcurrent);
+        this.reads = bulkhead("pickup-reads", readMaxConcurrent);
+        this.overloadRetryAfter = overloadRetryAfter;
+
+        Gauge.builder("pickup.admission.write.limit", writeLimit, AdaptiveConcurrencyLimit::limit)
+                .description("Writes currently allowed in flight")
+                .register(meterRegistry);
+        Gauge.builder("pickup.admission.write.in-flight", writeLimit, AdaptiveConcurrencyLimit::inFlight)
+                .description("Writes in flight")
+                .register(meterRegistry);
+        this.rateLimited = rejectionCounter(meterRegistry, "rate_limited");
+        this.writesShed = rejectionCounter(meterRegistry, "write_overloaded");
+        this.batchesShed = rejectionCounter(meterRegistry, "batch_overloaded");
+        this.updatesShed = rejectionCounter(meterRegistry, "update_overloaded");
+        this.readsShed = rejectionCounter(meterRegistry, "read_overloaded");
+    }
+
+    private static Bulkhead bulkhead(String name, int maxConcurrent) {
+        return Bulkhead.of(name, BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrent)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(REJECTIONS_METRIC)
+                .tag("reason", reason)
+                .description("Pickup requests shed before reaching a controller")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A slot taken by an admitted request; release it exactly once, when the response is done.
+     */
+    public interface Permit {
+
+        void release();
+    }
+
+    private static final Permit UNMETERED = () -> {
+    };
+
+    /**
+     * Admit a request or reject it.
+     *
+     * @param method the HTTP method.
+     * @param path the request path, e.g. {@code /wastewise/scheduler/pickups/P001/status}.
+     * @param clientId the name of the authenticated principal, or else the remote address.
+     * @return the permit to release once the response is complete.
+     * @throws AdmissionRejectedException with 429 if the client's write rate is exceeded, or 503
+     *         if the requests of its kind in flight are at their limit.
+     */
+    public Permit admit(String method, String path, String clientId) {
+        return switch (method) {
+            case "GET", "HEAD" -> isStream(path) ? UNMETERED
+                    : admitFixed(reads, readsShed, "Too many reads in progress, retry later", "read_overloaded");
+            case "POST", "PATCH", "PUT", "DELETE" -> admitWrite(method, path, clientId);
+            default -> UNMETERED;
+        };
+    }
+
+    private Permit admitFixed(Bulkhead bulkhead, Counter shed, String message, String reason) {
+        if (!bulkhead.tryAcquirePermission()) {
+            shed.increment();
+            throw new AdmissionRejectedException(message, HttpStatus.SERVICE_UNAVAILABLE, overloadRetryAfter, reason);
+        }
+        return bulkhead::onComplete;
+    }
+
+    private Permit admitWrite(String method, String path, String clientId) {
+        RateLimiter limiter = clientLimiters.get(clientId, id -> RateLimiter.of("pickup-writes", rateConfig));
+        if (!limiter.acquirePermission()) {
+            rateLimited.increment();
+            log.debug("Client {} exceeded its write rate", clientId);
+            throw new AdmissionRejectedException("Too many writes from this client, retry later",
+                    HttpStatus.TOO_MANY_REQUESTS, rateConfig.getLimitRefreshPeriod(), "rate_limited");
+        }
+
+        // Only single creates and deletes are alike enough for their latency to steer a limit
+        String resource = resource(path);
+        if (BATCHES.contains(method + " " + resource)) {
+            return admitFixed(batches, batchesShed, "Too many bulk writes in progress, retry later", "batch_overloaded");
+        }
+        boolean single = method.equals("POST") && resource.isEmpty()
+                || method.equals("DELETE") && resource.lastIndexOf('/') == 0;
+        if (!single) {
+            return admitFixed(updates, updatesShed, "Too many updates in progress, retry later", "update_overloaded");
+        }
+        if (!writeLimit.tryAcquire()) {
+            writesShed.increment();
+            throw new AdmissionRejectedException("Too many writes in progress, retry later",
+                    HttpStatus.SERVICE_UNAVAILABLE, overloadRetryAfter, "write_overloaded");
+        }
+        long started = System.nanoTime();
+        return () -> writeLimit.release(System.nanoTime() - started);
+    }
+
+    /**
+     * The part of the path below the pickups collection, e.g. {@code /P001/status}; empty for
+     * the collection itself.
+     */
+    private static String resource(String path) {
+        int base = path.indexOf(BASE_PATH);
+        String resource = base < 0 ? path : path.substring(base + BASE_PATH.length());
+        return resource.endsWith("/") ? resource.substring(0, resource.length() - 1) : resource;
+    }
+
+    private static boolean isStream(String path) {
+        int slash = path.lastIndexOf('/');
+        return STREAMS.contains(path.substring(slash + 1));
+    }
+
+    int writeLimit() {
+        return writeLimit.limit();
+    }
+}
@@ -0,0 +1,40 @@
+package com.wastewise.pickup.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.security.Principal;
+
+/**
+ * Servlet stack entry of the {@link AdmissionGate}. A rejection is thrown before the handler
+ * runs and is answered by {@link com.wastewise.pickup.exception.GlobalExceptionHandler}; an
+ * admitted request gives its slot back once it is complete.
+ */
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".permit";
+
+    private final AdmissionGate gate;
+
+    public AdmissionInterceptor(AdmissionGate gate) {
+        this.gate = gate;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Principal principal = request.getUserPrincipal();
+        AdmissionGate.Permit permit = gate.admit(request.getMethod(), request.getRequestURI(),
+                principal != null ? principal.getName() : request.getRemoteAddr());
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AdmissionGate.Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.release();
+        }
+    }
+}
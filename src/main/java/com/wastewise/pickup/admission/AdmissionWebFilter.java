@@ -0,0 +1,83 @@
+package com.wastewise.pickup.admission;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wastewise.pickup.exception.AdmissionRejectedException;
+import com.wastewise.pickup.exception.GlobalExceptionHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+
+/**
+ * Reactive stack entry of the {@link AdmissionGate}. Controller advice does not reach web
+ * filters, so a rejection is written here, with the same status, {@code Retry-After} and body as
+ * {@link GlobalExceptionHandler} gives on the servlet stack. An admitted request gives its slot
+ * back when its response completes, fails or is cancelled.
+ */
+@Component
+@Profile("reactive")
+@ConditionalOnProperty(name = "pickup.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionWebFilter implements WebFilter {
+
+    private static final String BASE_PATH = "/wastewise/scheduler/pickups";
+
+    private final AdmissionGate gate;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionWebFilter(AdmissionGate gate, ObjectMapper objectMapper) {
+        this.gate = gate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+        if (!path.equals(BASE_PATH) && !path.startsWith(BASE_PATH + "/")) {
+            return chain.filter(exchange);
+        }
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .defaultIfEmpty(remoteAddress(request))
+                .flatMap(clientId -> {
+                    AdmissionGate.Permit permit;
+                    try {
+                        permit = gate.admit(request.getMethod().name(), path, clientId);
+                    } catch (AdmissionRejectedException ex) {
+                        return reject(exchange.getResponse(), ex);
+                    }
+                    return chain.filter(exchange).doFinally(signal -> permit.release());
+                });
+    }
+
+    private static String remoteAddress(ServerHttpRequest request) {
+        InetSocketAddress address = request.getRemoteAddress();
+        return address == null ? "unknown" : address.getHostString();
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, AdmissionRejectedException ex) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(GlobalExceptionHandler.rejection(ex).getBody());
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setStatusCode(ex.getStatus());
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
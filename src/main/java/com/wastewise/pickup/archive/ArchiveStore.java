@@ -0,0 +1,151 @@
+package com.wastewise.pickup.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.wastewise.pickup.dto.PickUpDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only, gzip-compressed archive of pickups on local disk.
+ *
+ * Pickups are written as newline-delimited JSON to one file per month of their time slot start
+ * and per archive run, e.g. {@code pickups-2030-01.1767225600000.ndjson.gz}. Every append adds
+ * one complete gzip member to the end of the file and syncs it to disk; concatenated members
+ * read back as a single stream. A file is never rewritten, so a crash can at most leave a
+ * truncated last member in the file of the run that was interrupted.
+ */
+@Slf4j
+@Component
+public class ArchiveStore {
+
+    private static final String SUFFIX = ".ndjson.gz";
+    private static final Comparator<PickUpDto> BY_START_THEN_ID =
+            Comparator.comparing(PickUpDto::getTimeSlotStart).thenComparing(PickUpDto::getId);
+
+    private final Path directory;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    public ArchiveStore(@Value("${pickup.archive.directory:archive}") Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.writer = objectMapper.writerFor(PickUpDto.class);
+        this.reader = objectMapper.readerFor(PickUpDto.class);
+    }
+
+    /**
+     * Append pickups to the files of their months for one archive run, and sync them to disk.
+     *
+     * @param run identifies the archive run; each run writes its own files.
+     * @throws UncheckedIOException if the pickups could not be written.
+     */
+    public void append(List<PickUpDto> pickUps, String run) {
+        Map<YearMonth, List<PickUpDto>> byMonth = pickUps.stream()
+                .collect(Collectors.groupingBy(p -> YearMonth.from(p.getTimeSlotStart()), TreeMap::new, Collectors.toList()));
+        try {
+            Files.createDirectories(directory);
+            for (Map.Entry<YearMonth, List<PickUpDto>> month : byMonth.entrySet()) {
+                Path file = directory.resolve(prefix(month.getKey()) + run + SUFFIX);
+                try (FileOutputStream out = new FileOutputStream(file.toFile(), true)) {
+                    GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024);
+                    Writer lines = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8));
+                    for (PickUpDto pickUp : month.getValue()) {
+                        lines.write(writer.writeValueAsString(pickUp));
+                        lines.write('\n');
+                    }
+                    lines.flush();
+                    gzip.finish();
+                    out.getChannel().force(true);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write pickup archive in " + directory, e);
+        }
+    }
+
+    /**
+     * Archived pickups whose time slot starts in [from, to), ordered by time slot start, then ID.
+     * A pickup archived more than once is returned once; it is always filed under the month of its
+     * slot start, so duplicates are only looked for within a month. Only the files of the months in
+     * the window are opened, and one month is held in memory at a time.
+     */
+    public Stream<PickUpDto> read(LocalDateTime from, LocalDateTime to) {
+        List<YearMonth> months = new ArrayList<>();
+        YearMonth last = YearMonth.from(to.minusNanos(1));
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(last); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months.stream().flatMap(month -> readMonth(month, from, to).stream());
+    }
+
+    private List<PickUpDto> readMonth(YearMonth month, LocalDateTime from, LocalDateTime to) {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> matches = Files.newDirectoryStream(directory, prefix(month) + "*" + SUFFIX)) {
+                matches.forEach(files::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not list pickup archive in " + directory, e);
+            }
+        }
+        files.sort(Comparator.naturalOrder());
+
+        Set<String> seen = new HashSet<>();
+        List<PickUpDto> rows = new ArrayList<>();
+        for (Path file : files) {
+            readFile(file, pickUp -> {
+                if (!pickUp.getTimeSlotStart().isBefore(from) && pickUp.getTimeSlotStart().isBefore(to)
+                        && seen.add(pickUp.getId())) {
+                    rows.add(pickUp);
+                }
+            });
+        }
+        rows.sort(BY_START_THEN_ID);
+        return rows;
+    }
+
+    private void readFile(Path file, Consumer<PickUpDto> consumer) {
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file), 64 * 1024), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                consumer.accept(reader.readValue(line));
+            }
+        } catch (IOException e) {
+            // A truncated last member: everything before it was read, its rows are still in the table
+            log.warn("Stopped reading pickup archive {} early: {}", file, e.getMessage());
+        }
+    }
+
+    private static String prefix(YearMonth month) {
+        return "pickups-" + month + ".";
+    }
+}
@@ -0,0 +1,213 @@
+package com.wastewise.pickup.archive;
+
+import com.wastewise.pickup.cache.PickUpCache;
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.dto.PickUpEventDto;
+import com.wastewise.pickup.live.PickUpEventHub;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import com.wastewise.pickup.repository.PickUpRepository;
+import com.wastewise.pickup.sync.PickUpChangeLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves completed pickups whose slot ended more than {@code pickup.archive.min-age} ago from
+ * the {@code pickups} table into the {@link ArchiveStore}.
+ *
+ * Every {@code pickup.archive.interval} the archiver walks the candidates in keyset order,
+ * {@code pickup.archive.chunk-size} rows at a time. Each chunk is written and synced to the
+ * archive first and then deleted in its own short transaction, so no lock is held across chunks
+ * or during file I/O. A crash between the two steps leaves rows in both places, never in neither;
+ * readers of the archive drop the duplicates. Deleted rows leave tombstones in the
+ * {@link PickUpChangeLog} and are announced on the {@link PickUpEventHub}, so that syncing
+ * and live clients drop them too. After each chunk the archiver sleeps long enough
+ * to be busy at most {@code pickup.archive.max-duty-cycle} of the time.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "pickup.archive.enabled", havingValue = "true")
+public class PickUpArchiver implements SmartInitializingSingleton, DisposableBean {
+
+    // Only rows that are still completed and unchanged since they were archived are deleted
+    static final String DELETE_SQL = "delete from pickups where id = ? and status = ? and version = ?";
+
+    private final PickUpRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveStore archiveStore;
+    private final PickUpCache pickUpCache;
+    private final PickUpChangeLog changeLog;
+    private final PickUpEventHub eventHub;
+    private final Counter archivedRows;
+    private final Duration minAge;
+    private final Duration interval;
+    private final int chunkSize;
+    private final double maxDutyCycle;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pickup-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PickUpArchiver(PickUpRepository repository,
+                          JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          ArchiveStore archiveStore,
+                          PickUpCache pickUpCache,
+                          PickUpChangeLog changeLog,
+                          PickUpEventHub eventHub,
+                          MeterRegistry meterRegistry,
+                          @Value("${pickup.archive.min-age:90d}") Duration minAge,
+                          @Value("${pickup.archive.interval:1h}") Duration interval,
+                          @Value("${pickup.archive.chunk-size:500}") int chunkSize,
+                          @Value("${pickup.archive.max-duty-cycle:0.2}") double maxDutyCycle) {
+        if (maxDutyCycle <= 0 || maxDutyCycle > 1) {
+            throw new IllegalArgumentException("pickup.archive.max-duty-cycle must be in (0, 1]");
+        }
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveStore = archiveStore;
+        this.pickUpCache = pickUpCache;
+        this.changeLog = changeLog;
+        this.eventHub = eventHub;
+        this.archivedRows = Counter.builder("pickup.archive.rows")
+                .description("Completed pickups moved from the pickups table to the archive")
+                .register(meterRegistry);
+        this.minAge = minAge;
+        this.interval = interval;
+        this.chunkSize = chunkSize;
+        this.maxDutyCycle = maxDutyCycle;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        scheduler.scheduleWithFixedDelay(this::run, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    void run() {
+        try {
+            archive();
+        } catch (RuntimeException ex) {
+            log.error("Pickup archival failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Archive every completed pickup that ended before now minus the minimum age.
+     *
+     * @return the number of pickups moved to the archive.
+     */
+    public int archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+        String run = String.valueOf(System.currentTimeMillis());
+        long started = System.currentTimeMillis();
+        int archived = 0;
+        int chunks = 0;
+
+        PickUpDto last = null;
+        while (!Thread.currentThread().isInterrupted()) {
+            long chunkStarted = System.nanoTime();
+            List<PickUpDto> chunk = last == null
+                    ? repository.findFirstEndedBefore(PickUpStatus.COMPLETED, cutoff, Limit.of(chunkSize))
+                    : repository.findEndedBeforeAfter(PickUpStatus.COMPLETED, cutoff,
+                            last.getTimeSlotStart(), last.getId(), Limit.of(chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            archiveStore.append(chunk, run);
+            archived += delete(chunk);
+            chunks++;
+            last = chunk.get(chunk.size() - 1);
+
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            throttle(System.nanoTime() - chunkStarted);
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} completed pickups that ended before {} in {} chunks and {} ms",
+                    archived, cutoff, chunks, System.currentTimeMillis() - started);
+        }
+        return archived;
+    }
+
+    /**
+     * Delete an archived chunk in one batch and one short transaction.
+     *
+     * @return the number of rows deleted; rows changed or deleted meanwhile are skipped.
+     */
+    private int delete(List<PickUpDto> chunk) {
+        int[] counts = transactionTemplate.execute(status -> {
+            List<Long> changeSequences = changeLog.reserve(chunk.size());
+            int[] deleted = jdbcTemplate.batchUpdate(DELETE_SQL, chunk.stream()
+                    .map(pickUp -> new Object[]{pickUp.getId(), PickUpStatus.COMPLETED.name(), pickUp.getVersion()})
+                    .toList());
+            List<String> deletedIds = new ArrayList<>(deleted.length);
+            List<Long> deletedSequences = new ArrayList<>(deleted.length);
+            List<PickUpEventDto> events = new ArrayList<>(deleted.length);
+            for (int i = 0; i < deleted.length; i++) {
+                if (deleted[i] != 0) {
+                    PickUpDto pickUp = chunk.get(i);
+                    events.add(PickUpEventDto.deleted(changeSequences.get(i), pickUp.getId(), pickUp.getZoneId()));
+                    deletedIds.add(pickUp.getId());
+                    deletedSequences.add(changeSequences.get(i));
+                    pickUpCache.invalidateAfterCommit(pickUp.getId());
+                }
+            }
+            changeLog.recordDeletes(deletedIds, deletedSequences);
+            eventHub.publishAfterCommit(events);
+            return deleted;
+        });
+
+        int deleted = 0;
+        for (int count : counts) {
+            // SUCCESS_NO_INFO (-2) still means the statement ran
+            if (count != 0) {
+                deleted++;
+            }
+        }
+        archivedRows.increment(deleted);
+        if (deleted < chunk.size()) {
+            log.debug("{} of {} archived pickups changed before they could be deleted", chunk.size() - deleted, chunk.size());
+        }
+        return deleted;
+    }
+
+    /**
+     * Sleep so that a chunk that took {@code busyNanos} uses at most the allowed share of time.
+     */
+    private void throttle(long busyNanos) {
+        long pause = (long) (busyNanos * (1 - maxDutyCycle) / maxDutyCycle);
+        try {
+            TimeUnit.NANOSECONDS.sleep(pause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
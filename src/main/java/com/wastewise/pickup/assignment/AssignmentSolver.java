@@ -0,0 +1,469 @@
+package com.wastewise.pickup.assignment;
+
+import com.wastewise.pickup.dto.AssignmentDto;
+import com.wastewise.pickup.dto.AssignmentResultDto;
+import com.wastewise.pickup.dto.AssignmentStatsDto;
+import com.wastewise.pickup.dto.PendingPickUpDto;
+import com.wastewise.pickup.dto.WorkloadStatsDto;
+import com.wastewise.pickup.index.Booking;
+import com.wastewise.pickup.index.ResourceBookingIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Plans a vehicle and a two-worker crew for each pending pickup, so that no resource is
+ * booked twice at the same time and the booked minutes are spread evenly.
+ *
+ * The vehicles and workers are first divided between the zones in proportion to each zone's
+ * booked minutes (largest remainder, workers in pairs), which gives every zone about the same
+ * expected load per resource. The zones are then planned independently on a fork/join pool:
+ * <ol>
+ *   <li>Greedy construction: pickups in start order take the least loaded free vehicle and
+ *       the two least loaded free workers. With interchangeable resources, taking them in start
+ *       order fits as many pickups as the peak overlap allows.</li>
+ *   <li>Local search: a vehicle or worker is moved from a pickup to a free resource with less
+ *       load whenever that lowers the sum of squared loads, until no move helps or the
+ *       {@code pickup.assignment.local-search-budget} of the whole solve is spent.</li>
+ * </ol>
+ * Pickups a zone could not staff are retried afterwards against the resources of every zone,
+ * moving pickups that are in the way onto other free resources while the budget lasts.
+ * Slots already booked in the {@link ResourceBookingIndex} are kept free and count as load.
+ */
+@Slf4j
+@Component
+public class AssignmentSolver implements DisposableBean {
+
+    private final ResourceBookingIndex bookingIndex;
+    private final MeterRegistry meterRegistry;
+    private final Duration localSearchBudget;
+    private final ForkJoinPool pool;
+
+    public AssignmentSolver(ResourceBookingIndex bookingIndex, MeterRegistry meterRegistry,
+                            @Value("${pickup.assignment.parallelism:0}") int parallelism,
+                            @Value("${pickup.assignment.local-search-budget:2s}") Duration localSearchBudget) {
+        this.bookingIndex = bookingIndex;
+        this.meterRegistry = meterRegistry;
+        this.localSearchBudget = localSearchBudget;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                forkJoinPool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                    thread.setName("assignment-solver-" + thread.getPoolIndex());
+                    return thread;
+                }, null, false);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Plan the given pickups on the given vehicles and workers; nothing is booked.
+     *
+     * @return one assignment per pickup in request order, unassigned ones without resources.
+     */
+    public AssignmentResultDto solve(List<PendingPickUpDto> pickUps, List<String> vehicleIds, List<String> workerIds) {
+        long started = System.nanoTime();
+        long deadline = started + localSearchBudget.toNanos();
+
+        List<Task> tasks = new ArrayList<>(pickUps.size());
+        for (int i = 0; i < pickUps.size(); i++) {
+            PendingPickUpDto pickUp = pickUps.get(i);
+            tasks.add(new Task(i, pickUp.getZoneId(), pickUp.getTimeSlotStart(), pickUp.getTimeSlotEnd()));
+        }
+        LocalDateTime from = tasks.stream().map(Task::start).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime to = tasks.stream().map(Task::end).max(Comparator.naturalOrder()).orElseThrow();
+
+        List<Resource> vehicles = resources(vehicleIds, id -> bookingIndex.vehicleBookings(id, from, to), from, to);
+        List<Resource> workers = resources(workerIds, id -> bookingIndex.workerBookings(id, from, to), from, to);
+
+        // Zones in ID order, so that the same request always gets the same plan
+        Map<String, List<Task>> byZone = new TreeMap<>();
+        tasks.forEach(task -> byZone.computeIfAbsent(task.zoneId(), zone -> new ArrayList<>()).add(task));
+        List<ZonePlan> zones = new ArrayList<>(byZone.size());
+        byZone.values().forEach(zoneTasks -> zones.add(new ZonePlan(zoneTasks)));
+        long[] demand = zones.stream().mapToLong(ZonePlan::demandMinutes).toArray();
+        apportion(vehicles, demand, 1, (zone, slice) -> zones.get(zone).vehicles = slice);
+        apportion(workers, demand, 2, (zone, slice) -> zones.get(zone).workers = slice);
+
+        pool.invoke(new ZoneBatch(zones, 0, zones.size(), deadline));
+        int moves = zones.stream().mapToInt(zone -> zone.moves).sum();
+
+        // Whatever a zone could not staff may still fit on resources of other zones
+        List<Task> leftover = tasks.stream().filter(task -> !task.isAssigned()).sorted(Task.BY_START).toList();
+        List<Task> repaired = new ArrayList<>();
+        for (Task task : leftover) {
+            boolean placed = System.nanoTime() - deadline < 0
+                    ? repair(task, vehicles, workers)
+                    : place(task, vehicles, workers);
+            if (placed) {
+                repaired.add(task);
+            }
+        }
+        moves += improve(repaired, vehicles, workers, deadline);
+
+        long solveNanos = System.nanoTime() - started;
+        AssignmentResultDto result = new AssignmentResultDto(
+                tasks.stream().map(AssignmentSolver::toDto).toList(),
+                stats(tasks, vehicles, workers, zones.size(), moves, solveNanos));
+        record(result.getStats(), solveNanos);
+        log.info("Assigned {} of {} pickups in {} zones in {} ms with {} local search moves",
+                result.getStats().getAssigned(), tasks.size(), zones.size(), result.getStats().getSolveMillis(), moves);
+        return result;
+    }
+
+    private static List<Resource> resources(List<String> ids, Function<String, List<Booking>> bookings,
+                                            LocalDateTime from, LocalDateTime to) {
+        List<Resource> resources = new ArrayList<>(ids.size());
+        for (String id : new LinkedHashSet<>(ids)) {
+            Resource resource = new Resource(id);
+            bookings.apply(id).forEach(booking -> resource.block(booking.getStart(), booking.getEnd(), from, to));
+            resources.add(resource);
+        }
+        return resources;
+    }
+
+    /**
+     * Split resources into one contiguous slice per zone, sized in proportion to the zone's
+     * demand in whole units of {@code unit}. Units left by rounding go to the zones with the
+     * largest remainders, and the resources that do not make up a whole unit to the busiest zone.
+     */
+    static void apportion(List<Resource> resources, long[] demand, int unit, BiConsumer<Integer, List<Resource>> slices) {
+        long units = resources.size() / unit;
+        long total = 0;
+        int busiest = 0;
+        for (int zone = 0; zone < demand.length; zone++) {
+            total += demand[zone];
+            if (demand[zone] > demand[busiest]) {
+                busiest = zone;
+            }
+        }
+
+        long[] counts = new long[demand.length];
+        long[] remainders = new long[demand.length];
+        long handedOut = 0;
+        for (int zone = 0; zone < demand.length; zone++) {
+            // When every slot is shorter than a minute, the zones share the units evenly
+            long weight = total == 0 ? 1 : demand[zone];
+            long sum = total == 0 ? demand.length : total;
+            counts[zone] = units * weight / sum;
+            remainders[zone] = units * weight % sum;
+            handedOut += counts[zone];
+        }
+        List<Integer> byRemainder = new ArrayList<>(demand.length);
+        for (int zone = 0; zone < demand.length; zone++) {
+            byRemainder.add(zone);
+        }
+        byRemainder.sort(Comparator.comparingLong((Integer zone) -> remainders[zone]).reversed());
+        for (int i = 0; handedOut < units; i++, handedOut++) {
+            counts[byRemainder.get(i)]++;
+        }
+
+        int next = 0;
+        for (int zone = 0; zone < demand.length; zone++) {
+            int size = (int) counts[zone] * unit + (zone == busiest ? resources.size() % unit : 0);
+            slices.accept(zone, resources.subList(next, next + size));
+            next += size;
+        }
+    }
+
+    /**
+     * Give a pickup the least loaded free vehicle and the two least loaded free workers.
+     *
+     * @return false, leaving the pickup unassigned, when no vehicle or not two workers are free.
+     */
+    static boolean place(Task task, List<Resource> vehicles, List<Resource> workers) {
+        Resource vehicle = leastLoadedFree(vehicles, task, null);
+        if (vehicle == null) {
+            return false;
+        }
+        Resource worker1 = leastLoadedFree(workers, task, null);
+        if (worker1 == null) {
+            return false;
+        }
+        Resource worker2 = leastLoadedFree(workers, task, worker1);
+        if (worker2 == null) {
+            return false;
+        }
+        task.assign(vehicle, worker1, worker2);
+        return true;
+    }
+
+    /**
+     * Like {@link #place}, but a resource that is busy during the slot can still be taken when
+     * every pickup it holds there can move to another free resource. Needed because zones are
+     * planned on separate resources: a vehicle free when a leftover pickup starts may be busy
+     * with a later pickup of its own zone before the leftover one ends.
+     */
+    static boolean repair(Task task, List<Resource> vehicles, List<Resource> workers) {
+        Resource vehicle = freeOrEjected(vehicles, task, null);
+        if (vehicle == null) {
+            return false;
+        }
+        Resource worker1 = freeOrEjected(workers, task, null);
+        if (worker1 == null) {
+            return false;
+        }
+        Resource worker2 = freeOrEjected(workers, task, worker1);
+        if (worker2 == null) {
+            return false;
+        }
+        task.assign(vehicle, worker1, worker2);
+        return true;
+    }
+
+    private static Resource freeOrEjected(List<Resource> resources, Task task, Resource except) {
+        Resource free = leastLoadedFree(resources, task, except);
+        if (free != null) {
+            return free;
+        }
+        for (Resource resource : resources) {
+            if (resource != except && eject(resource, task, resources, except)) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Move every pickup that overlaps {@code task} off {@code resource}, or none of them.
+     * Slots booked outside the plan stay where they are.
+     */
+    private static boolean eject(Resource resource, Task task, List<Resource> resources, Resource except) {
+        List<Task> conflicts = resource.overlapping(task);
+        if (conflicts.stream().anyMatch(Task::isPinned)) {
+            return false;
+        }
+        List<Resource> targets = new ArrayList<>(conflicts.size());
+        for (Task conflict : conflicts) {
+            // The resource itself is busy with the conflict, so it is never offered as free
+            Resource target = leastLoadedFree(resources, conflict, except);
+            if (target == null) {
+                for (int i = targets.size() - 1; i >= 0; i--) {
+                    conflicts.get(i).move(targets.get(i), resource);
+                }
+                return false;
+            }
+            conflict.move(resource, target);
+            targets.add(target);
+        }
+        return true;
+    }
+
+    private static Resource leastLoadedFree(List<Resource> resources, Task task, Resource except) {
+        Resource best = null;
+        for (Resource resource : resources) {
+            if (resource != except && (best == null || resource.loadMinutes() < best.loadMinutes())
+                    && resource.isFree(task)) {
+                best = resource;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Move vehicles and workers between pickups while that lowers the sum of squared loads.
+     * Moving a pickup of d minutes from a resource with load a to one with load b lowers it
+     * exactly when b + d < a, so every move strictly improves and the search terminates.
+     *
+     * @return the number of moves made.
+     */
+    static int improve(List<Task> tasks, List<Resource> vehicles, List<Resource> workers, long deadline) {
+        int moves = 0;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (Task task : tasks) {
+                if (System.nanoTime() - deadline > 0) {
+                    return moves;
+                }
+                if (!task.isAssigned()) {
+                    continue;
+                }
+                Resource vehicle = lighterFree(vehicles, task, task.vehicle());
+                if (vehicle != null) {
+                    task.move(task.vehicle(), vehicle);
+                    moves++;
+                    improved = true;
+                }
+                // The crew partner is booked for this slot, so it is never offered as free
+                Resource worker1 = lighterFree(workers, task, task.worker1());
+                if (worker1 != null) {
+                    task.move(task.worker1(), worker1);
+                    moves++;
+                    improved = true;
+                }
+                Resource worker2 = lighterFree(workers, task, task.worker2());
+                if (worker2 != null) {
+                    task.move(task.worker2(), worker2);
+                    moves++;
+                    improved = true;
+                }
+            }
+        }
+        return moves;
+    }
+
+    private static Resource lighterFree(List<Resource> resources, Task task, Resource current) {
+        Resource best = null;
+        long limit = current.loadMinutes() - task.minutes();
+        for (Resource resource : resources) {
+            if (resource != current && resource.loadMinutes() < limit
+                    && (best == null || resource.loadMinutes() < best.loadMinutes())
+                    && resource.isFree(task)) {
+                best = resource;
+            }
+        }
+        return best;
+    }
+
+    private static AssignmentDto toDto(Task task) {
+        return new AssignmentDto(task.index(), task.zoneId(), task.start(), task.end(),
+                task.isAssigned() ? task.vehicle().id() : null,
+                task.isAssigned() ? task.worker1().id() : null,
+                task.isAssigned() ? task.worker2().id() : null);
+    }
+
+    private static AssignmentStatsDto stats(List<Task> tasks, List<Resource> vehicles, List<Resource> workers,
+                                            int zones, int moves, long solveNanos) {
+        int assigned = (int) tasks.stream().filter(Task::isAssigned).count();
+        return AssignmentStatsDto.builder()
+                .solveMillis(TimeUnit.NANOSECONDS.toMillis(solveNanos))
+                .zones(zones)
+                .assigned(assigned)
+                .unassigned(tasks.size() - assigned)
+                .localSearchMoves(moves)
+                .vehicleLoad(workload(vehicles))
+                .workerLoad(workload(workers))
+                .build();
+    }
+
+    static WorkloadStatsDto workload(List<Resource> resources) {
+        if (resources.isEmpty()) {
+            return new WorkloadStatsDto(0, 0, 0, 0, 0, 0);
+        }
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        long sum = 0;
+        int used = 0;
+        for (Resource resource : resources) {
+            min = Math.min(min, resource.loadMinutes());
+            max = Math.max(max, resource.loadMinutes());
+            sum += resource.loadMinutes();
+            used += resource.assigned() > 0 ? 1 : 0;
+        }
+        double mean = (double) sum / resources.size();
+        double squares = 0;
+        for (Resource resource : resources) {
+            squares += Math.pow(resource.loadMinutes() - mean, 2);
+        }
+        return new WorkloadStatsDto(resources.size(), used, min, max, mean, Math.sqrt(squares / resources.size()));
+    }
+
+    private void record(AssignmentStatsDto stats, long solveNanos) {
+        Timer.builder("pickup.assignment.solve")
+                .description("Duration of assignment solves")
+                .register(meterRegistry)
+                .record(solveNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("pickup.assignment.pickups")
+                .tag("outcome", "assigned")
+                .description("Pending pickups planned by the assignment solver")
+                .register(meterRegistry)
+                .increment(stats.getAssigned());
+        Counter.builder("pickup.assignment.pickups")
+                .tag("outcome", "unassigned")
+                .description("Pending pickups planned by the assignment solver")
+                .register(meterRegistry)
+                .increment(stats.getUnassigned());
+        DistributionSummary.builder("pickup.assignment.workload.spread")
+                .tag("resource", "vehicle")
+                .baseUnit("minutes")
+                .description("Standard deviation of booked minutes per resource in a plan")
+                .register(meterRegistry)
+                .record(stats.getVehicleLoad().getStdDevMinutes());
+        DistributionSummary.builder("pickup.assignment.workload.spread")
+                .tag("resource", "worker")
+                .baseUnit("minutes")
+                .description("Standard deviation of booked minutes per resource in a plan")
+                .register(meterRegistry)
+                .record(stats.getWorkerLoad().getStdDevMinutes());
+    }
+
+    /**
+     * The pickups of one zone and the slices of vehicles and workers given to it.
+     */
+    private static final class ZonePlan {
+
+        final List<Task> tasks;
+        List<Resource> vehicles = List.of();
+        List<Resource> workers = List.of();
+        int moves;
+
+        ZonePlan(List<Task> tasks) {
+            this.tasks = tasks;
+        }
+
+        long demandMinutes() {
+            return tasks.stream().mapToLong(Task::minutes).sum();
+        }
+
+        void solve(long deadline) {
+            tasks.sort(Task.BY_START);
+            for (Task task : tasks) {
+                place(task, vehicles, workers);
+            }
+            moves = improve(tasks, vehicles, workers, deadline);
+        }
+    }
+
+    /**
+     * Plans a range of zones, splitting it in halves until one zone is left.
+     */
+    private static final class ZoneBatch extends RecursiveAction {
+
+        private final List<ZonePlan> zones;
+        private final int from;
+        private final int to;
+        private final long deadline;
+
+        ZoneBatch(List<ZonePlan> zones, int from, int to, long deadline) {
+            this.zones = zones;
+            this.from = from;
+            this.to = to;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    zones.get(from).solve(deadline);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ZoneBatch(zones, from, middle, deadline), new ZoneBatch(zones, middle, to, deadline));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.wastewise.pickup.assignment;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A vehicle or worker during planning: the pickups it holds keyed by start, and its workload.
+ * The slots never overlap, so a free check is one floor and one higher lookup.
+ * Only touched by the thread that plans the resource's zone.
+ */
+final class Resource {
+
+    private final String id;
+    private final TreeMap<LocalDateTime, Task> slots = new TreeMap<>();
+    private long loadMinutes;
+    private int assigned;
+
+    Resource(String id) {
+        this.id = id;
+    }
+
+    String id() {
+        return id;
+    }
+
+    long loadMinutes() {
+        return loadMinutes;
+    }
+
+    int assigned() {
+        return assigned;
+    }
+
+    boolean isFree(Task task) {
+        Map.Entry<LocalDateTime, Task> before = slots.floorEntry(task.start());
+        if (before != null && before.getValue().end().isAfter(task.start())) {
+            return false;
+        }
+        LocalDateTime next = slots.higherKey(task.start());
+        return next == null || !next.isBefore(task.end());
+    }
+
+    /**
+     * Pickups held by this resource that overlap the slot of {@code task}, in start order.
+     */
+    List<Task> overlapping(Task task) {
+        List<Task> overlapping = new ArrayList<>(2);
+        Map.Entry<LocalDateTime, Task> before = slots.floorEntry(task.start());
+        if (before != null && before.getValue().end().isAfter(task.start())) {
+            overlapping.add(before.getValue());
+        }
+        overlapping.addAll(slots.subMap(task.start(), false, task.end(), false).values());
+        return overlapping;
+    }
+
+    /**
+     * Mark a slot booked outside this plan as busy, counting its part inside [from, to) as load.
+     */
+    void block(LocalDateTime start, LocalDateTime end, LocalDateTime from, LocalDateTime to) {
+        slots.merge(start, Task.pinned(start, end), (a, b) -> a.end().isAfter(b.end()) ? a : b);
+        LocalDateTime clippedStart = start.isBefore(from) ? from : start;
+        LocalDateTime clippedEnd = end.isAfter(to) ? to : end;
+        if (clippedEnd.isAfter(clippedStart)) {
+            loadMinutes += Duration.between(clippedStart, clippedEnd).toMinutes();
+        }
+    }
+
+    void book(Task task) {
+        slots.put(task.start(), task);
+        loadMinutes += task.minutes();
+        assigned++;
+    }
+
+    void release(Task task) {
+        slots.remove(task.start());
+        loadMinutes -= task.minutes();
+        assigned--;
+    }
+}
@@ -0,0 +1,105 @@
+package com.wastewise.pickup.assignment;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * A pending pickup during planning and the vehicle and crew it currently holds.
+ */
+final class Task {
+
+    static final Comparator<Task> BY_START = Comparator.comparing(Task::start)
+            .thenComparing(Task::end)
+            .thenComparingInt(Task::index);
+
+    private final int index;
+    private final String zoneId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final long minutes;
+    private Resource vehicle;
+    private Resource worker1;
+    private Resource worker2;
+
+    Task(int index, String zoneId, LocalDateTime start, LocalDateTime end) {
+        this.index = index;
+        this.zoneId = zoneId;
+        this.start = start;
+        this.end = end;
+        this.minutes = Duration.between(start, end).toMinutes();
+    }
+
+    /**
+     * A slot booked outside the plan, which the solver never moves.
+     */
+    static Task pinned(LocalDateTime start, LocalDateTime end) {
+        return new Task(-1, null, start, end);
+    }
+
+    boolean isPinned() {
+        return index < 0;
+    }
+
+    int index() {
+        return index;
+    }
+
+    String zoneId() {
+        return zoneId;
+    }
+
+    LocalDateTime start() {
+        return start;
+    }
+
+    LocalDateTime end() {
+        return end;
+    }
+
+    long minutes() {
+        return minutes;
+    }
+
+    boolean isAssigned() {
+        return vehicle != null;
+    }
+
+    Resource vehicle() {
+        return vehicle;
+    }
+
+    Resource worker1() {
+        return worker1;
+    }
+
+    Resource worker2() {
+        return worker2;
+    }
+
+    void assign(Resource vehicle, Resource worker1, Resource worker2) {
+        this.vehicle = vehicle;
+        this.worker1 = worker1;
+        this.worker2 = worker2;
+        vehicle.book(this);
+        worker1.book(this);
+        worker2.book(this);
+    }
+
+    /**
+     * Move this pickup from {@code from} to {@code to}, as its vehicle or as either worker.
+     */
+    void move(Resource from, Resource to) {
+        if (vehicle == from) {
+            vehicle = to;
+        } else if (worker1 == from) {
+            worker1 = to;
+        } else if (worker2 == from) {
+            worker2 = to;
+        } else {
+            throw new IllegalArgumentException("Pickup " + index + " is not held by " + from.id());
+        }
+        from.release(this);
+        to.book(this);
+    }
+}
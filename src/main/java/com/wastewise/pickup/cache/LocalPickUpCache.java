@@ -0,0 +1,59 @@
+package com.wastewise.pickup.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.wastewise.pickup.dto.PickUpDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * In-process {@link PickUpCache} backed by Caffeine, bounded by size and by time since write.
+ *
+ * Loads run inside Caffeine's per-key compute, and an invalidation of a key that is being
+ * loaded waits for the load and then removes its result. Combined with invalidating after
+ * commit, a read that saw the row before a write can never stay cached after that write.
+ *
+ * Hits, misses, evictions and size are published as the {@code cache.*} meters tagged
+ * {@code cache=pickup}.
+ */
+@Component
+@ConditionalOnProperty(name = "pickup.cache.type", havingValue = "local", matchIfMissing = true)
+public class LocalPickUpCache implements PickUpCache {
+
+    static final String CACHE_NAME = "pickup";
+
+    private final Cache<String, PickUpDto> cache;
+
+    public LocalPickUpCache(MeterRegistry meterRegistry,
+                            @Value("${pickup.cache.maximum-size:10000}") long maximumSize,
+                            @Value("${pickup.cache.ttl:30s}") Duration ttl) {
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .<String, PickUpDto>build(), CACHE_NAME);
+    }
+
+    @Override
+    public PickUpDto get(String pickUpId, Function<String, PickUpDto> loader) {
+        return cache.get(pickUpId, loader);
+    }
+
+    @Override
+    public void invalidate(String pickUpId) {
+        cache.invalidate(pickUpId);
+    }
+
+    @Override
+    public PickUpCacheStats stats() {
+        CacheStats stats = cache.stats();
+        return new PickUpCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.estimatedSize());
+    }
+}
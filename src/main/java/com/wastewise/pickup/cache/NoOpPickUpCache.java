@@ -0,0 +1,34 @@
+package com.wastewise.pickup.cache;
+
+import com.wastewise.pickup.dto.PickUpDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * {@link PickUpCache} that always loads, selected with {@code pickup.cache.type=none}.
+ */
+@Component
+@ConditionalOnProperty(name = "pickup.cache.type", havingValue = "none")
+public class NoOpPickUpCache implements PickUpCache {
+
+    private final AtomicLong misses = new AtomicLong();
+
+    @Override
+    public PickUpDto get(String pickUpId, Function<String, PickUpDto> loader) {
+        misses.incrementAndGet();
+        return loader.apply(pickUpId);
+    }
+
+    @Override
+    public void invalidate(String pickUpId) {
+        // Nothing is cached
+    }
+
+    @Override
+    public PickUpCacheStats stats() {
+        return new PickUpCacheStats(0, misses.get(), 0, 0);
+    }
+}
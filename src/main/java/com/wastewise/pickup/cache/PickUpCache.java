@@ -0,0 +1,50 @@
+package com.wastewise.pickup.cache;
+
+import com.wastewise.pickup.dto.PickUpDto;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Function;
+
+/**
+ * Read-through cache of mapped {@link PickUpDto}s keyed by pickup ID.
+ *
+ * Implementations are selected with {@code pickup.cache.type}. A shared cache for
+ * multi-instance deployments only needs to implement this interface. Cached DTOs are shared
+ * between callers and must not be modified.
+ */
+public interface PickUpCache {
+
+    /**
+     * Return the cached pickup, loading it with {@code loader} on a miss.
+     * Exceptions thrown by the loader are propagated and nothing is cached.
+     */
+    PickUpDto get(String pickUpId, Function<String, PickUpDto> loader);
+
+    /**
+     * Drop the cached entry for a pickup now.
+     */
+    void invalidate(String pickUpId);
+
+    /**
+     * Snapshot of hit, miss and eviction counters.
+     */
+    PickUpCacheStats stats();
+
+    /**
+     * Drop the cached entry once the surrounding transaction commits, or now if there is none.
+     * Invalidating before the commit would let a concurrent read cache the old row again.
+     */
+    default void invalidateAfterCommit(String pickUpId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(pickUpId);
+                }
+            });
+        } else {
+            invalidate(pickUpId);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.wastewise.pickup.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counters of a {@link PickUpCache}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickUpCacheStats {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long size;
+}
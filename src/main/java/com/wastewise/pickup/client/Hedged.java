@@ -0,0 +1,18 @@
+package com.wastewise.pickup.client;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a client method whose request may be sent twice: once the first request has taken
+ * longer than the method's recent 95th percentile, an identical second one is sent and the
+ * first answer wins. Only for idempotent reads. See {@link ResilientClientCapability}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Hedged {
+}
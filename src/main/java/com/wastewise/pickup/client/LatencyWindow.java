@@ -0,0 +1,42 @@
+package com.wastewise.pickup.client;
+
+import java.util.Arrays;
+
+/**
+ * The latencies of the last few successful calls of a client method, from which its hedge
+ * delay is taken. Older samples are overwritten, so the delay follows the service's
+ * current speed.
+ */
+class LatencyWindow {
+
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    LatencyWindow(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Latency window size must be at least 1");
+        }
+        this.samples = new long[size];
+    }
+
+    synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    /**
+     * The latency below which {@code percentile} of the recorded calls finished, or -1 while
+     * fewer than {@code minSamples} calls are recorded.
+     */
+    synchronized long percentile(double percentile, int minSamples) {
+        if (count == 0 || count < minSamples) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))];
+    }
+}
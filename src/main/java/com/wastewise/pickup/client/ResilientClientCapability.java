@@ -0,0 +1,256 @@
+package com.wastewise.pickup.client;
+
+import com.wastewise.pickup.exception.DownstreamServiceException;
+import feign.Capability;
+import feign.FeignException;
+import feign.InvocationHandlerFactory;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedTimeLimiterMetrics;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Guards every call of the zone, vehicle and worker clients, so that a slow or failing
+ * service holds a bounded number of our threads for a bounded time instead of all of them.
+ *
+ * Each client, by its Feign name, has its own circuit breaker, semaphore bulkhead and time
+ * limit. A call needs the breaker closed (or one of its half-open trial slots), then one of
+ * {@code pickup.downstream.bulkhead.max-concurrent} slots, taken without waiting, and is
+ * abandoned after {@code pickup.downstream.time-limit}. Server errors, I/O errors and
+ * time-outs count as failures; a 4xx answer, including the 304 of a conditional GET, is the
+ * service working and does not. Refused and abandoned calls surface as
+ * {@link DownstreamServiceException}; any other error of the call is rethrown unchanged.
+ *
+ * Methods annotated with {@link Hedged} send an identical second request once the first has
+ * taken longer than the method's recent 95th percentile, and return whichever answers first.
+ * The second request needs a bulkhead slot of its own, so hedging stops while the service is
+ * already busy.
+ *
+ * Breaker states, bulkhead slots and time-outs are published as the resilience4j metrics,
+ * tagged with the client name; hedges as {@code pickup.downstream.hedges}.
+ */
+@Slf4j
+@Component
+public class ResilientClientCapability implements Capability, DisposableBean {
+
+    static final String HEDGES_METRIC = "pickup.downstream.hedges";
+
+    private static final double HEDGE_PERCENTILE = 0.95;
+
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final TimeLimiterRegistry timeLimiters;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeLimit;
+    private final long hedgeInitialDelayNanos;
+    private final long hedgeMinDelayNanos;
+    private final int hedgeMinSamples;
+    private final int hedgeWindowSize;
+
+    private final ExecutorService calls = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService hedgeTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "downstream-hedge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ResilientClientCapability(MeterRegistry meterRegistry,
+                                     @Value("${pickup.downstream.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                                     @Value("${pickup.downstream.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+                                     @Value("${pickup.downstream.circuit-breaker.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+                                     @Value("${pickup.downstream.circuit-breaker.wait-in-open-state:10s}") Duration waitInOpenState,
+                                     @Value("${pickup.downstream.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+                                     @Value("${pickup.downstream.bulkhead.max-concurrent:16}") int maxConcurrent,
+                                     @Value("${pickup.downstream.time-limit:3s}") Duration timeLimit,
+                                     @Value("${pickup.downstream.hedge.initial-delay:100ms}") Duration hedgeInitialDelay,
+                                     @Value("${pickup.downstream.hedge.min-delay:10ms}") Duration hedgeMinDelay,
+                                     @Value("${pickup.downstream.hedge.min-samples:20}") int hedgeMinSamples,
+                                     @Value("${pickup.downstream.hedge.window-size:200}") int hedgeWindowSize) {
+        this.circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .recordException(ResilientClientCapability::isFailure)
+                .build());
+        this.bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrent)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        this.timeLimiters = TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                .timeoutDuration(timeLimit)
+                .cancelRunningFuture(true)
+                .build());
+        this.meterRegistry = meterRegistry;
+        this.timeLimit = timeLimit;
+        this.hedgeInitialDelayNanos = hedgeInitialDelay.toNanos();
+        this.hedgeMinDelayNanos = hedgeMinDelay.toNanos();
+        this.hedgeMinSamples = hedgeMinSamples;
+        this.hedgeWindowSize = hedgeWindowSize;
+
+        circuitBreakers.getEventPublisher().onEntryAdded(added -> added.getAddedEntry().getEventPublisher()
+                .onStateTransition(event -> log.warn("Circuit breaker of {} went from {} to {}",
+                        event.getCircuitBreakerName(), event.getStateTransition().getFromState(),
+                        event.getStateTransition().getToState())));
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        TaggedTimeLimiterMetrics.ofTimeLimiterRegistry(timeLimiters).bindTo(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        hedgeTimer.shutdownNow();
+        calls.shutdownNow();
+    }
+
+    @Override
+    public InvocationHandlerFactory enrich(InvocationHandlerFactory invocationHandlerFactory) {
+        return (target, dispatch) -> {
+            Map<Method, MethodHandler> guarded = new LinkedHashMap<>();
+            dispatch.forEach((method, handler) -> guarded.put(method, guard(target.name(), method, handler)));
+            return invocationHandlerFactory.create(target, guarded);
+        };
+    }
+
+    /**
+     * The breaker state of a client, e.g. {@code vehicle-service}.
+     */
+    public CircuitBreaker.State state(String client) {
+        return circuitBreakers.circuitBreaker(client).getState();
+    }
+
+    private MethodHandler guard(String client, Method method, MethodHandler handler) {
+        CircuitBreaker breaker = circuitBreakers.circuitBreaker(client);
+        Bulkhead bulkhead = bulkheads.bulkhead(client);
+        TimeLimiter timeLimiter = timeLimiters.timeLimiter(client);
+        Hedge hedge = method.isAnnotationPresent(Hedged.class)
+                ? new Hedge(new LatencyWindow(hedgeWindowSize), Counter.builder(HEDGES_METRIC)
+                        .tag("client", client)
+                        .tag("method", method.getName())
+                        .description("Second requests sent because the first one was slow")
+                        .register(meterRegistry))
+                : null;
+
+        return argv -> {
+            try {
+                return breaker.executeCheckedSupplier(() -> bulkhead.executeCheckedSupplier(() ->
+                        timeLimiter.executeFutureSupplier(() -> hedge == null
+                                ? calls.submit(() -> call(handler, argv))
+                                : hedged(bulkhead, hedge, handler, argv))));
+            } catch (CallNotPermittedException e) {
+                throw new DownstreamServiceException(client + " is failing; calls are suspended", e);
+            } catch (BulkheadFullException e) {
+                throw new DownstreamServiceException("Too many calls to " + client + " in progress", e);
+            } catch (TimeoutException e) {
+                throw new DownstreamServiceException(client + " did not answer within " + timeLimit, e);
+            }
+        };
+    }
+
+    /**
+     * Send the request, and a second one if the first is slower than the method's usual
+     * latency. The returned future completes with the first answer, or fails once every
+     * request sent has failed; completing it in any way cancels the requests still running.
+     */
+    private CompletableFuture<Object> hedged(Bulkhead bulkhead, Hedge hedge, MethodHandler handler, Object[] argv) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        List<Future<?>> attempts = new CopyOnWriteArrayList<>();
+        attempts.add(calls.submit(() -> attempt(hedge, handler, argv, result, pending)));
+
+        long latency = hedge.latencies().percentile(HEDGE_PERCENTILE, hedgeMinSamples);
+        long delayNanos = latency < 0 ? hedgeInitialDelayNanos : Math.max(hedgeMinDelayNanos, latency);
+        ScheduledFuture<?> second = hedgeTimer.schedule(() -> {
+            if (result.isDone() || !bulkhead.tryAcquirePermission()) {
+                return;
+            }
+            pending.incrementAndGet();
+            hedge.hedges().increment();
+            attempts.add(calls.submit(() -> {
+                try {
+                    attempt(hedge, handler, argv, result, pending);
+                } finally {
+                    bulkhead.onComplete();
+                }
+            }));
+        }, delayNanos, TimeUnit.NANOSECONDS);
+
+        result.whenComplete((value, error) -> {
+            second.cancel(false);
+            attempts.forEach(attempt -> attempt.cancel(true));
+        });
+        return result;
+    }
+
+    private static void attempt(Hedge hedge, MethodHandler handler, Object[] argv,
+                                CompletableFuture<Object> result, AtomicInteger pending) {
+        long started = System.nanoTime();
+        try {
+            Object value = handler.invoke(argv);
+            hedge.latencies().record(System.nanoTime() - started);
+            result.complete(value);
+        } catch (Throwable t) {
+            if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(t);
+            }
+        }
+    }
+
+    private static Object call(MethodHandler handler, Object[] argv) throws Exception {
+        try {
+            return handler.invoke(argv);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+
+    /**
+     * Whether an error says the service is unwell, as opposed to an answer it meant to give.
+     */
+    private static boolean isFailure(Throwable error) {
+        return error instanceof FeignException.FeignServerException
+                || error instanceof RetryableException
+                || error instanceof TimeoutException;
+    }
+
+    private record Hedge(LatencyWindow latencies, Counter hedges) {
+    }
+}
@@ -3,18 +3,29 @@ package com.wastewise.pickup.client;
 import com.wastewise.pickup.dto.VehicleDto;
 import com.wastewise.pickup.dto.VehicleStatusUpdateDto;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
 
-@FeignClient(name = "vehicle-service")
+@FeignClient(name = "vehicle-service", url = "${vehicle-service.url}")
 public interface VehicleServiceClient {
     @GetMapping("/vehicles")
     List<VehicleDto> getAllVehicles();
 
+    /**
+     * Conditional variant of {@link #getAllVehicles()}: a service that supports ETags answers
+     * 304 Not Modified, surfaced as a {@code FeignException} with status 304.
+     */
+    @GetMapping("/vehicles")
+    ResponseEntity<List<VehicleDto>> getAllVehicles(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @Hedged
     @GetMapping("/vehicles/{id}")
     VehicleDto getVehicleById(@PathVariable("id") String id);
 
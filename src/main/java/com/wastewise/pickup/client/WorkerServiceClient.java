@@ -3,18 +3,29 @@ package com.wastewise.pickup.client;
 import com.wastewise.pickup.dto.WorkerDto;
 import com.wastewise.pickup.dto.WorkerStatusUpdateDto;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
 
-@FeignClient(name = "worker-service")
+@FeignClient(name = "worker-service", url = "${worker-service.url}")
 public interface WorkerServiceClient {
     @GetMapping("/workers")
     List<WorkerDto> getAllWorkers();
 
+    /**
+     * Conditional variant of {@link #getAllWorkers()}: a service that supports ETags answers
+     * 304 Not Modified, surfaced as a {@code FeignException} with status 304.
+     */
+    @GetMapping("/workers")
+    ResponseEntity<List<WorkerDto>> getAllWorkers(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @Hedged
     @GetMapping("/workers/{id}")
     WorkerDto getWorkerById(@PathVariable("id") String id);
 
@@ -2,12 +2,22 @@ package com.wastewise.pickup.client;
 
 import com.wastewise.pickup.dto.ZoneDto;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 import java.util.List;
 
-@FeignClient(name = "zone-service")
+@FeignClient(name = "zone-service", url = "${zone-service.url}")
 public interface ZoneServiceClient {
     @GetMapping("/zones")
     List<ZoneDto> getAllZones();
+
+    /**
+     * Conditional variant of {@link #getAllZones()}: a service that supports ETags answers
+     * 304 Not Modified, surfaced as a {@code FeignException} with status 304.
+     */
+    @GetMapping("/zones")
+    ResponseEntity<List<ZoneDto>> getAllZones(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 }
\ No newline at end of file
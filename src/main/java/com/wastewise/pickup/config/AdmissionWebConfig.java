@@ -0,0 +1,31 @@
+package com.wastewise.pickup.config;
+
+import com.wastewise.pickup.admission.AdmissionGate;
+import com.wastewise.pickup.admission.AdmissionInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Puts the {@link AdmissionGate} in front of the pickup endpoints of the servlet stack.
+ * The reactive stack uses {@link com.wastewise.pickup.admission.AdmissionWebFilter} instead.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "pickup.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionWebConfig implements WebMvcConfigurer {
+
+    private final AdmissionGate gate;
+
+    public AdmissionWebConfig(AdmissionGate gate) {
+        this.gate = gate;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(gate))
+                .addPathPatterns("/wastewise/scheduler/pickups", "/wastewise/scheduler/pickups/**");
+    }
+}
@@ -0,0 +1,14 @@
+package com.wastewise.pickup.config;
+
+import com.wastewise.pickup.client.ZoneServiceClient;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the Feign clients of the zone, vehicle and worker services.
+ * Their base URLs are the {@code *-service.url} properties.
+ */
+@Configuration
+@EnableFeignClients(basePackageClasses = ZoneServiceClient.class)
+public class FeignClientConfig {
+}
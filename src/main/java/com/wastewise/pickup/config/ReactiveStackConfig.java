@@ -0,0 +1,49 @@
+package com.wastewise.pickup.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Infrastructure of the "reactive" profile.
+ *
+ * The server is Reactor Netty; without this Spring Boot would pick Tomcat, which is on the
+ * classpath for the servlet stack. The JDBC {@link javax.sql.DataSource} is declared here
+ * because Spring Boot does not auto-configure one once an R2DBC connection factory exists,
+ * while ID reservation, the booking index and the status outbox dispatcher still run on JPA.
+ * The JPA transaction manager stays the default for {@code @Transactional}; reactive code uses
+ * the R2DBC one through {@link org.springframework.transaction.reactive.TransactionalOperator}.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveStackConfig {
+
+    private static final String JPA_TRANSACTION_MANAGER = "transactionManager";
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public static BeanFactoryPostProcessor primaryJpaTransactionManager() {
+        return beanFactory -> {
+            if (beanFactory.containsBeanDefinition(JPA_TRANSACTION_MANAGER)) {
+                beanFactory.getBeanDefinition(JPA_TRANSACTION_MANAGER).setPrimary(true);
+            }
+        };
+    }
+}
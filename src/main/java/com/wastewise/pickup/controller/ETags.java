@@ -0,0 +1,26 @@
+package com.wastewise.pickup.controller;
+
+import com.wastewise.pickup.dto.PickUpDto;
+
+/**
+ * Entity tags for conditional GETs of pickups.
+ *
+ * Lists are tagged with the change sequence read before their rows, so the rows are at least
+ * as new as the tag, and the tag changes with every create, status transition and delete.
+ * A single pickup is tagged with its version: status transitions are the only way a pickup
+ * changes, and each increments the version. Either tag is checked without reading any pickup
+ * row from the database.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String ofChangeSequence(long changeSequence) {
+        return "\"s" + changeSequence + "\"";
+    }
+
+    static String of(PickUpDto pickUp) {
+        return "\"v" + pickUp.getVersion() + "\"";
+    }
+}
@@ -0,0 +1,25 @@
+package com.wastewise.pickup.controller;
+
+import com.wastewise.pickup.idempotency.IdempotencyStore;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Headers of idempotent pickup creation. A create request may carry an {@code Idempotency-Key};
+ * its response says with {@code Idempotent-Replayed} whether the pickup was created by an
+ * earlier request with the same key.
+ */
+final class IdempotencyHeaders {
+
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private IdempotencyHeaders() {
+    }
+
+    static ResponseEntity<String> created(IdempotencyStore.Outcome outcome) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, Boolean.toString(outcome.replayed()))
+                .body(outcome.pickUpId());
+    }
+}
@@ -1,16 +1,52 @@
 package com.wastewise.pickup.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wastewise.pickup.dto.AssignmentRequestDto;
+import com.wastewise.pickup.dto.AssignmentResultDto;
+import com.wastewise.pickup.dto.BulkCreatePickUpDto;
+import com.wastewise.pickup.dto.BulkCreatePickUpResponseDto;
+import com.wastewise.pickup.dto.BulkStatusTransitionDto;
+import com.wastewise.pickup.dto.BulkStatusTransitionResponseDto;
 import com.wastewise.pickup.dto.CreatePickUpDto;
+import com.wastewise.pickup.dto.PickUpChangesDto;
 import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.dto.PickUpEventDto;
+import com.wastewise.pickup.dto.PickUpFilter;
+import com.wastewise.pickup.dto.PickUpOccurrenceDto;
+import com.wastewise.pickup.dto.PickUpPageDto;
+import com.wastewise.pickup.dto.PickUpStatusDto;
+import com.wastewise.pickup.dto.StatusTransitionDto;
+import com.wastewise.pickup.export.ExportFormat;
+import com.wastewise.pickup.idempotency.IdempotencyStore;
+import com.wastewise.pickup.live.PickUpEventHub;
+import com.wastewise.pickup.logging.PayloadLogSampler;
+import com.wastewise.pickup.recurrence.OccurrenceWindow;
+import com.wastewise.pickup.service.ArchiveService;
+import com.wastewise.pickup.service.AssignmentService;
 import com.wastewise.pickup.service.PickUpService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * REST controller for managing special PickUp operations.
@@ -19,46 +55,189 @@ import java.util.List;
  *
  * 1)
  * POST /wastewise/pickups
- * Description: Create a new pickup task
- * Response: JSON Body 201 + pickupId
+ * Description: Create a new pickup task; a retry with the same Idempotency-Key header returns the first pickup
+ * Response: JSON Body 201 + pickupId / 400 if the Idempotency-Key was used for a different request
  *
  * 2)
  * GET /wastewise/pickups
  * Description: List all scheduled pickups
- * Response: 200 + List<PickUpDto>
+ * Response: 200 + List<PickUpDto> / 304 if unchanged since the ETag sent in If-None-Match
  *
  * 3)
  * GET /wastewise/pickups/{pickupId}
  * Description: Get pickup by ID
- * Response: 200 + PickUpDto / 404 if not found
+ * Response: 200 + PickUpDto / 304 if unchanged since the ETag sent in If-None-Match / 404 if not found
  *
  * 4)
  * DELETE /wastewise/pickups/{pickupId}
  * Description: Delete a pickup by ID
  * Response: 204 No Content / 404 if not found
+ *
+ * 5)
+ * GET /wastewise/pickups/page?cursor=&size=
+ * Description: Keyset page of pickups ordered by time slot start
+ * Response: 200 + PickUpPageDto / 304 if unchanged / 400 if cursor or size is invalid
+ *
+ * 6)
+ * GET /wastewise/pickups/stream
+ * Description: Stream all pickups as newline-delimited JSON
+ * Response: 200 + application/x-ndjson
+ *
+ * 7)
+ * POST /wastewise/pickups/bulk
+ * Description: Create many pickups in one request
+ * Response: 201 + BulkCreatePickUpResponseDto if all were created / 207 if some failed
+ *
+ * 8)
+ * GET /wastewise/pickups/search?zoneId=&status=&vehicleId=&workerId=&from=&to=&cursor=&size=
+ * Description: Keyset page of the pickups matching the given filters
+ * Response: 200 + PickUpPageDto / 304 if unchanged / 400 if a filter, cursor or size is invalid
+ *
+ * 9)
+ * GET /wastewise/pickups/occurrences?from=&to=
+ * Description: Stream the occurrences of recurring and one-off pickups in a time window
+ * Response: 200 + application/x-ndjson / 400 if the window is invalid
+ *
+ * 10)
+ * POST /wastewise/pickups/assignments
+ * Description: Plan vehicles and two-worker crews for pending pickups without booking them
+ * Response: 200 + AssignmentResultDto / 400 if a pickup is invalid / 503 if resources cannot be listed
+ *
+ * 11)
+ * PATCH /wastewise/pickups/{pickupId}/status
+ * Description: Move a pickup to its next status, given the version last read
+ * Response: 200 + PickUpStatusDto / 400 if the transition is invalid / 404 if not found / 409 if the pickup has changed
+ *
+ * 12)
+ * PATCH /wastewise/pickups/status
+ * Description: Apply many status transitions in one request
+ * Response: 200 + BulkStatusTransitionResponseDto if all were applied / 207 if some failed
+ *
+ * 13)
+ * GET /wastewise/pickups/archive?from=&to=
+ * Description: Stream archived pickups whose time slot starts in a window
+ * Response: 200 + application/x-ndjson / 400 if the window is invalid
+ *
+ * 14)
+ * GET /wastewise/pickups/export?format=csv|columnar
+ * Description: Download all pickups as a gzip-compressed CSV or columnar file
+ * Response: 200 + application/gzip / 400 if the format is unknown
+ *
+ * 15)
+ * GET /wastewise/pickups/changes?since=&limit=
+ * Description: Pickups created, updated or deleted (as tombstones) after a change sequence
+ * Response: 200 + PickUpChangesDto / 400 if since or limit is invalid
+ *
+ * 16)
+ * GET /wastewise/pickups/events?zoneId=
+ * Description: Live server-sent events for committed pickup creates, status changes and deletes
+ * Response: 200 + text/event-stream
  */
 
 @RestController
 @RequestMapping("/wastewise/scheduler/pickups")
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
 public class PickUpController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+
     private final PickUpService pickUpService;
+    private final AssignmentService assignmentService;
+    private final ArchiveService archiveService;
+    private final PickUpEventHub eventHub;
+    private final PayloadLogSampler payloadSampler;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new PickUp resource.
      *
      * @param dto the DTO containing the PickUp creation details
-     * @return a ResponseEntity containing the ID of the created PickUp and HTTP status 201 (Created)
+     * @param idempotencyKey optional client-chosen key; a retry with the same key and body
+     *                       returns the PickUp of the first request instead of creating another
+     * @return a ResponseEntity containing the ID of the created PickUp and HTTP status 201 (Created),
+     *         with {@code Idempotent-Replayed: true} when it was created by an earlier request
      */
     @PostMapping
-    public ResponseEntity<String> createPickUp(@Valid @RequestBody CreatePickUpDto dto) {
-        log.info("POST - /wastewise/scheduler/pickups - payload: {}", dto);
-        String id = pickUpService.createPickUp(dto);
-        ResponseEntity<String> response = ResponseEntity.status(HttpStatus.CREATED).body(id);
-        log.debug("Created PickUp with ID: {}", id);
-        return response;
+    public ResponseEntity<String> createPickUp(@Valid @RequestBody CreatePickUpDto dto,
+                                               @RequestHeader(value = IdempotencyHeaders.IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        log.info("POST - /wastewise/scheduler/pickups - payload: {}", payloadSampler.sample(dto));
+        if (idempotencyKey == null) {
+            String id = pickUpService.createPickUp(dto);
+            log.debug("Created PickUp with ID: {}", id);
+            return ResponseEntity.status(HttpStatus.CREATED).body(id);
+        }
+        IdempotencyStore.Outcome outcome = idempotencyStore.createOnce(idempotencyKey, dto,
+                () -> pickUpService.preparePickUp(dto), pickUpId -> pickUpService.savePickUp(pickUpId, dto));
+        log.debug("Created PickUp with ID: {} (replayed: {})", outcome.pickUpId(), outcome.replayed());
+        return IdempotencyHeaders.created(outcome);
+    }
+
+    /**
+     * Creates many PickUp resources in one request.
+     *
+     * @param dto the DTO containing the PickUps to create
+     * @return a ResponseEntity with the per-item results and HTTP status 201 (Created),
+     *         or 207 (Multi-Status) when at least one item failed
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreatePickUpResponseDto> createPickUps(@Valid @RequestBody BulkCreatePickUpDto dto) {
+        log.info("POST - /wastewise/scheduler/pickups/bulk - {} pickups", dto.getPickUps().size());
+        BulkCreatePickUpResponseDto result = pickUpService.createPickUps(dto.getPickUps());
+        HttpStatus status = result.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        log.debug("Bulk created {} PickUps, {} failed", result.getCreated(), result.getFailed());
+        return ResponseEntity.status(status).body(result);
+    }
+
+    /**
+     * Plans a vehicle and a two-worker crew for each pending PickUp. Nothing is booked.
+     *
+     * @param dto the pending PickUps and, optionally, the vehicles and workers to use
+     * @return a ResponseEntity with one assignment per PickUp, the plan statistics and HTTP status 200 (OK)
+     */
+    @PostMapping("/assignments")
+    public ResponseEntity<AssignmentResultDto> assignResources(@Valid @RequestBody AssignmentRequestDto dto) {
+        log.info("POST - /wastewise/scheduler/pickups/assignments - {} pending pickups", dto.getPickUps().size());
+        AssignmentResultDto result = assignmentService.assignResources(dto);
+        log.debug("Assigned {} PickUps, {} left unassigned",
+                result.getStats().getAssigned(), result.getStats().getUnassigned());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Moves a PickUp to its next status if it is still at the version the caller read.
+     *
+     * @param id the ID of the PickUp to update
+     * @param dto the target status and the expected version
+     * @return a ResponseEntity with the new status and version and HTTP status 200 (OK)
+     */
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<PickUpStatusDto> transitionStatus(@PathVariable String id,
+                                                            @Valid @RequestBody StatusTransitionDto dto) {
+        log.info("PATCH /wastewise/scheduler/pickups/{}/status - payload: {}", id, payloadSampler.sample(dto));
+        PickUpStatusDto result = pickUpService.transitionStatus(id, dto);
+        log.debug("PickUp {} is now {} at version {}", id, result.getStatus(), result.getVersion());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Applies many status transitions in one request.
+     *
+     * @param dto the transitions, each with its target status and expected version
+     * @return a ResponseEntity with the per-item results and HTTP status 200 (OK),
+     *         or 207 (Multi-Status) when at least one item failed
+     */
+    @PatchMapping("/status")
+    public ResponseEntity<BulkStatusTransitionResponseDto> transitionStatuses(
+            @Valid @RequestBody BulkStatusTransitionDto dto) {
+        log.info("PATCH - /wastewise/scheduler/pickups/status - {} transitions", dto.getTransitions().size());
+        BulkStatusTransitionResponseDto result = pickUpService.transitionStatuses(dto.getTransitions());
+        HttpStatus status = result.getFailed() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+        log.debug("Applied {} status transitions, {} failed", result.getApplied(), result.getFailed());
+        return ResponseEntity.status(status).body(result);
     }
 
     /**
@@ -79,27 +258,208 @@ public class PickUpController {
     /**
      * Retrieves all existing PickUp resources.
      *
-     * @return a ResponseEntity containing a list of all PickUp DTOs and HTTP status 200 (OK)
+     * @param request checked for an If-None-Match header
+     * @return a ResponseEntity containing a list of all PickUp DTOs and HTTP status 200 (OK),
+     *         or no body and 304 (Not Modified) if no PickUp has changed since the given ETag
      */
     @GetMapping
-    public ResponseEntity<List<PickUpDto>> listAllPickUps() {
+    public ResponseEntity<List<PickUpDto>> listAllPickUps(WebRequest request) {
         log.info("GET /wastewise/scheduler/pickups");
+        String etag = ETags.ofChangeSequence(pickUpService.currentChangeSequence());
+        if (request.checkNotModified(etag)) {
+            log.debug("PickUps unchanged since {}", etag);
+            return null;
+        }
         List<PickUpDto> all = pickUpService.listAllPickUps();
         log.debug("Returning {} pickups", all.size());
-        return ResponseEntity.ok(all);
+        return ResponseEntity.ok().eTag(etag).body(all);
+    }
+
+    /**
+     * Retrieves the PickUps created, updated or deleted after a change sequence, for clients
+     * that keep a local copy. Start with since=0, then pass the sequence of each response.
+     *
+     * @param since the sequence of the previous response
+     * @param limit the maximum number of changes to return
+     * @return a ResponseEntity containing the changes and HTTP status 200 (OK)
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<PickUpChangesDto> listChanges(@RequestParam long since,
+                                                        @RequestParam(defaultValue = "500") int limit) {
+        log.info("GET /wastewise/scheduler/pickups/changes - since: {}, limit: {}", since, limit);
+        PickUpChangesDto changes = pickUpService.listChanges(since, limit);
+        log.debug("Returning {} changes up to sequence {}", changes.getChanges().size(), changes.getSequence());
+        return ResponseEntity.ok(changes);
+    }
+
+    /**
+     * Streams committed PickUp creates, status changes and deletes as server-sent events, for
+     * dispatch dashboards in place of polling. Each event carries its change sequence as ID;
+     * a client whose stream ends catches up with /changes from its last ID and reconnects.
+     *
+     * @param zoneId only events of this zone, or all zones if omitted
+     * @return the event stream, open until the client disconnects or falls too far behind
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<PickUpEventDto>> streamEvents(@RequestParam(required = false) String zoneId) {
+        log.info("GET /wastewise/scheduler/pickups/events - zoneId: {}", zoneId);
+        return eventHub.stream(zoneId);
+    }
+
+    /**
+     * Retrieves one keyset page of PickUp resources.
+     *
+     * @param cursor the nextCursor of the previous page, omitted for the first page
+     * @param size the maximum number of PickUps to return
+     * @param request checked for an If-None-Match header
+     * @return a ResponseEntity containing the page and HTTP status 200 (OK),
+     *         or no body and 304 (Not Modified) if no PickUp has changed since the given ETag
+     */
+    @GetMapping("/page")
+    public ResponseEntity<PickUpPageDto> listPickUps(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "50") int size,
+                                                     WebRequest request) {
+        log.info("GET /wastewise/scheduler/pickups/page - cursor: {}, size: {}", cursor, size);
+        String etag = ETags.ofChangeSequence(pickUpService.currentChangeSequence());
+        if (request.checkNotModified(etag)) {
+            log.debug("PickUps unchanged since {}", etag);
+            return null;
+        }
+        PickUpPageDto page = pickUpService.listPickUps(cursor, size);
+        log.debug("Returning {} pickups, next cursor: {}", page.getItems().size(), page.getNextCursor());
+        return ResponseEntity.ok().eTag(etag).body(page);
+    }
+
+    /**
+     * Retrieves one keyset page of the PickUp resources matching the given filters.
+     * Filters that are left out are not applied.
+     *
+     * @param filter zoneId, status, vehicleId, workerId (either worker) and a from/to time window
+     * @param cursor the nextCursor of the previous page, omitted for the first page
+     * @param size the maximum number of PickUps to return
+     * @param request checked for an If-None-Match header
+     * @return a ResponseEntity containing the page and HTTP status 200 (OK),
+     *         or no body and 304 (Not Modified) if no PickUp has changed since the given ETag
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PickUpPageDto> searchPickUps(PickUpFilter filter,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "50") int size,
+                                                       WebRequest request) {
+        log.info("GET /wastewise/scheduler/pickups/search - filter: {}, cursor: {}, size: {}", filter, cursor, size);
+        String etag = ETags.ofChangeSequence(pickUpService.currentChangeSequence());
+        if (request.checkNotModified(etag)) {
+            log.debug("PickUps unchanged since {}", etag);
+            return null;
+        }
+        PickUpPageDto page = pickUpService.searchPickUps(filter, cursor, size);
+        log.debug("Returning {} pickups, next cursor: {}", page.getItems().size(), page.getNextCursor());
+        return ResponseEntity.ok().eTag(etag).body(page);
+    }
+
+    /**
+     * Streams all PickUp resources as newline-delimited JSON, one object per line.
+     * Rows are written as they are read, so memory use does not grow with the table.
+     *
+     * @return a ResponseEntity with the streaming body and HTTP status 200 (OK)
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllPickUps() {
+        log.info("GET /wastewise/scheduler/pickups/stream");
+        StreamingResponseBody body = out -> pickUpService.streamAllPickUps(ndjsonWriter(out));
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Streams the occurrences of all PickUps that overlap a time window as newline-delimited JSON,
+     * ordered by start time. Recurring PickUps are expanded by their frequency on the fly.
+     *
+     * @param from start of the window, inclusive (ISO date-time)
+     * @param to end of the window, exclusive (ISO date-time), at most 366 days after from
+     * @return a ResponseEntity with the streaming body and HTTP status 200 (OK)
+     */
+    @GetMapping("/occurrences")
+    public ResponseEntity<StreamingResponseBody> streamOccurrences(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("GET /wastewise/scheduler/pickups/occurrences - from: {}, to: {}", from, to);
+        // Checked here, as errors inside the streaming body can no longer change the status
+        OccurrenceWindow.validate(from, to);
+        StreamingResponseBody body = out -> pickUpService.streamOccurrences(from, to, ndjsonWriter(out));
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Streams the archived PickUps whose time slot starts in a window as newline-delimited JSON,
+     * ordered by time slot start.
+     *
+     * @param from start of the window, inclusive (ISO date-time)
+     * @param to end of the window, exclusive (ISO date-time), at most 366 days after from
+     * @return a ResponseEntity with the streaming body and HTTP status 200 (OK)
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<StreamingResponseBody> streamArchivedPickUps(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("GET /wastewise/scheduler/pickups/archive - from: {}, to: {}", from, to);
+        // Opened here, so that an invalid window is rejected before the response starts
+        Stream<PickUpDto> archived = archiveService.readArchivedPickUps(from, to);
+        StreamingResponseBody body = out -> {
+            try (archived) {
+                archived.forEach(ndjsonWriter(out));
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Exports all PickUp resources as a gzip-compressed file, written as rows are read from
+     * a forward-only cursor, so memory use does not grow with the table.
+     *
+     * @param format csv, or columnar for the format read by ColumnarPickUpReader
+     * @return a ResponseEntity with the file as an attachment and HTTP status 200 (OK)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPickUps(@RequestParam(defaultValue = "csv") String format) {
+        log.info("GET /wastewise/scheduler/pickups/export - format: {}", format);
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> pickUpService.exportPickUps(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_GZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(exportFormat.getFileName()).build().toString())
+                .body(body);
+    }
+
+    private <T> Consumer<T> ndjsonWriter(OutputStream out) {
+        return dto -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(dto));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
     }
 
     /**
      * Retrieves a specific PickUp resource by its ID.
      *
      * @param id the ID of the PickUp to retrieve
-     * @return a ResponseEntity containing the PickUp DTO and HTTP status 200 (OK)
+     * @param request checked for an If-None-Match header
+     * @return a ResponseEntity containing the PickUp DTO and HTTP status 200 (OK),
+     *         or no body and 304 (Not Modified) if the PickUp has not changed since the given ETag
      */
     @GetMapping("/{id}")
-    public ResponseEntity<PickUpDto> getPickUpById(@PathVariable String id) {
+    public ResponseEntity<PickUpDto> getPickUpById(@PathVariable String id, WebRequest request) {
         log.info("GET /wastewise/scheduler/pickups/{}", id);
         PickUpDto dto = pickUpService.getPickUpById(id);
+        String etag = ETags.of(dto);
+        if (request.checkNotModified(etag)) {
+            log.debug("PickUp {} unchanged since {}", id, etag);
+            return null;
+        }
         log.debug("Fetched PickUp: {}", dto);
-        return ResponseEntity.ok(dto);
+        return ResponseEntity.ok().eTag(etag).body(dto);
     }
 }
\ No newline at end of file
@@ -0,0 +1,341 @@
+package com.wastewise.pickup.controller;
+
+import com.wastewise.pickup.dto.AssignmentRequestDto;
+import com.wastewise.pickup.dto.AssignmentResultDto;
+import com.wastewise.pickup.dto.BulkCreatePickUpDto;
+import com.wastewise.pickup.dto.BulkCreatePickUpResponseDto;
+import com.wastewise.pickup.dto.BulkStatusTransitionDto;
+import com.wastewise.pickup.dto.BulkStatusTransitionResponseDto;
+import com.wastewise.pickup.dto.CreatePickUpDto;
+import com.wastewise.pickup.dto.PickUpChangesDto;
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.dto.PickUpEventDto;
+import com.wastewise.pickup.dto.PickUpFilter;
+import com.wastewise.pickup.dto.PickUpOccurrenceDto;
+import com.wastewise.pickup.dto.PickUpPageDto;
+import com.wastewise.pickup.dto.PickUpStatusDto;
+import com.wastewise.pickup.dto.StatusTransitionDto;
+import com.wastewise.pickup.export.ExportFormat;
+import com.wastewise.pickup.idempotency.IdempotencyStore;
+import com.wastewise.pickup.live.PickUpEventHub;
+import com.wastewise.pickup.logging.PayloadLogSampler;
+import com.wastewise.pickup.service.ArchiveService;
+import com.wastewise.pickup.service.AssignmentService;
+import com.wastewise.pickup.service.PickUpService;
+import com.wastewise.pickup.service.ReactivePickUpService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Non-blocking REST controller for PickUp operations, active with the "reactive" profile
+ * in place of {@link PickUpController}. It serves the same endpoints with the same status codes;
+ * list and stream responses are written as rows arrive from the database.
+ */
+
+@RestController
+@RequestMapping("/wastewise/scheduler/pickups")
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactivePickUpController {
+
+    private final ReactivePickUpService pickUpService;
+    private final AssignmentService assignmentService;
+    private final ArchiveService archiveService;
+    private final PickUpEventHub eventHub;
+    private final PayloadLogSampler payloadSampler;
+    private final IdempotencyStore idempotencyStore;
+    private final PickUpService blockingPickUpService;
+
+    /**
+     * Creates a new PickUp resource.
+     *
+     * With an {@code Idempotency-Key}, the key is stored in the same JDBC transaction as the
+     * PickUp, so such requests run on the blocking service off the event loop.
+     *
+     * @param dto the DTO containing the PickUp creation details
+     * @param idempotencyKey optional client-chosen key; a retry with the same key and body
+     *                       returns the PickUp of the first request instead of creating another
+     * @return the ID of the created PickUp and HTTP status 201 (Created),
+     *         with {@code Idempotent-Replayed: true} when it was created by an earlier request
+     */
+    @PostMapping
+    public Mono<ResponseEntity<String>> createPickUp(@Valid @RequestBody CreatePickUpDto dto,
+                                                     @RequestHeader(value = IdempotencyHeaders.IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        log.info("POST - /wastewise/scheduler/pickups - payload: {}", payloadSampler.sample(dto));
+        if (idempotencyKey == null) {
+            return pickUpService.createPickUp(dto)
+                    .map(id -> ResponseEntity.status(HttpStatus.CREATED).body(id));
+        }
+        return Mono.fromCallable(() -> idempotencyStore.createOnce(idempotencyKey, dto,
+                        () -> blockingPickUpService.preparePickUp(dto),
+                        pickUpId -> blockingPickUpService.savePickUp(pickUpId, dto)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(IdempotencyHeaders::created);
+    }
+
+    /**
+     * Creates many PickUp resources in one request.
+     *
+     * @param dto the DTO containing the PickUps to create
+     * @return the per-item results and HTTP status 201 (Created),
+     *         or 207 (Multi-Status) when at least one item failed
+     */
+    @PostMapping("/bulk")
+    public Mono<ResponseEntity<BulkCreatePickUpResponseDto>> createPickUps(@Valid @RequestBody BulkCreatePickUpDto dto) {
+        log.info("POST - /wastewise/scheduler/pickups/bulk - {} pickups", dto.getPickUps().size());
+        return pickUpService.createPickUps(dto.getPickUps())
+                .map(result -> ResponseEntity
+                        .status(result.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                        .body(result));
+    }
+
+    /**
+     * Plans a vehicle and a two-worker crew for each pending PickUp. Nothing is booked.
+     * The solver is CPU-bound and may list resources remotely, so it runs off the event loop.
+     *
+     * @param dto the pending PickUps and, optionally, the vehicles and workers to use
+     * @return one assignment per PickUp, the plan statistics and HTTP status 200 (OK)
+     */
+    @PostMapping("/assignments")
+    public Mono<AssignmentResultDto> assignResources(@Valid @RequestBody AssignmentRequestDto dto) {
+        log.info("POST - /wastewise/scheduler/pickups/assignments - {} pending pickups", dto.getPickUps().size());
+        return Mono.fromCallable(() -> assignmentService.assignResources(dto))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Moves a PickUp to its next status if it is still at the version the caller read.
+     *
+     * @param id the ID of the PickUp to update
+     * @param dto the target status and the expected version
+     * @return the new status and version and HTTP status 200 (OK)
+     */
+    @PatchMapping("/{id}/status")
+    public Mono<PickUpStatusDto> transitionStatus(@PathVariable String id, @Valid @RequestBody StatusTransitionDto dto) {
+        log.info("PATCH /wastewise/scheduler/pickups/{}/status - payload: {}", id, payloadSampler.sample(dto));
+        return pickUpService.transitionStatus(id, dto);
+    }
+
+    /**
+     * Applies many status transitions in one request.
+     *
+     * @param dto the transitions, each with its target status and expected version
+     * @return the per-item results and HTTP status 200 (OK),
+     *         or 207 (Multi-Status) when at least one item failed
+     */
+    @PatchMapping("/status")
+    public Mono<ResponseEntity<BulkStatusTransitionResponseDto>> transitionStatuses(
+            @Valid @RequestBody BulkStatusTransitionDto dto) {
+        log.info("PATCH - /wastewise/scheduler/pickups/status - {} transitions", dto.getTransitions().size());
+        return pickUpService.transitionStatuses(dto.getTransitions())
+                .map(result -> ResponseEntity
+                        .status(result.getFailed() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS)
+                        .body(result));
+    }
+
+    /**
+     * Deletes an existing PickUp resource by its ID.
+     *
+     * @param id the ID of the PickUp to delete
+     * @return a success message and HTTP status 200 (OK)
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deletePickUp(@PathVariable String id) {
+        log.info("DELETE /wastewise/scheduler/pickups/{}", id);
+        return pickUpService.deletePickUp(id)
+                .map(deleted -> ResponseEntity.ok("Pickup with ID " + id + " has been deleted successfully."));
+    }
+
+    /**
+     * Retrieves all existing PickUp resources as a JSON array, written as rows are read.
+     *
+     * @param exchange checked for an If-None-Match header
+     * @return all PickUp DTOs in time slot order, or no body and 304 (Not Modified)
+     *         if no PickUp has changed since the given ETag
+     */
+    @GetMapping
+    public Mono<ResponseEntity<Flux<PickUpDto>>> listAllPickUps(ServerWebExchange exchange) {
+        log.info("GET /wastewise/scheduler/pickups");
+        return pickUpService.currentChangeSequence().flatMap(sequence -> conditional(exchange,
+                ETags.ofChangeSequence(sequence), () -> Mono.just(pickUpService.listAllPickUps())));
+    }
+
+    /**
+     * Retrieves the PickUps created, updated or deleted after a change sequence, for clients
+     * that keep a local copy. Start with since=0, then pass the sequence of each response.
+     *
+     * @param since the sequence of the previous response
+     * @param limit the maximum number of changes to return
+     * @return the changes and HTTP status 200 (OK)
+     */
+    @GetMapping("/changes")
+    public Mono<PickUpChangesDto> listChanges(@RequestParam long since,
+                                              @RequestParam(defaultValue = "500") int limit) {
+        log.info("GET /wastewise/scheduler/pickups/changes - since: {}, limit: {}", since, limit);
+        return pickUpService.listChanges(since, limit);
+    }
+
+    /**
+     * Streams committed PickUp creates, status changes and deletes as server-sent events, for
+     * dispatch dashboards in place of polling. Each event carries its change sequence as ID;
+     * a client whose stream ends catches up with /changes from its last ID and reconnects.
+     *
+     * @param zoneId only events of this zone, or all zones if omitted
+     * @return the event stream, open until the client disconnects or falls too far behind
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<PickUpEventDto>> streamEvents(@RequestParam(required = false) String zoneId) {
+        log.info("GET /wastewise/scheduler/pickups/events - zoneId: {}", zoneId);
+        return eventHub.stream(zoneId);
+    }
+
+    /**
+     * Retrieves one keyset page of PickUp resources.
+     *
+     * @param cursor the nextCursor of the previous page, omitted for the first page
+     * @param size the maximum number of PickUps to return
+     * @param exchange checked for an If-None-Match header
+     * @return the page and HTTP status 200 (OK), or no body and 304 (Not Modified)
+     *         if no PickUp has changed since the given ETag
+     */
+    @GetMapping("/page")
+    public Mono<ResponseEntity<PickUpPageDto>> listPickUps(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "50") int size,
+                                                           ServerWebExchange exchange) {
+        log.info("GET /wastewise/scheduler/pickups/page - cursor: {}, size: {}", cursor, size);
+        return pickUpService.currentChangeSequence().flatMap(sequence -> conditional(exchange,
+                ETags.ofChangeSequence(sequence), () -> pickUpService.listPickUps(cursor, size)));
+    }
+
+    /**
+     * Retrieves one keyset page of the PickUp resources matching the given filters.
+     * Filters that are left out are not applied.
+     *
+     * @param filter zoneId, status, vehicleId, workerId (either worker) and a from/to time window
+     * @param cursor the nextCursor of the previous page, omitted for the first page
+     * @param size the maximum number of PickUps to return
+     * @param exchange checked for an If-None-Match header
+     * @return the page and HTTP status 200 (OK), or no body and 304 (Not Modified)
+     *         if no PickUp has changed since the given ETag
+     */
+    @GetMapping("/search")
+    public Mono<ResponseEntity<PickUpPageDto>> searchPickUps(PickUpFilter filter,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "50") int size,
+                                                             ServerWebExchange exchange) {
+        log.info("GET /wastewise/scheduler/pickups/search - filter: {}, cursor: {}, size: {}", filter, cursor, size);
+        return pickUpService.currentChangeSequence().flatMap(sequence -> conditional(exchange,
+                ETags.ofChangeSequence(sequence), () -> pickUpService.searchPickUps(filter, cursor, size)));
+    }
+
+    /**
+     * Streams all PickUp resources as newline-delimited JSON, one object per line.
+     *
+     * @return all PickUp DTOs in time slot order
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PickUpDto> streamAllPickUps() {
+        log.info("GET /wastewise/scheduler/pickups/stream");
+        return pickUpService.listAllPickUps();
+    }
+
+    /**
+     * Streams the occurrences of all PickUps that overlap a time window as newline-delimited JSON,
+     * ordered by start time. Recurring PickUps are expanded by their frequency on the fly.
+     *
+     * @param from start of the window, inclusive (ISO date-time)
+     * @param to end of the window, exclusive (ISO date-time), at most 366 days after from
+     * @return the occurrences in the window
+     */
+    @GetMapping(value = "/occurrences", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PickUpOccurrenceDto> streamOccurrences(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("GET /wastewise/scheduler/pickups/occurrences - from: {}, to: {}", from, to);
+        return pickUpService.listOccurrences(from, to);
+    }
+
+    /**
+     * Streams the archived PickUps whose time slot starts in a window as newline-delimited JSON,
+     * ordered by time slot start. Archive files are read off the event loop.
+     *
+     * @param from start of the window, inclusive (ISO date-time)
+     * @param to end of the window, exclusive (ISO date-time), at most 366 days after from
+     * @return the archived PickUps in the window
+     */
+    @GetMapping(value = "/archive", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PickUpDto> streamArchivedPickUps(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("GET /wastewise/scheduler/pickups/archive - from: {}, to: {}", from, to);
+        return Flux.using(() -> archiveService.readArchivedPickUps(from, to), Flux::fromStream, Stream::close)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Exports all PickUp resources as a gzip-compressed file. Rows are read from a forward-only
+     * cursor and encoded off the event loop, and sent as the buffers fill.
+     *
+     * @param format csv, or columnar for the format read by ColumnarPickUpReader
+     * @return the file as an attachment and HTTP status 200 (OK)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<Flux<DataBuffer>> exportPickUps(@RequestParam(defaultValue = "csv") String format,
+                                                          ServerHttpResponse response) {
+        log.info("GET /wastewise/scheduler/pickups/export - format: {}", format);
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(exportFormat.getFileName()).build().toString())
+                .body(pickUpService.exportPickUps(exportFormat, response.bufferFactory()));
+    }
+
+    /**
+     * Retrieves a specific PickUp resource by its ID.
+     *
+     * @param id the ID of the PickUp to retrieve
+     * @param exchange checked for an If-None-Match header
+     * @return the PickUp DTO and HTTP status 200 (OK), or no body and 304 (Not Modified)
+     *         if the PickUp has not changed since the given ETag
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<PickUpDto>> getPickUpById(@PathVariable String id, ServerWebExchange exchange) {
+        log.info("GET /wastewise/scheduler/pickups/{}", id);
+        return pickUpService.getPickUpById(id)
+                .flatMap(dto -> conditional(exchange, ETags.of(dto), () -> Mono.just(dto)));
+    }
+
+    /**
+     * 304 (Not Modified) if the request's If-None-Match matches the ETag, without subscribing to
+     * the body; otherwise 200 (OK) with the ETag and the body.
+     */
+    private static <T> Mono<ResponseEntity<T>> conditional(ServerWebExchange exchange, String etag,
+                                                           Supplier<Mono<T>> body) {
+        if (exchange.checkNotModified(etag)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build());
+        }
+        return body.get().map(value -> ResponseEntity.ok().eTag(etag).body(value));
+    }
+}
@@ -0,0 +1,24 @@
+package com.wastewise.pickup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vehicle and crew planned for one pending pickup, in request order.
+ * The resource IDs are null when no vehicle or crew was free for the whole slot.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentDto {
+    private int index;
+    private String zoneId;
+    private LocalDateTime timeSlotStart;
+    private LocalDateTime timeSlotEnd;
+    private String vehicleId;
+    private String worker1Id;
+    private String worker2Id;
+}
@@ -0,0 +1,27 @@
+package com.wastewise.pickup.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for planning vehicles and crews for pending pickups.
+ * When {@code resources} is omitted, every vehicle and worker known to the vehicle and
+ * worker services is available; its zones are not used.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentRequestDto {
+
+    @NotEmpty(message = "pickUps must not be empty")
+    @Size(max = 20000, message = "at most 20000 pickUps can be assigned per request")
+    private List<@Valid PendingPickUpDto> pickUps;
+
+    private AvailableResourcesDto resources;
+}
@@ -0,0 +1,19 @@
+package com.wastewise.pickup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for assignment responses: one assignment per pending pickup plus plan statistics.
+ * Nothing is booked; the assignments can be sent to the create endpoints as they are.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentResultDto {
+    private List<AssignmentDto> assignments;
+    private AssignmentStatsDto stats;
+}
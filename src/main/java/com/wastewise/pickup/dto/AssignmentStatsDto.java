@@ -0,0 +1,24 @@
+package com.wastewise.pickup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How long a plan took and how good it is.
+ * {@code localSearchMoves} counts the reassignments made after the greedy construction.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssignmentStatsDto {
+    private long solveMillis;
+    private int zones;
+    private int assigned;
+    private int unassigned;
+    private int localSearchMoves;
+    private WorkloadStatsDto vehicleLoad;
+    private WorkloadStatsDto workerLoad;
+}
@@ -0,0 +1,24 @@
+package com.wastewise.pickup.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for creating many PickUps in one request.
+ * Items are deliberately not cascaded with @Valid: each one is validated on its own
+ * so that a bad item is reported in its result instead of rejecting the whole batch.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreatePickUpDto {
+
+    @NotEmpty(message = "pickUps must not be empty")
+    @Size(max = 5000, message = "at most 5000 pickUps can be created per request")
+    private List<CreatePickUpDto> pickUps;
+}
@@ -0,0 +1,19 @@
+package com.wastewise.pickup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for bulk create responses: totals plus one result per requested item.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreatePickUpResponseDto {
+    private int created;
+    private int failed;
+    private List<BulkCreateResultDto> results;
+}
@@ -0,0 +1,26 @@
+package com.wastewise.pickup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a bulk create, in request order.
+ * Exactly one of {@code pickUpId} and {@code error} is set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateResultDto {
+    private int index;
+    private String pickUpId;
+    private String error;
+
+    public static BulkCreateResultDto created(int index, String pickUpId) {
+        return new BulkCreateResultDto(index, pickUpId, null);
+    }
+
+    public static BulkCreateResultDto failed(int index, String error) {
+        return new BulkCreateResultDto(index, null, error);
+    }
+}
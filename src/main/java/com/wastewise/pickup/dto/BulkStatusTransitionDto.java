@@ -0,0 +1,23 @@
+package com.wastewise.pickup.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for moving many PickUps to new statuses in one request.
+ * Items are not cascaded with @Valid, so that a bad item is reported in its own result.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusTransitionDto {
+
+    @NotEmpty(message = "transitions must not be empty")
+    @Size(max = 5000, message = "at most 5000 transitions can be applied per request")
+    private List<PickUpStatusDto> transitions;
+}
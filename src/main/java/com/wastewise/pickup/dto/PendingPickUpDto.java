@@ -0,0 +1,27 @@
+package com.wastewise.pickup.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A pickup that still needs a vehicle and a crew: its zone and time slot only.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingPickUpDto {
+
+    @NotBlank(message = "zoneId must not be blank")
+    private String zoneId;
+
+    @NotNull(message = "timeSlotStart must be provided")
+    private LocalDateTime timeSlotStart;
+
+    @NotNull(message = "timeSlotEnd must be provided")
+    private LocalDateTime timeSlotEnd;
+}
@@ -0,0 +1,27 @@
+package com.wastewise.pickup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One change in a delta sync response: the current state of a created or updated pickup,
+ * or a tombstone for a deleted one, in which case {@code pickUp} is null.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickUpChangeDto {
+    private long sequence;
+    private String pickUpId;
+    private boolean deleted;
+    private PickUpDto pickUp;
+
+    public static PickUpChangeDto upserted(long sequence, PickUpDto pickUp) {
+        return new PickUpChangeDto(sequence, pickUp.getId(), false, pickUp);
+    }
+
+    public static PickUpChangeDto deleted(long sequence, String pickUpId) {
+        return new PickUpChangeDto(sequence, pickUpId, true, null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.wastewise.pickup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Changes after a client's change sequence, ordered by sequence. A pickup changed several
+ * times appears once, with its latest state. Pass {@code sequence} as {@code since} on the
+ * next request; while {@code hasMore} is true, more changes are waiting.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickUpChangesDto {
+    private List<PickUpChangeDto> changes;
+    private long sequence;
+    private boolean hasMore;
+}
@@ -28,4 +28,5 @@ public class PickUpDto {
     private String worker1Id;
     private String worker2Id;
     private PickUpStatus status;
+    private Long version;
 }
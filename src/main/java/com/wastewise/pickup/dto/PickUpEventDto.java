@@ -0,0 +1,40 @@
+package com.wastewise.pickup.dto;
+
+import com.wastewise.pickup.live.PickUpEventType;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A committed pickup change on the live feed. {@code sequence} is the change sequence number
+ * of delta sync, so a client that lost its stream can catch up from its last event with
+ * {@code GET /changes?since=}. Status and version are null for deleted pickups.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickUpEventDto {
+    private long sequence;
+    private PickUpEventType type;
+    private String pickUpId;
+    private String zoneId;
+    private PickUpStatus status;
+    private Long version;
+
+    public static PickUpEventDto created(long sequence, String pickUpId, String zoneId) {
+        return new PickUpEventDto(sequence, PickUpEventType.CREATED, pickUpId, zoneId, PickUpStatus.SCHEDULED, 0L);
+    }
+
+    /**
+     * @param zoneId null if not known to the caller; the hub looks it up before fan-out.
+     */
+    public static PickUpEventDto statusChanged(long sequence, String pickUpId, String zoneId,
+                                               PickUpStatus status, long version) {
+        return new PickUpEventDto(sequence, PickUpEventType.STATUS_CHANGED, pickUpId, zoneId, status, version);
+    }
+
+    public static PickUpEventDto deleted(long sequence, String pickUpId, String zoneId) {
+        return new PickUpEventDto(sequence, PickUpEventType.DELETED, pickUpId, zoneId, null, null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.wastewise.pickup.dto;
+
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Search criteria for pickups, bound from query parameters. Every field is optional and
+ * null fields are not filtered on. {@code workerId} matches either worker of a pickup;
+ * {@code from} and {@code to} select pickups whose time slot overlaps [from, to).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PickUpFilter {
+
+    private String zoneId;
+    private PickUpStatus status;
+    private String vehicleId;
+    private String workerId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+}
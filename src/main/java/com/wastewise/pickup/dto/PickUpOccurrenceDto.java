@@ -0,0 +1,33 @@
+package com.wastewise.pickup.dto;
+
+import com.wastewise.pickup.model.enums.Frequency;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO representing one occurrence of a (possibly recurring) PickUp.
+ * {@code occurrence} counts the repetitions since the PickUp's own time slot, which is 0.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PickUpOccurrenceDto {
+
+    private String pickUpId;
+    private long occurrence;
+    private String zoneId;
+    private LocalDateTime timeSlotStart;
+    private LocalDateTime timeSlotEnd;
+    private Frequency frequency;
+    private String locationName;
+    private String vehicleId;
+    private String worker1Id;
+    private String worker2Id;
+    private PickUpStatus status;
+}
@@ -0,0 +1,27 @@
+package com.wastewise.pickup.dto;
+
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Status and version of one PickUp: an item of a bulk transition request, with the version
+ * last read, or the state after a transition, with the new version.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickUpStatusDto {
+
+    @NotBlank(message = "pickUpId must not be blank")
+    private String pickUpId;
+
+    @NotNull(message = "status must be provided")
+    private PickUpStatus status;
+
+    @NotNull(message = "version must be provided")
+    private Long version;
+}
@@ -0,0 +1,23 @@
+package com.wastewise.pickup.dto;
+
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for moving one PickUp to a new status.
+ * {@code version} is the version the caller last read; the move fails if it has changed since.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusTransitionDto {
+
+    @NotNull(message = "status must be provided")
+    private PickUpStatus status;
+
+    @NotNull(message = "version must be provided")
+    private Long version;
+}
@@ -0,0 +1,29 @@
+package com.wastewise.pickup.dto;
+
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a bulk status transition, in request order.
+ * Applied items carry the new status and version; failed ones carry {@code error} instead.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusTransitionResultDto {
+    private int index;
+    private String pickUpId;
+    private PickUpStatus status;
+    private Long version;
+    private String error;
+
+    public static StatusTransitionResultDto applied(int index, String pickUpId, PickUpStatus status, long version) {
+        return new StatusTransitionResultDto(index, pickUpId, status, version, null);
+    }
+
+    public static StatusTransitionResultDto failed(int index, String pickUpId, String error) {
+        return new StatusTransitionResultDto(index, pickUpId, null, null, error);
+    }
+}
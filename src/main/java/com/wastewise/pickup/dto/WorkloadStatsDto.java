@@ -0,0 +1,21 @@
+package com.wastewise.pickup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Booked minutes per vehicle or per worker in the planning window, over all available
+ * resources including idle ones. A lower standard deviation means a more even workload.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkloadStatsDto {
+    private int resources;
+    private int used;
+    private long minMinutes;
+    private long maxMinutes;
+    private double meanMinutes;
+    private double stdDevMinutes;
+}
@@ -0,0 +1,47 @@
+package com.wastewise.pickup.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is shed before it reaches a controller: 429 when the client exceeded
+ * its write rate, 503 when the service is at its concurrency limit for the request's kind.
+ * The reason is a short, fixed code (e.g. "rate_limited") used to count rejections by cause.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final Duration retryAfter;
+    private final String reason;
+
+    public AdmissionRejectedException(String message, HttpStatus status, Duration retryAfter, String reason) {
+        super(message);
+        this.status = status;
+        this.retryAfter = retryAfter;
+        this.reason = reason;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * How long the client should wait before retrying, for the {@code Retry-After} header.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Whole seconds to wait, rounded up and at least 1, as {@code Retry-After} takes no fractions.
+     */
+    public long getRetryAfterSeconds() {
+        long seconds = retryAfter.toSeconds() + (retryAfter.toNanosPart() > 0 ? 1 : 0);
+        return Math.max(1, seconds);
+    }
+}
@@ -0,0 +1,11 @@
+package com.wastewise.pickup.exception;
+
+/**
+ * Thrown when changes are requested after a change sequence number whose deletes have already
+ * been purged, so the client has to load all pickups again.
+ */
+public class ChangeSequenceExpiredException extends RuntimeException {
+    public ChangeSequenceExpiredException(String message) {
+        super(message);
+    }
+}
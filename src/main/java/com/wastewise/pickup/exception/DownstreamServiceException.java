@@ -0,0 +1,14 @@
+package com.wastewise.pickup.exception;
+
+/**
+ * Thrown when a zone, vehicle or worker lookup cannot be answered in time.
+ */
+public class DownstreamServiceException extends RuntimeException {
+    public DownstreamServiceException(String message) {
+        super(message);
+    }
+
+    public DownstreamServiceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
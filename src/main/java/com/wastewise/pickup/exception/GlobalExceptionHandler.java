@@ -1,12 +1,18 @@
 package com.wastewise.pickup.exception;
 
 import com.wastewise.pickup.dto.ApiErrorResponse;
+import com.wastewise.pickup.metrics.ValidationFailureMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.time.LocalDateTime;
 
@@ -20,6 +26,12 @@ import java.time.LocalDateTime;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final ValidationFailureMetrics validationFailures;
+
+    public GlobalExceptionHandler(ValidationFailureMetrics validationFailures) {
+        this.validationFailures = validationFailures;
+    }
+
     /**
      * Handles the {@link PickUpNotFoundException}.
      * This exception is thrown when a requested pick-up is not found in the database.
@@ -49,6 +61,7 @@ public class GlobalExceptionHandler {
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiErrorResponse handleInvalidRequest(InvalidPickUpRequestException ex) {
         log.error("InvalidPickUpRequestException: {}", ex.getMessage());
+        validationFailures.record(ex.getReason());
         return new ApiErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
                 ex.getMessage(),
@@ -56,6 +69,92 @@ public class GlobalExceptionHandler {
         );
     }
 
+    /**
+     * Handles the {@link PickUpConflictException}.
+     * This exception is thrown when a pick-up would double-book a vehicle or worker.
+     *
+     * @param ex The {@link PickUpConflictException} that was thrown.
+     * @return An {@link ApiErrorResponse} naming the resource that is already booked.
+     */
+    @ExceptionHandler(PickUpConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiErrorResponse handleConflict(PickUpConflictException ex) {
+        log.error("PickUpConflictException: {}", ex.getMessage());
+        validationFailures.record("resource_conflict");
+        return new ApiErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+    }
+
+    /**
+     * Handles the {@link ChangeSequenceExpiredException}.
+     * This exception is thrown when a client syncs changes after a sequence number whose
+     * deletes have already been purged.
+     *
+     * @param ex The {@link ChangeSequenceExpiredException} that was thrown.
+     * @return An {@link ApiErrorResponse} telling the client to load all pickups again.
+     */
+    @ExceptionHandler(ChangeSequenceExpiredException.class)
+    @ResponseStatus(HttpStatus.GONE)
+    public ApiErrorResponse handleExpired(ChangeSequenceExpiredException ex) {
+        log.warn("ChangeSequenceExpiredException: {}", ex.getMessage());
+        return new ApiErrorResponse(
+                HttpStatus.GONE.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+    }
+
+    /**
+     * Handles the {@link DownstreamServiceException}.
+     * This exception is thrown when the zone, vehicle or worker service cannot confirm a
+     * pick-up's resources before the validation deadline.
+     *
+     * @param ex The {@link DownstreamServiceException} that was thrown.
+     * @return An {@link ApiErrorResponse} indicating that the request can be retried later.
+     */
+    @ExceptionHandler(DownstreamServiceException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ApiErrorResponse handleDownstreamFailure(DownstreamServiceException ex) {
+        log.error("DownstreamServiceException: {}", ex.getMessage());
+        validationFailures.record("downstream_unavailable");
+        return new ApiErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+    }
+
+    /**
+     * Handles the {@link AdmissionRejectedException}.
+     * This exception is thrown when a request is shed under load, before it reaches a controller.
+     *
+     * @param ex The {@link AdmissionRejectedException} that was thrown.
+     * @return An {@link ApiErrorResponse} with HTTP status 429 (Too Many Requests) or 503 (Service
+     *         Unavailable) and a {@code Retry-After} header.
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ApiErrorResponse> handleRejected(AdmissionRejectedException ex) {
+        // Shedding is expected under load and already counted; one line per request would add to it
+        log.debug("AdmissionRejectedException: {}", ex.getMessage());
+        return rejection(ex);
+    }
+
+    /**
+     * The response to a shed request, also written by the reactive stack's web filter.
+     */
+    public static ResponseEntity<ApiErrorResponse> rejection(AdmissionRejectedException ex) {
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(new ApiErrorResponse(
+                        ex.getStatus().value(),
+                        ex.getMessage(),
+                        LocalDateTime.now()
+                ));
+    }
+
     /**
      * Handles the {@link MethodArgumentNotValidException}.
      * This exception occurs when the input validation using annotations
@@ -68,15 +167,37 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiErrorResponse handleValidation(MethodArgumentNotValidException ex) {
+        return validationError("MethodArgumentNotValidException", ex.getBindingResult());
+    }
+
+    /**
+     * Handles the {@link WebExchangeBindException}, the reactive stack's counterpart of
+     * {@link MethodArgumentNotValidException}.
+     *
+     * @param ex The {@link WebExchangeBindException} that was thrown.
+     * @return An {@link ApiErrorResponse} containing details of the first validation error.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiErrorResponse handleReactiveValidation(WebExchangeBindException ex) {
+        return validationError("WebExchangeBindException", ex.getBindingResult());
+    }
+
+    private ApiErrorResponse validationError(String exceptionName, BindingResult bindingResult) {
         // Extract the first validation error message
-        String message = ex.getBindingResult()
+        FieldError error = bindingResult
                 .getFieldErrors()
                 .stream()
-                .map(err -> err.getField() + ": " + err.getDefaultMessage())
                 .findFirst()
-                .orElse("Validation error");
+                .orElse(null);
+        String message = error == null ? "Validation error" : error.getField() + ": " + error.getDefaultMessage();
 
-        log.error("MethodArgumentNotValidException: {}", message);
+        log.error("{}: {}", exceptionName, message);
+        if (error == null) {
+            validationFailures.record("invalid_request");
+        } else {
+            validationFailures.recordInvalidField(error.getField());
+        }
 
         return new ApiErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
@@ -2,9 +2,22 @@ package com.wastewise.pickup.exception;
 
 /**
  * Thrown when a create or delete request is invalid.
+ * The reason is a short, fixed code (e.g. "zone_id_missing") used to count failures by cause.
  */
 public class InvalidPickUpRequestException extends RuntimeException {
+
+    private final String reason;
+
     public InvalidPickUpRequestException(String message) {
+        this(message, "invalid_request");
+    }
+
+    public InvalidPickUpRequestException(String message, String reason) {
         super(message);
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
     }
 }
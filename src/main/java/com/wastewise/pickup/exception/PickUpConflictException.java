@@ -0,0 +1,11 @@
+package com.wastewise.pickup.exception;
+
+/**
+ * Thrown when a pickup would double-book a vehicle or worker, or when a status transition
+ * finds the pickup changed since the caller read it.
+ */
+public class PickUpConflictException extends RuntimeException {
+    public PickUpConflictException(String message) {
+        super(message);
+    }
+}
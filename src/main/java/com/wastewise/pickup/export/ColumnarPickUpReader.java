@@ -0,0 +1,183 @@
+package com.wastewise.pickup.export;
+
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.model.enums.Frequency;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a file written by {@link ColumnarPickUpWriter}, one row group at a time.
+ */
+public final class ColumnarPickUpReader implements Iterator<PickUpDto>, Closeable {
+
+    private final InputStream in;
+    private final List<String> zones = new ArrayList<>();
+    private final List<String> frequencies = new ArrayList<>();
+    private final List<String> statuses = new ArrayList<>();
+
+    private PickUpDto[] group = new PickUpDto[0];
+    private int next;
+    private boolean ended;
+
+    /**
+     * @param in the gzip-compressed file.
+     * @throws IOException if the stream does not start with a supported header.
+     */
+    public ColumnarPickUpReader(InputStream in) throws IOException {
+        this.in = new BufferedInputStream(new GZIPInputStream(in, 64 * 1024), 64 * 1024);
+        byte[] magic = this.in.readNBytes(ColumnarPickUpWriter.MAGIC.length);
+        if (!Arrays.equals(magic, ColumnarPickUpWriter.MAGIC) || this.in.read() != ColumnarPickUpWriter.VERSION) {
+            throw new IOException("Not a columnar pickup file of version " + ColumnarPickUpWriter.VERSION);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next < group.length) {
+            return true;
+        }
+        if (ended) {
+            return false;
+        }
+        try {
+            readRowGroup();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return next < group.length;
+    }
+
+    @Override
+    public PickUpDto next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        PickUpDto pickUp = group[next];
+        group[next++] = null;
+        return pickUp;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readRowGroup() throws IOException {
+        int size = (int) readVarLong();
+        next = 0;
+        if (size == 0) {
+            ended = true;
+            group = new PickUpDto[0];
+            return;
+        }
+
+        int[] zoneCodes = readDictionaryColumn(zones, size);
+        int[] frequencyCodes = readDictionaryColumn(frequencies, size);
+        int[] statusCodes = readDictionaryColumn(statuses, size);
+
+        group = new PickUpDto[size];
+        for (int i = 0; i < size; i++) {
+            PickUpDto pickUp = new PickUpDto();
+            pickUp.setZoneId(lookUp(zones, zoneCodes[i]));
+            String frequency = lookUp(frequencies, frequencyCodes[i]);
+            pickUp.setFrequency(frequency == null ? null : Frequency.valueOf(frequency));
+            String status = lookUp(statuses, statusCodes[i]);
+            pickUp.setStatus(status == null ? null : PickUpStatus.valueOf(status));
+            group[i] = pickUp;
+        }
+        for (int i = 0; i < size; i++) {
+            group[i].setId(readString());
+        }
+        long start = 0;
+        for (int i = 0; i < size; i++) {
+            start += unzigzag(readVarLong());
+            group[i].setTimeSlotStart(LocalDateTime.ofEpochSecond(start, 0, ZoneOffset.UTC));
+        }
+        for (int i = 0; i < size; i++) {
+            group[i].setTimeSlotEnd(group[i].getTimeSlotStart().plusSeconds(unzigzag(readVarLong())));
+        }
+        for (int i = 0; i < size; i++) {
+            group[i].setLocationName(readNullableString());
+        }
+        for (int i = 0; i < size; i++) {
+            group[i].setVehicleId(readNullableString());
+        }
+        for (int i = 0; i < size; i++) {
+            group[i].setWorker1Id(readNullableString());
+        }
+        for (int i = 0; i < size; i++) {
+            group[i].setWorker2Id(readNullableString());
+        }
+        for (int i = 0; i < size; i++) {
+            long version = readVarLong();
+            group[i].setVersion(version == 0 ? null : version - 1);
+        }
+    }
+
+    private int[] readDictionaryColumn(List<String> dictionary, int size) throws IOException {
+        long added = readVarLong();
+        for (long i = 0; i < added; i++) {
+            dictionary.add(readString());
+        }
+        int[] codes = new int[size];
+        for (int i = 0; i < size; i++) {
+            codes[i] = (int) readVarLong();
+        }
+        return codes;
+    }
+
+    private static String lookUp(List<String> dictionary, int code) {
+        return code == 0 ? null : dictionary.get(code - 1);
+    }
+
+    private String readString() throws IOException {
+        return readBytes((int) readVarLong());
+    }
+
+    private String readNullableString() throws IOException {
+        long length = readVarLong();
+        return length == 0 ? null : readBytes((int) length - 1);
+    }
+
+    private String readBytes(int length) throws IOException {
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length < length) {
+            throw new EOFException("Columnar pickup file ends inside a string");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Columnar pickup file ends inside a number");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed number in columnar pickup file");
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,192 @@
+package com.wastewise.pickup.export;
+
+import com.wastewise.pickup.dto.PickUpDto;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact columnar pickup file, gzip-compressed. Pickups are buffered in row groups of
+ * {@link #ROW_GROUP_SIZE}; each group is written column by column, so that similar values
+ * sit next to each other for the compressor.
+ *
+ * Layout after the magic {@code PUCF} and a version byte, repeated per row group:
+ * <ul>
+ *     <li>row count (0 ends the file)</li>
+ *     <li>zone ID, frequency and status: dictionary-encoded. The entries first seen in this
+ *         group are listed (count, then strings), followed by one code per row. Codes number
+ *         the entries of the whole file from 1 in order of appearance; 0 is null.</li>
+ *     <li>ID: one string per row</li>
+ *     <li>time slot start: seconds since the epoch at UTC, as the difference to the previous
+ *         row of the group (to 0 for the first row)</li>
+ *     <li>time slot end: seconds after the start</li>
+ *     <li>location name, vehicle ID, worker IDs: one nullable string per row</li>
+ *     <li>version: one nullable number per row</li>
+ * </ul>
+ * Numbers are unsigned LEB128 varints, zigzag-encoded where they may be negative. Strings are
+ * UTF-8 prefixed by their byte length; nullable ones by length + 1, with 0 for null.
+ * {@link ColumnarPickUpReader} reads the format back.
+ */
+final class ColumnarPickUpWriter implements PickUpExportWriter {
+
+    static final byte[] MAGIC = {'P', 'U', 'C', 'F'};
+    static final int VERSION = 1;
+    static final int ROW_GROUP_SIZE = 8192;
+
+    private final GZIPOutputStream gzip;
+    private final OutputStream out;
+    private final PickUpDto[] rows;
+    private int size;
+
+    private final Dictionary zones = new Dictionary();
+    private final Dictionary frequencies = new Dictionary();
+    private final Dictionary statuses = new Dictionary();
+
+    ColumnarPickUpWriter(OutputStream out) throws IOException {
+        this(out, ROW_GROUP_SIZE);
+    }
+
+    ColumnarPickUpWriter(OutputStream out, int rowGroupSize) throws IOException {
+        this.gzip = new GZIPOutputStream(out, 64 * 1024);
+        this.out = new BufferedOutputStream(gzip, 64 * 1024);
+        this.rows = new PickUpDto[rowGroupSize];
+        this.out.write(MAGIC);
+        this.out.write(VERSION);
+    }
+
+    @Override
+    public void write(PickUpDto pickUp) throws IOException {
+        rows[size++] = pickUp;
+        if (size == rows.length) {
+            writeRowGroup();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (size > 0) {
+            writeRowGroup();
+        }
+        writeVarLong(0);
+        out.flush();
+        gzip.finish();
+    }
+
+    private void writeRowGroup() throws IOException {
+        writeVarLong(size);
+
+        writeDictionaryColumn(zones, PickUpDto::getZoneId);
+        writeDictionaryColumn(frequencies, p -> p.getFrequency() == null ? null : p.getFrequency().name());
+        writeDictionaryColumn(statuses, p -> p.getStatus() == null ? null : p.getStatus().name());
+
+        for (int i = 0; i < size; i++) {
+            writeString(rows[i].getId());
+        }
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            long start = epochSecond(rows[i].getTimeSlotStart());
+            writeVarLong(zigzag(start - previous));
+            previous = start;
+        }
+        for (int i = 0; i < size; i++) {
+            writeVarLong(zigzag(epochSecond(rows[i].getTimeSlotEnd()) - epochSecond(rows[i].getTimeSlotStart())));
+        }
+        for (int i = 0; i < size; i++) {
+            writeNullableString(rows[i].getLocationName());
+        }
+        for (int i = 0; i < size; i++) {
+            writeNullableString(rows[i].getVehicleId());
+        }
+        for (int i = 0; i < size; i++) {
+            writeNullableString(rows[i].getWorker1Id());
+        }
+        for (int i = 0; i < size; i++) {
+            writeNullableString(rows[i].getWorker2Id());
+        }
+        for (int i = 0; i < size; i++) {
+            writeVarLong(rows[i].getVersion() == null ? 0 : rows[i].getVersion() + 1);
+        }
+
+        // Drop the references so the group can be collected before the next one fills up
+        Arrays.fill(rows, 0, size, null);
+        size = 0;
+    }
+
+    private void writeDictionaryColumn(Dictionary dictionary, Function<PickUpDto, String> column) throws IOException {
+        int[] codes = new int[size];
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            codes[i] = dictionary.code(column.apply(rows[i]), added);
+        }
+        writeVarLong(added.size());
+        for (String value : added) {
+            writeString(value);
+        }
+        for (int code : codes) {
+            writeVarLong(code);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeNullableString(String value) throws IOException {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long epochSecond(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Codes of the distinct values of one column, kept for the whole file.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        int code(String value, List<String> added) {
+            if (value == null) {
+                return 0;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = codes.size() + 1;
+                codes.put(value, code);
+                added.add(value);
+            }
+            return code;
+        }
+    }
+}
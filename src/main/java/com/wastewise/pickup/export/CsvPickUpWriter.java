@@ -0,0 +1,84 @@
+package com.wastewise.pickup.export;
+
+import com.wastewise.pickup.dto.PickUpDto;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip-compressed CSV, one line per pickup after a header line. Fields that contain a comma,
+ * quote or line break are quoted; null fields are empty.
+ */
+final class CsvPickUpWriter implements PickUpExportWriter {
+
+    static final String HEADER = "id,zone_id,time_slot_start,time_slot_end,frequency,location_name,"
+            + "vehicle_id,worker1_id,worker2_id,status,version";
+
+    private final GZIPOutputStream gzip;
+    private final Writer writer;
+
+    CsvPickUpWriter(OutputStream out) throws IOException {
+        this.gzip = new GZIPOutputStream(out, 64 * 1024);
+        this.writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(PickUpDto pickUp) throws IOException {
+        field(pickUp.getId());
+        writer.write(',');
+        field(pickUp.getZoneId());
+        writer.write(',');
+        field(pickUp.getTimeSlotStart());
+        writer.write(',');
+        field(pickUp.getTimeSlotEnd());
+        writer.write(',');
+        field(pickUp.getFrequency() == null ? null : pickUp.getFrequency().name());
+        writer.write(',');
+        field(pickUp.getLocationName());
+        writer.write(',');
+        field(pickUp.getVehicleId());
+        writer.write(',');
+        field(pickUp.getWorker1Id());
+        writer.write(',');
+        field(pickUp.getWorker2Id());
+        writer.write(',');
+        field(pickUp.getStatus() == null ? null : pickUp.getStatus().name());
+        writer.write(',');
+        field(pickUp.getVersion() == null ? null : pickUp.getVersion().toString());
+        writer.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+        gzip.finish();
+    }
+
+    private void field(LocalDateTime value) throws IOException {
+        if (value != null) {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(value, writer);
+        }
+    }
+
+    private void field(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
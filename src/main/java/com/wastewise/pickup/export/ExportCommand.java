@@ -0,0 +1,55 @@
+package com.wastewise.pickup.export;
+
+import com.wastewise.pickup.service.PickUpService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Command-line export. With {@code pickup.export.file} set, every pickup is written to that file
+ * at startup in {@code pickup.export.format}; run without the web server it exits when done:
+ *
+ * <pre>
+ * java -jar pickup.jar --spring.main.web-application-type=none \
+ *     --pickup.export.file=pickups.pcol.gz --pickup.export.format=columnar
+ * </pre>
+ *
+ * The file is written under a temporary name next to it and only moved into place once complete.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "pickup.export.file")
+public class ExportCommand implements ApplicationRunner {
+
+    private final PickUpService pickUpService;
+    private final Path file;
+    private final ExportFormat format;
+
+    public ExportCommand(PickUpService pickUpService,
+                         @Value("${pickup.export.file}") Path file,
+                         @Value("${pickup.export.format:csv}") String format) {
+        this.pickUpService = pickUpService;
+        this.file = file;
+        this.format = ExportFormat.from(format);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path partial = file.resolveSibling(file.getFileName() + ".part");
+        long exported;
+        try (OutputStream out = Files.newOutputStream(partial)) {
+            exported = pickUpService.exportPickUps(format, out);
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Wrote {} pickups to {} ({} bytes)", exported, file.toAbsolutePath(), Files.size(file));
+    }
+}
@@ -0,0 +1,66 @@
+package com.wastewise.pickup.export;
+
+import com.wastewise.pickup.exception.InvalidPickUpRequestException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * File formats of a pickup export. Both are gzip-compressed and written row by row.
+ */
+public enum ExportFormat {
+
+    /**
+     * RFC 4180 CSV with a header line.
+     */
+    CSV("csv.gz") {
+        @Override
+        public PickUpExportWriter open(OutputStream out) throws IOException {
+            return new CsvPickUpWriter(out);
+        }
+    },
+
+    /**
+     * Row groups stored column by column, see {@link ColumnarPickUpWriter}.
+     */
+    COLUMNAR("pcol.gz") {
+        @Override
+        public PickUpExportWriter open(OutputStream out) throws IOException {
+            return new ColumnarPickUpWriter(out);
+        }
+    };
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * File name of a full export in this format.
+     */
+    public String getFileName() {
+        return "pickups." + extension;
+    }
+
+    /**
+     * Start a file of this format on {@code out}.
+     */
+    public abstract PickUpExportWriter open(OutputStream out) throws IOException;
+
+    /**
+     * @throws InvalidPickUpRequestException if {@code name} is not a format, ignoring case.
+     */
+    public static ExportFormat from(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPickUpRequestException("Unknown export format: " + name, "export_format");
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.wastewise.pickup.export;
+
+import com.wastewise.pickup.dto.PickUpDto;
+
+import java.io.IOException;
+
+/**
+ * Writes pickups to an export file, one at a time. Memory use does not depend on the number
+ * of pickups written.
+ */
+public interface PickUpExportWriter {
+
+    void write(PickUpDto pickUp) throws IOException;
+
+    /**
+     * Write what is still buffered and the end of the file. The underlying stream is left open.
+     */
+    void finish() throws IOException;
+}
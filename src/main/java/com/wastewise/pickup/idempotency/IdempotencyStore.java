@@ -0,0 +1,265 @@
+package com.wastewise.pickup.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.wastewise.pickup.exception.InvalidPickUpRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs a create request at most once per {@code Idempotency-Key}, so that a client retrying
+ * after a lost response gets the pickup of its first attempt instead of a duplicate.
+ *
+ * A key is answered from memory for as long as it is kept ({@code pickup.idempotency.ttl}),
+ * and from {@code idempotency_keys} after a restart or on another instance. The request is
+ * validated and its ID reserved first, with no transaction open; the row is then inserted in
+ * the same short transaction as the pickup, before it: a concurrent request with the same key
+ * on another instance waits on the row and, once the first commits, replays its pickup; if the
+ * first fails, nothing is kept and the next attempt creates the pickup. Within
+ * one instance, concurrent requests with the same key wait for the first without touching
+ * the database. Only successful creates are remembered.
+ *
+ * A key may only be replayed with the request body it was first sent with; a different body
+ * is rejected rather than answered with an unrelated pickup. Expired rows are purged every
+ * {@code pickup.idempotency.purge-interval}.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore implements SmartInitializingSingleton, DisposableBean {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private static final String FIND_SQL =
+            "select request_hash, pickup_id, expires_at from idempotency_keys where idempotency_key = ?";
+    private static final String DELETE_EXPIRED_KEY_SQL =
+            "delete from idempotency_keys where idempotency_key = ? and expires_at = ?";
+    private static final String INSERT_SQL = "insert into idempotency_keys "
+            + "(idempotency_key, request_hash, pickup_id, created_at, expires_at) values (?, ?, ?, ?, ?)";
+    private static final String PURGE_SQL = "delete from idempotency_keys where expires_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration purgeInterval;
+
+    private final Cache<String, StoredKey> completed;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredKey>> inFlight = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "idempotency-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                            @Value("${pickup.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${pickup.idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${pickup.idempotency.purge-interval:10m}") Duration purgeInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.purgeInterval = purgeInterval;
+        // Kept in memory until the row expires, also when it was loaded from the database later
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.<String, StoredKey>creating((key, stored) ->
+                        Duration.between(LocalDateTime.now(), stored.expiresAt())))
+                .build();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        scheduler.scheduleWithFixedDelay(this::purge, purgeInterval.toMillis(), purgeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * The outcome of a create request with an idempotency key.
+     *
+     * @param pickUpId the pickup created by the first request with the key.
+     * @param replayed whether this request was answered from that first one.
+     */
+    public record Outcome(String pickUpId, boolean replayed) {
+    }
+
+    /**
+     * Create a pickup for the first request with {@code key}, and answer every later request
+     * with the same key and body with that pickup.
+     *
+     * @param request the request body, compared with the one first sent with the key.
+     * @param prepare validates the request and reserves the pickup's ID; runs outside any transaction.
+     * @param save creates the pickup with the prepared ID; joins the transaction that stores the key.
+     * @throws InvalidPickUpRequestException if the key is blank or too long, or was first sent
+     *         with a different body.
+     */
+    public Outcome createOnce(String key, Object request, Supplier<String> prepare, Consumer<String> save) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidPickUpRequestException(
+                    "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters", "idempotency_key_invalid");
+        }
+        String requestHash = hash(request);
+
+        StoredKey stored = completed.getIfPresent(key);
+        if (stored != null) {
+            return replay(key, stored, requestHash);
+        }
+
+        CompletableFuture<StoredKey> mine = new CompletableFuture<>();
+        CompletableFuture<StoredKey> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return replay(key, await(running), requestHash);
+        }
+        try {
+            // The first request may have finished between the lookup above and taking the key
+            stored = completed.getIfPresent(key);
+            boolean created = false;
+            if (stored == null) {
+                stored = find(key);
+                if (stored == null) {
+                    stored = insert(key, requestHash, prepare.get(), save);
+                    created = stored != null;
+                }
+                if (stored == null) {
+                    stored = find(key);
+                }
+                if (stored == null) {
+                    // Committed by another instance and expired in the meantime; only with a very short TTL
+                    throw new IllegalStateException("Idempotency-Key " + key + " expired while it was being used");
+                }
+                completed.put(key, stored);
+            }
+            mine.complete(stored);
+            return created ? new Outcome(stored.pickUpId(), false) : replay(key, stored, requestHash);
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Delete the rows of expired keys.
+     *
+     * @return the number of rows deleted.
+     */
+    public int purge() {
+        try {
+            int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(LocalDateTime.now()));
+            if (purged > 0) {
+                log.debug("Purged {} expired idempotency keys", purged);
+            }
+            return purged;
+        } catch (RuntimeException ex) {
+            log.error("Idempotency key purge failed: {}", ex.getMessage(), ex);
+            return 0;
+        }
+    }
+
+    private Outcome replay(String key, StoredKey stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new InvalidPickUpRequestException(
+                    "Idempotency-Key " + key + " was already used for a different request", "idempotency_key_reused");
+        }
+        log.info("Replaying PickUp {} for Idempotency-Key {}", stored.pickUpId(), key);
+        return new Outcome(stored.pickUpId(), true);
+    }
+
+    /**
+     * The committed row of the key, or null if there is none. An expired row not yet purged is
+     * deleted on its own, so that the key can be stored again.
+     */
+    private StoredKey find(String key) {
+        List<StoredKey> rows = jdbcTemplate.query(FIND_SQL,
+                (rs, i) -> new StoredKey(rs.getString("request_hash"), rs.getString("pickup_id"),
+                        rs.getTimestamp("expires_at").toLocalDateTime()),
+                key);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        StoredKey stored = rows.get(0);
+        if (!stored.expiresAt().isAfter(LocalDateTime.now())) {
+            jdbcTemplate.update(DELETE_EXPIRED_KEY_SQL, key, Timestamp.valueOf(stored.expiresAt()));
+            return null;
+        }
+        return stored;
+    }
+
+    /**
+     * Store the key and create the prepared pickup in one transaction. If another instance
+     * stores the same key first, the insert waits for it to commit and the pickup is not created here.
+     *
+     * @return the key as stored by this request, or null if the other one stored it.
+     */
+    private StoredKey insert(String key, String requestHash, String pickUpId, Consumer<String> save) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                jdbcTemplate.update(INSERT_SQL, key, requestHash, pickUpId,
+                        Timestamp.valueOf(now), Timestamp.valueOf(now.plus(ttl)));
+            } catch (DuplicateKeyException e) {
+                return null;
+            }
+            save.accept(pickUpId);
+            return new StoredKey(requestHash, pickUpId, now.plus(ttl));
+        });
+    }
+
+    private static StoredKey await(CompletableFuture<StoredKey> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            // The first request failed; so does this one, with the same error
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint request for its Idempotency-Key", e);
+        }
+    }
+
+    /**
+     * A key as stored: the body it was first sent with and the pickup it created.
+     */
+    private record StoredKey(String requestHash, String pickUpId, LocalDateTime expiresAt) {
+    }
+}
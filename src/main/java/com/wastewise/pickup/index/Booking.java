@@ -0,0 +1,61 @@
+package com.wastewise.pickup.index;
+
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.model.PickUp;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Time slot of one pickup and the vehicle and workers it occupies.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class Booking {
+
+    static final String VEHICLE = "Vehicle ";
+    static final String WORKER = "Worker ";
+
+    private final String pickUpId;
+    private final String vehicleId;
+    private final String worker1Id;
+    private final String worker2Id;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    public static Booking from(PickUp pickUp) {
+        return new Booking(pickUp.getId(), pickUp.getVehicleId(), pickUp.getWorker1Id(), pickUp.getWorker2Id(),
+                pickUp.getTimeSlotStart(), pickUp.getTimeSlotEnd());
+    }
+
+    public static Booking from(PickUpDto pickUp) {
+        return new Booking(pickUp.getId(), pickUp.getVehicleId(), pickUp.getWorker1Id(), pickUp.getWorker2Id(),
+                pickUp.getTimeSlotStart(), pickUp.getTimeSlotEnd());
+    }
+
+    /**
+     * Keys of the timelines this booking occupies, e.g. "Vehicle V001", "Worker W001".
+     */
+    List<String> resourceKeys() {
+        List<String> keys = new ArrayList<>(3);
+        if (vehicleId != null) {
+            keys.add(VEHICLE + vehicleId);
+        }
+        if (worker1Id != null) {
+            keys.add(WORKER + worker1Id);
+        }
+        if (worker2Id != null && !worker2Id.equals(worker1Id)) {
+            keys.add(WORKER + worker2Id);
+        }
+        return keys;
+    }
+
+    boolean overlaps(Booking other) {
+        return start.isBefore(other.end) && other.start.isBefore(end);
+    }
+}
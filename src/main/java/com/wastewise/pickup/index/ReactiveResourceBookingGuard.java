@@ -0,0 +1,101 @@
+package com.wastewise.pickup.index;
+
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * R2DBC counterpart of {@link ResourceBookingGuard} for the "reactive" profile, on the same
+ * {@code resource_locks} rows. It must run first inside the reactive transaction of the create.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveResourceBookingGuard {
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveResourceBookingGuard(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Lock the vehicle and workers of a new pickup and fail if any of them is booked for an
+     * overlapping slot, as {@link ResourceBookingGuard#check}.
+     */
+    public Mono<Void> check(Booking booking) {
+        List<String> keys = ResourceBookingGuard.resourceKeys(List.of(booking));
+        if (keys.isEmpty()) {
+            return Mono.empty();
+        }
+        return lock(keys)
+                .collectList()
+                .flatMap(locked -> {
+                    Set<String> missing = new HashSet<>(keys);
+                    locked.forEach(missing::remove);
+                    return Flux.fromIterable(missing.stream().sorted().toList())
+                            .concatMap(this::insertLock)
+                            .then();
+                })
+                .then(Mono.defer(() -> findBooked(booking)))
+                .doOnNext(booked -> ResourceBookingGuard.throwOnConflict(List.of(booking), booked))
+                .then();
+    }
+
+    private Flux<String> lock(List<String> keys) {
+        return databaseClient.sql("select resource_key from resource_locks where resource_key in (:keys) "
+                        + "order by resource_key for update")
+                .bind("keys", keys)
+                .map(row -> row.get("resource_key", String.class))
+                .all();
+    }
+
+    /**
+     * Insert and thereby lock a missing row; if another transaction inserted it first, wait for its lock.
+     */
+    private Mono<Void> insertLock(String key) {
+        return databaseClient.sql("insert into resource_locks (resource_key) values (:key)")
+                .bind("key", key)
+                .then()
+                .onErrorResume(DataIntegrityViolationException.class, e -> lock(List.of(key)).then());
+    }
+
+    private Mono<List<Booking>> findBooked(Booking booking) {
+        ResourceBookingGuard.Window window = ResourceBookingGuard.Window.of(List.of(booking));
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(bookedSql(window))
+                .bind("end", window.end())
+                .bind("start", window.start())
+                .bind("completed", PickUpStatus.COMPLETED.name());
+        if (!window.vehicleIds().isEmpty()) {
+            spec = spec.bind("vehicles", window.vehicleIds());
+        }
+        if (!window.workerIds().isEmpty()) {
+            spec = spec.bind("workers", window.workerIds());
+        }
+        return spec.map(row -> new Booking(row.get("id", String.class), row.get("vehicle_id", String.class),
+                        row.get("worker1id", String.class), row.get("worker2id", String.class),
+                        row.get("time_slot_start", LocalDateTime.class), row.get("time_slot_end", LocalDateTime.class)))
+                .all()
+                .collectList();
+    }
+
+    private static String bookedSql(ResourceBookingGuard.Window window) {
+        StringBuilder uses = new StringBuilder();
+        if (!window.vehicleIds().isEmpty()) {
+            uses.append("vehicle_id in (:vehicles)");
+        }
+        if (!window.workerIds().isEmpty()) {
+            uses.append(uses.isEmpty() ? "" : " or ").append("worker1id in (:workers) or worker2id in (:workers)");
+        }
+        return "select id, vehicle_id, worker1id, worker2id, time_slot_start, time_slot_end from pickups "
+                + "where (" + uses + ") and time_slot_start < :end and time_slot_end > :start and status <> :completed";
+    }
+}
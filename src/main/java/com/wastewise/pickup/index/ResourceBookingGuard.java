@@ -0,0 +1,173 @@
+package com.wastewise.pickup.index;
+
+import com.wastewise.pickup.exception.PickUpConflictException;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Database check against double bookings made by other instances, which
+ * {@link ResourceBookingIndex} cannot see.
+ *
+ * Every vehicle and worker has a row in {@code resource_locks}, created on first use. A create
+ * locks the rows of its resources until it commits and only then looks for overlapping pickups,
+ * so two instances booking the same resource are serialized and the second one sees the first.
+ * The lookup seeks the vehicle and worker slot indexes of the pickups table.
+ */
+@Component
+public class ResourceBookingGuard {
+
+    static final String INSERT_LOCK_SQL = "insert into resource_locks (resource_key) values (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResourceBookingGuard(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Lock the vehicles and workers of new pickups for the rest of the transaction and fail if any of
+     * them is booked for an overlapping slot by a committed pickup. Must be the first read of its
+     * transaction, so that on MySQL its snapshot is taken after the locks are held.
+     *
+     * @throws PickUpConflictException naming the first resource that is already booked.
+     * @throws IllegalStateException if no transaction is active, since the locks would be released at once.
+     */
+    public void check(List<Booking> bookings) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Bookings must be checked inside the pickup's transaction");
+        }
+        List<String> keys = resourceKeys(bookings);
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        // Rows missing on first use are inserted, which locks them too; a concurrent insert waits
+        List<String> locked = jdbcTemplate.queryForList(lockSql(keys.size()), String.class, keys.toArray());
+        if (locked.size() < keys.size()) {
+            Set<String> missing = new HashSet<>(keys);
+            locked.forEach(missing::remove);
+            for (String key : missing.stream().sorted().toList()) {
+                try {
+                    jdbcTemplate.update(INSERT_LOCK_SQL, key);
+                } catch (DuplicateKeyException e) {
+                    jdbcTemplate.queryForList(lockSql(1), String.class, key);
+                }
+            }
+        }
+
+        Window window = Window.of(bookings);
+        List<Object> args = new ArrayList<>(window.vehicleIds());
+        args.addAll(window.workerIds());
+        args.addAll(window.workerIds());
+        args.add(Timestamp.valueOf(window.end()));
+        args.add(Timestamp.valueOf(window.start()));
+        args.add(PickUpStatus.COMPLETED.name());
+        List<Booking> booked = jdbcTemplate.query(
+                bookedSql(window.vehicleIds().size(), window.workerIds().size()),
+                (rs, i) -> new Booking(rs.getString("id"), rs.getString("vehicle_id"), rs.getString("worker1id"),
+                        rs.getString("worker2id"), rs.getTimestamp("time_slot_start").toLocalDateTime(),
+                        rs.getTimestamp("time_slot_end").toLocalDateTime()),
+                args.toArray());
+        throwOnConflict(bookings, booked);
+    }
+
+    /**
+     * Distinct resource keys of the bookings, in lock order.
+     */
+    static List<String> resourceKeys(List<Booking> bookings) {
+        return bookings.stream()
+                .flatMap(booking -> booking.resourceKeys().stream())
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    static String lockSql(int keys) {
+        return "select resource_key from resource_locks where resource_key in (" + placeholders(keys)
+                + ") order by resource_key for update";
+    }
+
+    /**
+     * Pickups that are not completed, use one of the vehicles or workers and overlap [start, end).
+     */
+    static String bookedSql(int vehicles, int workers) {
+        List<String> uses = new ArrayList<>(3);
+        if (vehicles > 0) {
+            uses.add("vehicle_id in (" + placeholders(vehicles) + ")");
+        }
+        if (workers > 0) {
+            uses.add("worker1id in (" + placeholders(workers) + ")");
+            uses.add("worker2id in (" + placeholders(workers) + ")");
+        }
+        return "select id, vehicle_id, worker1id, worker2id, time_slot_start, time_slot_end from pickups "
+                + "where (" + String.join(" or ", uses) + ") "
+                + "and time_slot_start < ? and time_slot_end > ? and status <> ?";
+    }
+
+    /**
+     * Raise a conflict for the first new booking that shares a resource and overlaps a booked pickup.
+     */
+    static void throwOnConflict(List<Booking> bookings, List<Booking> booked) {
+        if (booked.isEmpty()) {
+            return;
+        }
+        Map<String, List<Booking>> bookedByResource = new HashMap<>();
+        for (Booking booking : booked) {
+            booking.resourceKeys().forEach(key -> bookedByResource.computeIfAbsent(key, k -> new ArrayList<>()).add(booking));
+        }
+        for (Booking booking : bookings) {
+            for (String key : booking.resourceKeys()) {
+                for (Booking conflict : bookedByResource.getOrDefault(key, Collections.emptyList())) {
+                    if (conflict.overlaps(booking) && !conflict.getPickUpId().equals(booking.getPickUpId())) {
+                        throw new PickUpConflictException(String.format(
+                                "%s is already booked by pickup %s from %s to %s",
+                                key, conflict.getPickUpId(), conflict.getStart(), conflict.getEnd()));
+                    }
+                }
+            }
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Vehicles, workers and the time span covered by a set of new bookings.
+     */
+    record Window(List<String> vehicleIds, List<String> workerIds, LocalDateTime start, LocalDateTime end) {
+
+        static Window of(List<Booking> bookings) {
+            Set<String> vehicles = new HashSet<>();
+            Set<String> workers = new HashSet<>();
+            for (Booking booking : bookings) {
+                if (booking.getVehicleId() != null) {
+                    vehicles.add(booking.getVehicleId());
+                }
+                if (booking.getWorker1Id() != null) {
+                    workers.add(booking.getWorker1Id());
+                }
+                if (booking.getWorker2Id() != null) {
+                    workers.add(booking.getWorker2Id());
+                }
+            }
+            LocalDateTime start = bookings.stream().map(Booking::getStart).min(Comparator.naturalOrder()).orElseThrow();
+            LocalDateTime end = bookings.stream().map(Booking::getEnd).max(Comparator.naturalOrder()).orElseThrow();
+            return new Window(List.copyOf(vehicles), List.copyOf(workers), start, end);
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.wastewise.pickup.index;
+
+import com.wastewise.pickup.exception.PickUpConflictException;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import com.wastewise.pickup.repository.PickUpRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of booked time slots per vehicle and per worker, used to reject
+ * double bookings without querying the pickups table.
+ *
+ * Each resource has a timeline of bookings sorted by start. Accepted bookings never overlap,
+ * so a new slot [s, e) can only clash with the last booking starting before s or the first
+ * starting at or after it: a check is two O(log n) seeks. Bookings whose slot has ended are
+ * dropped every {@code pickup.booking.prune-interval}.
+ *
+ * The index is loaded from the pickups table before the application starts serving and is
+ * kept in sync by the service: reservations are rolled back with their transaction and
+ * releases happen after commit. It only sees the writes of this instance, so it rejects
+ * conflicts early but is not the guard between instances; {@link ResourceBookingGuard} is.
+ */
+@Slf4j
+@Component
+public class ResourceBookingIndex implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Comparator<Booking> BY_START_THEN_ID =
+            Comparator.comparing(Booking::getStart).thenComparing(Booking::getPickUpId);
+
+    private final PickUpRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration pruneInterval;
+    private final Map<String, Timeline> timelines = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "booking-index-prune");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ResourceBookingIndex(PickUpRepository repository, TransactionTemplate transactionTemplate,
+                                @Value("${pickup.booking.prune-interval:10m}") Duration pruneInterval) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.pruneInterval = pruneInterval;
+    }
+
+    /**
+     * Load every pickup that has not ended and is not completed, then start pruning.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long started = System.currentTimeMillis();
+        AtomicInteger loaded = new AtomicInteger();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Booking> bookings = repository.streamActiveBookings(LocalDateTime.now(), PickUpStatus.COMPLETED)) {
+                bookings.forEach(booking -> {
+                    add(booking);
+                    loaded.incrementAndGet();
+                });
+            }
+        });
+        log.info("Loaded {} bookings for {} resources in {} ms",
+                loaded.get(), timelines.size(), System.currentTimeMillis() - started);
+        scheduler.scheduleWithFixedDelay(() -> prune(LocalDateTime.now()), pruneInterval.toMillis(),
+                pruneInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Drop the bookings whose slot ended at or before {@code now}; they can no longer clash
+     * with a new slot that the service accepts.
+     *
+     * @return the number of bookings dropped.
+     */
+    int prune(LocalDateTime now) {
+        int pruned = 0;
+        for (Timeline timeline : timelines.values()) {
+            timeline.lock.lock();
+            try {
+                pruned += timeline.prune(now);
+            } finally {
+                timeline.lock.unlock();
+            }
+        }
+        if (pruned > 0) {
+            log.debug("Pruned {} ended bookings", pruned);
+        }
+        return pruned;
+    }
+
+    /**
+     * Book the vehicle and workers of a pickup, failing if any of them is already booked
+     * for an overlapping slot. When called inside a transaction, the booking is removed
+     * again if that transaction does not commit.
+     *
+     * @throws PickUpConflictException naming the first resource that is already booked.
+     */
+    public void reserve(Booking booking) {
+        List<Timeline> locked = lockTimelines(booking);
+        try {
+            for (Timeline timeline : locked) {
+                Booking conflict = timeline.findOverlap(booking);
+                if (conflict != null) {
+                    throw new PickUpConflictException(String.format(
+                            "%s is already booked by pickup %s from %s to %s",
+                            timeline.resource, conflict.getPickUpId(), conflict.getStart(), conflict.getEnd()));
+                }
+            }
+            locked.forEach(timeline -> timeline.add(booking));
+        } finally {
+            locked.forEach(timeline -> timeline.lock.unlock());
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(booking);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Free the resources of a deleted pickup once the surrounding transaction commits,
+     * or immediately when there is no transaction.
+     */
+    public void releaseAfterCommit(Booking booking) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release(booking);
+                }
+            });
+        } else {
+            release(booking);
+        }
+    }
+
+    /**
+     * Free the resources of a booking now.
+     */
+    public void release(Booking booking) {
+        for (Timeline timeline : lockTimelines(booking)) {
+            try {
+                timeline.remove(booking);
+            } finally {
+                timeline.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Bookings of a vehicle that overlap [from, to), in start order.
+     */
+    public List<Booking> vehicleBookings(String vehicleId, LocalDateTime from, LocalDateTime to) {
+        return bookings(Booking.VEHICLE + vehicleId, from, to);
+    }
+
+    /**
+     * Bookings of a worker that overlap [from, to), in start order.
+     */
+    public List<Booking> workerBookings(String workerId, LocalDateTime from, LocalDateTime to) {
+        return bookings(Booking.WORKER + workerId, from, to);
+    }
+
+    private List<Booking> bookings(String resource, LocalDateTime from, LocalDateTime to) {
+        Timeline timeline = timelines.get(resource);
+        if (timeline == null) {
+            return List.of();
+        }
+        Booking window = new Booking("", null, null, null, from, to);
+        timeline.lock.lock();
+        try {
+            // Only the last booking starting before the window can reach into it
+            Booking before = timeline.bookings.lower(Timeline.probe(from));
+            Booking first = before != null && before.overlaps(window) ? before : Timeline.probe(from);
+            return timeline.bookings.subSet(first, true, Timeline.probe(to), false)
+                    .stream()
+                    .filter(booking -> booking.overlaps(window))
+                    .toList();
+        } finally {
+            timeline.lock.unlock();
+        }
+    }
+
+    /**
+     * Number of bookings held for a resource key such as "Vehicle V001".
+     */
+    int bookingCount(String resource) {
+        Timeline timeline = timelines.get(resource);
+        return timeline == null ? 0 : timeline.byPickUpId.size();
+    }
+
+    private void add(Booking booking) {
+        for (Timeline timeline : lockTimelines(booking)) {
+            try {
+                timeline.add(booking);
+            } finally {
+                timeline.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Lock the timelines of a booking in key order, so that two bookings sharing
+     * resources can never wait on each other.
+     */
+    private List<Timeline> lockTimelines(Booking booking) {
+        List<Timeline> locked = booking.resourceKeys().stream()
+                .sorted()
+                .map(key -> timelines.computeIfAbsent(key, Timeline::new))
+                .toList();
+        locked.forEach(timeline -> timeline.lock.lock());
+        return locked;
+    }
+
+    /**
+     * Bookings of one resource, guarded by its own lock.
+     */
+    private static final class Timeline {
+        final String resource;
+        final ReentrantLock lock = new ReentrantLock();
+        final NavigableSet<Booking> bookings = new TreeSet<>(BY_START_THEN_ID);
+        // Removal goes by pickup ID: a slot read back from the database may have lost precision
+        final Map<String, Booking> byPickUpId = new HashMap<>();
+
+        Timeline(String resource) {
+            this.resource = resource;
+        }
+
+        /**
+         * The booking that overlaps the candidate, or null. Bookings do not overlap each other,
+         * so only the neighbours of the candidate's start need to be looked at.
+         */
+        Booking findOverlap(Booking candidate) {
+            Booking start = probe(candidate.getStart());
+            Booking before = bookings.lower(start);
+            if (before != null && clashes(before, candidate)) {
+                return before;
+            }
+            for (Booking after = bookings.ceiling(start); after != null && after.getStart().isBefore(candidate.getEnd());
+                 after = bookings.higher(after)) {
+                // At most two rounds: the candidate's own booking is the only one that may be skipped
+                if (clashes(after, candidate)) {
+                    return after;
+                }
+            }
+            return null;
+        }
+
+        private static boolean clashes(Booking booked, Booking candidate) {
+            return booked.overlaps(candidate) && !booked.getPickUpId().equals(candidate.getPickUpId());
+        }
+
+        void add(Booking booking) {
+            Booking previous = byPickUpId.put(booking.getPickUpId(), booking);
+            if (previous != null) {
+                bookings.remove(previous);
+            }
+            bookings.add(booking);
+        }
+
+        void remove(Booking booking) {
+            Booking stored = byPickUpId.remove(booking.getPickUpId());
+            if (stored != null) {
+                bookings.remove(stored);
+            }
+        }
+
+        /**
+         * Remove the bookings that ended at or before {@code now}. Only bookings starting
+         * before {@code now} are looked at.
+         */
+        int prune(LocalDateTime now) {
+            int pruned = 0;
+            Iterator<Booking> started = bookings.headSet(probe(now), false).iterator();
+            while (started.hasNext()) {
+                Booking booking = started.next();
+                if (!booking.getEnd().isAfter(now)) {
+                    started.remove();
+                    byPickUpId.remove(booking.getPickUpId());
+                    pruned++;
+                }
+            }
+            return pruned;
+        }
+
+        /**
+         * Sorts before every real booking starting at {@code at}.
+         */
+        private static Booking probe(LocalDateTime at) {
+            return new Booking("", null, null, null, at, at);
+        }
+    }
+}
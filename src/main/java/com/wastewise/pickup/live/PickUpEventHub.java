@@ -0,0 +1,325 @@
+package com.wastewise.pickup.live;
+
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.dto.PickUpEventDto;
+import com.wastewise.pickup.repository.PickUpRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Fans committed pickup changes out to live subscribers, optionally filtered by zone.
+ *
+ * Writers only offer their events to a bounded queue, without blocking and only while someone
+ * is subscribed. A single dispatcher thread takes them in batches, looks up the zones of status
+ * changes (whose conditional update does not read the row) with one query per batch, and hands
+ * each event to the buffer of every matching subscriber. A subscriber whose buffer of
+ * {@code pickup.live.buffer-size} events is full is evicted: its stream ends at once and the
+ * client reconnects and catches up with {@code GET /changes?since=} from its last event ID. So a
+ * stuck browser costs at most one full buffer and never slows writers or other subscribers. If
+ * the dispatcher itself falls {@code pickup.live.queue-capacity} events behind, every subscriber
+ * has missed one and all are evicted the same way. So are the zone subscribers when the zones of
+ * a batch cannot be looked up, since they could not tell which of its events they missed.
+ *
+ * Events are pushed in commit order per pickup. Heartbeat comments every
+ * {@code pickup.live.heartbeat-interval} keep idle connections open through proxies and let the
+ * server notice clients that went away.
+ */
+@Slf4j
+@Component
+public class PickUpEventHub implements SmartInitializingSingleton, DisposableBean {
+
+    static final String SUBSCRIBERS_METRIC = "pickup.live.subscribers";
+    static final String EVICTIONS_METRIC = "pickup.live.evictions";
+
+    private static final int DISPATCH_BATCH_SIZE = 512;
+
+    private final PickUpRepository repository;
+    private final int bufferSize;
+    private final Duration heartbeatInterval;
+    private final BlockingQueue<PickUpEventDto> published;
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+
+    private final Set<Subscriber> allZones = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Subscriber>> byZone = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter slowConsumerEvictions;
+    private final Counter overflowEvictions;
+
+    private final Thread dispatcher = new Thread(this::dispatchLoop, "pickup-live-dispatch");
+
+    public PickUpEventHub(PickUpRepository repository, MeterRegistry meterRegistry,
+                          @Value("${pickup.live.buffer-size:256}") int bufferSize,
+                          @Value("${pickup.live.queue-capacity:10000}") int queueCapacity,
+                          @Value("${pickup.live.heartbeat-interval:15s}") Duration heartbeatInterval) {
+        this.repository = repository;
+        this.bufferSize = bufferSize;
+        this.heartbeatInterval = heartbeatInterval;
+        this.published = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder(SUBSCRIBERS_METRIC, subscriberCount, AtomicInteger::get)
+                .description("Open live pickup event streams")
+                .register(meterRegistry);
+        this.slowConsumerEvictions = evictionCounter(meterRegistry, "slow_consumer");
+        this.overflowEvictions = evictionCounter(meterRegistry, "hub_overflow");
+        dispatcher.setDaemon(true);
+    }
+
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(EVICTIONS_METRIC)
+                .tag("reason", reason)
+                .description("Live pickup event streams closed because events could not be buffered")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        dispatcher.start();
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.interrupt();
+        evictAll();
+    }
+
+    /**
+     * Queue events for the live feed once the surrounding transaction commits, or now if there
+     * is none. Nothing is queued when the transaction rolls back.
+     */
+    public void publishAfterCommit(List<PickUpEventDto> events) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(events);
+                }
+            });
+        } else {
+            publish(events);
+        }
+    }
+
+    /**
+     * Queue committed events for the live feed. Never blocks: if the dispatcher is too far
+     * behind, the events are dropped and every subscriber is evicted.
+     */
+    public void publish(List<PickUpEventDto> events) {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        for (PickUpEventDto event : events) {
+            if (!published.offer(event)) {
+                if (overflowed.compareAndSet(false, true)) {
+                    log.warn("Live pickup feed is {} events behind; dropping events and evicting all subscribers",
+                            published.size());
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * A live stream of pickup events as server-sent events, named after their type and with the
+     * change sequence as ID, interleaved with heartbeat comments.
+     *
+     * @param zoneId only events of this zone, or all events if null.
+     * @return a stream that ends only when the subscriber is evicted or the hub shuts down.
+     */
+    public Flux<ServerSentEvent<PickUpEventDto>> stream(String zoneId) {
+        return Flux.defer(() -> {
+            Subscriber subscriber = new Subscriber(zoneId, bufferSize);
+            register(subscriber);
+            Flux<ServerSentEvent<PickUpEventDto>> events = subscriber.events.asFlux()
+                    .map(event -> ServerSentEvent.builder(event)
+                            .id(Long.toString(event.getSequence()))
+                            .event(event.getType().name())
+                            .build());
+            Flux<ServerSentEvent<PickUpEventDto>> heartbeats = Flux.interval(heartbeatInterval)
+                    .onBackpressureDrop()
+                    .map(tick -> ServerSentEvent.<PickUpEventDto>builder().comment("heartbeat").build());
+            // Prefetch 1, so the subscriber's buffer stays the only place where events queue up
+            return Flux.merge(1, events, heartbeats)
+                    .takeUntilOther(subscriber.evicted.asMono())
+                    .doFinally(signal -> unregister(subscriber));
+        });
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void dispatchLoop() {
+        List<PickUpEventDto> batch = new ArrayList<>(DISPATCH_BATCH_SIZE);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(published.take());
+                published.drainTo(batch, DISPATCH_BATCH_SIZE - 1);
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException ex) {
+                log.error("Live pickup event dispatch failed: {}", ex.getMessage(), ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Dispatch everything queued so far on the calling thread.
+     */
+    void drain() {
+        List<PickUpEventDto> batch = new ArrayList<>();
+        published.drainTo(batch);
+        dispatch(batch);
+    }
+
+    private void dispatch(List<PickUpEventDto> batch) {
+        if (overflowed.getAndSet(false)) {
+            overflowEvictions.increment(evictAll());
+        }
+        if (!byZone.isEmpty()) {
+            resolveZones(batch);
+        }
+        for (PickUpEventDto event : batch) {
+            emit(allZones, event);
+            if (event.getZoneId() != null) {
+                Set<Subscriber> zoneSubscribers = byZone.get(event.getZoneId());
+                if (zoneSubscribers != null) {
+                    emit(zoneSubscribers, event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fill in the zones of status changes with one lookup. A pickup deleted in the meantime keeps
+     * no zone, and its status change only reaches subscribers of all zones. If the lookup fails,
+     * every zone subscriber is evicted and catches up through {@code GET /changes}.
+     */
+    private void resolveZones(List<PickUpEventDto> batch) {
+        List<String> unknown = batch.stream()
+                .filter(event -> event.getZoneId() == null)
+                .map(PickUpEventDto::getPickUpId)
+                .distinct()
+                .toList();
+        if (unknown.isEmpty()) {
+            return;
+        }
+        Map<String, String> zones;
+        try {
+            zones = repository.findDtosByIdIn(unknown).stream()
+                    .collect(Collectors.toMap(PickUpDto::getId, PickUpDto::getZoneId));
+        } catch (RuntimeException ex) {
+            int evicted = evictZoneSubscribers();
+            log.warn("Could not look up zones of {} live pickup events; evicted {} zone subscribers: {}",
+                    unknown.size(), evicted, ex.getMessage());
+            overflowEvictions.increment(evicted);
+            return;
+        }
+        for (PickUpEventDto event : batch) {
+            if (event.getZoneId() == null) {
+                event.setZoneId(zones.get(event.getPickUpId()));
+            }
+        }
+    }
+
+    private void emit(Set<Subscriber> subscribers, PickUpEventDto event) {
+        for (Subscriber subscriber : subscribers) {
+            Sinks.EmitResult result = subscriber.events.tryEmitNext(event);
+            if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+                log.debug("Evicting live subscriber of zone {}: {} events not yet sent", subscriber.zoneId, bufferSize);
+                slowConsumerEvictions.increment();
+                evict(subscriber);
+            } else if (result.isFailure()) {
+                unregister(subscriber);
+            }
+        }
+    }
+
+    private int evictAll() {
+        List<Subscriber> all = new ArrayList<>(allZones);
+        byZone.values().forEach(all::addAll);
+        all.forEach(this::evict);
+        return all.size();
+    }
+
+    private int evictZoneSubscribers() {
+        List<Subscriber> zoneSubscribers = new ArrayList<>();
+        byZone.values().forEach(zoneSubscribers::addAll);
+        zoneSubscribers.forEach(this::evict);
+        return zoneSubscribers.size();
+    }
+
+    private void evict(Subscriber subscriber) {
+        unregister(subscriber);
+        subscriber.evicted.tryEmitValue(Boolean.TRUE);
+    }
+
+    private void register(Subscriber subscriber) {
+        if (subscriber.zoneId == null) {
+            allZones.add(subscriber);
+        } else {
+            byZone.compute(subscriber.zoneId, (zoneId, subscribers) -> {
+                Set<Subscriber> set = Objects.requireNonNullElseGet(subscribers, ConcurrentHashMap::newKeySet);
+                set.add(subscriber);
+                return set;
+            });
+        }
+        subscriberCount.incrementAndGet();
+    }
+
+    private void unregister(Subscriber subscriber) {
+        AtomicBoolean removed = new AtomicBoolean();
+        if (subscriber.zoneId == null) {
+            removed.set(allZones.remove(subscriber));
+        } else {
+            byZone.computeIfPresent(subscriber.zoneId, (zoneId, subscribers) -> {
+                removed.set(subscribers.remove(subscriber));
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+        if (removed.get()) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * One open stream: a bounded buffer of events not yet taken by its connection, only ever
+     * written by the dispatcher.
+     */
+    private static final class Subscriber {
+        final String zoneId;
+        final Sinks.Many<PickUpEventDto> events;
+        final Sinks.One<Boolean> evicted = Sinks.one();
+
+        Subscriber(String zoneId, int bufferSize) {
+            this.zoneId = zoneId;
+            this.events = Sinks.many().unicast().onBackpressureBuffer(Queues.<PickUpEventDto>get(bufferSize).get());
+        }
+    }
+}
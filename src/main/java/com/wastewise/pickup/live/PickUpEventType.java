@@ -0,0 +1,10 @@
+package com.wastewise.pickup.live;
+
+/**
+ * Kinds of committed pickup changes pushed to live subscribers, also used as the SSE event name.
+ */
+public enum PickUpEventType {
+    CREATED,
+    STATUS_CHANGED,
+    DELETED
+}
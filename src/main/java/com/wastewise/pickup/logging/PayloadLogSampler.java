@@ -0,0 +1,37 @@
+package com.wastewise.pickup.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the request payloads that are written to the log. A payload is rendered with its
+ * {@code toString()} on the request thread, before the event reaches the asynchronous appenders,
+ * so only a {@code pickup.logging.payload-sample-rate} fraction of requests logs it in full.
+ */
+@Component
+public class PayloadLogSampler {
+
+    static final String NOT_SAMPLED = "<not sampled>";
+
+    private final double sampleRate;
+
+    public PayloadLogSampler(@Value("${pickup.logging.payload-sample-rate:0.01}") double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("pickup.logging.payload-sample-rate must be in [0, 1]");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @return the payload itself for a sampled request, otherwise a short placeholder, to be
+     *         passed as a log argument.
+     */
+    public Object sample(Object payload) {
+        if (sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            return payload;
+        }
+        return NOT_SAMPLED;
+    }
+}
@@ -0,0 +1,42 @@
+package com.wastewise.pickup.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Pattern;
+
+/**
+ * Counts rejected pickup requests in {@code pickup.validation.failures}, tagged by reason code.
+ * Reasons must come from a fixed set (never IDs or free text) to keep the number of series bounded.
+ */
+@Component
+public class ValidationFailureMetrics {
+
+    static final String METRIC_NAME = "pickup.validation.failures";
+
+    private static final Pattern INDEX = Pattern.compile("\\[[^]]*]");
+
+    private final MeterRegistry meterRegistry;
+
+    public ValidationFailureMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Count a request rejected for an invalid field, e.g. {@code zoneId} or
+     * {@code pickUps[17342].zoneId}. Indexes and keys are dropped from the path
+     * ({@code pickUps[].zoneId}), so every element of a list counts under one reason.
+     */
+    public void recordInvalidField(String propertyPath) {
+        record("invalid_" + INDEX.matcher(propertyPath).replaceAll("[]"));
+    }
+
+    public void record(String reason) {
+        Counter.builder(METRIC_NAME)
+                .tag("reason", reason)
+                .description("Pickup requests rejected by validation")
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,28 @@
+package com.wastewise.pickup.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row of the hi/lo sequence table used to reserve blocks of IDs.
+ * {@code nextValue} is the first number that has not been handed out to any instance yet.
+ */
+@Entity
+@Table(name = "id_sequences")
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdSequence {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private long nextValue;
+}
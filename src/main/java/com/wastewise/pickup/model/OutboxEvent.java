@@ -0,0 +1,63 @@
+package com.wastewise.pickup.model;
+
+import com.wastewise.pickup.model.enums.ResourceType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pending status notification for a vehicle or worker, written in the same transaction
+ * as the pickup change that caused it and removed once the owning service accepted it.
+ * A higher {@code id} means a newer status for the same resource. While a dispatcher sends
+ * it, the row is leased to that dispatcher until {@code leaseUntil}.
+ */
+@Entity
+@Table(name = "status_outbox", indexes = {
+        @Index(name = "idx_status_outbox_due", columnList = "next_attempt_at, id"),
+        @Index(name = "idx_status_outbox_resource", columnList = "resource_type, resource_id, id")
+})
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ResourceType resourceType;
+
+    @Column(nullable = false)
+    private String resourceId;
+
+    @Column(nullable = false, length = 16)
+    private String status;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 64)
+    private String leasedBy;
+
+    private LocalDateTime leaseUntil;
+}
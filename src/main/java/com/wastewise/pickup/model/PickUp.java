@@ -6,6 +6,7 @@ import com.wastewise.pickup.model.enums.PickUpStatus;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -13,7 +14,15 @@ import java.time.LocalDateTime;
  * Entity representing an ad-hoc waste pickup assignment.
  */
 @Entity
-@Table(name = "pickups")
+@Table(name = "pickups", indexes = {
+        @Index(name = "idx_pickups_slot_start_id", columnList = "time_slot_start, id"),
+        @Index(name = "idx_pickups_zone_slot", columnList = "zone_id, time_slot_start, id"),
+        @Index(name = "idx_pickups_status_slot", columnList = "status, time_slot_start, id"),
+        @Index(name = "idx_pickups_vehicle_slot", columnList = "vehicle_id, time_slot_start, id"),
+        @Index(name = "idx_pickups_worker1_slot", columnList = "worker1id, time_slot_start, id"),
+        @Index(name = "idx_pickups_worker2_slot", columnList = "worker2id, time_slot_start, id"),
+        @Index(name = "idx_pickups_change_sequence", columnList = "change_sequence")
+})
 
 @Data
 @NoArgsConstructor
@@ -46,12 +55,29 @@ public class PickUp {
     @Enumerated(EnumType.STRING)
     private PickUpStatus status;
 
+    /**
+     * Incremented by every status transition, which only applies if the version is unchanged.
+     * Null until the pickup is first persisted, which also tells Spring Data that it is new.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Change sequence number of the last change to this pickup, assigned by
+     * {@link com.wastewise.pickup.sync.PickUpChangeLog}.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long changeSequence;
+
     /**
      * Log before persisting a new pickup.
      */
     @PrePersist
     public void prePersist() {
-        log.info("About to persist new PickUp with ID: {}", this.id);
+        log.debug("About to persist new PickUp with ID: {}", this.id);
     }
 
     /**
@@ -59,6 +85,6 @@ public class PickUp {
      */
     @PreRemove
     public void preRemove() {
-        log.info("About to remove PickUp with ID: {}", this.id);
+        log.debug("About to remove PickUp with ID: {}", this.id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.wastewise.pickup.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change sequence number, handed out by the table's identity column inside the
+ * transaction of the change it numbers. Written over JDBC by
+ * {@link com.wastewise.pickup.sync.PickUpChangeLog}; the entity only declares the table.
+ */
+@Entity
+@Table(name = "pickup_change_log")
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickUpChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long changeSequence;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,37 @@
+package com.wastewise.pickup.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind by a deleted or archived pickup, so that clients syncing changes
+ * learn about the delete. Written over JDBC by {@link com.wastewise.pickup.sync.PickUpChangeLog};
+ * the entity only declares the table.
+ */
+@Entity
+@Table(name = "pickup_tombstones", indexes = {
+        @Index(name = "idx_pickup_tombstones_change_sequence", columnList = "change_sequence")
+})
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickUpTombstone {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private long changeSequence;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,34 @@
+package com.wastewise.pickup.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The single row recording up to which change sequence number tombstones have been purged;
+ * delta sync cannot serve a client that last synced below it. Written over JDBC by
+ * {@link com.wastewise.pickup.sync.PickUpChangeLog}; the entity only declares the table.
+ */
+@Entity
+@Table(name = "pickup_tombstone_horizon")
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickUpTombstoneHorizon {
+
+    @Id
+    private int id;
+
+    @Column(nullable = false)
+    private long purgedThrough;
+
+    @Column(nullable = false)
+    private LocalDateTime purgedAt;
+}
@@ -0,0 +1,25 @@
+package com.wastewise.pickup.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per vehicle or worker, e.g. "Vehicle V001", locked while a pickup booking it is created.
+ * Written over JDBC by {@link com.wastewise.pickup.index.ResourceBookingGuard}; the entity only
+ * declares the table.
+ */
+@Entity
+@Table(name = "resource_locks")
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceLock {
+
+    @Id
+    private String resourceKey;
+}
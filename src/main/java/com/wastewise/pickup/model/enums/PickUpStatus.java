@@ -1,7 +1,21 @@
 package com.wastewise.pickup.model.enums;
 
+/**
+ * Lifecycle of a pickup: SCHEDULED, then IN_PROGRESS, then COMPLETED.
+ */
 public enum PickUpStatus {
     SCHEDULED,
     IN_PROGRESS,
-    COMPLETED
+    COMPLETED;
+
+    /**
+     * The status a pickup must have to move to this one, or null if no pickup can move to it.
+     */
+    public PickUpStatus predecessor() {
+        return switch (this) {
+            case SCHEDULED -> null;
+            case IN_PROGRESS -> SCHEDULED;
+            case COMPLETED -> IN_PROGRESS;
+        };
+    }
 }
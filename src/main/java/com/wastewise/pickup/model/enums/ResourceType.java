@@ -0,0 +1,9 @@
+package com.wastewise.pickup.model.enums;
+
+/**
+ * Kind of resource a status notification is sent for.
+ */
+public enum ResourceType {
+    VEHICLE,
+    WORKER
+}
@@ -0,0 +1,70 @@
+package com.wastewise.pickup.outbox;
+
+import com.wastewise.pickup.index.Booking;
+import com.wastewise.pickup.model.enums.ResourceType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * R2DBC counterpart of {@link StatusOutbox} for the "reactive" profile. The rows must be
+ * written inside the reactive transaction of the pickup change; {@link StatusOutboxDispatcher}
+ * delivers them the same way as rows written over JDBC.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveStatusOutbox {
+
+    private final DatabaseClient databaseClient;
+    private final boolean enabled;
+
+    public ReactiveStatusOutbox(DatabaseClient databaseClient,
+                                @Value("${pickup.outbox.enabled:false}") boolean enabled) {
+        this.databaseClient = databaseClient;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Record {@code status} for the vehicle and both workers of a booking, as one multi-row INSERT.
+     */
+    public Mono<Void> enqueue(Booking booking, String status) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+
+        List<Object[]> rows = new ArrayList<>(3);
+        addRow(rows, ResourceType.VEHICLE, booking.getVehicleId());
+        addRow(rows, ResourceType.WORKER, booking.getWorker1Id());
+        addRow(rows, ResourceType.WORKER, booking.getWorker2Id());
+        if (rows.isEmpty()) {
+            return Mono.empty();
+        }
+
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < rows.size(); i++) {
+            values.add("(:type" + i + ", :resource" + i + ", :status, :now, :now, 0)");
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                        "insert into status_outbox (resource_type, resource_id, status, created_at, next_attempt_at, attempts) "
+                                + "values " + values)
+                .bind("status", status)
+                .bind("now", LocalDateTime.now());
+        for (int i = 0; i < rows.size(); i++) {
+            spec = spec.bind("type" + i, rows.get(i)[0]).bind("resource" + i, rows.get(i)[1]);
+        }
+        return spec.then();
+    }
+
+    private static void addRow(List<Object[]> rows, ResourceType type, String resourceId) {
+        if (resourceId != null) {
+            rows.add(new Object[]{type.name(), resourceId});
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.wastewise.pickup.outbox;
+
+import com.wastewise.pickup.index.Booking;
+import com.wastewise.pickup.model.enums.ResourceType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records vehicle and worker status notifications in the {@code status_outbox} table,
+ * inside the transaction of the pickup change that caused them. Nothing is sent here;
+ * {@link StatusOutboxDispatcher} delivers the rows after commit.
+ *
+ * Rows are written with a JDBC batch rather than through JPA: the table uses an identity
+ * key, which would make Hibernate insert them one statement at a time.
+ */
+@Component
+public class StatusOutbox {
+
+    public static final String OCCUPIED = "OCCUPIED";
+    public static final String AVAILABLE = "AVAILABLE";
+
+    private static final String INSERT_SQL =
+            "insert into status_outbox (resource_type, resource_id, status, created_at, next_attempt_at, attempts) "
+                    + "values (?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public StatusOutbox(JdbcTemplate jdbcTemplate,
+                        @Value("${pickup.outbox.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Record {@code status} for the vehicle and both workers of a booking.
+     */
+    public void enqueue(Booking booking, String status) {
+        enqueueAll(List.of(booking), status);
+    }
+
+    /**
+     * Record {@code status} for the vehicles and workers of several bookings in one batch.
+     *
+     * @throws IllegalStateException if no transaction is active, since the rows must commit
+     *         or roll back together with the pickup change.
+     */
+    public void enqueueAll(List<Booking> bookings, String status) {
+        if (!enabled || bookings.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Status notifications must be recorded inside the pickup's transaction");
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(bookings.size() * 3);
+        for (Booking booking : bookings) {
+            addRow(rows, ResourceType.VEHICLE, booking.getVehicleId(), status, now);
+            addRow(rows, ResourceType.WORKER, booking.getWorker1Id(), status, now);
+            addRow(rows, ResourceType.WORKER, booking.getWorker2Id(), status, now);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private static void addRow(List<Object[]> rows, ResourceType type, String resourceId, String status, Timestamp now) {
+        if (resourceId != null) {
+            rows.add(new Object[]{type.name(), resourceId, status, now, now});
+        }
+    }
+}
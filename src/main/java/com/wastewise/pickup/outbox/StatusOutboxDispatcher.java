@@ -0,0 +1,231 @@
+package com.wastewise.pickup.outbox;
+
+import com.wastewise.pickup.client.VehicleServiceClient;
+import com.wastewise.pickup.client.WorkerServiceClient;
+import com.wastewise.pickup.dto.VehicleStatusUpdateDto;
+import com.wastewise.pickup.dto.WorkerStatusUpdateDto;
+import com.wastewise.pickup.model.OutboxEvent;
+import com.wastewise.pickup.model.enums.ResourceType;
+import com.wastewise.pickup.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers the rows of {@code status_outbox} to the vehicle and worker services.
+ *
+ * Every {@code pickup.outbox.poll-interval} the dispatcher claims the resources of a batch
+ * of due rows and keeps only the newest row per resource; older rows are superseded and
+ * deleted without being sent. The remaining notifications go out in parallel, one per
+ * resource, so different resources do not wait on each other. A failed notification is
+ * retried with exponential backoff, capped at {@code pickup.outbox.max-backoff}, until it
+ * succeeds or a newer status replaces it.
+ *
+ * No transaction is open while notifications are sent. A short transaction claims a
+ * resource by locking all of its rows and leasing them to this dispatcher for
+ * {@code pickup.outbox.lease-duration}; a resource with rows leased to anyone is skipped,
+ * so statuses added while one is in flight wait until it is done. A second short
+ * transaction deletes the sent rows, or gives back the lease of a failed one. Resources are
+ * claimed in a fixed order, so two dispatchers never deadlock, and a resource's statuses
+ * are delivered in order as long as the lease outlasts a notification.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "pickup.outbox.enabled", havingValue = "true")
+public class StatusOutboxDispatcher implements SmartInitializingSingleton, DisposableBean {
+
+    private final OutboxEventRepository repository;
+    private final VehicleServiceClient vehicleClient;
+    private final WorkerServiceClient workerClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration leaseDuration;
+    private final String owner = "dispatcher-" + UUID.randomUUID();
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "status-outbox-dispatch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public StatusOutboxDispatcher(OutboxEventRepository repository,
+                                  VehicleServiceClient vehicleClient,
+                                  WorkerServiceClient workerClient,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${pickup.outbox.batch-size:200}") int batchSize,
+                                  @Value("${pickup.outbox.poll-interval:500ms}") Duration pollInterval,
+                                  @Value("${pickup.outbox.initial-backoff:1s}") Duration initialBackoff,
+                                  @Value("${pickup.outbox.max-backoff:5m}") Duration maxBackoff,
+                                  @Value("${pickup.outbox.lease-duration:30s}") Duration leaseDuration) {
+        this.repository = repository;
+        this.vehicleClient = vehicleClient;
+        this.workerClient = workerClient;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        scheduler.scheduleWithFixedDelay(this::drain, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    /**
+     * Dispatch batches until no due notification is left.
+     */
+    void drain() {
+        try {
+            while (dispatch().moreDue()) {
+                // More rows were due than one batch holds
+            }
+        } catch (RuntimeException ex) {
+            log.error("Status outbox dispatch failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Claim, coalesce and send one batch of due notifications.
+     *
+     * @return the number of rows claimed from the outbox, sent or superseded.
+     */
+    public int dispatchBatch() {
+        return dispatch().rows();
+    }
+
+    private Claim dispatch() {
+        Claim claim = transactionTemplate.execute(status -> claim(LocalDateTime.now()));
+        if (claim == null || claim.events().isEmpty()) {
+            return Claim.NONE;
+        }
+
+        List<OutboxEvent> events = claim.events();
+        List<CompletableFuture<Boolean>> results = events.stream()
+                .map(event -> CompletableFuture.supplyAsync(() -> send(event), senders))
+                .toList();
+        List<Boolean> sent = results.stream().map(CompletableFuture::join).toList();
+
+        Integer failed = transactionTemplate.execute(status -> complete(events, sent));
+        log.debug("Dispatched status outbox batch: {} rows, {} sent, {} superseded, {} failed",
+                claim.rows(), events.size() - failed, claim.rows() - events.size(), failed);
+        return claim;
+    }
+
+    /**
+     * Lease the resources of a batch of due rows that no dispatcher is sending, and return
+     * the newest row of each.
+     */
+    private Claim claim(LocalDateTime now) {
+        // Sorted, so that every dispatcher locks resources in the same order
+        Map<String, OutboxEvent> resources = new TreeMap<>();
+        List<OutboxEvent> due = repository.findDue(now, Limit.of(batchSize));
+        for (OutboxEvent event : due) {
+            resources.putIfAbsent(event.getResourceType() + " " + event.getResourceId(), event);
+        }
+
+        LocalDateTime leaseUntil = now.plus(leaseDuration);
+        List<OutboxEvent> claimed = new ArrayList<>(resources.size());
+        int rows = 0;
+        for (OutboxEvent resource : resources.values()) {
+            List<OutboxEvent> pending = repository.lockResource(resource.getResourceType(), resource.getResourceId());
+            if (pending.isEmpty()) {
+                continue;
+            }
+            OutboxEvent newest = pending.get(pending.size() - 1);
+            boolean leased = pending.stream()
+                    .anyMatch(event -> event.getLeaseUntil() != null && event.getLeaseUntil().isAfter(now));
+            if (leased || newest.getNextAttemptAt().isAfter(now)) {
+                continue;
+            }
+            repository.lease(newest.getResourceType(), newest.getResourceId(), newest.getId(), owner, leaseUntil);
+            claimed.add(newest);
+            rows += pending.size();
+        }
+        // Due rows that cannot be claimed yet come back in every batch; only continue while claiming
+        return new Claim(claimed, rows, due.size() == batchSize && !claimed.isEmpty());
+    }
+
+    /**
+     * Delete what was sent or superseded and schedule the failed notifications again.
+     *
+     * @return the number of failed notifications.
+     */
+    private int complete(List<OutboxEvent> events, List<Boolean> sent) {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = 0;
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            if (sent.get(i)) {
+                repository.deleteUpTo(event.getResourceType(), event.getResourceId(), event.getId());
+            } else {
+                // Older statuses must never be sent after this one, drop them now
+                repository.deleteUpTo(event.getResourceType(), event.getResourceId(), event.getId() - 1);
+                int attempts = event.getAttempts() + 1;
+                repository.retryLater(event.getId(), owner, attempts, now.plus(backoff(attempts)));
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    private boolean send(OutboxEvent event) {
+        try {
+            if (event.getResourceType() == ResourceType.VEHICLE) {
+                vehicleClient.updateVehicleStatus(new VehicleStatusUpdateDto(event.getResourceId(), event.getStatus()));
+            } else {
+                workerClient.updateWorkerStatus(new WorkerStatusUpdateDto(event.getResourceId(), event.getStatus()));
+            }
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("Could not notify {} {} of status {} (attempt {}): {}", event.getResourceType(),
+                    event.getResourceId(), event.getStatus(), event.getAttempts() + 1, ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Delay before the next attempt after {@code attempts} failures: doubles per failure.
+     */
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    /**
+     * The newest row of each claimed resource, how many rows were claimed in all, and whether
+     * a full batch was due, so that more rows may be waiting.
+     */
+    private record Claim(List<OutboxEvent> events, int rows, boolean moreDue) {
+        static final Claim NONE = new Claim(List.of(), 0, false);
+    }
+}
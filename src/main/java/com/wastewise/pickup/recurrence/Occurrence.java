@@ -0,0 +1,23 @@
+package com.wastewise.pickup.recurrence;
+
+import com.wastewise.pickup.model.PickUp;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * One repetition of a pickup: its time slot shifted by {@code index} periods of its frequency.
+ * Index 0 is the slot stored on the pickup itself.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class Occurrence {
+
+    private final PickUp series;
+    private final long index;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+}
@@ -0,0 +1,31 @@
+package com.wastewise.pickup.recurrence;
+
+import com.wastewise.pickup.exception.InvalidPickUpRequestException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Limits of an occurrence query window [from, to). The window length bounds the work and the
+ * response size of one query, since every series contributes one occurrence per period.
+ */
+public final class OccurrenceWindow {
+
+    public static final Duration MAX_LENGTH = Duration.ofDays(366);
+
+    private OccurrenceWindow() {
+    }
+
+    /**
+     * @throws InvalidPickUpRequestException if the window is empty, reversed or longer than {@link #MAX_LENGTH}.
+     */
+    public static void validate(LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new InvalidPickUpRequestException("Window end must be after window start", "occurrence_window_order");
+        }
+        if (Duration.between(from, to).compareTo(MAX_LENGTH) > 0) {
+            throw new InvalidPickUpRequestException("Window must not be longer than "
+                    + MAX_LENGTH.toDays() + " days", "occurrence_window_size");
+        }
+    }
+}
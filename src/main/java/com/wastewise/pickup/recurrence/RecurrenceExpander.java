@@ -0,0 +1,186 @@
+package com.wastewise.pickup.recurrence;
+
+import com.wastewise.pickup.model.PickUp;
+import com.wastewise.pickup.model.enums.Frequency;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Expands pickups into the occurrences that overlap a window [from, to), without storing them.
+ *
+ * A pickup with a frequency repeats its time slot every day, week or month from its stored
+ * slot onwards; one without a frequency occurs once. The n-th occurrence is always computed
+ * from the stored slot ({@code start.plusMonths(n)}), so a series anchored on the 31st falls
+ * on the last day of shorter months and returns to the 31st afterwards instead of drifting.
+ *
+ * Each series seeks straight to its first occurrence in the window, and the series are
+ * merged lazily with a priority queue of their next occurrences. Listing a window therefore
+ * costs O(k log k + m log k) for k series and m occurrences, however far the window lies
+ * from the stored slots.
+ */
+public final class RecurrenceExpander {
+
+    private static final Comparator<Occurrence> BY_START_THEN_ID =
+            Comparator.comparing(Occurrence::getStart).thenComparing(o -> o.getSeries().getId());
+
+    private RecurrenceExpander() {
+    }
+
+    /**
+     * Occurrences of all given pickups that overlap [from, to), ordered by start, then pickup ID.
+     */
+    public static Iterator<Occurrence> expandAll(Collection<PickUp> series, LocalDateTime from, LocalDateTime to) {
+        List<Iterator<Occurrence>> iterators = new ArrayList<>(series.size());
+        for (PickUp pickUp : series) {
+            iterators.add(expand(pickUp, from, to));
+        }
+        return merge(iterators);
+    }
+
+    /**
+     * Occurrences of one pickup that overlap [from, to), in start order.
+     */
+    public static Iterator<Occurrence> expand(PickUp series, LocalDateTime from, LocalDateTime to) {
+        return new SeriesIterator(series, from, to);
+    }
+
+    /**
+     * K-way merge of iterators that are each sorted by start, then pickup ID.
+     */
+    static Iterator<Occurrence> merge(List<Iterator<Occurrence>> iterators) {
+        return new MergingIterator(iterators);
+    }
+
+    /**
+     * Start of the n-th occurrence of a series.
+     */
+    static LocalDateTime startOf(PickUp series, long n) {
+        LocalDateTime anchor = series.getTimeSlotStart();
+        Frequency frequency = series.getFrequency();
+        if (frequency == null) {
+            return anchor;
+        }
+        return switch (frequency) {
+            case DAILY -> anchor.plusDays(n);
+            case WEEKLY -> anchor.plusWeeks(n);
+            case MONTHLY -> anchor.plusMonths(n);
+        };
+    }
+
+    /**
+     * Index of the first occurrence that ends after {@code from}. The period count is estimated
+     * arithmetically, one month short for MONTHLY because of clamped month ends, and then
+     * corrected by at most a couple of steps.
+     */
+    static long firstIndex(PickUp series, Duration length, LocalDateTime from) {
+        // An occurrence ends after from exactly when it starts after from - length
+        LocalDateTime after = from.minus(length);
+        LocalDateTime anchor = series.getTimeSlotStart();
+        if (anchor.isAfter(after)) {
+            return 0;
+        }
+        if (series.getFrequency() == null) {
+            return 1;
+        }
+
+        long n = switch (series.getFrequency()) {
+            case DAILY -> ChronoUnit.DAYS.between(anchor, after);
+            case WEEKLY -> ChronoUnit.WEEKS.between(anchor, after);
+            case MONTHLY -> Math.max(0, ChronoUnit.MONTHS.between(anchor, after) - 1);
+        };
+        while (!startOf(series, n).isAfter(after)) {
+            n++;
+        }
+        return n;
+    }
+
+    private static final class SeriesIterator implements Iterator<Occurrence> {
+
+        private final PickUp series;
+        private final Duration length;
+        private final LocalDateTime to;
+        private long index;
+        private Occurrence next;
+
+        SeriesIterator(PickUp series, LocalDateTime from, LocalDateTime to) {
+            this.series = series;
+            this.length = Duration.between(series.getTimeSlotStart(), series.getTimeSlotEnd());
+            this.to = to;
+            this.index = firstIndex(series, length, from);
+            this.next = occurrence(index);
+        }
+
+        /**
+         * The n-th occurrence, or null if it starts at or after the end of the window.
+         */
+        private Occurrence occurrence(long n) {
+            if (n > 0 && series.getFrequency() == null) {
+                return null;
+            }
+            LocalDateTime start = startOf(series, n);
+            return start.isBefore(to) ? new Occurrence(series, n, start, start.plus(length)) : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Occurrence next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Occurrence current = next;
+            next = occurrence(++index);
+            return current;
+        }
+    }
+
+    private static final class MergingIterator implements Iterator<Occurrence> {
+
+        private final PriorityQueue<Head> heads;
+
+        MergingIterator(List<Iterator<Occurrence>> iterators) {
+            this.heads = new PriorityQueue<>(Math.max(1, iterators.size()),
+                    Comparator.comparing(Head::occurrence, BY_START_THEN_ID));
+            for (Iterator<Occurrence> iterator : iterators) {
+                if (iterator.hasNext()) {
+                    heads.add(new Head(iterator.next(), iterator));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Occurrence next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            if (head.rest().hasNext()) {
+                heads.add(new Head(head.rest().next(), head.rest()));
+            }
+            return head.occurrence();
+        }
+    }
+
+    /**
+     * Next occurrence of one series and the iterator over the ones after it.
+     */
+    private record Head(Occurrence occurrence, Iterator<Occurrence> rest) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.wastewise.pickup.reference;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable copy of one reference catalog (zones, vehicles or workers), indexed by ID.
+ *
+ * A refresh builds a new instance and swaps it in, so readers never see a half-loaded
+ * catalog and need no locking.
+ *
+ * @param <T> the DTO type of the catalog entries.
+ */
+public final class Catalog<T> {
+
+    private final Map<String, T> byId;
+    private final String etag;
+    private final Instant verifiedAt;
+
+    private Catalog(Map<String, T> byId, String etag, Instant verifiedAt) {
+        this.byId = byId;
+        this.etag = etag;
+        this.verifiedAt = verifiedAt;
+    }
+
+    /**
+     * Index {@code items} by ID; entries without an ID are skipped.
+     */
+    public static <T> Catalog<T> of(List<T> items, Function<T, String> idOf, String etag, Instant verifiedAt) {
+        Map<String, T> byId = new HashMap<>(Math.max(16, items.size() * 4 / 3 + 1));
+        for (T item : items) {
+            String id = idOf.apply(item);
+            if (id != null) {
+                byId.put(id, item);
+            }
+        }
+        return new Catalog<>(Collections.unmodifiableMap(byId), etag, verifiedAt);
+    }
+
+    /**
+     * The same entries, confirmed unchanged by the upstream service at {@code at}.
+     */
+    public Catalog<T> verified(Instant at) {
+        return new Catalog<>(byId, etag, at);
+    }
+
+    public boolean contains(String id) {
+        return id != null && byId.containsKey(id);
+    }
+
+    public T get(String id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * ETag of the response the entries came from, or null if the service sent none.
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * When the upstream service last confirmed these entries.
+     */
+    public Instant getVerifiedAt() {
+        return verifiedAt;
+    }
+}
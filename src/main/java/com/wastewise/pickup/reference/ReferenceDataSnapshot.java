@@ -0,0 +1,181 @@
+package com.wastewise.pickup.reference;
+
+import com.wastewise.pickup.client.VehicleServiceClient;
+import com.wastewise.pickup.client.WorkerServiceClient;
+import com.wastewise.pickup.client.ZoneServiceClient;
+import com.wastewise.pickup.dto.VehicleDto;
+import com.wastewise.pickup.dto.WorkerDto;
+import com.wastewise.pickup.dto.ZoneDto;
+import feign.FeignException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Local copies of the zone, vehicle and worker catalogs, refreshed in the background.
+ *
+ * Each catalog is loaded once before the application starts serving and then re-fetched
+ * every {@code pickup.reference.<catalog>.refresh-interval}. Re-fetches send the ETag of the
+ * current copy, so a service that supports conditional requests answers 304 without a body.
+ * When a refresh fails, the previous copy stays in use and its age keeps growing.
+ *
+ * Exposes {@code pickup.reference.snapshot.age} and {@code pickup.reference.snapshot.size}
+ * gauges and a {@code pickup.reference.refresh} timer, tagged by catalog.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "pickup.validation.mode", havingValue = "snapshot")
+public class ReferenceDataSnapshot implements SmartInitializingSingleton, DisposableBean {
+
+    private final CatalogRefresher<ZoneDto> zones;
+    private final CatalogRefresher<VehicleDto> vehicles;
+    private final CatalogRefresher<WorkerDto> workers;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reference-data-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReferenceDataSnapshot(ZoneServiceClient zoneClient,
+                                 VehicleServiceClient vehicleClient,
+                                 WorkerServiceClient workerClient,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${pickup.reference.zones.refresh-interval:5m}") Duration zoneInterval,
+                                 @Value("${pickup.reference.vehicles.refresh-interval:1m}") Duration vehicleInterval,
+                                 @Value("${pickup.reference.workers.refresh-interval:1m}") Duration workerInterval) {
+        this.zones = new CatalogRefresher<>("zones", zoneClient::getAllZones, ZoneDto::getId, zoneInterval, meterRegistry);
+        this.vehicles = new CatalogRefresher<>("vehicles", vehicleClient::getAllVehicles, VehicleDto::getId, vehicleInterval, meterRegistry);
+        this.workers = new CatalogRefresher<>("workers", workerClient::getAllWorkers, WorkerDto::getId, workerInterval, meterRegistry);
+    }
+
+    /**
+     * Load every catalog once, then schedule the periodic refreshes.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (CatalogRefresher<?> refresher : List.of(zones, vehicles, workers)) {
+            refresher.refresh();
+            long intervalMillis = refresher.interval.toMillis();
+            scheduler.scheduleWithFixedDelay(refresher::refresh, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * @return the zone catalog, or null if it has never been loaded.
+     */
+    public Catalog<ZoneDto> zones() {
+        return zones.current;
+    }
+
+    /**
+     * @return the vehicle catalog, or null if it has never been loaded.
+     */
+    public Catalog<VehicleDto> vehicles() {
+        return vehicles.current;
+    }
+
+    /**
+     * @return the worker catalog, or null if it has never been loaded.
+     */
+    public Catalog<WorkerDto> workers() {
+        return workers.current;
+    }
+
+    /**
+     * Re-fetch every catalog now.
+     */
+    public void refreshAll() {
+        zones.refresh();
+        vehicles.refresh();
+        workers.refresh();
+    }
+
+    /**
+     * Holds the current copy of one catalog and replaces it on refresh.
+     */
+    private static final class CatalogRefresher<T> {
+        final String name;
+        final Function<String, ResponseEntity<List<T>>> fetch;
+        final Function<T, String> idOf;
+        final Duration interval;
+        final MeterRegistry meterRegistry;
+        volatile Catalog<T> current;
+
+        CatalogRefresher(String name, Function<String, ResponseEntity<List<T>>> fetch, Function<T, String> idOf,
+                         Duration interval, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.fetch = fetch;
+            this.idOf = idOf;
+            this.interval = interval;
+            this.meterRegistry = meterRegistry;
+            Gauge.builder("pickup.reference.snapshot.age", this, CatalogRefresher::ageSeconds)
+                    .tag("catalog", name)
+                    .baseUnit("seconds")
+                    .description("Time since the catalog was last confirmed by its service")
+                    .register(meterRegistry);
+            Gauge.builder("pickup.reference.snapshot.size", this, refresher ->
+                            refresher.current == null ? 0 : refresher.current.size())
+                    .tag("catalog", name)
+                    .description("Number of entries in the local catalog")
+                    .register(meterRegistry);
+        }
+
+        void refresh() {
+            long started = System.nanoTime();
+            Catalog<T> previous = current;
+            String outcome;
+            try {
+                ResponseEntity<List<T>> response = fetch.apply(previous == null ? null : previous.getEtag());
+                List<T> items = response.getBody() == null ? List.of() : response.getBody();
+                current = Catalog.of(items, idOf, response.getHeaders().getETag(), Instant.now());
+                outcome = "updated";
+                log.debug("Refreshed {} catalog with {} entries", name, current.size());
+            } catch (FeignException ex) {
+                if (ex.status() == HttpStatus.NOT_MODIFIED.value() && previous != null) {
+                    current = previous.verified(Instant.now());
+                    outcome = "not_modified";
+                } else {
+                    log.warn("Could not refresh {} catalog, keeping previous copy: {}", name, ex.getMessage());
+                    outcome = "failed";
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Could not refresh {} catalog, keeping previous copy: {}", name, ex.getMessage());
+                outcome = "failed";
+            }
+            Timer.builder("pickup.reference.refresh")
+                    .tag("catalog", name)
+                    .tag("outcome", outcome)
+                    .description("Duration of catalog refreshes")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+
+        double ageSeconds() {
+            Catalog<T> catalog = current;
+            return catalog == null
+                    ? Double.NaN
+                    : Duration.between(catalog.getVerifiedAt(), Instant.now()).toMillis() / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.wastewise.pickup.repository;
+
+import com.wastewise.pickup.model.IdSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the hi/lo ID sequence table.
+ */
+@Repository
+public interface IdSequenceRepository extends JpaRepository<IdSequence, String> {
+
+    /**
+     * Advance a sequence by {@code size}. The row stays write-locked until the surrounding
+     * transaction commits, so concurrent instances are serialized on this single row.
+     *
+     * @return number of rows updated, 0 if the sequence does not exist yet.
+     */
+    @Modifying
+    @Query("update IdSequence s set s.nextValue = s.nextValue + :size where s.name = :name")
+    int advance(@Param("name") String name, @Param("size") long size);
+
+    /**
+     * Create a sequence row with a plain INSERT, never a merge: if another instance created it
+     * first, this fails with a duplicate key instead of silently overwriting its value.
+     */
+    @Modifying
+    @Query(value = "insert into id_sequences (name, next_value) values (:name, :nextValue)", nativeQuery = true)
+    int insert(@Param("name") String name, @Param("nextValue") long nextValue);
+
+    @Query("select s.nextValue from IdSequence s where s.name = :name")
+    long findNextValue(@Param("name") String name);
+}
@@ -0,0 +1,57 @@
+package com.wastewise.pickup.repository;
+
+import com.wastewise.pickup.model.OutboxEvent;
+import com.wastewise.pickup.model.enums.ResourceType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest notifications that are due and not leased to a dispatcher. Nothing is locked.
+     */
+    @Query("select e from OutboxEvent e where e.nextAttemptAt <= :now "
+            + "and (e.leaseUntil is null or e.leaseUntil <= :now) order by e.id")
+    List<OutboxEvent> findDue(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * All notifications of one resource, oldest first, locked until the calling transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from OutboxEvent e where e.resourceType = :type and e.resourceId = :resourceId order by e.id")
+    List<OutboxEvent> lockResource(@Param("type") ResourceType type, @Param("resourceId") String resourceId);
+
+    /**
+     * Lease the notifications of one resource up to and including {@code maxId} to a dispatcher.
+     */
+    @Modifying
+    @Query("update OutboxEvent e set e.leasedBy = :owner, e.leaseUntil = :leaseUntil "
+            + "where e.resourceType = :type and e.resourceId = :resourceId and e.id <= :maxId")
+    int lease(@Param("type") ResourceType type, @Param("resourceId") String resourceId, @Param("maxId") long maxId,
+              @Param("owner") String owner, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Give back the lease of a notification that could not be sent and schedule its next attempt,
+     * unless the lease has meanwhile passed to another dispatcher.
+     */
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, "
+            + "e.leasedBy = null, e.leaseUntil = null where e.id = :id and e.leasedBy = :owner")
+    int retryLater(@Param("id") long id, @Param("owner") String owner, @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    /**
+     * Remove the notifications of one resource up to and including {@code maxId}.
+     */
+    @Modifying
+    @Query("delete from OutboxEvent e where e.resourceType = :type and e.resourceId = :resourceId and e.id <= :maxId")
+    int deleteUpTo(@Param("type") ResourceType type, @Param("resourceId") String resourceId, @Param("maxId") long maxId);
+}
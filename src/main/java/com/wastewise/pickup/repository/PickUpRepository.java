@@ -1,18 +1,154 @@
 
 package com.wastewise.pickup.repository;
 
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.index.Booking;
 import com.wastewise.pickup.model.PickUp;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for CRUD operations on PickUp.
+ * Filtered searches are built from {@link PickUpSpecifications}.
  */
 @Repository
-public interface PickUpRepository extends JpaRepository<PickUp, String> {
+public interface PickUpRepository extends JpaRepository<PickUp, String>, JpaSpecificationExecutor<PickUp> {
 
-    Optional<PickUp> findFirstByOrderByIdDesc();
+    /**
+     * Highest numeric suffix of the existing "P"-prefixed IDs, compared as numbers so that
+     * P1000 sorts after P999. Only used once to seed the ID sequence.
+     */
+    @Query("select max(cast(substring(p.id, 2) as Long)) from PickUp p where p.id like 'P%'")
+    Long findMaxNumericId();
+
+    /**
+     * Constructor projection for read-only queries: rows go straight into {@link PickUpDto},
+     * with no managed entity, persistence context entry or dirty-check snapshot.
+     */
+    String DTO_SELECT = "select new com.wastewise.pickup.dto.PickUpDto(p.id, p.zoneId, p.timeSlotStart, "
+            + "p.timeSlotEnd, p.frequency, p.locationName, p.vehicleId, p.worker1Id, p.worker2Id, p.status, "
+            + "p.version) from PickUp p ";
+
+    /**
+     * Every pickup, projected to DTOs.
+     */
+    @Query(DTO_SELECT)
+    List<PickUpDto> findAllDtos();
+
+    /**
+     * One pickup, projected to a DTO. Runs in its own read-only transaction when called outside
+     * one, as declared query methods get none by default.
+     */
+    @Transactional(readOnly = true)
+    @Query(DTO_SELECT + "where p.id = :id")
+    Optional<PickUpDto> findDtoById(@Param("id") String id);
+
+    /**
+     * Pickups with the given IDs, projected to DTOs, in no particular order.
+     */
+    @Query(DTO_SELECT + "where p.id in :ids")
+    List<PickUpDto> findDtosByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * First keyset page, ordered by (timeSlotStart, id).
+     */
+    @Query(DTO_SELECT + "order by p.timeSlotStart, p.id")
+    List<PickUpDto> findFirstPage(Limit limit);
+
+    /**
+     * Keyset page of the rows sorting strictly after (start, id).
+     * Seeks on idx_pickups_slot_start_id instead of skipping an OFFSET.
+     */
+    @Query(DTO_SELECT
+            + "where p.timeSlotStart > :start or (p.timeSlotStart = :start and p.id > :id) "
+            + "order by p.timeSlotStart, p.id")
+    List<PickUpDto> findPageAfter(@Param("start") LocalDateTime start, @Param("id") String id, Limit limit);
+
+    /**
+     * First chunk of pickups in the given status whose slot ended before {@code cutoff},
+     * ordered by (timeSlotStart, id). Seeks on idx_pickups_status_slot.
+     */
+    @Query(DTO_SELECT
+            + "where p.status = :status and p.timeSlotStart < :cutoff and p.timeSlotEnd < :cutoff "
+            + "order by p.timeSlotStart, p.id")
+    List<PickUpDto> findFirstEndedBefore(@Param("status") PickUpStatus status, @Param("cutoff") LocalDateTime cutoff,
+                                         Limit limit);
+
+    /**
+     * Next chunk of {@link #findFirstEndedBefore}, after (start, id).
+     */
+    @Query(DTO_SELECT
+            + "where p.status = :status and p.timeSlotStart < :cutoff and p.timeSlotEnd < :cutoff "
+            + "and (p.timeSlotStart > :start or (p.timeSlotStart = :start and p.id > :id)) "
+            + "order by p.timeSlotStart, p.id")
+    List<PickUpDto> findEndedBeforeAfter(@Param("status") PickUpStatus status, @Param("cutoff") LocalDateTime cutoff,
+                                         @Param("start") LocalDateTime start, @Param("id") String id, Limit limit);
+
+    /**
+     * Pickups whose last change is numbered in (since, upTo], ordered by change sequence.
+     * Seeks on idx_pickups_change_sequence. Entities, as the DTO does not carry the number.
+     */
+    @Query("select p from PickUp p where p.changeSequence > :since and p.changeSequence <= :upTo "
+            + "order by p.changeSequence")
+    List<PickUp> findChangedAfter(@Param("since") long since, @Param("upTo") long upTo, Limit limit);
+
+    /**
+     * Delete a pickup with a single DELETE by ID, without loading it first as
+     * {@code delete(entity)} or {@code deleteById} would. Entity callbacks do not run.
+     *
+     * @return 1 if the pickup was deleted, 0 if there was none.
+     */
+    @Modifying
+    @Query("delete from PickUp p where p.id = :id")
+    int deleteRowById(@Param("id") String id);
+
+    /**
+     * Forward-only stream over all pickups. Must be consumed inside a transaction and closed.
+     * With MySQL this relies on useCursorFetch=true so rows are fetched in chunks of the fetch size.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(DTO_SELECT + "order by p.timeSlotStart, p.id")
+    Stream<PickUpDto> streamAll();
+
+    /**
+     * Pickups that can occur in [from, to): recurring ones whose first slot starts before
+     * {@code to}, and one-off ones that overlap the window.
+     */
+    @Query("select p from PickUp p where p.timeSlotStart < :to "
+            + "and (p.frequency is not null or p.timeSlotEnd > :from)")
+    List<PickUp> findSeriesInWindow(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Bookings of every pickup that ends after {@code now} and is not in the given status,
+     * read straight into {@link Booking} without loading entities.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.wastewise.pickup.index.Booking("
+            + "p.id, p.vehicleId, p.worker1Id, p.worker2Id, p.timeSlotStart, p.timeSlotEnd) "
+            + "from PickUp p where p.timeSlotEnd > :now and p.status <> :excluded")
+    Stream<Booking> streamActiveBookings(@Param("now") LocalDateTime now, @Param("excluded") PickUpStatus excluded);
+
+    /**
+     * Bookings of the pickups with the given IDs, in no particular order.
+     */
+    @Query("select new com.wastewise.pickup.index.Booking("
+            + "p.id, p.vehicleId, p.worker1Id, p.worker2Id, p.timeSlotStart, p.timeSlotEnd) "
+            + "from PickUp p where p.id in :ids")
+    List<Booking> findBookingsByIdIn(@Param("ids") Collection<String> ids);
 }
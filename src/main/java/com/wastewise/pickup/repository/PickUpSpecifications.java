@@ -0,0 +1,73 @@
+package com.wastewise.pickup.repository;
+
+import com.wastewise.pickup.dto.PickUpFilter;
+import com.wastewise.pickup.model.PickUp;
+import com.wastewise.pickup.utility.PageCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dynamic predicates for {@link PickUpRepository} searches. Only the criteria that are set
+ * become part of the WHERE clause, so each search can seek on the composite index of its
+ * most selective column, e.g. idx_pickups_zone_slot for (zone_id, time_slot_start, id).
+ *
+ * The worker criterion is not included: "worker1 or worker2" cannot use either worker index,
+ * so the service runs one query per worker column and merges the two sorted results.
+ */
+public final class PickUpSpecifications {
+
+    /**
+     * Keyset order shared with {@link PickUpRepository#findFirstPage}.
+     */
+    public static final Sort KEYSET_ORDER = Sort.by("timeSlotStart", "id");
+
+    private PickUpSpecifications() {
+    }
+
+    /**
+     * Every criterion of the filter except the worker, combined with AND.
+     */
+    public static Specification<PickUp> matching(PickUpFilter filter) {
+        List<Specification<PickUp>> predicates = new ArrayList<>();
+        if (filter.getZoneId() != null) {
+            predicates.add(equal("zoneId", filter.getZoneId()));
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(equal("status", filter.getStatus()));
+        }
+        if (filter.getVehicleId() != null) {
+            predicates.add(equal("vehicleId", filter.getVehicleId()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add((root, query, cb) -> cb.lessThan(root.get("timeSlotStart"), filter.getTo()));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add((root, query, cb) -> cb.greaterThan(root.get("timeSlotEnd"), filter.getFrom()));
+        }
+        return Specification.allOf(predicates);
+    }
+
+    /**
+     * Pickups with the given worker in the given worker column, "worker1Id" or "worker2Id".
+     */
+    public static Specification<PickUp> worker(String attribute, String workerId) {
+        return equal(attribute, workerId);
+    }
+
+    /**
+     * Rows sorting strictly after the cursor in {@link #KEYSET_ORDER}.
+     */
+    public static Specification<PickUp> after(PageCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("timeSlotStart"), cursor.getTimeSlotStart()),
+                cb.and(cb.equal(root.get("timeSlotStart"), cursor.getTimeSlotStart()),
+                        cb.greaterThan(root.get("id"), cursor.getId())));
+    }
+
+    private static Specification<PickUp> equal(String attribute, Object value) {
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+}
@@ -0,0 +1,69 @@
+package com.wastewise.pickup.repository;
+
+import com.wastewise.pickup.dto.PickUpStatusDto;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Status transitions as single conditional UPDATE statements. A row only changes while it
+ * still has the status the transition starts from and the version the caller last read, so
+ * no row is read first and of two concurrent transitions exactly one applies. Every applied
+ * transition increments the version and stores the change sequence number reserved for it.
+ *
+ * Many transitions go out as one JDBC batch. With rewriteBatchedStatements, MySQL Connector/J
+ * sends UPDATE batches as multi-statement queries and still reports a count per statement.
+ */
+@Repository
+public class PickUpStatusUpdates {
+
+    static final String TRANSITION_SQL = "update pickups set status = ?, version = version + 1, change_sequence = ? "
+            + "where id = ? and status = ? and version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PickUpStatusUpdates(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Move a pickup to {@code to} if it is in the predecessor status at {@code version}.
+     *
+     * @param changeSequence change sequence number reserved for the transition.
+     * @return 1 if the transition was applied, 0 if the pickup is missing or has moved on.
+     */
+    public int transition(String pickUpId, PickUpStatus to, long version, long changeSequence) {
+        return jdbcTemplate.update(TRANSITION_SQL, to.name(), changeSequence, pickUpId, to.predecessor().name(), version);
+    }
+
+    /**
+     * Apply several transitions in one batch, each under the same condition as {@link #transition}.
+     *
+     * @param changeSequences the change sequence numbers reserved for the transitions, one per
+     *        transition in order.
+     * @return the rows changed per transition, in order: 1 if applied, 0 if not.
+     */
+    public int[] transitionAll(List<PickUpStatusDto> transitions, List<Long> changeSequences) {
+        return jdbcTemplate.batchUpdate(TRANSITION_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                PickUpStatusDto transition = transitions.get(i);
+                statement.setString(1, transition.getStatus().name());
+                statement.setLong(2, changeSequences.get(i));
+                statement.setString(3, transition.getPickUpId());
+                statement.setString(4, transition.getStatus().predecessor().name());
+                statement.setLong(5, transition.getVersion());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return transitions.size();
+            }
+        });
+    }
+}
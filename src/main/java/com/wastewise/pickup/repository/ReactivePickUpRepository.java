@@ -0,0 +1,255 @@
+package com.wastewise.pickup.repository;
+
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.dto.PickUpFilter;
+import com.wastewise.pickup.model.PickUp;
+import com.wastewise.pickup.model.enums.Frequency;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import com.wastewise.pickup.utility.PageCursor;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Non-blocking access to the {@code pickups} table over R2DBC, used by the "reactive" profile.
+ *
+ * Queries are written out in SQL against the same table and indexes as {@link PickUpRepository},
+ * and rows are mapped to the JPA {@link PickUp} class without going through Hibernate.
+ */
+@Repository
+@Profile("reactive")
+public class ReactivePickUpRepository {
+
+    private static final String COLUMNS = "id, zone_id, time_slot_start, time_slot_end, frequency, location_name, "
+            + "vehicle_id, worker1id, worker2id, status, version, change_sequence";
+    private static final String DTO_COLUMNS = "id, zone_id, time_slot_start, time_slot_end, frequency, location_name, "
+            + "vehicle_id, worker1id, worker2id, status, version";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactivePickUpRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<PickUp> findById(String id) {
+        return databaseClient.sql("select " + COLUMNS + " from pickups where id = :id")
+                .bind("id", id)
+                .map(ReactivePickUpRepository::toPickUp)
+                .one();
+    }
+
+    /**
+     * A pickup projected straight to a DTO, as {@link PickUpRepository#findDtoById}.
+     */
+    public Mono<PickUpDto> findDtoById(String id) {
+        return databaseClient.sql("select " + DTO_COLUMNS + " from pickups where id = :id")
+                .bind("id", id)
+                .map(ReactivePickUpRepository::toDto)
+                .one();
+    }
+
+    /**
+     * Every pickup ordered by (timeSlotStart, id), emitted as rows arrive from the driver.
+     */
+    public Flux<PickUp> findAllOrdered() {
+        return databaseClient.sql("select " + COLUMNS + " from pickups order by time_slot_start, id")
+                .map(ReactivePickUpRepository::toPickUp)
+                .all();
+    }
+
+    /**
+     * First keyset page, ordered by (timeSlotStart, id).
+     */
+    public Flux<PickUp> findFirstPage(int limit) {
+        return databaseClient.sql("select " + COLUMNS + " from pickups order by time_slot_start, id limit :limit")
+                .bind("limit", limit)
+                .map(ReactivePickUpRepository::toPickUp)
+                .all();
+    }
+
+    /**
+     * Keyset page of the rows sorting strictly after (start, id), seeking on idx_pickups_slot_start_id.
+     */
+    public Flux<PickUp> findPageAfter(LocalDateTime start, String id, int limit) {
+        return databaseClient.sql("select " + COLUMNS + " from pickups "
+                        + "where time_slot_start > :start or (time_slot_start = :start and id > :id) "
+                        + "order by time_slot_start, id limit :limit")
+                .bind("start", start)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactivePickUpRepository::toPickUp)
+                .all();
+    }
+
+    /**
+     * Keyset page of the pickups matching a filter, with the same predicates as
+     * {@link PickUpSpecifications#matching}. Only the criteria that are set become part of the
+     * WHERE clause. The worker is matched in one column only, {@code worker1id} or
+     * {@code worker2id}, so that the query can seek on that column's index.
+     *
+     * @param workerColumn column to match {@link PickUpFilter#getWorkerId()} in, or null to ignore it.
+     * @param after cursor of the previous page, or null for the first page.
+     */
+    public Flux<PickUp> search(PickUpFilter filter, String workerColumn, PageCursor after, int limit) {
+        StringJoiner where = new StringJoiner(" and ", " where ", "").setEmptyValue("");
+        Map<String, Object> binds = new LinkedHashMap<>();
+        if (filter.getZoneId() != null) {
+            where.add("zone_id = :zoneId");
+            binds.put("zoneId", filter.getZoneId());
+        }
+        if (filter.getStatus() != null) {
+            where.add("status = :status");
+            binds.put("status", filter.getStatus().name());
+        }
+        if (filter.getVehicleId() != null) {
+            where.add("vehicle_id = :vehicleId");
+            binds.put("vehicleId", filter.getVehicleId());
+        }
+        if (workerColumn != null) {
+            where.add(workerColumn + " = :workerId");
+            binds.put("workerId", filter.getWorkerId());
+        }
+        if (filter.getTo() != null) {
+            where.add("time_slot_start < :to");
+            binds.put("to", filter.getTo());
+        }
+        if (filter.getFrom() != null) {
+            where.add("time_slot_end > :from");
+            binds.put("from", filter.getFrom());
+        }
+        if (after != null) {
+            where.add("(time_slot_start > :afterStart or (time_slot_start = :afterStart and id > :afterId))");
+            binds.put("afterStart", after.getTimeSlotStart());
+            binds.put("afterId", after.getId());
+        }
+        binds.put("limit", limit);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("select " + COLUMNS + " from pickups" + where
+                + " order by time_slot_start, id limit :limit");
+        for (Map.Entry<String, Object> bind : binds.entrySet()) {
+            spec = spec.bind(bind.getKey(), bind.getValue());
+        }
+        return spec.map(ReactivePickUpRepository::toPickUp).all();
+    }
+
+    /**
+     * Pickups whose last change is numbered in (since, upTo], ordered by change sequence,
+     * as {@link PickUpRepository#findChangedAfter}.
+     */
+    public Flux<PickUp> findChangedAfter(long since, long upTo, int limit) {
+        return databaseClient.sql("select " + COLUMNS + " from pickups "
+                        + "where change_sequence > :since and change_sequence <= :upTo "
+                        + "order by change_sequence limit :limit")
+                .bind("since", since)
+                .bind("upTo", upTo)
+                .bind("limit", limit)
+                .map(ReactivePickUpRepository::toPickUp)
+                .all();
+    }
+
+    /**
+     * Pickups that can occur in [from, to): recurring ones whose first slot starts before
+     * {@code to}, and one-off ones that overlap the window.
+     */
+    public Flux<PickUp> findSeriesInWindow(LocalDateTime from, LocalDateTime to) {
+        return databaseClient.sql("select " + COLUMNS + " from pickups "
+                        + "where time_slot_start < :to and (frequency is not null or time_slot_end > :from)")
+                .bind("from", from)
+                .bind("to", to)
+                .map(ReactivePickUpRepository::toPickUp)
+                .all();
+    }
+
+    /**
+     * Insert a new pickup. The ID and change sequence are assigned by the caller, so this is always an INSERT.
+     */
+    public Mono<Void> insert(PickUp pickUp) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("insert into pickups (" + COLUMNS + ") values "
+                        + "(:id, :zoneId, :start, :end, :frequency, :locationName, :vehicleId, :worker1Id, :worker2Id, :status, 0, "
+                        + ":changeSequence)")
+                .bind("id", pickUp.getId())
+                .bind("zoneId", pickUp.getZoneId())
+                .bind("start", pickUp.getTimeSlotStart())
+                .bind("end", pickUp.getTimeSlotEnd())
+                .bind("locationName", pickUp.getLocationName())
+                .bind("status", pickUp.getStatus().name())
+                .bind("changeSequence", pickUp.getChangeSequence());
+        spec = bindNullable(spec, "frequency", pickUp.getFrequency() == null ? null : pickUp.getFrequency().name());
+        spec = bindNullable(spec, "vehicleId", pickUp.getVehicleId());
+        spec = bindNullable(spec, "worker1Id", pickUp.getWorker1Id());
+        spec = bindNullable(spec, "worker2Id", pickUp.getWorker2Id());
+        return spec.then();
+    }
+
+    /**
+     * Move a pickup to {@code to} in one conditional update, as {@link PickUpStatusUpdates#transition}.
+     * @return the number of rows updated, 0 if the pickup is missing or not at the expected status and version.
+     */
+    public Mono<Long> transitionStatus(String id, PickUpStatus to, long version, long changeSequence) {
+        return databaseClient.sql("update pickups set status = :to, version = version + 1, change_sequence = :changeSequence "
+                        + "where id = :id and status = :from and version = :version")
+                .bind("to", to.name())
+                .bind("changeSequence", changeSequence)
+                .bind("id", id)
+                .bind("from", to.predecessor().name())
+                .bind("version", version)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * @return the number of rows deleted, 0 or 1.
+     */
+    public Mono<Long> deleteById(String id) {
+        return databaseClient.sql("delete from pickups where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                  String name, String value) {
+        return value == null ? spec.bindNull(name, String.class) : spec.bind(name, value);
+    }
+
+    private static PickUpDto toDto(Readable row) {
+        String frequency = row.get("frequency", String.class);
+        return new PickUpDto(
+                row.get("id", String.class),
+                row.get("zone_id", String.class),
+                row.get("time_slot_start", LocalDateTime.class),
+                row.get("time_slot_end", LocalDateTime.class),
+                frequency == null ? null : Frequency.valueOf(frequency),
+                row.get("location_name", String.class),
+                row.get("vehicle_id", String.class),
+                row.get("worker1id", String.class),
+                row.get("worker2id", String.class),
+                PickUpStatus.valueOf(row.get("status", String.class)),
+                row.get("version", Long.class));
+    }
+
+    private static PickUp toPickUp(Readable row) {
+        String frequency = row.get("frequency", String.class);
+        return new PickUp(
+                row.get("id", String.class),
+                row.get("zone_id", String.class),
+                row.get("time_slot_start", LocalDateTime.class),
+                row.get("time_slot_end", LocalDateTime.class),
+                frequency == null ? null : Frequency.valueOf(frequency),
+                row.get("location_name", String.class),
+                row.get("vehicle_id", String.class),
+                row.get("worker1id", String.class),
+                row.get("worker2id", String.class),
+                PickUpStatus.valueOf(row.get("status", String.class)),
+                row.get("version", Long.class),
+                row.get("change_sequence", Long.class));
+    }
+}
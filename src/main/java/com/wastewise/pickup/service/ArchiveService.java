@@ -0,0 +1,20 @@
+package com.wastewise.pickup.service;
+
+import com.wastewise.pickup.dto.PickUpDto;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Service interface for reading archived pickups back.
+ */
+public interface ArchiveService {
+
+    /**
+     * Archived pickups whose time slot starts in [from, to).
+     * @param from start of the window, inclusive.
+     * @param to end of the window, exclusive; at most 366 days after from.
+     * @return stream ordered by time slot start, then ID; must be closed by the caller.
+     */
+    Stream<PickUpDto> readArchivedPickUps(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,18 @@
+package com.wastewise.pickup.service;
+
+import com.wastewise.pickup.dto.AssignmentRequestDto;
+import com.wastewise.pickup.dto.AssignmentResultDto;
+
+/**
+ * Service interface for planning vehicles and crews of pending pickups.
+ */
+public interface AssignmentService {
+
+    /**
+     * Plan a vehicle and two workers for every pending pickup, without overlapping bookings
+     * and with an even workload. Nothing is stored or booked.
+     * @param dto pending pickups, and the available vehicles and workers if not all of them.
+     * @return one assignment per pickup, in request order, and the plan statistics.
+     */
+    AssignmentResultDto assignResources(AssignmentRequestDto dto);
+}
@@ -1,10 +1,22 @@
 package com.wastewise.pickup.service;
 
+import com.wastewise.pickup.dto.BulkCreatePickUpResponseDto;
+import com.wastewise.pickup.dto.BulkStatusTransitionResponseDto;
 import com.wastewise.pickup.dto.CreatePickUpDto;
 import com.wastewise.pickup.dto.DeletePickUpResponseDto;
+import com.wastewise.pickup.dto.PickUpChangesDto;
 import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.dto.PickUpFilter;
+import com.wastewise.pickup.dto.PickUpOccurrenceDto;
+import com.wastewise.pickup.dto.PickUpPageDto;
+import com.wastewise.pickup.dto.PickUpStatusDto;
+import com.wastewise.pickup.dto.StatusTransitionDto;
+import com.wastewise.pickup.export.ExportFormat;
 
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for PickUp operations.
@@ -18,6 +30,30 @@ public interface PickUpService {
      */
     String createPickUp(CreatePickUpDto dto);
 
+    /**
+     * First half of {@link #createPickUp}: validate the request, including its resources, and
+     * reserve the pickup's ID. Holds no connection while it waits on other services.
+     * @param dto data for creating pickup.
+     * @return the reserved pickUpId.
+     */
+    String preparePickUp(CreatePickUpDto dto);
+
+    /**
+     * Second half of {@link #createPickUp}: book and insert a pickup prepared by
+     * {@link #preparePickUp}, joining the caller's transaction if there is one.
+     * @param pickUpId the reserved pickUpId.
+     * @param dto data for creating pickup.
+     */
+    void savePickUp(String pickUpId, CreatePickUpDto dto);
+
+    /**
+     * Create many PickUp jobs at once. Items are validated individually, IDs are
+     * reserved in one go and rows are inserted in JDBC batches, one transaction per chunk.
+     * @param dtos data for creating pickups.
+     * @return one result per item, in request order, with its ID or its error.
+     */
+    BulkCreatePickUpResponseDto createPickUps(List<CreatePickUpDto> dtos);
+
     /**
      * Delete an existing PickUp by ID.
      * @param pickUpId identifier to delete.
@@ -25,12 +61,87 @@ public interface PickUpService {
      */
     DeletePickUpResponseDto deletePickUp(String pickUpId);
 
+    /**
+     * Move a PickUp to a new status with one conditional update, if it is still in the
+     * status before that one and at the given version. Completing a pickup frees its
+     * vehicle and workers.
+     * @param pickUpId identifier to update.
+     * @param dto target status and the version last read.
+     * @return the new status and version.
+     */
+    PickUpStatusDto transitionStatus(String pickUpId, StatusTransitionDto dto);
+
+    /**
+     * Move many PickUps to new statuses, with the conditional updates of {@link #transitionStatus}
+     * sent in JDBC batches, one transaction per chunk.
+     * @param transitions pickup ID, target status and version last read, per item.
+     * @return one result per item, in request order, with its new version or its error.
+     */
+    BulkStatusTransitionResponseDto transitionStatuses(List<PickUpStatusDto> transitions);
+
     /**
      * List all pickups for dashboard.
      * @return list of PickUpDto.
      */
     List<PickUpDto> listAllPickUps();
 
+    /**
+     * The highest committed change sequence number. Every create, status transition and delete
+     * raises it, so an unchanged number means no pickup has changed.
+     * @return the current change sequence, 0 before the first change.
+     */
+    long currentChangeSequence();
+
+    /**
+     * List the pickups created, updated or deleted after a change sequence number, in the order
+     * the changes committed. Deletes are returned as tombstones.
+     * @param since the sequence of the previous response, or 0 to start from the beginning.
+     * @param limit maximum number of changes in the response.
+     * @return the changes and the sequence to continue from.
+     */
+    PickUpChangesDto listChanges(long since, int limit);
+
+    /**
+     * List one keyset page of pickups ordered by time slot start, then ID.
+     * @param cursor token from a previous page, or null for the first page.
+     * @param size maximum number of pickups in the page.
+     * @return the page and the cursor for the next one.
+     */
+    PickUpPageDto listPickUps(String cursor, int size);
+
+    /**
+     * List one keyset page of the pickups matching a filter, in the same order and with the
+     * same cursors as {@link #listPickUps}. Only the criteria set in the filter are applied.
+     * @param filter search criteria; null fields match everything.
+     * @param cursor token from a previous page, or null for the first page.
+     * @param size maximum number of pickups in the page.
+     * @return the page and the cursor for the next one.
+     */
+    PickUpPageDto searchPickUps(PickUpFilter filter, String cursor, int size);
+
+    /**
+     * Stream every pickup to the consumer, one at a time, from a forward-only cursor.
+     * @param consumer receives each pickup in time slot order.
+     */
+    void streamAllPickUps(Consumer<PickUpDto> consumer);
+
+    /**
+     * Write every pickup to a compressed export file, one row at a time from a forward-only cursor.
+     * @param format file format.
+     * @param out receives the file; flushed but left open.
+     * @return the number of pickups written.
+     */
+    long exportPickUps(ExportFormat format, OutputStream out);
+
+    /**
+     * Stream the occurrences of all pickups, repeated by their frequency, that overlap [from, to).
+     * Occurrences are expanded on the fly and never stored.
+     * @param from start of the window, inclusive.
+     * @param to end of the window, exclusive; at most 366 days after from.
+     * @param consumer receives each occurrence, ordered by start time, then pickup ID.
+     */
+    void streamOccurrences(LocalDateTime from, LocalDateTime to, Consumer<PickUpOccurrenceDto> consumer);
+
     /**
      * Get one PickUp by ID.
      * @param pickUpId identifier to fetch.
@@ -0,0 +1,124 @@
+package com.wastewise.pickup.service;
+
+import com.wastewise.pickup.dto.BulkCreatePickUpResponseDto;
+import com.wastewise.pickup.dto.BulkStatusTransitionResponseDto;
+import com.wastewise.pickup.dto.CreatePickUpDto;
+import com.wastewise.pickup.dto.DeletePickUpResponseDto;
+import com.wastewise.pickup.dto.PickUpChangesDto;
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.dto.PickUpFilter;
+import com.wastewise.pickup.dto.PickUpOccurrenceDto;
+import com.wastewise.pickup.dto.PickUpPageDto;
+import com.wastewise.pickup.dto.PickUpStatusDto;
+import com.wastewise.pickup.dto.StatusTransitionDto;
+import com.wastewise.pickup.export.ExportFormat;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Non-blocking variant of {@link PickUpService}, active with the "reactive" profile.
+ * Errors are signalled with the same exceptions as the blocking service.
+ */
+public interface ReactivePickUpService {
+
+    /**
+     * Create a new PickUp job.
+     * @param dto data for creating pickup.
+     * @return generated pickUpId, once the pickup is committed.
+     */
+    Mono<String> createPickUp(CreatePickUpDto dto);
+
+    /**
+     * Create many PickUp jobs at once, with the JDBC batch path of {@link PickUpService#createPickUps}.
+     * @param dtos data for creating pickups.
+     * @return one result per item, in request order, with its ID or its error.
+     */
+    Mono<BulkCreatePickUpResponseDto> createPickUps(List<CreatePickUpDto> dtos);
+
+    /**
+     * Delete an existing PickUp by ID.
+     * @param pickUpId identifier to delete.
+     * @return response DTO with deletion status.
+     */
+    Mono<DeletePickUpResponseDto> deletePickUp(String pickUpId);
+
+    /**
+     * Move a PickUp to its next status, as {@link PickUpService#transitionStatus}.
+     * @param pickUpId identifier to update.
+     * @param dto target status and the version the caller last read.
+     * @return the new status and version.
+     */
+    Mono<PickUpStatusDto> transitionStatus(String pickUpId, StatusTransitionDto dto);
+
+    /**
+     * Apply many status transitions at once, with the JDBC batch path of {@link PickUpService#transitionStatuses}.
+     * @param transitions target status and expected version per pickup.
+     * @return one result per item, in request order, with its new version or its error.
+     */
+    Mono<BulkStatusTransitionResponseDto> transitionStatuses(List<PickUpStatusDto> transitions);
+
+    /**
+     * Every pickup in time slot order, emitted as rows are read.
+     * @return flux of PickUpDto.
+     */
+    Flux<PickUpDto> listAllPickUps();
+
+    /**
+     * Every pickup as a compressed export file, with the cursor path of {@link PickUpService#exportPickUps}.
+     * @param format file format.
+     * @param bufferFactory allocates the buffers the file is written to.
+     * @return the file, in buffers emitted as they fill.
+     */
+    Flux<DataBuffer> exportPickUps(ExportFormat format, DataBufferFactory bufferFactory);
+
+    /**
+     * The highest committed change sequence number, as {@link PickUpService#currentChangeSequence}.
+     * @return the current change sequence, 0 before the first change.
+     */
+    Mono<Long> currentChangeSequence();
+
+    /**
+     * List the pickups created, updated or deleted after a change sequence number, as {@link PickUpService#listChanges}.
+     * @param since the sequence of the previous response, or 0 to start from the beginning.
+     * @param limit maximum number of changes in the response.
+     * @return the changes and the sequence to continue from.
+     */
+    Mono<PickUpChangesDto> listChanges(long since, int limit);
+
+    /**
+     * List one keyset page of pickups ordered by time slot start, then ID.
+     * @param cursor token from a previous page, or null for the first page.
+     * @param size maximum number of pickups in the page.
+     * @return the page and the cursor for the next one.
+     */
+    Mono<PickUpPageDto> listPickUps(String cursor, int size);
+
+    /**
+     * List one keyset page of the pickups matching a filter, as {@link PickUpService#searchPickUps}.
+     * @param filter search criteria; null fields match everything.
+     * @param cursor token from a previous page, or null for the first page.
+     * @param size maximum number of pickups in the page.
+     * @return the page and the cursor for the next one.
+     */
+    Mono<PickUpPageDto> searchPickUps(PickUpFilter filter, String cursor, int size);
+
+    /**
+     * Occurrences of all pickups, repeated by their frequency, that overlap [from, to).
+     * @param from start of the window, inclusive.
+     * @param to end of the window, exclusive; at most 366 days after from.
+     * @return flux of occurrences ordered by start time, then pickup ID.
+     */
+    Flux<PickUpOccurrenceDto> listOccurrences(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Get one PickUp by ID.
+     * @param pickUpId identifier to fetch.
+     * @return PickUpDto for the given ID.
+     */
+    Mono<PickUpDto> getPickUpById(String pickUpId);
+}
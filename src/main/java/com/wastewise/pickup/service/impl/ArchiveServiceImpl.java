@@ -0,0 +1,43 @@
+package com.wastewise.pickup.service.impl;
+
+import com.wastewise.pickup.archive.ArchiveStore;
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.exception.InvalidPickUpRequestException;
+import com.wastewise.pickup.service.ArchiveService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class ArchiveServiceImpl implements ArchiveService {
+
+    // Each month in the window is one set of archive files to open and sort
+    static final Duration MAX_WINDOW = Duration.ofDays(366);
+
+    private final ArchiveStore archiveStore;
+
+    public ArchiveServiceImpl(ArchiveStore archiveStore) {
+        this.archiveStore = archiveStore;
+    }
+
+    @Override
+    public Stream<PickUpDto> readArchivedPickUps(LocalDateTime from, LocalDateTime to) {
+        log.info("Reading archived PickUps from {} to {}", from, to);
+        validateWindow(from, to);
+        return archiveStore.read(from, to);
+    }
+
+    static void validateWindow(LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new InvalidPickUpRequestException("Window end must be after window start", "archive_window_order");
+        }
+        if (Duration.between(from, to).compareTo(MAX_WINDOW) > 0) {
+            throw new InvalidPickUpRequestException("Window must not be longer than "
+                    + MAX_WINDOW.toDays() + " days", "archive_window_size");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.wastewise.pickup.service.impl;
+
+import com.wastewise.pickup.assignment.AssignmentSolver;
+import com.wastewise.pickup.client.VehicleServiceClient;
+import com.wastewise.pickup.client.WorkerServiceClient;
+import com.wastewise.pickup.dto.AssignmentRequestDto;
+import com.wastewise.pickup.dto.AssignmentResultDto;
+import com.wastewise.pickup.dto.AvailableResourcesDto;
+import com.wastewise.pickup.dto.PendingPickUpDto;
+import com.wastewise.pickup.dto.VehicleDto;
+import com.wastewise.pickup.dto.WorkerDto;
+import com.wastewise.pickup.exception.DownstreamServiceException;
+import com.wastewise.pickup.exception.InvalidPickUpRequestException;
+import com.wastewise.pickup.service.AssignmentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class AssignmentServiceImpl implements AssignmentService {
+
+    // Bounds the bookings read from the index and the size of one plan
+    static final Duration MAX_WINDOW = Duration.ofDays(7);
+
+    private final AssignmentSolver solver;
+    private final VehicleServiceClient vehicleClient;
+    private final WorkerServiceClient workerClient;
+
+    public AssignmentServiceImpl(AssignmentSolver solver, VehicleServiceClient vehicleClient,
+                                 WorkerServiceClient workerClient) {
+        this.solver = solver;
+        this.vehicleClient = vehicleClient;
+        this.workerClient = workerClient;
+    }
+
+    @Override
+    public AssignmentResultDto assignResources(AssignmentRequestDto dto) {
+        log.info("Received request to assign resources to {} pending PickUps", dto.getPickUps().size());
+        validatePendingPickUps(dto.getPickUps());
+
+        AvailableResourcesDto resources = dto.getResources();
+        List<String> vehicleIds = resources == null
+                ? ids("vehicle", vehicleClient::getAllVehicles, VehicleDto::getId)
+                : ids(resources.getVehicles(), VehicleDto::getId);
+        List<String> workerIds = resources == null
+                ? ids("worker", workerClient::getAllWorkers, WorkerDto::getId)
+                : ids(resources.getWorkers(), WorkerDto::getId);
+
+        return solver.solve(dto.getPickUps(), vehicleIds, workerIds);
+    }
+
+    static void validatePendingPickUps(List<PendingPickUpDto> pickUps) {
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (PendingPickUpDto pickUp : pickUps) {
+            if (!pickUp.getTimeSlotEnd().isAfter(pickUp.getTimeSlotStart())) {
+                throw new InvalidPickUpRequestException("Time slot end must be after time slot start", "time_slot_order");
+            }
+            from = from == null || pickUp.getTimeSlotStart().isBefore(from) ? pickUp.getTimeSlotStart() : from;
+            to = to == null || pickUp.getTimeSlotEnd().isAfter(to) ? pickUp.getTimeSlotEnd() : to;
+        }
+        if (from != null && Duration.between(from, to).compareTo(MAX_WINDOW) > 0) {
+            throw new InvalidPickUpRequestException("Pending pickups must fit in a window of "
+                    + MAX_WINDOW.toDays() + " days", "assignment_window_size");
+        }
+    }
+
+    private static <T> List<String> ids(String resource, Supplier<List<T>> catalog, Function<T, String> idOf) {
+        try {
+            return ids(catalog.get(), idOf);
+        } catch (RuntimeException ex) {
+            throw new DownstreamServiceException("Could not list available " + resource + "s", ex);
+        }
+    }
+
+    private static <T> List<String> ids(List<T> items, Function<T, String> idOf) {
+        if (items == null) {
+            return List.of();
+        }
+        return items.stream().map(idOf).filter(Objects::nonNull).filter(id -> !id.isBlank()).toList();
+    }
+}
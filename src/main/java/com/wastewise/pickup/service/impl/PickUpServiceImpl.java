@@ -1,80 +1,311 @@
 package com.wastewise.pickup.service.impl;
 
+import com.wastewise.pickup.cache.PickUpCache;
+import com.wastewise.pickup.dto.BulkCreatePickUpResponseDto;
+import com.wastewise.pickup.dto.BulkCreateResultDto;
+import com.wastewise.pickup.dto.BulkStatusTransitionResponseDto;
 import com.wastewise.pickup.dto.CreatePickUpDto;
 import com.wastewise.pickup.dto.DeletePickUpResponseDto;
+import com.wastewise.pickup.dto.PickUpChangeDto;
+import com.wastewise.pickup.dto.PickUpChangesDto;
 import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.dto.PickUpEventDto;
+import com.wastewise.pickup.dto.PickUpFilter;
+import com.wastewise.pickup.dto.PickUpOccurrenceDto;
+import com.wastewise.pickup.dto.PickUpPageDto;
+import com.wastewise.pickup.dto.PickUpStatusDto;
+import com.wastewise.pickup.dto.StatusTransitionDto;
+import com.wastewise.pickup.dto.StatusTransitionResultDto;
+import com.wastewise.pickup.exception.ChangeSequenceExpiredException;
+import com.wastewise.pickup.exception.DownstreamServiceException;
 import com.wastewise.pickup.exception.InvalidPickUpRequestException;
+import com.wastewise.pickup.exception.PickUpConflictException;
 import com.wastewise.pickup.exception.PickUpNotFoundException;
+import com.wastewise.pickup.export.ExportFormat;
+import com.wastewise.pickup.export.PickUpExportWriter;
+import com.wastewise.pickup.index.Booking;
+import com.wastewise.pickup.index.ResourceBookingGuard;
+import com.wastewise.pickup.index.ResourceBookingIndex;
+import com.wastewise.pickup.live.PickUpEventHub;
+import com.wastewise.pickup.metrics.ValidationFailureMetrics;
 import com.wastewise.pickup.model.PickUp;
 import com.wastewise.pickup.model.enums.PickUpStatus;
+import com.wastewise.pickup.outbox.StatusOutbox;
+import com.wastewise.pickup.recurrence.Occurrence;
+import com.wastewise.pickup.recurrence.OccurrenceWindow;
+import com.wastewise.pickup.recurrence.RecurrenceExpander;
 import com.wastewise.pickup.repository.PickUpRepository;
+import com.wastewise.pickup.repository.PickUpSpecifications;
+import com.wastewise.pickup.repository.PickUpStatusUpdates;
 import com.wastewise.pickup.service.PickUpService;
+import com.wastewise.pickup.sync.PickUpChangeLog;
 import com.wastewise.pickup.utility.IdGenerator;
+import com.wastewise.pickup.utility.PageCursor;
+import com.wastewise.pickup.utility.PickUpMapper;
+import com.wastewise.pickup.validation.ResourceValidator;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed(value = "pickup.service", description = "Latency of PickUpService operations")
 public class PickUpServiceImpl implements PickUpService {
 
     private final PickUpRepository repository;
     private final IdGenerator idGenerator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ResourceBookingIndex bookingIndex;
+    private final ResourceBookingGuard bookingGuard;
+    private final PickUpCache pickUpCache;
+    private final ResourceValidator resourceValidator;
+    private final StatusOutbox statusOutbox;
+    private final ValidationFailureMetrics validationFailures;
+    private final PickUpStatusUpdates statusUpdates;
+    private final PickUpChangeLog changeLog;
+    private final PickUpEventHub eventHub;
 
     private static final boolean MOCKMODE = true;
+    static final int MAX_PAGE_SIZE = 500;
+    static final Comparator<PickUp> KEYSET_ORDER =
+            Comparator.comparing(PickUp::getTimeSlotStart).thenComparing(PickUp::getId);
+    // Matches spring.jpa.properties.hibernate.jdbc.batch_size so each chunk flushes as full batches
+    private static final int BULK_CHUNK_SIZE = 500;
 
-    public PickUpServiceImpl(PickUpRepository repository, IdGenerator idGenerator) {
+    public PickUpServiceImpl(PickUpRepository repository, IdGenerator idGenerator, EntityManager entityManager,
+                             TransactionTemplate transactionTemplate, Validator validator,
+                             ResourceBookingIndex bookingIndex, ResourceBookingGuard bookingGuard,
+                             PickUpCache pickUpCache, ResourceValidator resourceValidator, StatusOutbox statusOutbox,
+                             ValidationFailureMetrics validationFailures, PickUpStatusUpdates statusUpdates,
+                             PickUpChangeLog changeLog, PickUpEventHub eventHub) {
         this.repository = repository;
         this.idGenerator = idGenerator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.bookingIndex = bookingIndex;
+        this.bookingGuard = bookingGuard;
+        this.pickUpCache = pickUpCache;
+        this.resourceValidator = resourceValidator;
+        this.statusOutbox = statusOutbox;
+        this.validationFailures = validationFailures;
+        this.statusUpdates = statusUpdates;
+        this.changeLog = changeLog;
+        this.eventHub = eventHub;
     }
 
     @Override
-    @Transactional
     public String createPickUp(CreatePickUpDto dto) {
-        log.info("Received request to create PickUp: {}", dto);
+        String pickUpId = preparePickUp(dto);
+        savePickUp(pickUpId, dto);
+        return pickUpId;
+    }
+
+    @Override
+    public String preparePickUp(CreatePickUpDto dto) {
+        log.info("Received request to create PickUp in zone {}", dto.getZoneId());
 
         // Validate the fields in the request
         validateCreatePickUpDto(dto);
 
+        // Check that zone, vehicle and workers exist, before a connection is taken
+        resourceValidator.validate(dto);
+
         // Generate a unique ID for the new PickUp
-        String pickUpId = idGenerator.generatePickUpId();
-
-        // Create a new PickUp object
-        PickUp pickUp = new PickUp();
-        pickUp.setId(pickUpId);
-        pickUp.setZoneId(dto.getZoneId());
-        pickUp.setTimeSlotStart(dto.getTimeSlotStart());
-        pickUp.setTimeSlotEnd(dto.getTimeSlotEnd());
-        pickUp.setFrequency(dto.getFrequency());
-        pickUp.setLocationName(dto.getLocationName());
-        pickUp.setVehicleId(dto.getVehicleId());
-        pickUp.setWorker1Id(dto.getWorker1Id());
-        pickUp.setWorker2Id(dto.getWorker2Id());
-        pickUp.setStatus(PickUpStatus.SCHEDULED);
-
-        // Save the new pickUp to the repository
-        repository.save(pickUp);
+        return idGenerator.generatePickUpId();
+    }
+
+    @Override
+    public void savePickUp(String pickUpId, CreatePickUpDto dto) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Book the vehicle and workers; released again if this transaction rolls back
+            Booking booking = mapToBooking(pickUpId, dto);
+            bookingIndex.reserve(booking);
+            // Bookings of other instances are only seen by the database
+            bookingGuard.check(List.of(booking));
+
+            // Save the new pickUp to the repository, numbered for delta sync
+            PickUp pickUp = PickUpMapper.toEntity(pickUpId, dto);
+            long changeSequence = changeLog.reserve();
+            pickUp.setChangeSequence(changeSequence);
+            // Its version is still null, so save persists: one INSERT, no merge SELECT first
+            repository.save(pickUp);
+            pickUpCache.invalidateAfterCommit(pickUpId);
+            eventHub.publishAfterCommit(List.of(PickUpEventDto.created(changeSequence, pickUpId, dto.getZoneId())));
+
+            // Mark vehicle and workers occupied; sent to their services after commit
+            statusOutbox.enqueue(booking, StatusOutbox.OCCUPIED);
+        });
 
         log.info("PickUp successfully created with ID: {}", pickUpId);
-        return pickUpId;
     }
 
-    private void validateCreatePickUpDto(CreatePickUpDto dto) {
+    @Override
+    public BulkCreatePickUpResponseDto createPickUps(List<CreatePickUpDto> dtos) {
+        log.info("Received request to create {} PickUps", dtos.size());
+
+        // Validate every item up front; invalid items are reported and skipped
+        BulkCreateResultDto[] results = new BulkCreateResultDto[dtos.size()];
+        List<Integer> wellFormed = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            String error = validationError(dtos.get(i));
+            if (error == null) {
+                wellFormed.add(i);
+            } else {
+                results[i] = BulkCreateResultDto.failed(i, error);
+            }
+        }
+
+        // Check zones, vehicles and workers for all items together, each distinct one once
+        Map<Integer, RuntimeException> resourceErrors =
+                resourceValidator.validateAll(wellFormed.stream().map(dtos::get).toList());
+        List<Integer> valid = new ArrayList<>(wellFormed.size());
+        for (int k = 0; k < wellFormed.size(); k++) {
+            int index = wellFormed.get(k);
+            RuntimeException error = resourceErrors.get(k);
+            if (error == null) {
+                valid.add(index);
+            } else {
+                validationFailures.record(error instanceof InvalidPickUpRequestException invalid
+                        ? invalid.getReason() : "downstream_unavailable");
+                results[index] = BulkCreateResultDto.failed(index, error.getMessage());
+            }
+        }
+
+        // One sequence reservation for the whole batch
+        List<String> ids = idGenerator.generatePickUpIds(valid.size());
+
+        // Book resources item by item, which also catches conflicts inside the batch
+        List<Integer> accepted = new ArrayList<>(valid.size());
+        List<Booking> bookings = new ArrayList<>(valid.size());
+        for (int k = 0; k < valid.size(); k++) {
+            int index = valid.get(k);
+            Booking booking = mapToBooking(ids.get(k), dtos.get(index));
+            try {
+                bookingIndex.reserve(booking);
+                accepted.add(index);
+                bookings.add(booking);
+            } catch (PickUpConflictException ex) {
+                validationFailures.record("resource_conflict");
+                results[index] = BulkCreateResultDto.failed(index, ex.getMessage());
+            }
+        }
+
+        // Persist in chunks, one transaction each, so a failure only loses its own chunk
+        for (int from = 0; from < accepted.size(); from += BULK_CHUNK_SIZE) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + BULK_CHUNK_SIZE, accepted.size()));
+            List<Booking> chunkBookings = bookings.subList(from, from + chunk.size());
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    bookingGuard.check(chunkBookings);
+                    List<Long> changeSequences = changeLog.reserve(chunk.size());
+                    List<PickUpEventDto> events = new ArrayList<>(chunk.size());
+                    for (int k = 0; k < chunk.size(); k++) {
+                        // persist, not save: the IDs are new, so skip the merge SELECT
+                        PickUp pickUp = PickUpMapper.toEntity(chunkBookings.get(k).getPickUpId(), dtos.get(chunk.get(k)));
+                        pickUp.setChangeSequence(changeSequences.get(k));
+                        entityManager.persist(pickUp);
+                        events.add(PickUpEventDto.created(changeSequences.get(k), pickUp.getId(), pickUp.getZoneId()));
+                    }
+                    statusOutbox.enqueueAll(chunkBookings, StatusOutbox.OCCUPIED);
+                    eventHub.publishAfterCommit(events);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                for (int k = 0; k < chunk.size(); k++) {
+                    results[chunk.get(k)] = BulkCreateResultDto.created(chunk.get(k), chunkBookings.get(k).getPickUpId());
+                    pickUpCache.invalidate(chunkBookings.get(k).getPickUpId());
+                }
+            } catch (RuntimeException ex) {
+                log.error("Failed to save bulk chunk of {} PickUps: {}", chunk.size(), ex.getMessage(), ex);
+                chunkBookings.forEach(bookingIndex::release);
+                for (int index : chunk) {
+                    results[index] = BulkCreateResultDto.failed(index, "Could not save pickup");
+                }
+            }
+        }
+
+        int created = (int) Arrays.stream(results).filter(r -> r.getPickUpId() != null).count();
+        log.info("Bulk create finished: {} created, {} failed", created, results.length - created);
+        return new BulkCreatePickUpResponseDto(created, results.length - created, Arrays.asList(results));
+    }
+
+    /**
+     * Runs the bean validation constraints and the service checks for one bulk item,
+     * counting a failure by its reason. Its zone, vehicle and workers are checked later,
+     * together with those of the other items.
+     * @return the first error message, or null if the item is valid.
+     */
+    private String validationError(CreatePickUpDto dto) {
+        if (dto == null) {
+            validationFailures.record("pickup_missing");
+            return "Pickup must not be null";
+        }
+        ConstraintViolation<CreatePickUpDto> violation = validator.validate(dto).stream()
+                .min(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .orElse(null);
+        if (violation != null) {
+            validationFailures.recordInvalidField(violation.getPropertyPath().toString());
+            return violation.getPropertyPath() + ": " + violation.getMessage();
+        }
+        try {
+            validateCreatePickUpDto(dto);
+            return null;
+        } catch (InvalidPickUpRequestException ex) {
+            validationFailures.record(ex.getReason());
+            return ex.getMessage();
+        }
+    }
+
+    static Booking mapToBooking(String pickUpId, CreatePickUpDto dto) {
+        return new Booking(pickUpId, dto.getVehicleId(), dto.getWorker1Id(), dto.getWorker2Id(),
+                dto.getTimeSlotStart(), dto.getTimeSlotEnd());
+    }
+
+    static void validateCreatePickUpDto(CreatePickUpDto dto) {
         if (Objects.isNull(dto.getZoneId()) || dto.getZoneId().isEmpty()) {
-            throw new InvalidPickUpRequestException("Zone ID is required");
+            throw new InvalidPickUpRequestException("Zone ID is required", "zone_id_missing");
         }
         if (Objects.isNull(dto.getTimeSlotStart())) {
-            throw new InvalidPickUpRequestException("Time slot start is required");
+            throw new InvalidPickUpRequestException("Time slot start is required", "time_slot_start_missing");
         }
         if (Objects.isNull(dto.getTimeSlotEnd())) {
-            throw new InvalidPickUpRequestException("Time slot end is required");
+            throw new InvalidPickUpRequestException("Time slot end is required", "time_slot_end_missing");
         }
         if (Objects.isNull(dto.getLocationName()) || dto.getLocationName().isEmpty()) {
-            throw new InvalidPickUpRequestException("Location name is required");
+            throw new InvalidPickUpRequestException("Location name is required", "location_name_missing");
+        }
+        if (!dto.getTimeSlotEnd().isAfter(dto.getTimeSlotStart())) {
+            throw new InvalidPickUpRequestException("Time slot end must be after time slot start", "time_slot_order");
+        }
+        if (Objects.nonNull(dto.getWorker1Id()) && dto.getWorker1Id().equals(dto.getWorker2Id())) {
+            throw new InvalidPickUpRequestException("worker1Id and worker2Id must be different workers", "same_worker");
         }
         // Additional validation can be added as per business requirements
     }
@@ -84,51 +315,429 @@ public class PickUpServiceImpl implements PickUpService {
     public DeletePickUpResponseDto deletePickUp(String pickUpId) {
         log.info("Received request to delete PickUp with ID: {}", pickUpId);
 
-        // Find the PickUp by its ID
-        PickUp pickUp = repository.findById(pickUpId)
+        // Read what the delete frees as a DTO; the entity is never loaded
+        PickUpDto pickUp = repository.findDtoById(pickUpId)
                 .orElseThrow(() -> new PickUpNotFoundException("PickUp not found with ID: " + pickUpId));
 
-        // Delete the PickUp
-        repository.delete(pickUp);
+        // Delete the PickUp with one statement; no row means a concurrent delete won since the read
+        long changeSequence = changeLog.reserve();
+        if (repository.deleteRowById(pickUpId) == 0) {
+            throw new PickUpNotFoundException("PickUp not found with ID: " + pickUpId);
+        }
+
+        // Leave a tombstone for delta sync, and free its vehicle and workers once the delete commits
+        changeLog.recordDeletes(List.of(pickUpId), List.of(changeSequence));
+        Booking booking = Booking.from(pickUp);
+        bookingIndex.releaseAfterCommit(booking);
+        pickUpCache.invalidateAfterCommit(pickUpId);
+        statusOutbox.enqueue(booking, StatusOutbox.AVAILABLE);
+        eventHub.publishAfterCommit(List.of(PickUpEventDto.deleted(changeSequence, pickUpId, pickUp.getZoneId())));
 
         log.info("PickUp successfully deleted with ID: {}", pickUpId);
         return new DeletePickUpResponseDto(pickUpId, "DELETED");
     }
 
     @Override
+    public PickUpStatusDto transitionStatus(String pickUpId, StatusTransitionDto dto) {
+        log.info("Received request to move PickUp {} to {} at version {}", pickUpId, dto.getStatus(), dto.getVersion());
+
+        validateTransition(dto.getStatus());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // No read first: the update only matches while status and version are as expected
+            long changeSequence = changeLog.reserve();
+            if (statusUpdates.transition(pickUpId, dto.getStatus(), dto.getVersion(), changeSequence) == 0) {
+                throw transitionFailure(pickUpId, dto.getStatus(), dto.getVersion());
+            }
+            afterTransition(List.of(pickUpId), dto.getStatus());
+            eventHub.publishAfterCommit(List.of(PickUpEventDto.statusChanged(changeSequence, pickUpId, null,
+                    dto.getStatus(), dto.getVersion() + 1)));
+        });
+
+        log.info("PickUp {} moved to {}", pickUpId, dto.getStatus());
+        return new PickUpStatusDto(pickUpId, dto.getStatus(), dto.getVersion() + 1);
+    }
+
+    @Override
+    public BulkStatusTransitionResponseDto transitionStatuses(List<PickUpStatusDto> transitions) {
+        log.info("Received request to apply {} status transitions", transitions.size());
+
+        // Validate every item up front; invalid items are reported and skipped
+        StatusTransitionResultDto[] results = new StatusTransitionResultDto[transitions.size()];
+        List<Integer> valid = new ArrayList<>(transitions.size());
+        for (int i = 0; i < transitions.size(); i++) {
+            String error = transitionError(transitions.get(i));
+            if (error == null) {
+                valid.add(i);
+            } else {
+                results[i] = StatusTransitionResultDto.failed(i,
+                        transitions.get(i) == null ? null : transitions.get(i).getPickUpId(), error);
+            }
+        }
+
+        // One batch and one transaction per chunk, so a failure only loses its own chunk
+        for (int from = 0; from < valid.size(); from += BULK_CHUNK_SIZE) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + BULK_CHUNK_SIZE, valid.size()));
+            List<PickUpStatusDto> items = chunk.stream().map(transitions::get).toList();
+            try {
+                String[] errors = transactionTemplate.execute(status -> applyTransitions(items));
+                for (int k = 0; k < chunk.size(); k++) {
+                    PickUpStatusDto item = items.get(k);
+                    results[chunk.get(k)] = errors[k] == null
+                            ? StatusTransitionResultDto.applied(chunk.get(k), item.getPickUpId(), item.getStatus(), item.getVersion() + 1)
+                            : StatusTransitionResultDto.failed(chunk.get(k), item.getPickUpId(), errors[k]);
+                }
+            } catch (RuntimeException ex) {
+                log.error("Failed to apply bulk chunk of {} status transitions: {}", chunk.size(), ex.getMessage(), ex);
+                for (int k = 0; k < chunk.size(); k++) {
+                    results[chunk.get(k)] = StatusTransitionResultDto.failed(chunk.get(k), items.get(k).getPickUpId(),
+                            "Could not update pickup status");
+                }
+            }
+        }
+
+        int applied = (int) Arrays.stream(results).filter(r -> r.getError() == null).count();
+        log.info("Bulk status transition finished: {} applied, {} failed", applied, results.length - applied);
+        return new BulkStatusTransitionResponseDto(applied, results.length - applied, Arrays.asList(results));
+    }
+
+    /**
+     * Runs one batch of conditional updates inside the current transaction. Only the items
+     * that did not apply are read back, to tell a missing pickup from one that has moved on.
+     * @return per item, null if applied, otherwise the error message.
+     */
+    private String[] applyTransitions(List<PickUpStatusDto> items) {
+        List<Long> changeSequences = changeLog.reserve(items.size());
+        int[] counts = statusUpdates.transitionAll(items, changeSequences);
+
+        String[] errors = new String[items.size()];
+        Map<PickUpStatus, List<String>> applied = new EnumMap<>(PickUpStatus.class);
+        List<String> missed = new ArrayList<>();
+        List<PickUpEventDto> events = new ArrayList<>(items.size());
+        for (int k = 0; k < items.size(); k++) {
+            PickUpStatusDto item = items.get(k);
+            if (counts[k] > 0) {
+                applied.computeIfAbsent(item.getStatus(), s -> new ArrayList<>()).add(item.getPickUpId());
+                events.add(PickUpEventDto.statusChanged(changeSequences.get(k), item.getPickUpId(), null,
+                        item.getStatus(), item.getVersion() + 1));
+            } else {
+                missed.add(item.getPickUpId());
+            }
+        }
+        applied.forEach((status, pickUpIds) -> afterTransition(pickUpIds, status));
+        eventHub.publishAfterCommit(events);
+
+        if (!missed.isEmpty()) {
+            Map<String, PickUpDto> current = repository.findDtosByIdIn(missed).stream()
+                    .collect(Collectors.toMap(PickUpDto::getId, Function.identity()));
+            for (int k = 0; k < items.size(); k++) {
+                if (counts[k] == 0) {
+                    PickUpStatusDto item = items.get(k);
+                    PickUpDto pickUp = current.get(item.getPickUpId());
+                    if (pickUp == null) {
+                        errors[k] = "PickUp not found with ID: " + item.getPickUpId();
+                    } else {
+                        validationFailures.record("resource_conflict");
+                        errors[k] = transitionConflict(pickUp, item.getStatus(), item.getVersion());
+                    }
+                }
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Runs the bean validation constraints and the transition check for one bulk item.
+     * @return the first error message, or null if the item is valid.
+     */
+    private String transitionError(PickUpStatusDto dto) {
+        if (dto == null) {
+            validationFailures.record("transition_missing");
+            return "Transition must not be null";
+        }
+        ConstraintViolation<PickUpStatusDto> violation = validator.validate(dto).stream()
+                .min(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .orElse(null);
+        if (violation != null) {
+            validationFailures.recordInvalidField(violation.getPropertyPath().toString());
+            return violation.getPropertyPath() + ": " + violation.getMessage();
+        }
+        try {
+            validateTransition(dto.getStatus());
+            return null;
+        } catch (InvalidPickUpRequestException ex) {
+            validationFailures.record(ex.getReason());
+            return ex.getMessage();
+        }
+    }
+
+    static void validateTransition(PickUpStatus target) {
+        if (target.predecessor() == null) {
+            throw new InvalidPickUpRequestException("A pickup cannot be moved to " + target, "status_transition");
+        }
+    }
+
+    /**
+     * Why a conditional update matched no row. Only read on this path, never before the update.
+     */
+    private RuntimeException transitionFailure(String pickUpId, PickUpStatus target, long version) {
+        return repository.findDtoById(pickUpId)
+                .<RuntimeException>map(current -> new PickUpConflictException(transitionConflict(current, target, version)))
+                .orElseGet(() -> new PickUpNotFoundException("PickUp not found with ID: " + pickUpId));
+    }
+
+    static String transitionConflict(PickUpDto current, PickUpStatus target, long version) {
+        return String.format("PickUp %s is %s at version %d; moving it to %s requires %s at version %d",
+                current.getId(), current.getStatus(), current.getVersion(), target, target.predecessor(), version);
+    }
+
+    /**
+     * Effects of applied transitions, inside their transaction: cached copies are dropped after
+     * commit, and completed pickups free their vehicle and workers.
+     */
+    private void afterTransition(List<String> pickUpIds, PickUpStatus target) {
+        pickUpIds.forEach(pickUpCache::invalidateAfterCommit);
+        if (target == PickUpStatus.COMPLETED) {
+            List<Booking> bookings = repository.findBookingsByIdIn(pickUpIds);
+            bookings.forEach(bookingIndex::releaseAfterCommit);
+            statusOutbox.enqueueAll(bookings, StatusOutbox.AVAILABLE);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<PickUpDto> listAllPickUps() {
         log.info("Fetching all PickUps");
 
-        // Fetch all PickUp records and map them to DTOs
-        return repository.findAll().stream()
-                .map(this::mapToPickUpDto)
-                .collect(Collectors.toList());
+        // Rows are projected straight into DTOs; no entities are loaded
+        return repository.findAllDtos();
+    }
+
+    @Override
+    public long currentChangeSequence() {
+        return changeLog.currentSequence();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PickUpChangesDto listChanges(long since, int limit) {
+        log.info("Fetching PickUp changes after sequence {} with limit {}", since, limit);
+
+        validatePageSize(limit);
+
+        // Everything numbered up to the watermark has settled; later changes wait for the next call
+        long upTo = Math.max(since, changeLog.currentSequence());
+        validateChangeSequence(since);
+
+        // Fetch one extra row from each table to know whether more changes follow
+        List<PickUpChangeDto> deleted = changeLog.findDeletedAfter(since, upTo, limit + 1);
+        List<PickUpChangeDto> changed = repository.findChangedAfter(since, upTo, Limit.of(limit + 1)).stream()
+                .map(pickUp -> PickUpChangeDto.upserted(pickUp.getChangeSequence(), PickUpMapper.toDto(pickUp)))
+                .toList();
+        // Checked after the read: the horizon is raised before tombstones are purged
+        validateNotPurged(since, changeLog.purgedThrough());
+        return toChanges(changed, deleted, upTo, limit);
+    }
+
+    static void validateChangeSequence(long since) {
+        if (since < 0) {
+            throw new InvalidPickUpRequestException("Change sequence must not be negative", "change_sequence");
+        }
+    }
+
+    /**
+     * A client that has synced before must not be behind the purged tombstones, or it would
+     * keep pickups deleted meanwhile. Starting over from 0 needs no tombstones.
+     */
+    static void validateNotPurged(long since, long purgedThrough) {
+        if (since > 0 && since < purgedThrough) {
+            throw new ChangeSequenceExpiredException("Changes after sequence " + since
+                    + " are no longer kept; sync again from 0");
+        }
+    }
+
+    /**
+     * At most {@code limit} changes, in sequence order, from up to {@code limit + 1} changed and
+     * {@code limit + 1} deleted pickups. Sequence numbers are unique across both, so a full
+     * response ends exactly at its last change and the next one continues after it.
+     */
+    static PickUpChangesDto toChanges(List<PickUpChangeDto> changed, List<PickUpChangeDto> deleted,
+                                      long upTo, int limit) {
+        List<PickUpChangeDto> changes = new ArrayList<>(changed.size() + deleted.size());
+        changes.addAll(changed);
+        changes.addAll(deleted);
+        changes.sort(Comparator.comparingLong(PickUpChangeDto::getSequence));
+
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = new ArrayList<>(changes.subList(0, limit));
+            return new PickUpChangesDto(changes, changes.get(limit - 1).getSequence(), true);
+        }
+        return new PickUpChangesDto(changes, upTo, false);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PickUpPageDto listPickUps(String cursor, int size) {
+        log.info("Fetching PickUp page after cursor: {} with size: {}", cursor, size);
+
+        validatePageSize(size);
+
+        // Fetch one extra row to know whether another page follows
+        Limit limit = Limit.of(size + 1);
+        List<PickUpDto> rows;
+        if (Objects.isNull(cursor) || cursor.isEmpty()) {
+            rows = repository.findFirstPage(limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = repository.findPageAfter(after.getTimeSlotStart(), after.getId(), limit);
+        }
+
+        return toPage(rows, size);
+    }
+
+    static void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidPickUpRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE, "page_size");
+        }
+    }
+
+    /**
+     * Page of at most {@code size} pickups from {@code size + 1} fetched rows; the extra row
+     * only tells whether a next page exists.
+     */
+    static PickUpPageDto toPage(List<PickUpDto> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<PickUpDto> page = hasMore ? new ArrayList<>(rows.subList(0, size)) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            PickUpDto last = page.get(page.size() - 1);
+            nextCursor = new PageCursor(last.getTimeSlotStart(), last.getId()).encode();
+        }
+
+        return new PickUpPageDto(page, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PickUpPageDto searchPickUps(PickUpFilter filter, String cursor, int size) {
+        log.info("Searching PickUps matching {} after cursor: {} with size: {}", filter, cursor, size);
+
+        validatePageSize(size);
+        validateSearchWindow(filter);
+
+        Specification<PickUp> spec = PickUpSpecifications.matching(filter);
+        if (Objects.nonNull(cursor) && !cursor.isEmpty()) {
+            spec = spec.and(PickUpSpecifications.after(PageCursor.decode(cursor)));
+        }
+
+        // Fetch one extra row to know whether another page follows
+        int limit = size + 1;
+        List<PickUp> rows;
+        if (Objects.isNull(filter.getWorkerId())) {
+            rows = findSorted(spec, limit);
+        } else {
+            // One index seek per worker column instead of an OR that can use neither index
+            rows = mergeByKeyset(
+                    findSorted(spec.and(PickUpSpecifications.worker("worker1Id", filter.getWorkerId())), limit),
+                    findSorted(spec.and(PickUpSpecifications.worker("worker2Id", filter.getWorkerId())), limit),
+                    limit);
+        }
+
+        return toPage(rows.stream().map(PickUpMapper::toDto).collect(Collectors.toList()), size);
+    }
+
+    private List<PickUp> findSorted(Specification<PickUp> spec, int limit) {
+        return repository.findBy(spec, query -> query.sortBy(PickUpSpecifications.KEYSET_ORDER).limit(limit).all());
+    }
+
+    static void validateSearchWindow(PickUpFilter filter) {
+        if (Objects.nonNull(filter.getFrom()) && Objects.nonNull(filter.getTo())
+                && !filter.getTo().isAfter(filter.getFrom())) {
+            throw new InvalidPickUpRequestException("Search window end must be after its start", "search_window_order");
+        }
+    }
+
+    /**
+     * First {@code limit} rows of two lists sorted in keyset order, without duplicates.
+     */
+    static List<PickUp> mergeByKeyset(List<PickUp> left, List<PickUp> right, int limit) {
+        List<PickUp> merged = new ArrayList<>(Math.min(limit, left.size() + right.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < left.size() || j < right.size())) {
+            PickUp next;
+            if (j == right.size() || (i < left.size() && KEYSET_ORDER.compare(left.get(i), right.get(j)) <= 0)) {
+                next = left.get(i++);
+            } else {
+                next = right.get(j++);
+            }
+            if (merged.isEmpty() || !merged.get(merged.size() - 1).getId().equals(next.getId())) {
+                merged.add(next);
+            }
+        }
+        return merged;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllPickUps(Consumer<PickUpDto> consumer) {
+        log.info("Streaming all PickUps");
+
+        // DTO rows are not managed, so the persistence context stays empty however many are read
+        try (Stream<PickUpDto> pickUps = repository.streamAll()) {
+            pickUps.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportPickUps(ExportFormat format, OutputStream out) {
+        log.info("Exporting all PickUps as {}", format);
+        long started = System.currentTimeMillis();
+
+        long exported = 0;
+        try (Stream<PickUpDto> pickUps = repository.streamAll()) {
+            PickUpExportWriter writer = format.open(out);
+            for (Iterator<PickUpDto> it = pickUps.iterator(); it.hasNext(); exported++) {
+                writer.write(it.next());
+            }
+            writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + format + " export", e);
+        }
+
+        log.info("Exported {} PickUps as {} in {} ms", exported, format, System.currentTimeMillis() - started);
+        return exported;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamOccurrences(LocalDateTime from, LocalDateTime to, Consumer<PickUpOccurrenceDto> consumer) {
+        log.info("Streaming PickUp occurrences from {} to {}", from, to);
+
+        OccurrenceWindow.validate(from, to);
+
+        // Only the series are loaded; their occurrences in the window are generated while writing
+        List<PickUp> series = repository.findSeriesInWindow(from, to);
+        entityManager.clear();
+        Iterator<Occurrence> occurrences = RecurrenceExpander.expandAll(series, from, to);
+        while (occurrences.hasNext()) {
+            consumer.accept(PickUpMapper.toOccurrenceDto(occurrences.next()));
+        }
     }
 
     @Override
     public PickUpDto getPickUpById(String pickUpId) {
         log.info("Fetching PickUp with ID: {}", pickUpId);
 
-        // Find the PickUp by its ID
-        PickUp pickUp = repository.findById(pickUpId)
-                .orElseThrow(() -> new PickUpNotFoundException("PickUp not found with ID: " + pickUpId));
+        // Served from the cache; a miss loads and maps the row once for all concurrent readers
+        return pickUpCache.get(pickUpId, this::loadPickUpDto);
+    }
 
-        // Map the PickUp to a DTO and return it
-        return mapToPickUpDto(pickUp);
-    }
-
-    private PickUpDto mapToPickUpDto(PickUp pickUp) {
-        PickUpDto dto = new PickUpDto();
-        dto.setId(pickUp.getId());
-        dto.setZoneId(pickUp.getZoneId());
-        dto.setTimeSlotStart(pickUp.getTimeSlotStart());
-        dto.setTimeSlotEnd(pickUp.getTimeSlotEnd());
-        dto.setFrequency(pickUp.getFrequency());
-        dto.setLocationName(pickUp.getLocationName());
-        dto.setVehicleId(pickUp.getVehicleId());
-        dto.setWorker1Id(pickUp.getWorker1Id());
-        dto.setWorker2Id(pickUp.getWorker2Id());
-        dto.setStatus(pickUp.getStatus());
-        return dto;
-    }
-}
\ No newline at end of file
+    private PickUpDto loadPickUpDto(String pickUpId) {
+        // Project the row straight into the DTO; a read-only query needs no managed entity
+        return repository.findDtoById(pickUpId)
+                .orElseThrow(() -> new PickUpNotFoundException("PickUp not found with ID: " + pickUpId));
+    }
+}
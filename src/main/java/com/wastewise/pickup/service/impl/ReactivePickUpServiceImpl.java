@@ -0,0 +1,352 @@
+package com.wastewise.pickup.service.impl;
+
+import com.wastewise.pickup.cache.PickUpCache;
+import com.wastewise.pickup.dto.BulkCreatePickUpResponseDto;
+import com.wastewise.pickup.dto.BulkStatusTransitionResponseDto;
+import com.wastewise.pickup.dto.CreatePickUpDto;
+import com.wastewise.pickup.dto.DeletePickUpResponseDto;
+import com.wastewise.pickup.dto.PickUpChangeDto;
+import com.wastewise.pickup.dto.PickUpChangesDto;
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.dto.PickUpEventDto;
+import com.wastewise.pickup.dto.PickUpFilter;
+import com.wastewise.pickup.dto.PickUpOccurrenceDto;
+import com.wastewise.pickup.dto.PickUpPageDto;
+import com.wastewise.pickup.dto.PickUpStatusDto;
+import com.wastewise.pickup.dto.StatusTransitionDto;
+import com.wastewise.pickup.exception.PickUpConflictException;
+import com.wastewise.pickup.exception.PickUpNotFoundException;
+import com.wastewise.pickup.export.ExportFormat;
+import com.wastewise.pickup.index.Booking;
+import com.wastewise.pickup.index.ReactiveResourceBookingGuard;
+import com.wastewise.pickup.index.ResourceBookingIndex;
+import com.wastewise.pickup.live.PickUpEventHub;
+import com.wastewise.pickup.model.PickUp;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import com.wastewise.pickup.outbox.ReactiveStatusOutbox;
+import com.wastewise.pickup.outbox.StatusOutbox;
+import com.wastewise.pickup.recurrence.OccurrenceWindow;
+import com.wastewise.pickup.recurrence.RecurrenceExpander;
+import com.wastewise.pickup.repository.ReactivePickUpRepository;
+import com.wastewise.pickup.service.PickUpService;
+import com.wastewise.pickup.service.ReactivePickUpService;
+import com.wastewise.pickup.sync.ReactivePickUpChangeLog;
+import com.wastewise.pickup.utility.IdGenerator;
+import com.wastewise.pickup.utility.PageCursor;
+import com.wastewise.pickup.utility.PickUpMapper;
+import com.wastewise.pickup.validation.ResourceValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link ReactivePickUpService} over R2DBC. Reads and single-pickup writes never block a
+ * request thread on the database.
+ *
+ * Steps that can still block are moved to the bounded elastic scheduler: resource validation
+ * (a remote lookup in "remote" mode), ID block reservation and bulk create, which keeps the
+ * JDBC batch path of {@link PickUpService}. Reads do not go through {@link PickUpCache},
+ * whose loader is synchronous; writes still invalidate it for the blocking readers.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+public class ReactivePickUpServiceImpl implements ReactivePickUpService {
+
+    private final ReactivePickUpRepository repository;
+    private final IdGenerator idGenerator;
+    private final TransactionalOperator transactionalOperator;
+    private final ResourceBookingIndex bookingIndex;
+    private final ReactiveResourceBookingGuard bookingGuard;
+    private final PickUpCache pickUpCache;
+    private final ResourceValidator resourceValidator;
+    private final ReactiveStatusOutbox statusOutbox;
+    private final PickUpService pickUpService;
+    private final ReactivePickUpChangeLog changeLog;
+    private final PickUpEventHub eventHub;
+
+    public ReactivePickUpServiceImpl(ReactivePickUpRepository repository, IdGenerator idGenerator,
+                                     TransactionalOperator transactionalOperator,
+                                     ResourceBookingIndex bookingIndex, ReactiveResourceBookingGuard bookingGuard,
+                                     PickUpCache pickUpCache,
+                                     ResourceValidator resourceValidator, ReactiveStatusOutbox statusOutbox,
+                                     PickUpService pickUpService, ReactivePickUpChangeLog changeLog,
+                                     PickUpEventHub eventHub) {
+        this.repository = repository;
+        this.idGenerator = idGenerator;
+        this.transactionalOperator = transactionalOperator;
+        this.bookingIndex = bookingIndex;
+        this.bookingGuard = bookingGuard;
+        this.pickUpCache = pickUpCache;
+        this.resourceValidator = resourceValidator;
+        this.statusOutbox = statusOutbox;
+        this.pickUpService = pickUpService;
+        this.changeLog = changeLog;
+        this.eventHub = eventHub;
+    }
+
+    @Override
+    public Mono<String> createPickUp(CreatePickUpDto dto) {
+        return Mono.fromCallable(() -> {
+                    log.info("Received request to create PickUp in zone {}", dto.getZoneId());
+                    PickUpServiceImpl.validateCreatePickUpDto(dto);
+                    resourceValidator.validate(dto);
+                    return idGenerator.generatePickUpId();
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(pickUpId -> save(pickUpId, dto));
+    }
+
+    private Mono<String> save(String pickUpId, CreatePickUpDto dto) {
+        Booking booking = PickUpServiceImpl.mapToBooking(pickUpId, dto);
+        Mono<Long> write = Mono.defer(() -> {
+            // Book the vehicle and workers; released again below if the transaction does not commit
+            bookingIndex.reserve(booking);
+            PickUp pickUp = PickUpMapper.toEntity(pickUpId, dto);
+            // Bookings of other instances are only seen by the database
+            return bookingGuard.check(booking)
+                    .then(changeLog.reserve())
+                    .flatMap(changeSequence -> {
+                        pickUp.setChangeSequence(changeSequence);
+                        return repository.insert(pickUp)
+                                .then(statusOutbox.enqueue(booking, StatusOutbox.OCCUPIED))
+                                .thenReturn(changeSequence);
+                    });
+        });
+
+        return write.as(transactionalOperator::transactional)
+                .doOnError(ex -> bookingIndex.release(booking))
+                .doOnCancel(() -> bookingIndex.release(booking))
+                .map(changeSequence -> {
+                    pickUpCache.invalidate(pickUpId);
+                    eventHub.publish(List.of(PickUpEventDto.created(changeSequence, pickUpId, dto.getZoneId())));
+                    log.info("PickUp successfully created with ID: {}", pickUpId);
+                    return pickUpId;
+                });
+    }
+
+    @Override
+    public Mono<BulkCreatePickUpResponseDto> createPickUps(List<CreatePickUpDto> dtos) {
+        return Mono.fromCallable(() -> pickUpService.createPickUps(dtos))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<DeletePickUpResponseDto> deletePickUp(String pickUpId) {
+        log.info("Received request to delete PickUp with ID: {}", pickUpId);
+
+        // Read what the delete frees as a DTO; the entity is never loaded
+        Mono<Committed> delete = repository.findDtoById(pickUpId)
+                .switchIfEmpty(Mono.error(() -> new PickUpNotFoundException("PickUp not found with ID: " + pickUpId)))
+                .flatMap(pickUp -> {
+                    Booking booking = Booking.from(pickUp);
+                    // No row means a concurrent delete won since the read; it frees the resources, not this one
+                    return changeLog.reserve()
+                            .flatMap(changeSequence -> repository.deleteById(pickUpId)
+                                    .flatMap(deleted -> deleted == 0
+                                            ? Mono.<Committed>error(new PickUpNotFoundException("PickUp not found with ID: " + pickUpId))
+                                            : changeLog.recordDelete(pickUpId, changeSequence)
+                                                    .then(statusOutbox.enqueue(booking, StatusOutbox.AVAILABLE))
+                                                    .thenReturn(new Committed(booking,
+                                                            PickUpEventDto.deleted(changeSequence, pickUpId, pickUp.getZoneId())))));
+                });
+
+        // Free the vehicle and workers only once the delete has committed
+        return delete.as(transactionalOperator::transactional)
+                .map(committed -> {
+                    afterCommit(committed);
+                    pickUpCache.invalidate(pickUpId);
+                    log.info("PickUp successfully deleted with ID: {}", pickUpId);
+                    return new DeletePickUpResponseDto(pickUpId, "DELETED");
+                });
+    }
+
+    @Override
+    public Mono<PickUpStatusDto> transitionStatus(String pickUpId, StatusTransitionDto dto) {
+        log.info("Received request to move PickUp {} to {} at version {}", pickUpId, dto.getStatus(), dto.getVersion());
+
+        Mono<Committed> transition = Mono.defer(() -> {
+            PickUpServiceImpl.validateTransition(dto.getStatus());
+            return changeLog.reserve().flatMap(changeSequence -> {
+                PickUpEventDto event = PickUpEventDto.statusChanged(changeSequence, pickUpId, null,
+                        dto.getStatus(), dto.getVersion() + 1);
+                return repository.transitionStatus(pickUpId, dto.getStatus(), dto.getVersion(), changeSequence)
+                        .flatMap(updated -> updated == 0
+                                ? transitionFailure(pickUpId, dto.getStatus(), dto.getVersion())
+                                : releaseIfCompleted(pickUpId, dto.getStatus())
+                                        .map(booking -> new Committed(booking, event))
+                                        .defaultIfEmpty(new Committed(null, event)));
+            });
+        });
+
+        // Free the vehicle and workers only once the transition has committed
+        return transition.as(transactionalOperator::transactional)
+                .doOnNext(this::afterCommit)
+                .then(Mono.fromCallable(() -> {
+                    pickUpCache.invalidate(pickUpId);
+                    log.info("PickUp {} moved to {}", pickUpId, dto.getStatus());
+                    return new PickUpStatusDto(pickUpId, dto.getStatus(), dto.getVersion() + 1);
+                }));
+    }
+
+    /**
+     * What a write leaves for after its commit: the booking to free and the live event to
+     * publish, either null if there is none.
+     */
+    private record Committed(Booking booking, PickUpEventDto event) {
+    }
+
+    private void afterCommit(Committed committed) {
+        if (committed.booking() != null) {
+            bookingIndex.release(committed.booking());
+        }
+        if (committed.event() != null) {
+            eventHub.publish(List.of(committed.event()));
+        }
+    }
+
+    /**
+     * A completed pickup hands its vehicle and workers back: read its booking after the update
+     * and queue the status change, in the same transaction.
+     */
+    private Mono<Booking> releaseIfCompleted(String pickUpId, PickUpStatus target) {
+        if (target != PickUpStatus.COMPLETED) {
+            return Mono.empty();
+        }
+        return repository.findById(pickUpId)
+                .map(Booking::from)
+                .flatMap(booking -> statusOutbox.enqueue(booking, StatusOutbox.AVAILABLE).thenReturn(booking));
+    }
+
+    /**
+     * Why the conditional update matched no row. Only read on this path, never before the update.
+     */
+    private <T> Mono<T> transitionFailure(String pickUpId, PickUpStatus target, long version) {
+        return repository.findById(pickUpId)
+                .<T>flatMap(current -> Mono.error(new PickUpConflictException(
+                        PickUpServiceImpl.transitionConflict(PickUpMapper.toDto(current), target, version))))
+                .switchIfEmpty(Mono.error(() -> new PickUpNotFoundException("PickUp not found with ID: " + pickUpId)));
+    }
+
+    @Override
+    public Mono<BulkStatusTransitionResponseDto> transitionStatuses(List<PickUpStatusDto> transitions) {
+        return Mono.fromCallable(() -> pickUpService.transitionStatuses(transitions))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Flux<PickUpDto> listAllPickUps() {
+        log.info("Fetching all PickUps");
+        return repository.findAllOrdered().map(PickUpMapper::toDto);
+    }
+
+    @Override
+    public Flux<DataBuffer> exportPickUps(ExportFormat format, DataBufferFactory bufferFactory) {
+        // The writer blocks on the JDBC cursor; the publisher hands its buffers over as they fill
+        return Flux.from(DataBufferUtils.outputStreamPublisher(
+                out -> pickUpService.exportPickUps(format, out), bufferFactory, Schedulers.boundedElastic()::schedule));
+    }
+
+    @Override
+    public Mono<Long> currentChangeSequence() {
+        return changeLog.currentSequence();
+    }
+
+    @Override
+    public Mono<PickUpChangesDto> listChanges(long since, int limit) {
+        log.info("Fetching PickUp changes after sequence {} with limit {}", since, limit);
+
+        return Mono.fromRunnable(() -> PickUpServiceImpl.validatePageSize(limit))
+                .then(Mono.fromRunnable(() -> PickUpServiceImpl.validateChangeSequence(since)))
+                .then(changeLog.currentSequence())
+                .map(current -> Math.max(since, current))
+                .flatMap(upTo -> {
+                    // Fetch one extra row from each table to know whether more changes follow
+                    Mono<List<PickUpChangeDto>> changed = repository.findChangedAfter(since, upTo, limit + 1)
+                            .map(pickUp -> PickUpChangeDto.upserted(pickUp.getChangeSequence(), PickUpMapper.toDto(pickUp)))
+                            .collectList();
+                    Mono<List<PickUpChangeDto>> deleted = changeLog.findDeletedAfter(since, upTo, limit + 1).collectList();
+                    // Checked after the read: the horizon is raised before tombstones are purged
+                    return Mono.zip(changed, deleted)
+                            .flatMap(read -> changeLog.purgedThrough()
+                                    .map(purgedThrough -> {
+                                        PickUpServiceImpl.validateNotPurged(since, purgedThrough);
+                                        return PickUpServiceImpl.toChanges(read.getT1(), read.getT2(), upTo, limit);
+                                    }));
+                });
+    }
+
+    @Override
+    public Mono<PickUpPageDto> listPickUps(String cursor, int size) {
+        log.info("Fetching PickUp page after cursor: {} with size: {}", cursor, size);
+
+        return Mono.defer(() -> {
+            PickUpServiceImpl.validatePageSize(size);
+
+            // Fetch one extra row to know whether another page follows
+            Flux<PickUp> rows;
+            if (Objects.isNull(cursor) || cursor.isEmpty()) {
+                rows = repository.findFirstPage(size + 1);
+            } else {
+                PageCursor after = PageCursor.decode(cursor);
+                rows = repository.findPageAfter(after.getTimeSlotStart(), after.getId(), size + 1);
+            }
+            return rows.map(PickUpMapper::toDto).collectList().map(page -> PickUpServiceImpl.toPage(page, size));
+        });
+    }
+
+    @Override
+    public Mono<PickUpPageDto> searchPickUps(PickUpFilter filter, String cursor, int size) {
+        log.info("Searching PickUps matching {} after cursor: {} with size: {}", filter, cursor, size);
+
+        return Mono.defer(() -> {
+            PickUpServiceImpl.validatePageSize(size);
+            PickUpServiceImpl.validateSearchWindow(filter);
+            PageCursor after = Objects.isNull(cursor) || cursor.isEmpty() ? null : PageCursor.decode(cursor);
+
+            // Fetch one extra row to know whether another page follows
+            int limit = size + 1;
+            Flux<PickUp> rows;
+            if (Objects.isNull(filter.getWorkerId())) {
+                rows = repository.search(filter, null, after, limit);
+            } else {
+                // One index seek per worker column, merged in keyset order
+                rows = Flux.mergeComparing(PickUpServiceImpl.KEYSET_ORDER,
+                                repository.search(filter, "worker1id", after, limit),
+                                repository.search(filter, "worker2id", after, limit))
+                        .distinctUntilChanged(PickUp::getId)
+                        .take(limit);
+            }
+            return rows.map(PickUpMapper::toDto).collectList().map(page -> PickUpServiceImpl.toPage(page, size));
+        });
+    }
+
+    @Override
+    public Flux<PickUpOccurrenceDto> listOccurrences(LocalDateTime from, LocalDateTime to) {
+        log.info("Fetching PickUp occurrences from {} to {}", from, to);
+
+        return Mono.fromRunnable(() -> OccurrenceWindow.validate(from, to))
+                .thenMany(repository.findSeriesInWindow(from, to).collectList())
+                .flatMapIterable(series -> () -> RecurrenceExpander.expandAll(series, from, to))
+                .map(PickUpMapper::toOccurrenceDto);
+    }
+
+    @Override
+    public Mono<PickUpDto> getPickUpById(String pickUpId) {
+        log.info("Fetching PickUp with ID: {}", pickUpId);
+        return repository.findById(pickUpId)
+                .map(PickUpMapper::toDto)
+                .switchIfEmpty(Mono.error(() -> new PickUpNotFoundException("PickUp not found with ID: " + pickUpId)));
+    }
+}
@@ -0,0 +1,351 @@
+package com.wastewise.pickup.sync;
+
+import com.wastewise.pickup.dto.PickUpChangeDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Orders pickup changes for delta sync. Every create, status transition and delete takes
+ * numbers from the identity column of {@code pickup_change_log}, one row per number, inside
+ * its own transaction: created and updated rows store theirs in {@code pickups.change_sequence},
+ * deleted ones leave a row in {@code pickup_tombstones}. Inserting new keys takes no lock that
+ * other writers wait for, so writers do not queue on each other.
+ *
+ * Numbers are handed out in the order transactions ask, not the order they commit: 8 may be
+ * visible while 7 is still open. Readers are therefore served up to the committed low-watermark,
+ * the highest number with every number below it settled. A number is settled once its log row
+ * is visible. The numbers of a transaction that rolled back get their row afterwards, written
+ * every {@code pickup.sync.maintenance-interval}; a gap left by an instance that died is given
+ * up once a later row is {@code pickup.sync.commit-lag} old, which must be longer than any write
+ * transaction. A client that has seen everything up to the watermark only needs the changes after it.
+ *
+ * Log rows below the watermark are no longer needed and are deleted once they are
+ * {@code pickup.sync.commit-lag} old. Tombstones are kept for {@code pickup.sync.tombstone-retention}
+ * and purged every {@code pickup.sync.tombstone-purge-interval}; {@code pickup_tombstone_horizon}
+ * records the newest number purged, and a client that last synced below it has missed deletes.
+ */
+@Slf4j
+@Component
+public class PickUpChangeLog implements SmartInitializingSingleton, DisposableBean {
+
+    static final int SCAN_LIMIT = 1000;
+
+    private static final int CHUNK_SIZE = 500;
+    private static final String FILL_SQL = "insert into pickup_change_log (change_sequence, created_at) values (?, ?)";
+    private static final String SETTLED_AFTER_SQL = "select change_sequence, created_at from pickup_change_log "
+            + "where change_sequence > ? order by change_sequence limit ?";
+    private static final String PRUNE_SQL = "delete from pickup_change_log where change_sequence < ? and created_at < ?";
+    private static final String INSERT_TOMBSTONE_SQL =
+            "insert into pickup_tombstones (id, change_sequence, deleted_at) values (?, ?, ?)";
+    private static final String PURGED_THROUGH_SQL = "select purged_through from pickup_tombstone_horizon where id = 1";
+    private static final String DELETED_AFTER_SQL = "select id, change_sequence from pickup_tombstones "
+            + "where change_sequence > ? and change_sequence <= ? order by change_sequence limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration commitLag;
+    private final Duration maintenanceInterval;
+    private final Duration tombstoneRetention;
+    private final Duration tombstonePurgeInterval;
+
+    private final AtomicLong watermark = new AtomicLong();
+    private final Queue<Long> rolledBack = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pickup-change-log");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PickUpChangeLog(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                           @Value("${pickup.sync.commit-lag:10s}") Duration commitLag,
+                           @Value("${pickup.sync.maintenance-interval:1s}") Duration maintenanceInterval,
+                           @Value("${pickup.sync.tombstone-retention:30d}") Duration tombstoneRetention,
+                           @Value("${pickup.sync.tombstone-purge-interval:1h}") Duration tombstonePurgeInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.commitLag = commitLag;
+        this.maintenanceInterval = maintenanceInterval;
+        this.tombstoneRetention = tombstoneRetention;
+        this.tombstonePurgeInterval = tombstonePurgeInterval;
+    }
+
+    /**
+     * Continue after the numbers already used by pickups and tombstones on first start, number
+     * pickups written before any numbering, then start maintaining the log and purging tombstones.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> continueExistingNumbers());
+        } catch (DuplicateKeyException e) {
+            log.debug("Change log was started concurrently");
+        }
+        if (jdbcTemplate.queryForList(PURGED_THROUGH_SQL, Long.class).isEmpty()) {
+            try {
+                jdbcTemplate.update("insert into pickup_tombstone_horizon (id, purged_through, purged_at) values (1, 0, ?)",
+                        Timestamp.valueOf(LocalDateTime.now()));
+            } catch (DuplicateKeyException e) {
+                log.debug("Tombstone horizon was created concurrently");
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> numberUnnumbered());
+
+        Long first = jdbcTemplate.queryForObject("select min(change_sequence) from pickup_change_log", Long.class);
+        watermark.set(first == null ? 0 : first - 1);
+        scheduler.scheduleWithFixedDelay(this::maintain, maintenanceInterval.toMillis(),
+                maintenanceInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::purgeTombstones, tombstonePurgeInterval.toMillis(),
+                tombstonePurgeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void continueExistingNumbers() {
+        Integer rows = jdbcTemplate.queryForObject("select count(*) from pickup_change_log", Integer.class);
+        if (rows != null && rows > 0) {
+            return;
+        }
+        long last = Math.max(
+                jdbcTemplate.queryForObject("select coalesce(max(change_sequence), 0) from pickups", Long.class),
+                jdbcTemplate.queryForObject("select coalesce(max(change_sequence), 0) from pickup_tombstones", Long.class));
+        if (last > 0) {
+            // An explicit key also moves the identity past it
+            jdbcTemplate.update(FILL_SQL, last, Timestamp.valueOf(LocalDateTime.now()));
+            log.info("Change log continues after change sequence {}", last);
+        }
+    }
+
+    /**
+     * Number pickups written before changes were numbered, in time slot order, so that a client
+     * starting from 0 receives them too.
+     */
+    private void numberUnnumbered() {
+        List<String> unnumbered = jdbcTemplate.queryForList(
+                "select id from pickups where change_sequence = 0 order by time_slot_start, id", String.class);
+        if (unnumbered.isEmpty()) {
+            return;
+        }
+        List<Long> sequences = reserve(unnumbered.size());
+        List<Object[]> rows = new ArrayList<>(unnumbered.size());
+        for (int i = 0; i < unnumbered.size(); i++) {
+            rows.add(new Object[]{sequences.get(i), unnumbered.get(i)});
+        }
+        jdbcTemplate.batchUpdate("update pickups set change_sequence = ? where id = ? and change_sequence = 0", rows);
+        log.info("Numbered {} pickups written before change sequences", unnumbered.size());
+    }
+
+    /**
+     * Reserve one change sequence number for the current transaction.
+     */
+    public long reserve() {
+        return reserve(1).get(0);
+    }
+
+    /**
+     * Reserve {@code count} change sequence numbers for the current transaction. They are
+     * increasing, but need not be consecutive.
+     *
+     * @return the numbers, in increasing order.
+     * @throws IllegalStateException if no transaction is active, since a number only counts as
+     *         committed once the change it numbers has committed with it.
+     */
+    public List<Long> reserve(int count) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Change sequence numbers must be reserved inside the pickup's transaction");
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> sequences = new ArrayList<>(count);
+        for (int from = 0; from < count; from += CHUNK_SIZE) {
+            int rows = Math.min(CHUNK_SIZE, count - from);
+            String sql = "insert into pickup_change_log (created_at) values "
+                    + String.join(", ", Collections.nCopies(rows, "(?)"));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql, new String[]{"change_sequence"});
+                for (int i = 1; i <= rows; i++) {
+                    statement.setTimestamp(i, now);
+                }
+                return statement;
+            }, keys);
+            keys.getKeyList().forEach(key -> sequences.add(((Number) key.values().iterator().next()).longValue()));
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    rolledBack(sequences);
+                }
+            }
+        });
+        return sequences;
+    }
+
+    /**
+     * Numbers whose transaction rolled back; their rows are written by the next maintenance run.
+     */
+    void rolledBack(Collection<Long> sequences) {
+        rolledBack.addAll(sequences);
+    }
+
+    /**
+     * Leave tombstones for deleted pickups in the current transaction, each with the number
+     * reserved for its delete.
+     */
+    public void recordDeletes(List<String> pickUpIds, List<Long> sequences) {
+        if (pickUpIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(pickUpIds.size());
+        for (int i = 0; i < pickUpIds.size(); i++) {
+            rows.add(new Object[]{pickUpIds.get(i), sequences.get(i), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_TOMBSTONE_SQL, rows);
+    }
+
+    /**
+     * The committed low-watermark: every change numbered up to it has committed or will never
+     * commit. Reads the few log rows above the previous watermark.
+     *
+     * @return 0 before the first change.
+     */
+    public long currentSequence() {
+        long from = watermark.get();
+        return advance(from, jdbcTemplate.query(SETTLED_AFTER_SQL,
+                (rs, i) -> new LogEntry(rs.getLong("change_sequence"), rs.getTimestamp("created_at").toLocalDateTime()),
+                from, SCAN_LIMIT));
+    }
+
+    long watermark() {
+        return watermark.get();
+    }
+
+    /**
+     * Move the watermark from {@code from} over the following log entries, in number order,
+     * up to the first gap that may still be filled by a commit.
+     */
+    long advance(long from, List<LogEntry> entries) {
+        LocalDateTime settled = LocalDateTime.now().minus(commitLag);
+        long mark = from;
+        for (LogEntry entry : entries) {
+            // A missing number below a recent row may belong to a transaction that is still open
+            if (entry.sequence() != mark + 1 && entry.createdAt().isAfter(settled)) {
+                break;
+            }
+            mark = entry.sequence();
+        }
+        return watermark.accumulateAndGet(mark, Math::max);
+    }
+
+    /**
+     * Write the rows of rolled back numbers, and delete rows the watermark has long passed.
+     */
+    void maintain() {
+        try {
+            List<Long> sequences = new ArrayList<>();
+            for (Long sequence = rolledBack.poll(); sequence != null; sequence = rolledBack.poll()) {
+                sequences.add(sequence);
+            }
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            if (!sequences.isEmpty()) {
+                jdbcTemplate.batchUpdate(FILL_SQL, sequences.stream().map(sequence -> new Object[]{sequence, now}).toList());
+                log.debug("Settled {} change sequence numbers of rolled back transactions", sequences.size());
+            }
+            jdbcTemplate.update(PRUNE_SQL, currentSequence(), Timestamp.valueOf(LocalDateTime.now().minus(commitLag)));
+        } catch (RuntimeException ex) {
+            log.warn("Change log maintenance failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Delete the tombstones of pickups deleted more than {@code pickup.sync.tombstone-retention} ago,
+     * after raising the horizon over them, so that no reader misses a delete without being told.
+     *
+     * @return the number of tombstones deleted.
+     */
+    int purgeTombstones() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Long through = jdbcTemplate.queryForObject(
+                    "select max(change_sequence) from pickup_tombstones where deleted_at < ?",
+                    Long.class, Timestamp.valueOf(now.minus(tombstoneRetention)));
+            if (through == null) {
+                return 0;
+            }
+            jdbcTemplate.update("update pickup_tombstone_horizon set purged_through = ?, purged_at = ? "
+                    + "where id = 1 and purged_through < ?", through, Timestamp.valueOf(now), through);
+
+            // In chunks, so that no single statement holds many rows
+            int purged = 0;
+            List<String> ids;
+            do {
+                ids = jdbcTemplate.queryForList("select id from pickup_tombstones where change_sequence <= ? limit ?",
+                        String.class, through, CHUNK_SIZE);
+                jdbcTemplate.batchUpdate("delete from pickup_tombstones where id = ?",
+                        ids.stream().map(id -> new Object[]{id}).toList());
+                purged += ids.size();
+            } while (ids.size() == CHUNK_SIZE);
+
+            if (purged > 0) {
+                log.info("Purged {} tombstones up to change sequence {}", purged, through);
+            }
+            return purged;
+        } catch (RuntimeException ex) {
+            log.warn("Tombstone purge failed: {}", ex.getMessage(), ex);
+            return 0;
+        }
+    }
+
+    /**
+     * The change sequence number of the newest purged tombstone, 0 if none were purged. Changes
+     * after a lower number, other than 0, can no longer be served completely.
+     */
+    public long purgedThrough() {
+        List<Long> purgedThrough = jdbcTemplate.queryForList(PURGED_THROUGH_SQL, Long.class);
+        return purgedThrough.isEmpty() ? 0 : purgedThrough.get(0);
+    }
+
+    /**
+     * Tombstones numbered in (since, upTo], ordered by number.
+     */
+    public List<PickUpChangeDto> findDeletedAfter(long since, long upTo, int limit) {
+        return jdbcTemplate.query(DELETED_AFTER_SQL,
+                (rs, i) -> PickUpChangeDto.deleted(rs.getLong("change_sequence"), rs.getString("id")),
+                since, upTo, limit);
+    }
+
+    /**
+     * A row of {@code pickup_change_log}.
+     */
+    record LogEntry(long sequence, LocalDateTime createdAt) {
+    }
+}
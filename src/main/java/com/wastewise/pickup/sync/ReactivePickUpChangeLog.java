@@ -0,0 +1,109 @@
+package com.wastewise.pickup.sync;
+
+import com.wastewise.pickup.dto.PickUpChangeDto;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * R2DBC counterpart of {@link PickUpChangeLog} for the "reactive" profile, on the same log and
+ * tombstone tables. Numbers must be reserved inside the reactive transaction of the change;
+ * those of a transaction that rolls back are handed to {@link PickUpChangeLog}, which also
+ * maintains the log and keeps the committed low-watermark.
+ */
+@Component
+@Profile("reactive")
+public class ReactivePickUpChangeLog {
+
+    private final DatabaseClient databaseClient;
+    private final PickUpChangeLog changeLog;
+
+    public ReactivePickUpChangeLog(DatabaseClient databaseClient, PickUpChangeLog changeLog) {
+        this.databaseClient = databaseClient;
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * Reserve one change sequence number, as {@link PickUpChangeLog#reserve()}.
+     */
+    public Mono<Long> reserve() {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .onErrorMap(ex -> new IllegalStateException(
+                        "Change sequence numbers must be reserved inside the pickup's transaction", ex))
+                .flatMap(transaction -> databaseClient.sql("insert into pickup_change_log (created_at) values (:now)")
+                        .bind("now", LocalDateTime.now())
+                        .filter(statement -> statement.returnGeneratedValues("change_sequence"))
+                        .map(row -> row.get(0, Long.class))
+                        .one()
+                        .doOnNext(sequence -> transaction.registerSynchronization(new TransactionSynchronization() {
+                            @Override
+                            public Mono<Void> afterCompletion(int status) {
+                                if (status == STATUS_ROLLED_BACK) {
+                                    changeLog.rolledBack(List.of(sequence));
+                                }
+                                return Mono.empty();
+                            }
+                        })));
+    }
+
+    /**
+     * Leave a tombstone for a deleted pickup, numbered with the number reserved for its delete.
+     */
+    public Mono<Void> recordDelete(String pickUpId, long sequence) {
+        return databaseClient.sql("insert into pickup_tombstones (id, change_sequence, deleted_at) "
+                        + "values (:id, :sequence, :now)")
+                .bind("id", pickUpId)
+                .bind("sequence", sequence)
+                .bind("now", LocalDateTime.now())
+                .then();
+    }
+
+    /**
+     * The committed low-watermark, as {@link PickUpChangeLog#currentSequence()}.
+     */
+    public Mono<Long> currentSequence() {
+        return Mono.defer(() -> {
+            long from = changeLog.watermark();
+            return databaseClient.sql("select change_sequence, created_at from pickup_change_log "
+                            + "where change_sequence > :from order by change_sequence limit :limit")
+                    .bind("from", from)
+                    .bind("limit", PickUpChangeLog.SCAN_LIMIT)
+                    .map(row -> new PickUpChangeLog.LogEntry(row.get("change_sequence", Long.class),
+                            row.get("created_at", LocalDateTime.class)))
+                    .all()
+                    .collectList()
+                    .map(entries -> changeLog.advance(from, entries));
+        });
+    }
+
+    /**
+     * The change sequence number of the newest purged tombstone, as {@link PickUpChangeLog#purgedThrough()}.
+     */
+    public Mono<Long> purgedThrough() {
+        return databaseClient.sql("select purged_through from pickup_tombstone_horizon where id = 1")
+                .map(row -> row.get("purged_through", Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+
+    /**
+     * Tombstones numbered in (since, upTo], ordered by number.
+     */
+    public Flux<PickUpChangeDto> findDeletedAfter(long since, long upTo, int limit) {
+        return databaseClient.sql("select id, change_sequence from pickup_tombstones "
+                        + "where change_sequence > :since and change_sequence <= :upTo "
+                        + "order by change_sequence limit :limit")
+                .bind("since", since)
+                .bind("upTo", upTo)
+                .bind("limit", limit)
+                .map(row -> PickUpChangeDto.deleted(row.get("change_sequence", Long.class), row.get("id", String.class)))
+                .all();
+    }
+}
@@ -1,45 +1,163 @@
 package com.wastewise.pickup.utility;
 
-import com.wastewise.pickup.model.PickUp;
+import com.wastewise.pickup.repository.IdSequenceRepository;
 import com.wastewise.pickup.repository.PickUpRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Utility for generating unique PickUp IDs.
+ *
+ * IDs are reserved from the {@code id_sequences} table in blocks of {@code pickup.id.block-size}
+ * (hi/lo). Each reservation is a single-row update in its own transaction, so several service
+ * instances never receive overlapping blocks. Numbers inside a block are handed out with a CAS
+ * on an {@link AtomicLong}; the database is only touched again once the block is exhausted.
+ * Numbers left in a block when the instance stops are skipped, so IDs are unique but not gapless.
  */
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class IdGenerator {
 
-    private final PickUpRepository pickupRepository;
     private static final String PREFIX = "P";
-    private static final AtomicInteger counter = new AtomicInteger(0);
+    static final String SEQUENCE_NAME = "pickup";
+
+    private final IdSequenceRepository sequenceRepository;
+    private final PickUpRepository pickupRepository;
+    private final TransactionTemplate reservationTx;
+    private final int blockSize;
+
+    private final AtomicReference<IdBlock> current = new AtomicReference<>(IdBlock.EMPTY);
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    public IdGenerator(IdSequenceRepository sequenceRepository,
+                       PickUpRepository pickupRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${pickup.id.block-size:50}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("pickup.id.block-size must be positive");
+        }
+        this.sequenceRepository = sequenceRepository;
+        this.pickupRepository = pickupRepository;
+        this.reservationTx = new TransactionTemplate(transactionManager);
+        this.reservationTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
 
     /**
-     * Generate a unique PickUp ID using an incrementing counter.
-     * Format: PXXX
+     * Generate a unique PickUp ID.
+     * Format: PXXX (at least three digits, e.g. P007, P999, P1000)
      */
+    @Timed(value = "pickup.id.generation", description = "Latency of pickup ID generation")
     public String generatePickUpId() {
-        Optional<PickUp> op = pickupRepository.findFirstByOrderByIdDesc();
-        if(op.isPresent()) {
-            String lastId = op.get().getId();
-            if (lastId.startsWith(PREFIX)) {
-                String numberPart = lastId.substring(PREFIX.length());
-
-                try {
-                    int lastNumber = Integer.parseInt(numberPart);
-                    counter.set(lastNumber);
-                } catch (NumberFormatException e) {
-                    // If parsing fails, reset counter to 0
-                    counter.set(0);
-                }
+        return format(nextValue());
+    }
+
+    /**
+     * Generate {@code count} consecutive PickUp IDs with a single reservation,
+     * without consuming the block shared by {@link #generatePickUpId()}.
+     */
+    @Timed(value = "pickup.id.generation", description = "Latency of pickup ID generation")
+    public List<String> generatePickUpIds(int count) {
+        if (count < 1) {
+            return List.of();
+        }
+        IdBlock block = reserveBlock(count);
+        List<String> ids = new ArrayList<>(count);
+        for (long value = block.next.get(); value < block.limit; value++) {
+            ids.add(format(value));
+        }
+        return ids;
+    }
+
+    long nextValue() {
+        while (true) {
+            IdBlock block = current.get();
+            long value = block.next.getAndIncrement();
+            if (value < block.limit) {
+                return value;
+            }
+            refill(block);
+        }
+    }
+
+    private void refill(IdBlock exhausted) {
+        refillLock.lock();
+        try {
+            // Another thread may have swapped in a fresh block while we were waiting
+            if (current.get() == exhausted) {
+                current.set(reserveBlock(blockSize));
             }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    /**
+     * Reserve {@code size} consecutive numbers from the sequence table.
+     */
+    private IdBlock reserveBlock(int size) {
+        long limit;
+        try {
+            limit = reservationTx.execute(status -> advanceSequence(size));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance seeded the sequence row first, retry against its row
+            log.debug("Sequence '{}' was seeded concurrently, retrying reservation", SEQUENCE_NAME);
+            limit = reservationTx.execute(status -> advanceSequence(size));
+        }
+        log.debug("Reserved PickUp ID block [{}, {})", limit - size, limit);
+        return new IdBlock(limit - size, limit);
+    }
+
+    private long advanceSequence(int size) {
+        if (sequenceRepository.advance(SEQUENCE_NAME, size) == 0) {
+            // Fails with a duplicate key if another instance seeded the row since the update above
+            long first = seedValue();
+            log.info("Seeding ID sequence '{}' at {}", SEQUENCE_NAME, first);
+            sequenceRepository.insert(SEQUENCE_NAME, first);
+            if (sequenceRepository.advance(SEQUENCE_NAME, size) == 0) {
+                throw new IllegalStateException("ID sequence '" + SEQUENCE_NAME + "' vanished after it was seeded");
+            }
+        }
+        return sequenceRepository.findNextValue(SEQUENCE_NAME);
+    }
+
+    /**
+     * First number to hand out when the sequence row does not exist yet,
+     * continuing after any IDs already present in the pickups table.
+     */
+    private long seedValue() {
+        Long max = pickupRepository.findMaxNumericId();
+        return max == null ? 1 : max + 1;
+    }
+
+    static String format(long value) {
+        return PREFIX + String.format("%03d", value);
+    }
+
+    /**
+     * Half-open range [next, limit) of numbers owned by this instance.
+     */
+    private static final class IdBlock {
+        static final IdBlock EMPTY = new IdBlock(0, 0);
+
+        final AtomicLong next;
+        final long limit;
+
+        IdBlock(long first, long limit) {
+            this.next = new AtomicLong(first);
+            this.limit = limit;
         }
-        int id = counter.incrementAndGet();
-        return PREFIX + String.format("%03d", id);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package com.wastewise.pickup.utility;
+
+import com.wastewise.pickup.exception.InvalidPickUpRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for paging pickups ordered by (timeSlotStart, id).
+ * Encodes the sort key of the last row of a page as a URL-safe token.
+ */
+@Getter
+@AllArgsConstructor
+public final class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime timeSlotStart;
+    private final String id;
+
+    public String encode() {
+        String raw = timeSlotStart + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     *
+     * @throws InvalidPickUpRequestException if the token is malformed.
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.indexOf(SEPARATOR);
+            if (split < 0) {
+                throw new InvalidPickUpRequestException("Invalid page cursor", "page_cursor");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, split)), raw.substring(split + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidPickUpRequestException("Invalid page cursor", "page_cursor");
+        }
+    }
+}
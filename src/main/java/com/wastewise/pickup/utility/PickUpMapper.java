@@ -0,0 +1,68 @@
+package com.wastewise.pickup.utility;
+
+import com.wastewise.pickup.dto.CreatePickUpDto;
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.dto.PickUpOccurrenceDto;
+import com.wastewise.pickup.model.PickUp;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import com.wastewise.pickup.recurrence.Occurrence;
+
+/**
+ * Mapping between {@link PickUp} entities and the API DTOs.
+ */
+public final class PickUpMapper {
+
+    private PickUpMapper() {
+    }
+
+    /**
+     * New pickup entity for a create request, in status SCHEDULED.
+     */
+    public static PickUp toEntity(String pickUpId, CreatePickUpDto dto) {
+        PickUp pickUp = new PickUp();
+        pickUp.setId(pickUpId);
+        pickUp.setZoneId(dto.getZoneId());
+        pickUp.setTimeSlotStart(dto.getTimeSlotStart());
+        pickUp.setTimeSlotEnd(dto.getTimeSlotEnd());
+        pickUp.setFrequency(dto.getFrequency());
+        pickUp.setLocationName(dto.getLocationName());
+        pickUp.setVehicleId(dto.getVehicleId());
+        pickUp.setWorker1Id(dto.getWorker1Id());
+        pickUp.setWorker2Id(dto.getWorker2Id());
+        pickUp.setStatus(PickUpStatus.SCHEDULED);
+        return pickUp;
+    }
+
+    public static PickUpDto toDto(PickUp pickUp) {
+        PickUpDto dto = new PickUpDto();
+        dto.setId(pickUp.getId());
+        dto.setZoneId(pickUp.getZoneId());
+        dto.setTimeSlotStart(pickUp.getTimeSlotStart());
+        dto.setTimeSlotEnd(pickUp.getTimeSlotEnd());
+        dto.setFrequency(pickUp.getFrequency());
+        dto.setLocationName(pickUp.getLocationName());
+        dto.setVehicleId(pickUp.getVehicleId());
+        dto.setWorker1Id(pickUp.getWorker1Id());
+        dto.setWorker2Id(pickUp.getWorker2Id());
+        dto.setStatus(pickUp.getStatus());
+        dto.setVersion(pickUp.getVersion());
+        return dto;
+    }
+
+    public static PickUpOccurrenceDto toOccurrenceDto(Occurrence occurrence) {
+        PickUp pickUp = occurrence.getSeries();
+        PickUpOccurrenceDto dto = new PickUpOccurrenceDto();
+        dto.setPickUpId(pickUp.getId());
+        dto.setOccurrence(occurrence.getIndex());
+        dto.setZoneId(pickUp.getZoneId());
+        dto.setTimeSlotStart(occurrence.getStart());
+        dto.setTimeSlotEnd(occurrence.getEnd());
+        dto.setFrequency(pickUp.getFrequency());
+        dto.setLocationName(pickUp.getLocationName());
+        dto.setVehicleId(pickUp.getVehicleId());
+        dto.setWorker1Id(pickUp.getWorker1Id());
+        dto.setWorker2Id(pickUp.getWorker2Id());
+        dto.setStatus(pickUp.getStatus());
+        return dto;
+    }
+}
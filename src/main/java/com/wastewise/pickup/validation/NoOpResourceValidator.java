@@ -0,0 +1,18 @@
+package com.wastewise.pickup.validation;
+
+import com.wastewise.pickup.dto.CreatePickUpDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link ResourceValidator} that accepts every pickup, selected with {@code pickup.validation.mode=none}.
+ */
+@Component
+@ConditionalOnProperty(name = "pickup.validation.mode", havingValue = "none", matchIfMissing = true)
+public class NoOpResourceValidator implements ResourceValidator {
+
+    @Override
+    public void validate(CreatePickUpDto dto) {
+        // Resources are not checked
+    }
+}
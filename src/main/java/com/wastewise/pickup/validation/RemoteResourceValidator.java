@@ -0,0 +1,154 @@
+package com.wastewise.pickup.validation;
+
+import com.wastewise.pickup.dto.CreatePickUpDto;
+import com.wastewise.pickup.exception.DownstreamServiceException;
+import com.wastewise.pickup.exception.InvalidPickUpRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ResourceValidator} that asks the zone, vehicle and worker services on every create,
+ * selected with {@code pickup.validation.mode=remote}.
+ *
+ * All lookups of one request are sent at once and share a single deadline, so validation
+ * takes as long as the slowest service instead of the sum of all of them. The first lookup
+ * that fails cancels the ones still in flight.
+ *
+ * A bulk create looks up each distinct zone, vehicle and worker of its items once, at most
+ * {@code pickup.validation.max-concurrent-lookups} at a time, each within the deadline.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "pickup.validation.mode", havingValue = "remote")
+public class RemoteResourceValidator implements ResourceValidator {
+
+    private final WebClient webClient;
+    private final Duration deadline;
+    private final int maxConcurrentLookups;
+    private final String zoneServiceUrl;
+    private final String vehicleServiceUrl;
+    private final String workerServiceUrl;
+
+    public RemoteResourceValidator(WebClient.Builder webClientBuilder,
+                                   @Value("${pickup.validation.deadline:1500ms}") Duration deadline,
+                                   @Value("${pickup.validation.max-concurrent-lookups:16}") int maxConcurrentLookups,
+                                   @Value("${zone-service.url}") String zoneServiceUrl,
+                                   @Value("${vehicle-service.url}") String vehicleServiceUrl,
+                                   @Value("${worker-service.url}") String workerServiceUrl) {
+        this.webClient = webClientBuilder.build();
+        this.deadline = deadline;
+        this.maxConcurrentLookups = maxConcurrentLookups;
+        this.zoneServiceUrl = zoneServiceUrl;
+        this.vehicleServiceUrl = vehicleServiceUrl;
+        this.workerServiceUrl = workerServiceUrl;
+    }
+
+    /**
+     * @throws DownstreamServiceException if a service fails or the deadline passes first.
+     */
+    @Override
+    public void validate(CreatePickUpDto dto) {
+        long started = System.nanoTime();
+
+        Mono.when(lookups(dto).stream().map(this::exists).toList())
+                .timeout(deadline, Mono.error(() -> new DownstreamServiceException(
+                        "Resource validation did not complete within " + deadline.toMillis() + " ms")))
+                .block();
+
+        log.debug("Validated resources of pickup in zone {} in {} ms",
+                dto.getZoneId(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    /**
+     * A lookup that fails or passes the deadline fails every pickup that references the
+     * resource; the other pickups are still validated.
+     */
+    @Override
+    public Map<Integer, RuntimeException> validateAll(List<CreatePickUpDto> dtos) {
+        long started = System.nanoTime();
+        Set<Lookup> distinct = new LinkedHashSet<>();
+        dtos.forEach(dto -> distinct.addAll(lookups(dto)));
+
+        Map<Lookup, RuntimeException> failures = new ConcurrentHashMap<>();
+        Flux.fromIterable(distinct)
+                .flatMap(lookup -> exists(lookup)
+                        .timeout(deadline, Mono.error(() -> new DownstreamServiceException(
+                                lookup.resource() + " lookup for " + lookup.id() + " did not complete within "
+                                        + deadline.toMillis() + " ms")))
+                        .onErrorResume(RuntimeException.class, ex -> {
+                            failures.put(lookup, ex);
+                            return Mono.empty();
+                        }), maxConcurrentLookups)
+                .then()
+                .block();
+
+        // Each pickup fails with the first of its resources that failed
+        Map<Integer, RuntimeException> errors = new HashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            int index = i;
+            lookups(dtos.get(i)).stream()
+                    .map(failures::get)
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .ifPresent(error -> errors.put(index, error));
+        }
+        log.debug("Validated {} distinct resources of {} pickups in {} ms", distinct.size(), dtos.size(),
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return errors;
+    }
+
+    private List<Lookup> lookups(CreatePickUpDto dto) {
+        return List.of(
+                new Lookup(zoneServiceUrl + "/zones/{id}", "Zone", dto.getZoneId()),
+                new Lookup(vehicleServiceUrl + "/vehicles/{id}", "Vehicle", dto.getVehicleId()),
+                new Lookup(workerServiceUrl + "/workers/{id}", "Worker", dto.getWorker1Id()),
+                new Lookup(workerServiceUrl + "/workers/{id}", "Worker", dto.getWorker2Id()));
+    }
+
+    /**
+     * Completes if the resource exists, errors with {@link InvalidPickUpRequestException}
+     * on 404 and with {@link DownstreamServiceException} on any other failure.
+     */
+    private Mono<Void> exists(Lookup lookup) {
+        String resource = lookup.resource();
+        String id = lookup.id();
+        return webClient.get()
+                .uri(lookup.uriTemplate(), id)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return response.releaseBody();
+                    }
+                    if (response.statusCode().value() == HttpStatus.NOT_FOUND.value()) {
+                        return response.releaseBody().then(Mono.error(
+                                new InvalidPickUpRequestException(
+                                        resource + " " + id + " not found", resource.toLowerCase() + "_not_found")));
+                    }
+                    return response.releaseBody().then(Mono.error(new DownstreamServiceException(
+                            resource + " lookup for " + id + " failed with status " + response.statusCode().value())));
+                })
+                .onErrorMap(WebClientException.class, ex -> new DownstreamServiceException(
+                        resource + " service is unavailable", ex));
+    }
+
+    /**
+     * One resource to look up: its URI template, kind (e.g. "Vehicle") and ID.
+     */
+    private record Lookup(String uriTemplate, String resource, String id) {
+    }
+}
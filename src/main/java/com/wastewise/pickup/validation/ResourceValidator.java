@@ -0,0 +1,44 @@
+package com.wastewise.pickup.validation;
+
+import com.wastewise.pickup.dto.CreatePickUpDto;
+import com.wastewise.pickup.exception.DownstreamServiceException;
+import com.wastewise.pickup.exception.InvalidPickUpRequestException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks that the zone, vehicle and workers referenced by a new pickup exist.
+ *
+ * Implementations are selected with {@code pickup.validation.mode}: {@code none},
+ * {@code remote} (ask the services on every create) or {@code snapshot} (look up a
+ * locally refreshed copy of their catalogs).
+ */
+public interface ResourceValidator {
+
+    /**
+     * @throws InvalidPickUpRequestException if a referenced resource does not exist.
+     * @throws DownstreamServiceException if existence cannot be determined.
+     */
+    void validate(CreatePickUpDto dto);
+
+    /**
+     * Check many pickups at once, such as the items of a bulk create. Implementations that ask
+     * other services look up each distinct resource once instead of once per item.
+     *
+     * @return the {@link InvalidPickUpRequestException} or {@link DownstreamServiceException}
+     *         of each failing pickup, by its index in {@code dtos}; valid pickups are absent.
+     */
+    default Map<Integer, RuntimeException> validateAll(List<CreatePickUpDto> dtos) {
+        Map<Integer, RuntimeException> errors = new HashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            try {
+                validate(dtos.get(i));
+            } catch (InvalidPickUpRequestException | DownstreamServiceException ex) {
+                errors.put(i, ex);
+            }
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,45 @@
+package com.wastewise.pickup.validation;
+
+import com.wastewise.pickup.dto.CreatePickUpDto;
+import com.wastewise.pickup.exception.DownstreamServiceException;
+import com.wastewise.pickup.exception.InvalidPickUpRequestException;
+import com.wastewise.pickup.reference.Catalog;
+import com.wastewise.pickup.reference.ReferenceDataSnapshot;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link ResourceValidator} that looks resources up in the local {@link ReferenceDataSnapshot},
+ * selected with {@code pickup.validation.mode=snapshot}. No remote call is made per create.
+ */
+@Component
+@ConditionalOnProperty(name = "pickup.validation.mode", havingValue = "snapshot")
+public class SnapshotResourceValidator implements ResourceValidator {
+
+    private final ReferenceDataSnapshot snapshot;
+
+    public SnapshotResourceValidator(ReferenceDataSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * @throws DownstreamServiceException if a catalog has not been loaded since startup.
+     */
+    @Override
+    public void validate(CreatePickUpDto dto) {
+        requireEntry(snapshot.zones(), "Zone", dto.getZoneId());
+        requireEntry(snapshot.vehicles(), "Vehicle", dto.getVehicleId());
+        requireEntry(snapshot.workers(), "Worker", dto.getWorker1Id());
+        requireEntry(snapshot.workers(), "Worker", dto.getWorker2Id());
+    }
+
+    private static void requireEntry(Catalog<?> catalog, String resource, String id) {
+        if (catalog == null) {
+            throw new DownstreamServiceException(resource + " catalog has not been loaded yet");
+        }
+        if (!catalog.contains(id)) {
+            throw new InvalidPickUpRequestException(
+                    resource + " " + id + " not found", resource.toLowerCase() + "_not_found");
+        }
+    }
+}
@@ -9,6 +9,80 @@ CREATE TABLE pickups (
     vehicle_id VARCHAR(255), -- ID of the assigned vehicle
     worker1id VARCHAR(255), -- ID of the first assigned worker
     worker2id VARCHAR(255), -- ID of the second assigned worker
-    status VARCHAR(50) NOT NULL -- Status of the pickup (e.g., PENDING, COMPLETED, etc.)
+    status VARCHAR(50) NOT NULL, -- Status of the pickup (e.g., PENDING, COMPLETED, etc.)
+    version BIGINT NOT NULL DEFAULT 0, -- Incremented by every status transition (optimistic locking)
+    change_sequence BIGINT NOT NULL DEFAULT 0 -- Change sequence number of the last create or status transition
 );
---
\ No newline at end of file
+
+-- Keyset pagination and streaming order (time_slot_start, id)
+CREATE INDEX idx_pickups_slot_start_id ON pickups (time_slot_start, id);
+
+-- Filtered search: equality on the leading column, then seek and sort on (time_slot_start, id)
+CREATE INDEX idx_pickups_zone_slot ON pickups (zone_id, time_slot_start, id);
+CREATE INDEX idx_pickups_status_slot ON pickups (status, time_slot_start, id);
+CREATE INDEX idx_pickups_vehicle_slot ON pickups (vehicle_id, time_slot_start, id);
+CREATE INDEX idx_pickups_worker1_slot ON pickups (worker1id, time_slot_start, id);
+CREATE INDEX idx_pickups_worker2_slot ON pickups (worker2id, time_slot_start, id);
+
+-- Delta sync: pickups changed after a change sequence
+CREATE INDEX idx_pickups_change_sequence ON pickups (change_sequence);
+
+-- Table schema for "id_sequences" (hi/lo blocks for generated IDs)
+CREATE TABLE id_sequences (
+    name VARCHAR(255) PRIMARY KEY, -- Name of the sequence (e.g., pickup)
+    next_value BIGINT NOT NULL -- First number not yet reserved by any instance
+);
+
+-- Table schema for "pickup_change_log" (change sequence numbers, for delta sync)
+CREATE TABLE pickup_change_log (
+    change_sequence BIGINT AUTO_INCREMENT PRIMARY KEY, -- Number of one create, status transition or delete
+    created_at TIMESTAMP NOT NULL -- When the number was handed out
+);
+
+-- Table schema for "pickup_tombstones" (deleted pickups, for delta sync)
+CREATE TABLE pickup_tombstones (
+    id VARCHAR(255) PRIMARY KEY, -- ID of the deleted pickup; IDs are never reused
+    change_sequence BIGINT NOT NULL, -- Change sequence number of the delete
+    deleted_at TIMESTAMP NOT NULL -- When the pickup was deleted or archived
+);
+
+CREATE INDEX idx_pickup_tombstones_change_sequence ON pickup_tombstones (change_sequence);
+
+-- Table schema for "pickup_tombstone_horizon" (single row: how far tombstones have been purged)
+CREATE TABLE pickup_tombstone_horizon (
+    id INT PRIMARY KEY, -- Always 1
+    purged_through BIGINT NOT NULL, -- Change sequence number of the newest purged tombstone
+    purged_at TIMESTAMP NOT NULL -- When tombstones were last purged
+);
+
+-- Table schema for "status_outbox" (vehicle/worker status notifications awaiting delivery)
+CREATE TABLE status_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY, -- Higher id means newer status for the same resource
+    resource_type VARCHAR(16) NOT NULL, -- VEHICLE or WORKER
+    resource_id VARCHAR(255) NOT NULL, -- ID of the vehicle or worker
+    status VARCHAR(16) NOT NULL, -- OCCUPIED or AVAILABLE
+    created_at TIMESTAMP NOT NULL, -- When the pickup change was made
+    next_attempt_at TIMESTAMP NOT NULL, -- Not sent before this time (backoff after failures)
+    attempts INT NOT NULL, -- Failed delivery attempts so far
+    leased_by VARCHAR(64), -- Dispatcher currently sending this resource's status, if any
+    lease_until TIMESTAMP -- The lease is void after this time and the row can be claimed again
+);
+
+CREATE INDEX idx_status_outbox_due ON status_outbox (next_attempt_at, id);
+CREATE INDEX idx_status_outbox_resource ON status_outbox (resource_type, resource_id, id);
+
+-- Table schema for "resource_locks" (serializes creates that book the same vehicle or worker)
+CREATE TABLE resource_locks (
+    resource_key VARCHAR(255) PRIMARY KEY -- "Vehicle <id>" or "Worker <id>"
+);
+
+-- Table schema for "idempotency_keys" (Idempotency-Key headers of create requests)
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY, -- Key chosen by the client, unique per request
+    request_hash VARCHAR(64) NOT NULL, -- SHA-256 of the request body, to detect a reused key
+    pickup_id VARCHAR(255), -- ID of the created pickup
+    created_at TIMESTAMP NOT NULL, -- When the request was first processed
+    expires_at TIMESTAMP NOT NULL -- Replays are answered until this time, then the row is purged
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,168 @@
+package com.wastewise.pickup.admission;
+
+import com.wastewise.pickup.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdmissionGateTest {
+
+    private static final String BASE = "/wastewise/scheduler/pickups";
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionGate gate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 3 writes per client per minute; 2 creates or deletes, 1 batch, 1 update and 2 reads in flight
+        gate = new AdmissionGate(meterRegistry, 3, Duration.ofMinutes(1), 100,
+                2, 1, 2, Duration.ofSeconds(1), 0.5, 1, 1, 2, Duration.ofSeconds(2));
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get(AdmissionGate.REJECTIONS_METRIC).tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void testAdmit_RateLimitsWritesPerClient() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            gate.admit("POST", BASE, "client-a").release();
+        }
+
+        // Act
+        AdmissionRejectedException ex = assertThrows(AdmissionRejectedException.class,
+                () -> gate.admit("DELETE", BASE + "/P001", "client-a"));
+        AdmissionGate.Permit otherClient = gate.admit("POST", BASE, "client-b");
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatus());
+        assertEquals(60, ex.getRetryAfterSeconds());
+        assertEquals(1.0, rejections("rate_limited"));
+        otherClient.release();
+    }
+
+    @Test
+    void testAdmit_ShedsWritesAtLimitWhileReadsKeepTheirCapacity() {
+        // Arrange
+        List<AdmissionGate.Permit> writes = new ArrayList<>();
+        writes.add(gate.admit("POST", BASE, "client-a"));
+        writes.add(gate.admit("DELETE", BASE + "/P001", "client-b"));
+
+        // Act
+        AdmissionRejectedException ex = assertThrows(AdmissionRejectedException.class,
+                () -> gate.admit("POST", BASE, "client-c"));
+        AdmissionGate.Permit read = gate.admit("GET", BASE + "/P001", "client-c");
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+        assertEquals(2, ex.getRetryAfterSeconds());
+        assertEquals(1.0, rejections("write_overloaded"));
+        read.release();
+        writes.forEach(AdmissionGate.Permit::release);
+        gate.admit("POST", BASE, "client-c").release();
+    }
+
+    @Test
+    void testAdmit_ShedsReadsAtTheirOwnLimitButNotStreams() {
+        // Arrange
+        AdmissionGate.Permit first = gate.admit("GET", BASE, "client-a");
+        AdmissionGate.Permit second = gate.admit("GET", BASE + "/page", "client-a");
+
+        // Act
+        AdmissionRejectedException ex = assertThrows(AdmissionRejectedException.class,
+                () -> gate.admit("GET", BASE + "/P001", "client-a"));
+        AdmissionGate.Permit stream = gate.admit("GET", BASE + "/events", "client-a");
+        AdmissionGate.Permit write = gate.admit("POST", BASE, "client-a");
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+        assertEquals(1.0, rejections("read_overloaded"));
+        first.release();
+        second.release();
+        stream.release();
+        write.release();
+    }
+
+    @Test
+    void testAdmit_BatchesAndUpdatesHaveTheirOwnFixedLimits() {
+        // Arrange
+        AdmissionGate.Permit bulk = gate.admit("POST", BASE + "/bulk", "client-a");
+        AdmissionGate.Permit update = gate.admit("PATCH", BASE + "/P001/status", "client-b");
+
+        // Act
+        AdmissionRejectedException batchShed = assertThrows(AdmissionRejectedException.class,
+                () -> gate.admit("POST", BASE + "/assignments", "client-c"));
+        AdmissionRejectedException updateShed = assertThrows(AdmissionRejectedException.class,
+                () -> gate.admit("PATCH", BASE + "/P002/status", "client-c"));
+        AdmissionGate.Permit create = gate.admit("POST", BASE, "client-d");
+        AdmissionGate.Permit delete = gate.admit("DELETE", BASE + "/P003", "client-d");
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, batchShed.getStatus());
+        assertEquals(1.0, rejections("batch_overloaded"));
+        assertEquals(1.0, rejections("update_overloaded"));
+        assertEquals(0.0, rejections("write_overloaded"));
+        bulk.release();
+        update.release();
+        create.release();
+        delete.release();
+    }
+
+    @Test
+    void testAdmit_OnlySingleCreatesAndDeletesSteerTheAdaptiveLimit() {
+        // Arrange: every request is slower than the target
+        AdmissionGate slowGate = new AdmissionGate(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), 100,
+                4, 1, 4, Duration.ofNanos(1), 0.5, 2, 2, 2, Duration.ofSeconds(2));
+
+        // Act & Assert
+        slowGate.admit("POST", BASE + "/bulk", "client-a").release();
+        slowGate.admit("POST", BASE + "/assignments", "client-a").release();
+        slowGate.admit("PATCH", BASE + "/status", "client-a").release();
+        slowGate.admit("PATCH", BASE + "/P001/status", "client-a").release();
+        assertEquals(4, slowGate.writeLimit());
+
+        slowGate.admit("POST", BASE, "client-a").release();
+        assertEquals(2, slowGate.writeLimit());
+        slowGate.admit("DELETE", BASE + "/P001", "client-a").release();
+        assertEquals(1, slowGate.writeLimit());
+    }
+
+    @Test
+    void testAdaptiveLimit_GrowsUnderFastLoadAndBacksOffOnSlowRequests() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 4, TimeUnit.MILLISECONDS.toNanos(100), 0.5);
+        long fast = TimeUnit.MILLISECONDS.toNanos(10);
+        long slow = TimeUnit.MILLISECONDS.toNanos(500);
+
+        // Act & Assert: a fast request that used the whole limit raises it by one
+        limit.tryAcquire();
+        limit.tryAcquire();
+        limit.release(fast);
+        assertEquals(3, limit.limit());
+
+        // A fast request while the limit is mostly idle leaves it unchanged
+        limit.release(fast);
+        assertEquals(3, limit.limit());
+
+        // A slow request halves it, never below the minimum
+        limit.tryAcquire();
+        limit.release(slow);
+        assertEquals(1, limit.limit());
+        limit.tryAcquire();
+        assertFalse(limit.tryAcquire());
+        limit.release(slow);
+        assertEquals(1, limit.limit());
+    }
+}
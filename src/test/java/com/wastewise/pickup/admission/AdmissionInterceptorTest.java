@@ -0,0 +1,67 @@
+package com.wastewise.pickup.admission;
+
+import com.wastewise.pickup.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdmissionInterceptorTest {
+
+    private static final String BASE = "/wastewise/scheduler/pickups";
+
+    private AdmissionInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        // 1 write per client per minute
+        AdmissionGate gate = new AdmissionGate(new SimpleMeterRegistry(), 1, Duration.ofMinutes(1), 100,
+                4, 1, 4, Duration.ofSeconds(1), 0.5, 4, 4, 4, Duration.ofSeconds(1));
+        interceptor = new AdmissionInterceptor(gate);
+    }
+
+    private MockHttpServletRequest create(String remoteAddress, String clientHeader) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", BASE);
+        request.setRemoteAddr(remoteAddress);
+        request.addHeader("X-Client-Id", clientHeader);
+        return request;
+    }
+
+    private void admit(MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), null);
+    }
+
+    @Test
+    void testPreHandle_ClientHeaderDoesNotBuyANewBucket() {
+        // Arrange
+        admit(create("10.0.0.1", "client-a"));
+
+        // Act & Assert
+        assertThrows(AdmissionRejectedException.class, () -> admit(create("10.0.0.1", "client-b")));
+        assertDoesNotThrow(() -> admit(create("10.0.0.2", "client-a")));
+    }
+
+    @Test
+    void testPreHandle_AuthenticatedClientsAreLimitedByPrincipal() {
+        // Arrange
+        MockHttpServletRequest alice = create("10.0.0.1", "x");
+        alice.setUserPrincipal(() -> "alice");
+        admit(alice);
+
+        // Act & Assert
+        MockHttpServletRequest bob = create("10.0.0.1", "x");
+        bob.setUserPrincipal(() -> "bob");
+        assertDoesNotThrow(() -> admit(bob));
+        MockHttpServletRequest aliceAgain = create("10.0.0.2", "y");
+        aliceAgain.setUserPrincipal(() -> "alice");
+        assertThrows(AdmissionRejectedException.class, () -> admit(aliceAgain));
+    }
+}
@@ -0,0 +1,107 @@
+package com.wastewise.pickup.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.model.enums.Frequency;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArchiveStoreTest {
+
+    private static final LocalDateTime JAN = LocalDateTime.of(2030, 1, 10, 9, 0);
+
+    @TempDir
+    private Path directory;
+
+    private ArchiveStore store;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        store = new ArchiveStore(directory, objectMapper);
+    }
+
+    private static PickUpDto completed(String id, LocalDateTime start) {
+        return new PickUpDto(id, "Z001", start, start.plusHours(1), Frequency.DAILY, "Location " + id,
+                "V001", "W001", "W002", PickUpStatus.COMPLETED, 2L);
+    }
+
+    private List<String> readIds(LocalDateTime from, LocalDateTime to) {
+        try (Stream<PickUpDto> archived = store.read(from, to)) {
+            return archived.map(PickUpDto::getId).toList();
+        }
+    }
+
+    @Test
+    void testRead_ReturnsAppendedChunksInSlotOrder() throws IOException {
+        // Arrange: two chunks of one run, spread over two months
+        store.append(List.of(completed("P003", JAN.plusDays(2)), completed("P001", JAN)), "1");
+        store.append(List.of(completed("P002", JAN.plusDays(1)), completed("P004", JAN.plusMonths(1))), "1");
+
+        // Act
+        List<String> ids = readIds(JAN.minusDays(9), JAN.plusMonths(2));
+
+        // Assert
+        assertThat(ids).containsExactly("P001", "P002", "P003", "P004");
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(file -> file.getFileName().toString()))
+                    .containsExactlyInAnyOrder("pickups-2030-01.1.ndjson.gz", "pickups-2030-02.1.ndjson.gz");
+        }
+    }
+
+    @Test
+    void testRead_FiltersWindowAndDropsDuplicatesFromOtherRuns() {
+        // Arrange: P002 was archived again by a later run after a crash before its delete
+        store.append(List.of(completed("P001", JAN), completed("P002", JAN.plusDays(1))), "1");
+        store.append(List.of(completed("P002", JAN.plusDays(1)), completed("P003", JAN.plusDays(5))), "2");
+
+        // Act
+        List<PickUpDto> archived;
+        try (Stream<PickUpDto> stream = store.read(JAN.plusHours(1), JAN.plusDays(5))) {
+            archived = stream.toList();
+        }
+
+        // Assert
+        assertThat(archived).extracting(PickUpDto::getId).containsExactly("P002");
+        assertThat(archived.get(0)).isEqualTo(completed("P002", JAN.plusDays(1)));
+    }
+
+    @Test
+    void testRead_KeepsRowsBeforeTruncatedMember() throws IOException {
+        // Arrange: the process died while writing the second chunk
+        store.append(List.of(completed("P001", JAN)), "1");
+        Path file = directory.resolve("pickups-2030-01.1.ndjson.gz");
+        byte[] firstChunk = Files.readAllBytes(file);
+        store.append(List.of(completed("P002", JAN.plusDays(1))), "1");
+        byte[] bothChunks = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bothChunks, firstChunk.length + 20), StandardOpenOption.TRUNCATE_EXISTING);
+
+        // Act
+        List<String> ids = readIds(JAN.minusDays(1), JAN.plusDays(2));
+
+        // Assert
+        assertThat(ids).containsExactly("P001");
+    }
+
+    @Test
+    void testRead_EmptyWhenNothingArchived() {
+        // Act & Assert
+        assertThat(readIds(JAN, JAN.plusDays(1))).isEmpty();
+    }
+}
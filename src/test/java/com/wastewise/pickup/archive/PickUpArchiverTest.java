@@ -0,0 +1,139 @@
+package com.wastewise.pickup.archive;
+
+import com.wastewise.pickup.cache.PickUpCache;
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.dto.PickUpEventDto;
+import com.wastewise.pickup.live.PickUpEventHub;
+import com.wastewise.pickup.model.enums.Frequency;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import com.wastewise.pickup.repository.PickUpRepository;
+import com.wastewise.pickup.sync.PickUpChangeLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PickUpArchiverTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 9, 0);
+
+    @Mock
+    private PickUpRepository repository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ArchiveStore archiveStore;
+
+    @Mock
+    private PickUpCache pickUpCache;
+
+    @Mock
+    private PickUpChangeLog changeLog;
+
+    @Mock
+    private PickUpEventHub eventHub;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PickUpArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        meterRegistry = new SimpleMeterRegistry();
+        archiver = new PickUpArchiver(repository, jdbcTemplate, transactionTemplate, archiveStore, pickUpCache,
+                changeLog, eventHub, meterRegistry, Duration.ofDays(30), Duration.ofHours(1), 2, 1.0);
+    }
+
+    private static PickUpDto completed(String id, int hours) {
+        return new PickUpDto(id, "Z001", START.plusHours(hours), START.plusHours(hours + 1), Frequency.DAILY,
+                "Location", "V001", "W001", "W002", PickUpStatus.COMPLETED, 2L);
+    }
+
+    @Test
+    void testArchive_WritesThenDeletesChunksInKeysetOrder() {
+        // Arrange
+        List<PickUpDto> first = List.of(completed("P001", 0), completed("P002", 1));
+        List<PickUpDto> second = List.of(completed("P003", 2));
+        when(repository.findFirstEndedBefore(eq(PickUpStatus.COMPLETED), any(), eq(Limit.of(2)))).thenReturn(first);
+        when(repository.findEndedBeforeAfter(eq(PickUpStatus.COMPLETED), any(), eq(START.plusHours(1)), eq("P002"),
+                eq(Limit.of(2)))).thenReturn(second);
+        when(jdbcTemplate.batchUpdate(eq(PickUpArchiver.DELETE_SQL), anyList())).thenReturn(new int[]{1, 1}, new int[]{1});
+        when(changeLog.reserve(anyInt())).thenReturn(List.of(10L, 11L), List.of(13L));
+
+        // Act
+        int archived = archiver.archive();
+
+        // Assert
+        assertEquals(3, archived);
+        InOrder order = inOrder(archiveStore, jdbcTemplate);
+        order.verify(archiveStore).append(eq(first), anyString());
+        order.verify(jdbcTemplate).batchUpdate(eq(PickUpArchiver.DELETE_SQL), anyList());
+        order.verify(archiveStore).append(eq(second), anyString());
+        order.verify(jdbcTemplate).batchUpdate(eq(PickUpArchiver.DELETE_SQL), anyList());
+        verify(pickUpCache, times(3)).invalidateAfterCommit(anyString());
+        verify(changeLog).recordDeletes(List.of("P001", "P002"), List.of(10L, 11L));
+        verify(changeLog).recordDeletes(List.of("P003"), List.of(13L));
+        verify(eventHub).publishAfterCommit(List.of(PickUpEventDto.deleted(10L, "P001", "Z001"),
+                PickUpEventDto.deleted(11L, "P002", "Z001")));
+        verify(eventHub).publishAfterCommit(List.of(PickUpEventDto.deleted(13L, "P003", "Z001")));
+        assertEquals(3.0, meterRegistry.counter("pickup.archive.rows").count());
+    }
+
+    @Test
+    void testArchive_SkipsRowsChangedBeforeDelete() {
+        // Arrange
+        when(repository.findFirstEndedBefore(any(), any(), any()))
+                .thenReturn(List.of(completed("P001", 0)));
+        when(jdbcTemplate.batchUpdate(eq(PickUpArchiver.DELETE_SQL), anyList())).thenReturn(new int[]{0});
+
+        // Act
+        int archived = archiver.archive();
+
+        // Assert
+        assertEquals(0, archived);
+        verify(pickUpCache, never()).invalidateAfterCommit(anyString());
+        verify(changeLog).recordDeletes(List.of(), List.of());
+        verify(repository, never()).findEndedBeforeAfter(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testArchive_DeletesNothingWhenArchiveWriteFails() {
+        // Arrange
+        when(repository.findFirstEndedBefore(any(), any(), any()))
+                .thenReturn(List.of(completed("P001", 0)));
+        doThrow(new UncheckedIOException(new IOException("disk full")))
+                .when(archiveStore).append(anyList(), anyString());
+
+        // Act
+        archiver.run();
+
+        // Assert
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
@@ -0,0 +1,172 @@
+package com.wastewise.pickup.assignment;
+
+import com.wastewise.pickup.dto.AssignmentDto;
+import com.wastewise.pickup.dto.AssignmentResultDto;
+import com.wastewise.pickup.dto.PendingPickUpDto;
+import com.wastewise.pickup.index.Booking;
+import com.wastewise.pickup.index.ResourceBookingIndex;
+import com.wastewise.pickup.repository.PickUpRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AssignmentSolverTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 3, 1, 0, 0);
+
+    @Mock
+    private PickUpRepository pickUpRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ResourceBookingIndex bookingIndex;
+    private SimpleMeterRegistry meterRegistry;
+    private AssignmentSolver solver;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        bookingIndex = new ResourceBookingIndex(pickUpRepository, transactionTemplate, Duration.ofMinutes(10));
+        meterRegistry = new SimpleMeterRegistry();
+        solver = new AssignmentSolver(bookingIndex, meterRegistry, 4, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        solver.destroy();
+    }
+
+    private static PendingPickUpDto pending(String zone, int fromMinute, int toMinute) {
+        return new PendingPickUpDto(zone, DAY.plusMinutes(fromMinute), DAY.plusMinutes(toMinute));
+    }
+
+    private static List<String> ids(String prefix, int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(i -> String.format("%s%03d", prefix, i)).toList();
+    }
+
+    /**
+     * Asserts that no vehicle or worker holds two overlapping slots and every crew has two workers.
+     */
+    private static void assertNoDoubleBooking(List<AssignmentDto> assignments) {
+        Map<String, List<AssignmentDto>> byResource = new HashMap<>();
+        for (AssignmentDto assignment : assignments) {
+            if (assignment.getVehicleId() == null) {
+                continue;
+            }
+            assertThat(assignment.getWorker1Id()).isNotEqualTo(assignment.getWorker2Id());
+            for (String resource : List.of(assignment.getVehicleId(), assignment.getWorker1Id(), assignment.getWorker2Id())) {
+                byResource.computeIfAbsent(resource, r -> new ArrayList<>()).add(assignment);
+            }
+        }
+        byResource.forEach((resource, slots) -> {
+            slots.sort((a, b) -> a.getTimeSlotStart().compareTo(b.getTimeSlotStart()));
+            for (int i = 1; i < slots.size(); i++) {
+                assertThat(slots.get(i).getTimeSlotStart())
+                        .as("%s booked twice", resource)
+                        .isAfterOrEqualTo(slots.get(i - 1).getTimeSlotEnd());
+            }
+        });
+    }
+
+    @Test
+    void testSolve_SpreadsSequentialPickUpsEvenly() {
+        // Arrange
+        List<PendingPickUpDto> pickUps = IntStream.range(0, 8)
+                .mapToObj(i -> pending("Z001", i * 60, i * 60 + 60)).toList();
+
+        // Act
+        AssignmentResultDto result = solver.solve(pickUps, ids("V", 4), ids("W", 8));
+
+        // Assert
+        assertNoDoubleBooking(result.getAssignments());
+        assertEquals(8, result.getStats().getAssigned());
+        assertEquals(120, result.getStats().getVehicleLoad().getMinMinutes());
+        assertEquals(120, result.getStats().getVehicleLoad().getMaxMinutes());
+        assertEquals(120, result.getStats().getWorkerLoad().getMinMinutes());
+        assertEquals(120, result.getStats().getWorkerLoad().getMaxMinutes());
+    }
+
+    @Test
+    void testSolve_LeavesPickUpUnassignedWhenNoVehicleIsFree() {
+        // Arrange
+        List<PendingPickUpDto> pickUps = List.of(pending("Z001", 60, 180), pending("Z001", 120, 240));
+
+        // Act
+        AssignmentResultDto result = solver.solve(pickUps, ids("V", 1), ids("W", 4));
+
+        // Assert
+        assertEquals("V001", result.getAssignments().get(0).getVehicleId());
+        assertNull(result.getAssignments().get(1).getVehicleId());
+        assertNull(result.getAssignments().get(1).getWorker1Id());
+        assertEquals(1, result.getStats().getUnassigned());
+        assertEquals(1.0, meterRegistry.counter("pickup.assignment.pickups", "outcome", "unassigned").count());
+    }
+
+    @Test
+    void testSolve_AvoidsSlotsAlreadyBooked() {
+        // Arrange
+        bookingIndex.reserve(new Booking("P001", "V001", "W001", "W002", DAY.plusHours(8), DAY.plusHours(10)));
+
+        // Act
+        AssignmentResultDto result = solver.solve(List.of(pending("Z001", 9 * 60, 11 * 60)), ids("V", 2), ids("W", 4));
+
+        // Assert
+        AssignmentDto assignment = result.getAssignments().get(0);
+        assertEquals("V002", assignment.getVehicleId());
+        assertThat(List.of(assignment.getWorker1Id(), assignment.getWorker2Id())).containsExactlyInAnyOrder("W003", "W004");
+    }
+
+    @Test
+    void testSolve_StaffsSmallZoneFromResourcesOfOtherZones() {
+        // Arrange: Z002 is too small to get a vehicle of its own
+        List<PendingPickUpDto> pickUps = List.of(pending("Z001", 0, 600), pending("Z002", 60, 90));
+
+        // Act
+        AssignmentResultDto result = solver.solve(pickUps, ids("V", 2), ids("W", 4));
+
+        // Assert
+        assertNoDoubleBooking(result.getAssignments());
+        assertEquals(0, result.getStats().getUnassigned());
+        assertEquals(2, result.getStats().getZones());
+    }
+
+    @Test
+    void testSolve_ThousandsOfPickUpsWithinSeconds() {
+        // Arrange: 5,000 slots of 30 to 120 minutes over one day in 25 zones, at most 332 at once
+        Random random = new Random(42);
+        List<PendingPickUpDto> pickUps = IntStream.range(0, 5000).mapToObj(i -> {
+            int start = random.nextInt(22 * 60);
+            return pending(String.format("Z%03d", random.nextInt(25)), start, start + 30 + random.nextInt(91));
+        }).toList();
+
+        // Act
+        AssignmentResultDto result = solver.solve(pickUps, ids("V", 400), ids("W", 800));
+
+        // Assert
+        assertNoDoubleBooking(result.getAssignments());
+        assertThat(result.getStats().getSolveMillis()).isLessThan(5000);
+        assertEquals(0, result.getStats().getUnassigned());
+        assertThat(result.getStats().getLocalSearchMoves()).isPositive();
+        assertThat(result.getStats().getVehicleLoad().getStdDevMinutes())
+                .isLessThan(result.getStats().getVehicleLoad().getMeanMinutes() / 4);
+        assertEquals(1, meterRegistry.timer("pickup.assignment.solve").count());
+    }
+}
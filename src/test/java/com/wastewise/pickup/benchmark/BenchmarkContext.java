@@ -0,0 +1,139 @@
+package com.wastewise.pickup.benchmark;
+
+import com.wastewise.pickup.PickUpApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application against an in-memory H2 database for JMH benchmarks
+ * and seeds the pickups table with a configurable number of rows.
+ * JDBC and, with the "reactive" profile, R2DBC connect to the same database.
+ */
+public final class BenchmarkContext implements AutoCloseable {
+
+    private static final int SEED_BATCH_SIZE = 1_000;
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Start a fresh application context with its own in-memory database.
+     *
+     * @param name unique database name, so forked trials never share state.
+     * @param extraProperties additional {@code key=value} overrides.
+     */
+    public static BenchmarkContext start(String name, String... extraProperties) {
+        return start(name, WebApplicationType.NONE, extraProperties);
+    }
+
+    /**
+     * Like {@link #start}, but also starts the web server on a random free port, see {@link #port()}.
+     * The stack is servlet by default and reactive with {@code spring.profiles.active=reactive}.
+     */
+    public static BenchmarkContext startServer(String name, String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of("server.port=0"));
+        properties.addAll(List.of(extraProperties));
+        return start(name, WebApplicationType.SERVLET, properties.toArray(String[]::new));
+    }
+
+    private static BenchmarkContext start(String name, WebApplicationType webApplicationType, String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.r2dbc.url=r2dbc:h2:mem:///" + name + "?options=MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.r2dbc.username=sa",
+                "spring.r2dbc.password=",
+                "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "spring.sql.init.mode=never",
+                "logging.level.root=WARN",
+                "logging.level.com.wastewise.pickup=WARN",
+                // r2dbc-h2 warns on every transaction that it ignores the read-only option
+                "logging.level.io.r2dbc.h2=ERROR",
+                // Load tests measure the endpoints, not how many requests are shed
+                "pickup.admission.enabled=false"));
+        // A repeated argument would be joined with the default into a list, so extras replace it
+        for (String extra : extraProperties) {
+            String key = extra.substring(0, extra.indexOf('=') + 1);
+            properties.removeIf(property -> property.startsWith(key));
+            properties.add(extra);
+        }
+
+        // Passed as command line arguments so they win over application.properties
+        // spring.main.web-application-type, set by the reactive profile, overrides the type given here
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(PickUpApplication.class)
+                .web(webApplicationType)
+                .run(properties.stream().map(p -> "--" + p).toArray(String[]::new));
+
+        // Hibernate creates ENUM columns on H2, which r2dbc-h2 cannot write because it binds
+        // strings as CLOBs; use VARCHAR as schema.sql does
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.queryForList("SELECT table_name, column_name FROM information_schema.columns "
+                        + "WHERE table_schema = 'PUBLIC' AND data_type = 'ENUM'")
+                .forEach(column -> jdbc.execute("ALTER TABLE " + column.get("TABLE_NAME")
+                        + " ALTER COLUMN " + column.get("COLUMN_NAME") + " VARCHAR(50)"));
+        return new BenchmarkContext(context);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Port of the web server started by {@link #startServer}.
+     */
+    public int port() {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    public JdbcTemplate jdbc() {
+        return context.getBean(JdbcTemplate.class);
+    }
+
+    /**
+     * Insert {@code rows} pickups with IDs P001..P{rows}, spread over zones, vehicles and workers.
+     */
+    public void seedPickUps(int rows) {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 1; i <= rows; i++) {
+            LocalDateTime start = base.plusHours(i);
+            batch.add(new Object[]{
+                    String.format("P%03d", i),
+                    String.format("Z%03d", i % 50),
+                    Timestamp.valueOf(start),
+                    Timestamp.valueOf(start.plusHours(1)),
+                    "DAILY",
+                    "Location " + i,
+                    String.format("V%03d", i % 200),
+                    String.format("W%03d", (2 * i) % 400),
+                    String.format("W%03d", (2 * i + 1) % 400),
+                    "SCHEDULED"});
+            if (batch.size() == SEED_BATCH_SIZE || i == rows) {
+                jdbc().batchUpdate("INSERT INTO pickups (id, zone_id, time_slot_start, time_slot_end, frequency, "
+                        + "location_name, vehicle_id, worker1id, worker2id, status) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
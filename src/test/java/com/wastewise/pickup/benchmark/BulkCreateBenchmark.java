@@ -0,0 +1,71 @@
+package com.wastewise.pickup.benchmark;
+
+import com.wastewise.pickup.dto.BulkCreatePickUpResponseDto;
+import com.wastewise.pickup.dto.CreatePickUpDto;
+import com.wastewise.pickup.model.enums.Frequency;
+import com.wastewise.pickup.service.PickUpService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of scheduling a planning cycle of {@code batchSize} pickups, once through
+ * {@link PickUpService#createPickUp} per item and once through {@link PickUpService#createPickUps}.
+ * The score is the time to create the whole batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkCreateBenchmark {
+
+    @Param({"1000"})
+    private int batchSize;
+
+    private BenchmarkContext context;
+    private PickUpService pickUpService;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("bulk");
+        pickUpService = context.bean(PickUpService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void singleCreates(Blackhole blackhole) {
+        for (CreatePickUpDto dto : nextBatch()) {
+            blackhole.consume(pickUpService.createPickUp(dto));
+        }
+    }
+
+    @Benchmark
+    public BulkCreatePickUpResponseDto bulkCreate() {
+        return pickUpService.createPickUps(nextBatch());
+    }
+
+    /**
+     * Pickups with distinct vehicles, crews and slots so that none of them conflict.
+     */
+    private List<CreatePickUpDto> nextBatch() {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        List<CreatePickUpDto> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            long n = sequence++;
+            batch.add(new CreatePickUpDto("Z" + (n % 50), base.plusMinutes(n), base.plusMinutes(n + 30),
+                    Frequency.DAILY, "Location " + n, "V" + n, "WA" + n, "WB" + n));
+        }
+        return batch;
+    }
+}
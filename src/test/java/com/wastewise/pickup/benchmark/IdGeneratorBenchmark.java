@@ -0,0 +1,59 @@
+package com.wastewise.pickup.benchmark;
+
+import com.wastewise.pickup.model.PickUp;
+import com.wastewise.pickup.utility.IdGenerator;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention benchmark for pickup ID allocation.
+ *
+ * {@code generatePickUpId} is the block-reserved allocator; {@code legacyMaxIdLookup} replays the
+ * per-call "latest ID" query the previous generator issued before every insert. Compare the
+ * scores across {@code tableRows}: the allocator should stay flat while the lookup does not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class IdGeneratorBenchmark {
+
+    @Param({"1000", "100000"})
+    private int tableRows;
+
+    private BenchmarkContext context;
+    private IdGenerator idGenerator;
+    private EntityManager entityManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("idgen" + tableRows);
+        context.seedPickUps(tableRows);
+        idGenerator = context.bean(IdGenerator.class);
+        entityManager = context.bean(EntityManager.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generatePickUpId() {
+        return idGenerator.generatePickUpId();
+    }
+
+    @Benchmark
+    public String legacyMaxIdLookup() {
+        // Same query Spring Data derived for the old findFirstByOrderByIdDesc()
+        return entityManager.createQuery("select p from PickUp p order by p.id desc", PickUp.class)
+                .setMaxResults(1)
+                .getSingleResult()
+                .getId();
+    }
+}
@@ -0,0 +1,62 @@
+package com.wastewise.pickup.benchmark;
+
+import com.wastewise.pickup.controller.PickUpController;
+import com.wastewise.pickup.dto.CreatePickUpDto;
+import com.wastewise.pickup.model.enums.Frequency;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of creating pickups through {@link PickUpController#createPickUp} with the
+ * application's logging switched off, at its defaults (INFO, 1% of payloads sampled), and with
+ * every payload and the SQL statements logged. All levels write through the asynchronous JSON
+ * appenders of logback-spring.xml, so the score shows what logging costs the request threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({"off", "sampled", "full"})
+    private String logging;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private BenchmarkContext context;
+    private PickUpController controller;
+    private LocalDateTime base;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] properties = switch (logging) {
+            case "off" -> new String[]{"logging.level.com.wastewise.pickup=OFF"};
+            case "sampled" -> new String[]{"logging.level.com.wastewise.pickup=INFO"};
+            case "full" -> new String[]{"logging.level.com.wastewise.pickup=INFO",
+                    "pickup.logging.payload-sample-rate=1.0", "spring.profiles.active=sql"};
+            default -> throw new IllegalArgumentException("Unknown logging setting: " + logging);
+        };
+        context = BenchmarkContext.start("logging_" + logging, properties);
+        controller = context.bean(PickUpController.class);
+        base = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<String> create() {
+        // Distinct vehicles, crews and slots so that no create conflicts
+        long n = sequence.getAndIncrement();
+        return controller.createPickUp(new CreatePickUpDto("Z" + (n % 50), base.plusMinutes(n), base.plusMinutes(n + 30),
+                Frequency.DAILY, "Location " + n, "V" + n, "WA" + n, "WB" + n), null);
+    }
+}
@@ -0,0 +1,64 @@
+package com.wastewise.pickup.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.model.PickUp;
+import com.wastewise.pickup.model.enums.Frequency;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import com.wastewise.pickup.utility.PickUpMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of turning {@code listSize} entities into DTOs and of serializing a DTO list to
+ * JSON the way the controller does. No database or application context is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PickUpMappingBenchmark {
+
+    @Param({"100", "10000"})
+    private int listSize;
+
+    private List<PickUp> entities;
+    private List<PickUpDto> dtos;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        entities = new ArrayList<>(listSize);
+        for (int i = 1; i <= listSize; i++) {
+            entities.add(new PickUp(String.format("P%03d", i), "Z" + (i % 50), base.plusHours(i), base.plusHours(i + 1),
+                    Frequency.DAILY, "Location " + i, "V" + (i % 200), "W" + (2 * i), "W" + (2 * i + 1),
+                    PickUpStatus.SCHEDULED, 0L, 0L));
+        }
+        dtos = entities.stream().map(PickUpMapper::toDto).toList();
+        // Same defaults as the ObjectMapper Spring Boot configures for the controllers
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public List<PickUpDto> mapToDtos() {
+        List<PickUpDto> mapped = new ArrayList<>(entities.size());
+        for (PickUp pickUp : entities) {
+            mapped.add(PickUpMapper.toDto(pickUp));
+        }
+        return mapped;
+    }
+
+    @Benchmark
+    public byte[] serializeDtoList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+}
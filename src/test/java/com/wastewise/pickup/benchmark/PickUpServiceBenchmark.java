@@ -0,0 +1,73 @@
+package com.wastewise.pickup.benchmark;
+
+import com.wastewise.pickup.dto.CreatePickUpDto;
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.model.enums.Frequency;
+import com.wastewise.pickup.service.PickUpService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end cost of the main {@link PickUpService} operations against a seeded database.
+ *
+ * {@code rows} sets the size of the pickups table and {@code cacheType} selects the
+ * {@code pickup.cache.type} used by {@code getPickUpById}. Override either with
+ * {@code -Djmh.args="-p rows=100000"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PickUpServiceBenchmark {
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    @Param({"local", "none"})
+    private String cacheType;
+
+    private BenchmarkContext context;
+    private PickUpService pickUpService;
+    private LocalDateTime base;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("service" + rows + cacheType, "pickup.cache.type=" + cacheType);
+        context.seedPickUps(rows);
+        pickUpService = context.bean(PickUpService.class);
+        // Created pickups start after every seeded slot
+        base = LocalDateTime.now().plusYears(5).withNano(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String createPickUp() {
+        long n = sequence.getAndIncrement();
+        return pickUpService.createPickUp(new CreatePickUpDto("Z" + (n % 50), base.plusMinutes(n),
+                base.plusMinutes(n + 30), Frequency.DAILY, "Location " + n, "BV" + n, "BWA" + n, "BWB" + n));
+    }
+
+    @Benchmark
+    public PickUpDto getPickUpById() {
+        int id = ThreadLocalRandom.current().nextInt(1, rows + 1);
+        return pickUpService.getPickUpById(String.format("P%03d", id));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<PickUpDto> listAllPickUps() {
+        return pickUpService.listAllPickUps();
+    }
+}
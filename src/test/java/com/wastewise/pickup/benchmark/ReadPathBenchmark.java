@@ -0,0 +1,67 @@
+package com.wastewise.pickup.benchmark;
+
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.exception.PickUpNotFoundException;
+import com.wastewise.pickup.repository.PickUpRepository;
+import com.wastewise.pickup.utility.PickUpMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity reads mapped to DTOs ("entity", the previous read path) against constructor
+ * projections straight into {@link PickUpDto} ("projection", used by the service today).
+ *
+ * Run with {@code -Djmh.args="-prof gc"} to add the bytes allocated per operation
+ * ({@code gc.alloc.rate.norm}) to the latency of each read path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    @Param({"entity", "projection"})
+    private String readPath;
+
+    private BenchmarkContext context;
+    private PickUpRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("reads" + rows + readPath, "pickup.cache.type=none");
+        context.seedPickUps(rows);
+        repository = context.bean(PickUpRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<PickUpDto> listAllPickUps() {
+        if ("entity".equals(readPath)) {
+            return repository.findAll().stream().map(PickUpMapper::toDto).collect(Collectors.toList());
+        }
+        return repository.findAllDtos();
+    }
+
+    @Benchmark
+    public PickUpDto getPickUpById() {
+        String id = String.format("P%03d", ThreadLocalRandom.current().nextInt(1, rows + 1));
+        if ("entity".equals(readPath)) {
+            return repository.findById(id).map(PickUpMapper::toDto).orElseThrow(() -> new PickUpNotFoundException(id));
+        }
+        return repository.findDtoById(id).orElseThrow(() -> new PickUpNotFoundException(id));
+    }
+}
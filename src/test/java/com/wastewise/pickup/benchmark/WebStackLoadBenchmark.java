@@ -0,0 +1,107 @@
+package com.wastewise.pickup.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test of the servlet (Tomcat, JPA) and reactive (Netty, R2DBC) stacks over HTTP, on the
+ * same machine and database. Each JMH thread is one client with a single request in flight,
+ * so {@code @Threads} is the concurrency; raise it past Tomcat's 200 worker threads with
+ * {@code -Djmh.args="-t 1000"}.
+ *
+ * Throughput mode gives requests per millisecond, sample time mode the latency distribution
+ * including p99 and p99.9. The pickup cache is off in both stacks so every read hits the
+ * database, and both connection pools have 10 connections.
+ *
+ * The in-memory R2DBC driver (r2dbc-h2) runs every statement synchronously on the calling
+ * thread, so reactive numbers against it are a lower bound; point both stacks at MySQL for a
+ * representative comparison. A request that takes longer than {@link #REQUEST_TIMEOUT} fails
+ * the iteration rather than stalling it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(256)
+@Fork(1)
+public class WebStackLoadBenchmark {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    @Param({"servlet", "reactive"})
+    private String stack;
+
+    @Param({"10000"})
+    private int rows;
+
+    private BenchmarkContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private LocalDateTime base;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startServer("web" + stack + rows,
+                "spring.profiles.active=" + ("reactive".equals(stack) ? "reactive" : "default"),
+                "pickup.cache.type=none",
+                "spring.datasource.hikari.maximum-pool-size=10",
+                "spring.r2dbc.pool.max-size=10");
+        context.seedPickUps(rows);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + context.port() + "/wastewise/scheduler/pickups";
+        // Created pickups start after every seeded slot
+        base = LocalDateTime.now().plusYears(5).withNano(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getPickUpById() throws IOException, InterruptedException {
+        int id = ThreadLocalRandom.current().nextInt(1, rows + 1);
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + String.format("P%03d", id)))
+                .timeout(REQUEST_TIMEOUT).GET().build(), 200);
+    }
+
+    @Benchmark
+    public int listPage() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/page?size=50"))
+                .timeout(REQUEST_TIMEOUT).GET().build(), 200);
+    }
+
+    @Benchmark
+    public int createPickUp() throws IOException, InterruptedException {
+        long n = sequence.getAndIncrement();
+        String body = String.format("{\"zoneId\":\"Z%d\",\"timeSlotStart\":\"%s\",\"timeSlotEnd\":\"%s\","
+                        + "\"frequency\":\"DAILY\",\"locationName\":\"Location %d\",\"vehicleId\":\"LV%d\","
+                        + "\"worker1Id\":\"LWA%d\",\"worker2Id\":\"LWB%d\"}",
+                n % 50, base.plusMinutes(n), base.plusMinutes(n + 30), n, n, n, n);
+        return send(HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .timeout(REQUEST_TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), 201);
+    }
+
+    private int send(HttpRequest request, int expectedStatus) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,96 @@
+package com.wastewise.pickup.cache;
+
+import com.wastewise.pickup.dto.PickUpDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalPickUpCacheTest {
+
+    private static PickUpDto dto(String id, String location) {
+        return PickUpDto.builder().id(id).locationName(location).build();
+    }
+
+    @Test
+    void testGet_LoadsOnceAndCountsHits() {
+        // Arrange
+        LocalPickUpCache cache = new LocalPickUpCache(new SimpleMeterRegistry(), 10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            cache.get("P001", id -> {
+                loads.incrementAndGet();
+                return dto(id, "Location 1");
+            });
+        }
+
+        // Assert
+        assertEquals(1, loads.get());
+        PickUpCacheStats stats = cache.stats();
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void testGet_PublishesCacheMeters() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LocalPickUpCache cache = new LocalPickUpCache(meterRegistry, 10, Duration.ofMinutes(1));
+
+        // Act
+        cache.get("P001", id -> dto(id, "Location 1"));
+        cache.get("P001", id -> dto(id, "Location 1"));
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", LocalPickUpCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.size").tag("cache", LocalPickUpCache.CACHE_NAME).gauge().value());
+    }
+
+    @Test
+    void testInvalidate_DuringLoadDropsStaleValue() throws Exception {
+        // Arrange
+        LocalPickUpCache cache = new LocalPickUpCache(new SimpleMeterRegistry(), 10, Duration.ofMinutes(1));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> database = new AtomicReference<>("old");
+
+        // Act: a reader loads the old row, a writer commits and invalidates while it is loading
+        CompletableFuture<PickUpDto> reader = CompletableFuture.supplyAsync(() -> cache.get("P001", id -> {
+            PickUpDto loaded = dto(id, database.get());
+            loading.countDown();
+            await(release);
+            return loaded;
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        database.set("new");
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> cache.invalidate("P001"));
+        release.countDown();
+        reader.get(5, TimeUnit.SECONDS);
+        writer.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        PickUpDto afterWrite = cache.get("P001", id -> dto(id, database.get()));
+        assertThat(afterWrite.getLocationName()).isEqualTo("new");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
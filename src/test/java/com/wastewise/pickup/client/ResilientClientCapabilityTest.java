@@ -0,0 +1,215 @@
+package com.wastewise.pickup.client;
+
+import com.sun.net.httpserver.HttpServer;
+import com.wastewise.pickup.dto.VehicleDto;
+import com.wastewise.pickup.exception.DownstreamServiceException;
+import feign.Feign;
+import feign.FeignException;
+import feign.Request;
+import feign.Retryer;
+import feign.Target;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Calls {@link VehicleServiceClient} through the capability against a local stub whose
+ * answers are scripted per request: a status and a delay.
+ */
+class ResilientClientCapabilityTest {
+
+    private record Fault(int status, long delayMillis) {
+    }
+
+    private static final Fault OK = new Fault(200, 0);
+
+    private HttpServer server;
+    private String baseUrl;
+    private final Queue<Fault> script = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ResilientClientCapability capability;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            Fault fault = script.poll();
+            if (fault == null) {
+                fault = OK;
+            }
+            try {
+                Thread.sleep(fault.delayMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String json = exchange.getRequestURI().getPath().equals("/vehicles") ? "[{\"id\":\"V001\"}]" : "{\"id\":\"V001\"}";
+            byte[] body = json.getBytes();
+            try {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(fault.status(), body.length);
+                exchange.getResponseBody().write(body);
+            } catch (IOException ignored) {
+                // The client gave up on this request
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        capability.destroy();
+    }
+
+    private VehicleServiceClient client(int maxConcurrent, Duration timeLimit, Duration hedgeDelay) {
+        capability = new ResilientClientCapability(meterRegistry, 50, 4, 4, Duration.ofMinutes(1), 1,
+                maxConcurrent, timeLimit, hedgeDelay, Duration.ofMillis(1), 1000, 100);
+        return Feign.builder()
+                .contract(new SpringMvcContract())
+                .decoder(new ResponseEntityDecoder(new SpringDecoder(
+                        () -> new HttpMessageConverters(new MappingJackson2HttpMessageConverter()))))
+                .options(new Request.Options(1, TimeUnit.SECONDS, 10, TimeUnit.SECONDS, true))
+                .retryer(Retryer.NEVER_RETRY)
+                .addCapability(capability)
+                .target(new Target.HardCodedTarget<>(VehicleServiceClient.class, "vehicle-service", baseUrl));
+    }
+
+    @Test
+    void testBreaker_OpensOnServerErrorsButNotOnClientErrors() {
+        // Arrange
+        VehicleServiceClient client = client(10, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        for (int i = 0; i < 4; i++) {
+            script.add(new Fault(404, 0));
+        }
+
+        // Act: 404s are answers and count as successes; two 500s in the window of four open it
+        for (int i = 0; i < 4; i++) {
+            assertThrows(FeignException.NotFound.class, () -> client.getAllVehicles());
+        }
+        CircuitBreaker.State afterNotFound = capability.state("vehicle-service");
+        for (int i = 0; i < 2; i++) {
+            script.add(new Fault(500, 0));
+            assertThrows(FeignException.InternalServerError.class, () -> client.getAllVehicles());
+        }
+        int requestsWhenOpened = requests.get();
+        DownstreamServiceException rejected = assertThrows(DownstreamServiceException.class, () -> client.getAllVehicles());
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, afterNotFound);
+        assertEquals(CircuitBreaker.State.OPEN, capability.state("vehicle-service"));
+        assertThat(rejected.getMessage()).contains("vehicle-service");
+        assertEquals(requestsWhenOpened, requests.get());
+        assertEquals(1.0, meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tags("name", "vehicle-service", "state", "open").gauge().value());
+    }
+
+    @Test
+    void testTimeLimit_AbandonsSlowCall() {
+        // Arrange
+        VehicleServiceClient client = client(10, Duration.ofMillis(200), Duration.ofSeconds(5));
+        script.add(new Fault(200, 2000));
+
+        // Act
+        long started = System.nanoTime();
+        DownstreamServiceException ex = assertThrows(DownstreamServiceException.class, () -> client.getAllVehicles());
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        // Assert
+        assertThat(ex.getMessage()).contains("did not answer");
+        assertThat(elapsedMillis).isLessThan(1500);
+    }
+
+    @Test
+    void testBulkhead_RefusesCallsBeyondLimitWithoutWaiting() throws Exception {
+        // Arrange
+        VehicleServiceClient client = client(2, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        script.add(new Fault(200, 1000));
+        script.add(new Fault(200, 1000));
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        CountDownLatch sent = new CountDownLatch(2);
+        List<Future<?>> slow = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            slow.add(callers.submit(() -> {
+                sent.countDown();
+                return client.getAllVehicles();
+            }));
+        }
+        sent.await();
+        Thread.sleep(200);
+        DownstreamServiceException ex = assertThrows(DownstreamServiceException.class, () -> client.getAllVehicles());
+        for (Future<?> call : slow) {
+            call.get(5, TimeUnit.SECONDS);
+        }
+        callers.shutdown();
+
+        // Assert
+        assertThat(ex.getMessage()).contains("Too many calls");
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void testHedging_SecondRequestAnswersWhenFirstIsSlow() {
+        // Arrange
+        VehicleServiceClient client = client(10, Duration.ofSeconds(5), Duration.ofMillis(100));
+        script.add(new Fault(200, 3000));
+
+        // Act
+        long started = System.nanoTime();
+        VehicleDto vehicle = client.getVehicleById("V001");
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        // Assert
+        assertEquals("V001", vehicle.getId());
+        assertThat(elapsedMillis).isLessThan(2000);
+        assertEquals(2, requests.get());
+        assertEquals(1.0, meterRegistry.get(ResilientClientCapability.HEDGES_METRIC)
+                .tag("method", "getVehicleById").counter().count());
+    }
+
+    @Test
+    void testHedging_NotSentForFastOrUnhedgedCalls() {
+        // Arrange
+        VehicleServiceClient client = client(10, Duration.ofSeconds(5), Duration.ofMillis(100));
+        script.add(new Fault(200, 500));
+
+        // Act
+        client.getAllVehicles();
+        client.getVehicleById("V001");
+
+        // Assert: the slow list call is not hedged, the fast lookup needs no hedge
+        assertEquals(2, requests.get());
+    }
+}
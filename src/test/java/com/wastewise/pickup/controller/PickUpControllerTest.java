@@ -1,7 +1,13 @@
 package com.wastewise.pickup.controller;
 
+import com.wastewise.pickup.dto.BulkCreatePickUpDto;
+import com.wastewise.pickup.dto.BulkCreatePickUpResponseDto;
+import com.wastewise.pickup.dto.BulkCreateResultDto;
 import com.wastewise.pickup.dto.CreatePickUpDto;
 import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.dto.PickUpPageDto;
+import com.wastewise.pickup.idempotency.IdempotencyStore;
+import com.wastewise.pickup.logging.PayloadLogSampler;
 import com.wastewise.pickup.model.enums.Frequency;
 import com.wastewise.pickup.model.enums.PickUpStatus;
 import com.wastewise.pickup.service.PickUpService;
@@ -10,8 +16,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -25,6 +35,12 @@ class PickUpControllerTest {
     @Mock
     private PickUpService pickUpService;
 
+    @Mock
+    private PayloadLogSampler payloadSampler;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
     @InjectMocks
     private PickUpController pickUpController;
 
@@ -33,6 +49,14 @@ class PickUpControllerTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    private static ServletWebRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/wastewise/scheduler/pickups");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
     @Test
     void testCreatePickUp() {
         // Arrange
@@ -41,7 +65,7 @@ class PickUpControllerTest {
         when(pickUpService.createPickUp(createPickUpDto)).thenReturn(expectedId);
 
         // Act
-        ResponseEntity<String> response = pickUpController.createPickUp(createPickUpDto);
+        ResponseEntity<String> response = pickUpController.createPickUp(createPickUpDto, null);
 
         // Assert
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
@@ -49,6 +73,42 @@ class PickUpControllerTest {
         verify(pickUpService, times(1)).createPickUp(createPickUpDto);
     }
 
+    @Test
+    void testCreatePickUp_ReplayedWithIdempotencyKey() {
+        // Arrange
+        CreatePickUpDto createPickUpDto = new CreatePickUpDto();
+        when(idempotencyStore.createOnce(eq("key-1"), eq(createPickUpDto), any(), any()))
+                .thenReturn(new IdempotencyStore.Outcome("P123", true));
+
+        // Act
+        ResponseEntity<String> response = pickUpController.createPickUp(createPickUpDto, "key-1");
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("P123", response.getBody());
+        assertEquals("true", response.getHeaders().getFirst("Idempotent-Replayed"));
+        verifyNoInteractions(pickUpService);
+    }
+
+    @Test
+    void testCreatePickUps_PartialFailure() {
+        // Arrange
+        List<CreatePickUpDto> items = List.of(new CreatePickUpDto(), new CreatePickUpDto());
+        BulkCreatePickUpResponseDto result = new BulkCreatePickUpResponseDto(1, 1, List.of(
+                BulkCreateResultDto.created(0, "P200"),
+                BulkCreateResultDto.failed(1, "Zone ID is required")));
+        when(pickUpService.createPickUps(items)).thenReturn(result);
+
+        // Act
+        ResponseEntity<BulkCreatePickUpResponseDto> response =
+                pickUpController.createPickUps(new BulkCreatePickUpDto(items));
+
+        // Assert
+        assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+        assertThat(response.getBody()).isEqualTo(result);
+        verify(pickUpService, times(1)).createPickUps(items);
+    }
+
     @Test
     void testDeletePickUp() {
         // Arrange
@@ -93,12 +153,14 @@ class PickUpControllerTest {
                         .build()
         );
         when(pickUpService.listAllPickUps()).thenReturn(mockPickUpList);
+        when(pickUpService.currentChangeSequence()).thenReturn(42L);
 
         // Act
-        ResponseEntity<List<PickUpDto>> response = pickUpController.listAllPickUps();
+        ResponseEntity<List<PickUpDto>> response = pickUpController.listAllPickUps(get(null));
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"s42\"", response.getHeaders().getETag());
         assertEquals(2, response.getBody().size());
         assertThat(response.getBody()).isEqualTo(mockPickUpList);
         verify(pickUpService, times(1)).listAllPickUps();
@@ -123,11 +185,71 @@ class PickUpControllerTest {
         when(pickUpService.getPickUpById(pickUpId)).thenReturn(mockDto);
 
         // Act
-        ResponseEntity<PickUpDto> response = pickUpController.getPickUpById(pickUpId);
+        ResponseEntity<PickUpDto> response = pickUpController.getPickUpById(pickUpId, get(null));
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertThat(response.getBody()).isEqualTo(mockDto);
         verify(pickUpService, times(1)).getPickUpById(pickUpId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testListPickUpsPage() {
+        // Arrange
+        PickUpPageDto mockPage = new PickUpPageDto(List.of(
+                PickUpDto.builder()
+                        .id("P001")
+                        .zoneId("Z001")
+                        .timeSlotStart(LocalDateTime.now())
+                        .timeSlotEnd(LocalDateTime.now().plusHours(1))
+                        .frequency(Frequency.DAILY)
+                        .locationName("Location 1")
+                        .vehicleId("V001")
+                        .worker1Id("W001")
+                        .worker2Id("W002")
+                        .status(PickUpStatus.SCHEDULED)
+                        .build()), "next-token");
+        when(pickUpService.listPickUps("token", 1)).thenReturn(mockPage);
+
+        // Act
+        ResponseEntity<PickUpPageDto> response = pickUpController.listPickUps("token", 1, get(null));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertThat(response.getBody()).isEqualTo(mockPage);
+        verify(pickUpService, times(1)).listPickUps("token", 1);
+    }
+
+    @Test
+    void testListAllPickUps_NotModifiedWithoutReadingRows() {
+        // Arrange
+        when(pickUpService.currentChangeSequence()).thenReturn(42L);
+        ServletWebRequest request = get("\"s42\"");
+
+        // Act
+        ResponseEntity<List<PickUpDto>> response = pickUpController.listAllPickUps(request);
+
+        // Assert
+        assertThat(response).isNull();
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), request.getResponse().getStatus());
+        verify(pickUpService, never()).listAllPickUps();
+    }
+
+    @Test
+    void testGetPickUpById_NotModifiedAtSameVersion() {
+        // Arrange
+        when(pickUpService.getPickUpById("P123")).thenReturn(PickUpDto.builder().id("P123").version(3L).build());
+        ServletWebRequest unchanged = get("\"v3\"");
+        ServletWebRequest changed = get("\"v2\"");
+
+        // Act
+        ResponseEntity<PickUpDto> notModified = pickUpController.getPickUpById("P123", unchanged);
+        ResponseEntity<PickUpDto> modified = pickUpController.getPickUpById("P123", changed);
+
+        // Assert
+        assertThat(notModified).isNull();
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), unchanged.getResponse().getStatus());
+        assertEquals(HttpStatus.OK, modified.getStatusCode());
+        assertEquals("\"v3\"", modified.getHeaders().getETag());
+    }
+}
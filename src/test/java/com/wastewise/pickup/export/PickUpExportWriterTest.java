@@ -0,0 +1,117 @@
+package com.wastewise.pickup.export;
+
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.exception.InvalidPickUpRequestException;
+import com.wastewise.pickup.model.enums.Frequency;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PickUpExportWriterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    private static PickUpDto pickUp(int i) {
+        return new PickUpDto(String.format("P%03d", i), "Z00" + (i % 3), START.plusMinutes(30L * i),
+                START.plusMinutes(30L * i + 45), Frequency.values()[i % Frequency.values().length],
+                "Location " + i, "V00" + (i % 4), "W00" + (i % 5), "W10" + (i % 5),
+                PickUpStatus.values()[i % PickUpStatus.values().length], (long) (i % 2));
+    }
+
+    private static byte[] export(ExportFormat format, List<PickUpDto> pickUps) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PickUpExportWriter writer = format.open(out);
+        for (PickUpDto pickUp : pickUps) {
+            writer.write(pickUp);
+        }
+        writer.finish();
+        return out.toByteArray();
+    }
+
+    private static List<PickUpDto> readColumnar(byte[] file) throws IOException {
+        List<PickUpDto> read = new ArrayList<>();
+        try (ColumnarPickUpReader reader = new ColumnarPickUpReader(new ByteArrayInputStream(file))) {
+            reader.forEachRemaining(read::add);
+        }
+        return read;
+    }
+
+    @Test
+    void testCsv_WritesHeaderAndQuotesSpecialCharacters() throws IOException {
+        // Arrange
+        PickUpDto quoted = pickUp(1);
+        quoted.setLocationName("Dock 4, \"North\" gate");
+        quoted.setWorker2Id(null);
+
+        // Act
+        byte[] file = export(ExportFormat.CSV, List.of(quoted));
+
+        // Assert
+        String csv = new String(new GZIPInputStream(new ByteArrayInputStream(file)).readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(csv.split("\n")).containsExactly(
+                CsvPickUpWriter.HEADER,
+                "P001,Z001,2030-01-01T09:30:00,2030-01-01T10:15:00,WEEKLY,\"Dock 4, \"\"North\"\" gate\",V001,W001,,IN_PROGRESS,1");
+    }
+
+    @Test
+    void testColumnar_RoundTripsAcrossRowGroups() throws IOException {
+        // Arrange: 2.5 row groups, with nulls in the nullable columns
+        List<PickUpDto> pickUps = IntStream.range(0, 20).mapToObj(PickUpExportWriterTest::pickUp).toList();
+        pickUps.get(3).setFrequency(null);
+        pickUps.get(7).setVehicleId(null);
+        pickUps.get(11).setVersion(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnarPickUpWriter writer = new ColumnarPickUpWriter(out, 8);
+
+        // Act
+        for (PickUpDto pickUp : pickUps) {
+            writer.write(pickUp);
+        }
+        writer.finish();
+
+        // Assert
+        assertEquals(pickUps, readColumnar(out.toByteArray()));
+    }
+
+    @Test
+    void testColumnar_EmptyExportHasNoRows() throws IOException {
+        // Act & Assert
+        assertThat(readColumnar(export(ExportFormat.COLUMNAR, List.of()))).isEmpty();
+    }
+
+    @Test
+    void testColumnar_SmallerThanCsv() throws IOException {
+        // Arrange
+        List<PickUpDto> pickUps = IntStream.range(0, 20_000).mapToObj(PickUpExportWriterTest::pickUp).toList();
+
+        // Act
+        byte[] csv = export(ExportFormat.CSV, pickUps);
+        byte[] columnar = export(ExportFormat.COLUMNAR, pickUps);
+
+        // Assert
+        assertThat(columnar.length).isLessThan(csv.length);
+        assertEquals(pickUps, readColumnar(columnar));
+    }
+
+    @Test
+    void testFrom_RejectsUnknownFormat() {
+        // Act & Assert
+        assertEquals(ExportFormat.COLUMNAR, ExportFormat.from("Columnar"));
+        InvalidPickUpRequestException ex = assertThrows(InvalidPickUpRequestException.class,
+                () -> ExportFormat.from("xlsx"));
+        assertEquals("export_format", ex.getReason());
+    }
+}
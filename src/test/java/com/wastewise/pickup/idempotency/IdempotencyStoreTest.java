@@ -0,0 +1,188 @@
+package com.wastewise.pickup.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wastewise.pickup.exception.InvalidPickUpRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the store against schema.sql on H2, with the pickup creation replaced by a counter.
+ */
+class IdempotencyStoreTest {
+
+    private static final Map<String, String> REQUEST = Map.of("zoneId", "Z001");
+
+    private final AtomicInteger creates = new AtomicInteger();
+    private final List<String> saved = new CopyOnWriteArrayList<>();
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:idempotency;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        store = newStore();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("drop all objects");
+    }
+
+    private IdempotencyStore newStore() {
+        return new IdempotencyStore(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                new ObjectMapper(), Duration.ofHours(1), 100, Duration.ofHours(1));
+    }
+
+    private String create() {
+        return "P" + creates.incrementAndGet();
+    }
+
+    private void save(String pickUpId) {
+        saved.add(pickUpId);
+    }
+
+    @Test
+    void testCreateOnce_ReplaysFirstPickUpForSameKey() {
+        // Act
+        IdempotencyStore.Outcome first = store.createOnce("key-1", REQUEST, this::create, this::save);
+        IdempotencyStore.Outcome retry = store.createOnce("key-1", REQUEST, this::create, this::save);
+        IdempotencyStore.Outcome afterRestart = newStore().createOnce("key-1", REQUEST, this::create, this::save);
+
+        // Assert
+        assertEquals("P1", first.pickUpId());
+        assertFalse(first.replayed());
+        assertEquals("P1", retry.pickUpId());
+        assertTrue(retry.replayed());
+        assertEquals("P1", afterRestart.pickUpId());
+        assertTrue(afterRestart.replayed());
+        assertEquals(1, creates.get());
+    }
+
+    @Test
+    void testCreateOnce_RejectsKeyReusedForDifferentRequest() {
+        // Arrange
+        store.createOnce("key-1", REQUEST, this::create, this::save);
+
+        // Act & Assert
+        InvalidPickUpRequestException ex = assertThrows(InvalidPickUpRequestException.class,
+                () -> store.createOnce("key-1", Map.of("zoneId", "Z002"), this::create, this::save));
+        assertEquals("idempotency_key_reused", ex.getReason());
+        assertThrows(InvalidPickUpRequestException.class, () -> store.createOnce(" ", REQUEST, this::create, this::save));
+        assertEquals(1, creates.get());
+    }
+
+    @Test
+    void testCreateOnce_ForgetsKeyWhenCreateFails() {
+        // Act
+        assertThrows(IllegalStateException.class, () -> store.createOnce("key-1", REQUEST, this::create, pickUpId -> {
+            throw new IllegalStateException("vehicle already booked");
+        }));
+        IdempotencyStore.Outcome retry = store.createOnce("key-1", REQUEST, this::create, this::save);
+
+        // Assert
+        assertFalse(retry.replayed());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from idempotency_keys", Integer.class));
+    }
+
+    @Test
+    void testCreateOnce_CollapsesConcurrentDuplicates() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<IdempotencyStore.Outcome>> results = new ArrayList<>();
+
+        // Act: the first create holds its transaction open until every duplicate has arrived
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> store.createOnce("key-1", REQUEST, this::create, pickUpId -> {
+                awaitQuietly(release);
+                save(pickUpId);
+            })));
+        }
+        Thread.sleep(200);
+        release.countDown();
+        List<IdempotencyStore.Outcome> outcomes = new ArrayList<>();
+        for (Future<IdempotencyStore.Outcome> result : results) {
+            outcomes.add(result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1, creates.get());
+        assertThat(outcomes).extracting(IdempotencyStore.Outcome::pickUpId).containsOnly("P1");
+        assertThat(outcomes).filteredOn(outcome -> !outcome.replayed()).hasSize(1);
+    }
+
+    @Test
+    void testCreateOnce_PreparesOutsideTheKeyTransaction() {
+        // Arrange
+        List<Boolean> inTransaction = new ArrayList<>();
+
+        // Act
+        store.createOnce("key-1", REQUEST, () -> {
+            inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return create();
+        }, pickUpId -> {
+            inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            save(pickUpId);
+        });
+
+        // Assert: validation and ID reservation hold no connection; the key row is stored with the ID
+        assertEquals(List.of(false, true), inTransaction);
+        assertEquals(List.of("P1"), saved);
+        assertEquals("P1", jdbcTemplate.queryForObject(
+                "select pickup_id from idempotency_keys where idempotency_key = 'key-1'", String.class));
+    }
+
+    @Test
+    void testPurge_DeletesOnlyExpiredKeys() {
+        // Arrange
+        store.createOnce("key-1", REQUEST, this::create, this::save);
+        jdbcTemplate.update("insert into idempotency_keys (idempotency_key, request_hash, pickup_id, created_at, expires_at) "
+                + "values ('old', 'hash', 'P0', timestamp '2020-01-01 00:00:00', timestamp '2020-01-02 00:00:00')");
+
+        // Act
+        int purged = store.purge();
+
+        // Assert
+        assertEquals(1, purged);
+        assertEquals(List.of("key-1"), jdbcTemplate.queryForList("select idempotency_key from idempotency_keys", String.class));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
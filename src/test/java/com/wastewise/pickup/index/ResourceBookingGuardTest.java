@@ -0,0 +1,144 @@
+package com.wastewise.pickup.index;
+
+import com.wastewise.pickup.exception.PickUpConflictException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks bookings against the pickups table on H2 with schema.sql, with a second writer on
+ * another thread standing in for another instance.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bookingguard;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.sql.init.mode=always"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ResourceBookingGuardTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 3, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private ResourceBookingGuard guard;
+    private final ScheduledExecutorService background = Executors.newScheduledThreadPool(2);
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        guard = new ResourceBookingGuard(jdbcTemplate);
+        jdbcTemplate.update("delete from pickups");
+        jdbcTemplate.update("delete from resource_locks");
+    }
+
+    @AfterEach
+    void tearDown() {
+        background.shutdownNow();
+    }
+
+    private static Booking booking(String id, String vehicle, String w1, String w2, int fromHour, int toHour) {
+        return new Booking(id, vehicle, w1, w2, DAY.plusHours(fromHour), DAY.plusHours(toHour));
+    }
+
+    private void insertPickUp(Booking booking, String status) {
+        jdbcTemplate.update("insert into pickups (id, zone_id, time_slot_start, time_slot_end, frequency, location_name, "
+                        + "vehicle_id, worker1id, worker2id, status) values (?, 'Z001', ?, ?, 'DAILY', 'Depot', ?, ?, ?, ?)",
+                booking.getPickUpId(), Timestamp.valueOf(booking.getStart()), Timestamp.valueOf(booking.getEnd()),
+                booking.getVehicleId(), booking.getWorker1Id(), booking.getWorker2Id(), status);
+    }
+
+    private void check(Booking... bookings) {
+        transactionTemplate.executeWithoutResult(status -> guard.check(List.of(bookings)));
+    }
+
+    @Test
+    void testCheck_RejectsWorkerBookedAsSecondWorker() {
+        // Arrange
+        insertPickUp(booking("P001", "V001", "W001", "W002", 8, 10), "SCHEDULED");
+
+        // Act & Assert
+        PickUpConflictException ex = assertThrows(PickUpConflictException.class,
+                () -> check(booking("P002", "V002", "W002", "W003", 9, 11)));
+        assertThat(ex.getMessage()).startsWith("Worker W002 is already booked by pickup P001");
+    }
+
+    @Test
+    void testCheck_AllowsBackToBackAndCompletedSlots() {
+        // Arrange
+        insertPickUp(booking("P001", "V001", "W001", "W002", 8, 10), "SCHEDULED");
+        insertPickUp(booking("P002", "V001", "W001", "W002", 10, 12), "COMPLETED");
+
+        // Act
+        check(booking("P003", "V001", "W001", "W002", 10, 12), booking("P004", "V002", null, null, 8, 10));
+
+        // Assert: lock rows were created for every resource
+        assertEquals(List.of("Vehicle V001", "Vehicle V002", "Worker W001", "Worker W002"),
+                jdbcTemplate.queryForList("select resource_key from resource_locks order by resource_key", String.class));
+    }
+
+    @Test
+    void testCheck_WaitsForConcurrentCreateOfSameResource() throws Exception {
+        // Arrange: another instance has checked and inserted its pickup, and not committed yet
+        check(booking("P000", "V001", null, null, 0, 1));
+        CountDownLatch checked = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Future<?> other = background.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            Booking booking = booking("P001", "V001", null, null, 8, 10);
+            guard.check(List.of(booking));
+            insertPickUp(booking, "SCHEDULED");
+            checked.countDown();
+            await(commit);
+        }));
+        assertThat(checked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act: this create waits for the lock and then sees the committed pickup
+        Future<?> committer = background.schedule(commit::countDown, 200, TimeUnit.MILLISECONDS);
+        PickUpConflictException ex = assertThrows(PickUpConflictException.class,
+                () -> check(booking("P002", "V001", null, null, 9, 11)));
+        committer.get(5, TimeUnit.SECONDS);
+        other.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(ex.getMessage()).startsWith("Vehicle V001 is already booked by pickup P001");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
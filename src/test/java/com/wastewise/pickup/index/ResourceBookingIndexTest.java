@@ -0,0 +1,192 @@
+package com.wastewise.pickup.index;
+
+import com.wastewise.pickup.exception.PickUpConflictException;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import com.wastewise.pickup.repository.PickUpRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ResourceBookingIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 3, 1, 0, 0);
+
+    @Mock
+    private PickUpRepository pickUpRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ResourceBookingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        index = new ResourceBookingIndex(pickUpRepository, transactionTemplate, Duration.ofMinutes(10));
+    }
+
+    private static Booking booking(String id, String vehicle, String w1, String w2, int fromHour, int toHour) {
+        return new Booking(id, vehicle, w1, w2, DAY.plusHours(fromHour), DAY.plusHours(toHour));
+    }
+
+    @Test
+    void testReserve_RejectsOverlappingVehicle() {
+        // Arrange
+        index.reserve(booking("P001", "V001", "W001", "W002", 8, 10));
+
+        // Act & Assert
+        PickUpConflictException ex = assertThrows(PickUpConflictException.class,
+                () -> index.reserve(booking("P002", "V001", "W003", "W004", 9, 11)));
+        assertThat(ex.getMessage()).startsWith("Vehicle V001 is already booked by pickup P001");
+        assertEquals(0, index.bookingCount("Worker W003"));
+    }
+
+    @Test
+    void testReserve_RejectsWorkerBookedInEitherSlot() {
+        // Arrange
+        index.reserve(booking("P001", "V001", "W001", "W002", 8, 10));
+
+        // Act & Assert
+        PickUpConflictException ex = assertThrows(PickUpConflictException.class,
+                () -> index.reserve(booking("P002", "V002", "W002", "W003", 7, 9)));
+        assertThat(ex.getMessage()).startsWith("Worker W002 is already booked by pickup P001");
+    }
+
+    @Test
+    void testReserve_AllowsBackToBackSlots() {
+        // Arrange
+        index.reserve(booking("P001", "V001", "W001", "W002", 8, 10));
+
+        // Act
+        index.reserve(booking("P002", "V001", "W001", "W002", 10, 12));
+        index.reserve(booking("P003", "V001", "W001", "W002", 6, 8));
+
+        // Assert
+        assertEquals(3, index.bookingCount("Vehicle V001"));
+    }
+
+    @Test
+    void testReserve_FindsLongBookingStartingFarEarlier() {
+        // Arrange
+        index.reserve(booking("P001", "V001", null, null, 0, 48));
+        index.reserve(booking("P002", "V002", null, null, 20, 21));
+
+        // Act & Assert
+        assertThrows(PickUpConflictException.class,
+                () -> index.reserve(booking("P003", "V001", null, null, 30, 31)));
+    }
+
+    @Test
+    void testReserve_ChecksNeighboursAfterLongBookingIsReleased() {
+        // Arrange: short bookings around a long one that is then freed
+        Booking longBooking = booking("P001", "V001", null, null, 0, 48);
+        index.reserve(longBooking);
+        index.release(longBooking);
+        index.reserve(booking("P002", "V001", null, null, 8, 10));
+        index.reserve(booking("P003", "V001", null, null, 12, 14));
+
+        // Act & Assert
+        assertThrows(PickUpConflictException.class,
+                () -> index.reserve(booking("P004", "V001", null, null, 9, 12)));
+        assertThrows(PickUpConflictException.class,
+                () -> index.reserve(booking("P005", "V001", null, null, 10, 13)));
+        index.reserve(booking("P006", "V001", null, null, 10, 12));
+        assertEquals(3, index.bookingCount("Vehicle V001"));
+    }
+
+    @Test
+    void testPrune_DropsEndedBookingsOnly() {
+        // Arrange
+        index.reserve(booking("P001", "V001", "W001", "W002", 2, 4));
+        index.reserve(booking("P002", "V001", "W001", "W002", 4, 6));
+        index.reserve(booking("P003", "V001", "W001", "W002", 6, 8));
+
+        // Act
+        int pruned = index.prune(DAY.plusHours(5));
+
+        // Assert: each booking was held by the vehicle and both workers
+        assertEquals(3, pruned);
+        assertEquals(2, index.bookingCount("Vehicle V001"));
+        assertThat(index.vehicleBookings("V001", DAY, DAY.plusDays(1)))
+                .extracting(Booking::getPickUpId).containsExactly("P002", "P003");
+    }
+
+    @Test
+    void testRelease_FreesAllResources() {
+        // Arrange
+        Booking first = booking("P001", "V001", "W001", "W002", 8, 10);
+        index.reserve(first);
+
+        // Act
+        index.release(first);
+        index.reserve(booking("P002", "V001", "W001", "W002", 8, 10));
+
+        // Assert
+        assertEquals(1, index.bookingCount("Vehicle V001"));
+        assertEquals(1, index.bookingCount("Worker W002"));
+    }
+
+    @Test
+    void testReserve_RolledBackWithTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            index.reserve(booking("P001", "V001", "W001", "W002", 8, 10));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            // Assert
+            assertEquals(0, index.bookingCount("Vehicle V001"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testAfterSingletonsInstantiated_LoadsActiveBookings() {
+        // Arrange
+        when(pickUpRepository.streamActiveBookings(any(LocalDateTime.class), eq(PickUpStatus.COMPLETED)))
+                .thenReturn(Stream.of(booking("P001", "V001", "W001", "W002", 8, 10)));
+
+        // Act
+        index.afterSingletonsInstantiated();
+
+        // Assert
+        assertThrows(PickUpConflictException.class,
+                () -> index.reserve(booking("P002", "V009", "W001", "W008", 9, 10)));
+    }
+
+    @Test
+    void testVehicleAndWorkerBookings_ReturnOnlyOverlappingSlots() {
+        // Arrange
+        index.reserve(booking("P001", "V001", "W001", "W002", 2, 10));
+        index.reserve(booking("P002", "V001", "W003", "W004", 11, 12));
+        index.reserve(booking("P003", "V001", "W001", "W005", 14, 15));
+
+        // Act & Assert
+        assertThat(index.vehicleBookings("V001", DAY.plusHours(9), DAY.plusHours(14)))
+                .extracting(Booking::getPickUpId).containsExactly("P001", "P002");
+        assertThat(index.workerBookings("W001", DAY.plusHours(10), DAY.plusHours(14))).isEmpty();
+        assertThat(index.workerBookings("W999", DAY, DAY.plusDays(1))).isEmpty();
+    }
+}
@@ -0,0 +1,147 @@
+package com.wastewise.pickup.live;
+
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.dto.PickUpEventDto;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import com.wastewise.pickup.repository.PickUpRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class PickUpEventHubTest {
+
+    private static final int BUFFER_SIZE = 8;
+
+    @Mock
+    private PickUpRepository repository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PickUpEventHub hub;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        // The dispatcher thread is not started; tests dispatch with drain()
+        hub = new PickUpEventHub(repository, meterRegistry, BUFFER_SIZE, 100, Duration.ofHours(1));
+    }
+
+    private static List<String> ids(List<ServerSentEvent<PickUpEventDto>> events) {
+        return events.stream().map(ServerSentEvent::id).toList();
+    }
+
+    @Test
+    void testPublish_FansOutByZone() {
+        // Arrange
+        List<ServerSentEvent<PickUpEventDto>> all = new ArrayList<>();
+        List<ServerSentEvent<PickUpEventDto>> zone1 = new ArrayList<>();
+        Disposable allStream = hub.stream(null).subscribe(all::add);
+        Disposable zone1Stream = hub.stream("Z001").subscribe(zone1::add);
+
+        // Act
+        hub.publish(List.of(PickUpEventDto.created(1L, "P001", "Z001"), PickUpEventDto.created(2L, "P002", "Z002"),
+                PickUpEventDto.deleted(3L, "P001", "Z001")));
+        hub.drain();
+
+        // Assert
+        assertEquals(List.of("1", "2", "3"), ids(all));
+        assertEquals(List.of("1", "3"), ids(zone1));
+        assertEquals("DELETED", zone1.get(1).event());
+        verifyNoInteractions(repository);
+        allStream.dispose();
+        zone1Stream.dispose();
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    @Test
+    void testPublish_LooksUpZonesOfStatusChangesOncePerBatch() {
+        // Arrange
+        List<ServerSentEvent<PickUpEventDto>> zone2 = new ArrayList<>();
+        hub.stream("Z002").subscribe(zone2::add);
+        when(repository.findDtosByIdIn(List.of("P001", "P002"))).thenReturn(List.of(
+                PickUpDto.builder().id("P001").zoneId("Z001").build(),
+                PickUpDto.builder().id("P002").zoneId("Z002").build()));
+
+        // Act
+        hub.publish(List.of(PickUpEventDto.statusChanged(4L, "P001", null, PickUpStatus.IN_PROGRESS, 1L),
+                PickUpEventDto.statusChanged(5L, "P002", null, PickUpStatus.IN_PROGRESS, 1L)));
+        hub.drain();
+
+        // Assert
+        assertEquals(List.of("5"), ids(zone2));
+        assertEquals("Z002", zone2.get(0).data().getZoneId());
+        verify(repository, times(1)).findDtosByIdIn(any());
+    }
+
+    @Test
+    void testPublish_ZoneLookupFailureEvictsZoneSubscribers() {
+        // Arrange
+        List<ServerSentEvent<PickUpEventDto>> all = new ArrayList<>();
+        hub.stream(null).subscribe(all::add);
+        when(repository.findDtosByIdIn(any())).thenThrow(new IllegalStateException("connection refused"));
+
+        // Act & Assert: the zone subscriber cannot know whether it missed the status change
+        StepVerifier.create(hub.stream("Z001"))
+                .then(() -> {
+                    hub.publish(List.of(PickUpEventDto.statusChanged(4L, "P001", null, PickUpStatus.IN_PROGRESS, 1L)));
+                    hub.drain();
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(List.of("4"), ids(all));
+        assertEquals(1, hub.subscriberCount());
+        assertEquals(1.0, meterRegistry.get(PickUpEventHub.EVICTIONS_METRIC).tag("reason", "hub_overflow").counter().count());
+    }
+
+    @Test
+    void testPublish_EvictsSlowSubscriberWithoutHoldingBackOthers() {
+        // Arrange
+        List<ServerSentEvent<PickUpEventDto>> fast = new ArrayList<>();
+        hub.stream(null).subscribe(fast::add);
+        List<PickUpEventDto> events = LongStream.rangeClosed(1, 3L * BUFFER_SIZE)
+                .mapToObj(i -> PickUpEventDto.created(i, "P" + i, "Z001"))
+                .toList();
+
+        // Act & Assert: the slow subscriber never requests, so its buffer fills up and its stream ends
+        StepVerifier.create(hub.stream("Z001"), 0)
+                .then(() -> {
+                    hub.publish(events);
+                    hub.drain();
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(events.size(), fast.size());
+        assertEquals(1, hub.subscriberCount());
+        assertEquals(1.0, meterRegistry.get(PickUpEventHub.EVICTIONS_METRIC).tag("reason", "slow_consumer").counter().count());
+    }
+
+    @Test
+    void testPublish_NothingQueuedWithoutSubscribers() {
+        // Arrange
+        hub.publish(List.of(PickUpEventDto.created(1L, "P001", "Z001")));
+        List<ServerSentEvent<PickUpEventDto>> late = new ArrayList<>();
+        hub.stream(null).subscribe(late::add);
+
+        // Act
+        hub.drain();
+
+        // Assert
+        assertThat(late).isEmpty();
+    }
+}
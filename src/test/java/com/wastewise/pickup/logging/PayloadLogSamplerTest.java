@@ -0,0 +1,44 @@
+package com.wastewise.pickup.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PayloadLogSamplerTest {
+
+    @Test
+    void testSample_RateBoundsKeepOrHideEveryPayload() {
+        // Arrange
+        PayloadLogSampler always = new PayloadLogSampler(1.0);
+        PayloadLogSampler never = new PayloadLogSampler(0.0);
+
+        // Act & Assert
+        assertEquals("payload", always.sample("payload"));
+        assertEquals(PayloadLogSampler.NOT_SAMPLED, never.sample("payload"));
+    }
+
+    @Test
+    void testSample_KeepsAboutTheConfiguredFraction() {
+        // Arrange
+        PayloadLogSampler sampler = new PayloadLogSampler(0.1);
+
+        // Act
+        long sampled = IntStream.range(0, 100_000).mapToObj(i -> sampler.sample("payload"))
+                .filter("payload"::equals)
+                .count();
+
+        // Assert
+        assertThat(sampled).isBetween(9_000L, 11_000L);
+    }
+
+    @Test
+    void testConstructor_RejectsRateOutsideZeroToOne() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new PayloadLogSampler(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new PayloadLogSampler(-0.1));
+    }
+}
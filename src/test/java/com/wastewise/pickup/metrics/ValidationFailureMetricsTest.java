@@ -0,0 +1,27 @@
+package com.wastewise.pickup.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ValidationFailureMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ValidationFailureMetrics metrics = new ValidationFailureMetrics(meterRegistry);
+
+    @Test
+    void testRecordInvalidField_IndexesShareOneReason() {
+        // Act
+        metrics.recordInvalidField("pickUps[17342].zoneId");
+        metrics.recordInvalidField("pickUps[3].zoneId");
+        metrics.recordInvalidField("zoneId");
+
+        // Assert
+        assertEquals(2, meterRegistry.find(ValidationFailureMetrics.METRIC_NAME).counters().size());
+        assertEquals(2.0, meterRegistry.get(ValidationFailureMetrics.METRIC_NAME)
+                .tag("reason", "invalid_pickUps[].zoneId").counter().count());
+        assertEquals(1.0, meterRegistry.get(ValidationFailureMetrics.METRIC_NAME)
+                .tag("reason", "invalid_zoneId").counter().count());
+    }
+}
@@ -0,0 +1,141 @@
+package com.wastewise.pickup.outbox;
+
+import com.wastewise.pickup.client.VehicleServiceClient;
+import com.wastewise.pickup.client.WorkerServiceClient;
+import com.wastewise.pickup.dto.VehicleStatusUpdateDto;
+import com.wastewise.pickup.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs two dispatchers against the same {@code status_outbox} table on H2 with schema.sql,
+ * with every claim and completion committed, while one of them is stuck sending.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxlease;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.sql.init.mode=always"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StatusOutboxDispatcherLeaseTest {
+
+    @Autowired
+    private OutboxEventRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<String> vehicleStatuses = new CopyOnWriteArrayList<>();
+    private final ExecutorService background = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.update("delete from status_outbox");
+    }
+
+    @AfterEach
+    void tearDown() {
+        background.shutdownNow();
+    }
+
+    private void enqueue(String type, String resourceId, String status) {
+        jdbcTemplate.update("insert into status_outbox (resource_type, resource_id, status, created_at, "
+                + "next_attempt_at, attempts) values (?, ?, ?, current_timestamp, current_timestamp, 0)",
+                type, resourceId, status);
+    }
+
+    private StatusOutboxDispatcher dispatcher(VehicleServiceClient vehicleClient) {
+        return new StatusOutboxDispatcher(repository, vehicleClient, mock(WorkerServiceClient.class),
+                new TransactionTemplate(transactionManager), 100, Duration.ofMillis(500), Duration.ofSeconds(1),
+                Duration.ofSeconds(30), Duration.ofSeconds(30));
+    }
+
+    private VehicleServiceClient recordingVehicleClient(CountDownLatch sending, CountDownLatch proceed) {
+        VehicleServiceClient client = mock(VehicleServiceClient.class);
+        doAnswer(invocation -> {
+            sending.countDown();
+            proceed.await(10, TimeUnit.SECONDS);
+            vehicleStatuses.add(invocation.<VehicleStatusUpdateDto>getArgument(0).getStatus());
+            return null;
+        }).when(client).updateVehicleStatus(any());
+        return client;
+    }
+
+    @Test
+    void testDispatchBatch_SecondDispatcherWaitsForResourceInFlight() throws Exception {
+        // Arrange: dispatcher A gets stuck sending V001's first status
+        CountDownLatch aSending = new CountDownLatch(1);
+        CountDownLatch aProceed = new CountDownLatch(1);
+        StatusOutboxDispatcher a = dispatcher(recordingVehicleClient(aSending, aProceed));
+        StatusOutboxDispatcher b = dispatcher(recordingVehicleClient(new CountDownLatch(1), new CountDownLatch(0)));
+        enqueue("VEHICLE", "V001", StatusOutbox.OCCUPIED);
+        enqueue("WORKER", "W001", StatusOutbox.OCCUPIED);
+        Future<Integer> aDispatch = background.submit(a::dispatchBatch);
+        assertThat(aSending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act: a newer status arrives and B polls while A is still sending
+        enqueue("VEHICLE", "V001", StatusOutbox.AVAILABLE);
+        long started = System.nanoTime();
+        int claimedByBWhileBusy = b.dispatchBatch();
+        long claimMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        aProceed.countDown();
+        int claimedByA = aDispatch.get(5, TimeUnit.SECONDS);
+        int claimedByBAfterwards = b.dispatchBatch();
+
+        // Assert: A held no row locks while sending, and V001's statuses went out in order
+        assertEquals(0, claimedByBWhileBusy);
+        assertThat(claimMillis).isLessThan(1_000);
+        assertEquals(2, claimedByA);
+        assertEquals(1, claimedByBAfterwards);
+        assertEquals(List.of(StatusOutbox.OCCUPIED, StatusOutbox.AVAILABLE), vehicleStatuses);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from status_outbox", Integer.class));
+    }
+
+    @Test
+    void testDispatchBatch_ExpiredLeaseCanBeClaimedAgain() {
+        // Arrange: a dispatcher claimed V001 and died without finishing
+        enqueue("VEHICLE", "V001", StatusOutbox.OCCUPIED);
+        jdbcTemplate.update("update status_outbox set leased_by = 'dispatcher-gone', "
+                + "lease_until = dateadd('SECOND', -1, current_timestamp)");
+        StatusOutboxDispatcher b = dispatcher(recordingVehicleClient(new CountDownLatch(1), new CountDownLatch(0)));
+
+        // Act
+        int claimed = b.dispatchBatch();
+
+        // Assert
+        assertEquals(1, claimed);
+        assertEquals(List.of(StatusOutbox.OCCUPIED), vehicleStatuses);
+    }
+}
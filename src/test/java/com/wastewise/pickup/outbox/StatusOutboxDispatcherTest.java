@@ -0,0 +1,166 @@
+package com.wastewise.pickup.outbox;
+
+import com.wastewise.pickup.client.VehicleServiceClient;
+import com.wastewise.pickup.client.WorkerServiceClient;
+import com.wastewise.pickup.dto.VehicleStatusUpdateDto;
+import com.wastewise.pickup.dto.WorkerStatusUpdateDto;
+import com.wastewise.pickup.model.OutboxEvent;
+import com.wastewise.pickup.model.enums.ResourceType;
+import com.wastewise.pickup.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StatusOutboxDispatcherTest {
+
+    @Mock
+    private OutboxEventRepository repository;
+
+    @Mock
+    private VehicleServiceClient vehicleClient;
+
+    @Mock
+    private WorkerServiceClient workerClient;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private StatusOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        dispatcher = new StatusOutboxDispatcher(repository, vehicleClient, workerClient, transactionTemplate,
+                100, Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void testDispatchBatch_SendsOnlyNewestStatusPerResource() {
+        // Arrange
+        OutboxEvent vehicleOccupied = event(1L, ResourceType.VEHICLE, "V001", StatusOutbox.OCCUPIED);
+        OutboxEvent workerOccupied = event(2L, ResourceType.WORKER, "W001", StatusOutbox.OCCUPIED);
+        OutboxEvent vehicleAvailable = event(3L, ResourceType.VEHICLE, "V001", StatusOutbox.AVAILABLE);
+        when(repository.findDue(any(), any())).thenReturn(List.of(vehicleOccupied, workerOccupied, vehicleAvailable));
+        when(repository.lockResource(ResourceType.VEHICLE, "V001")).thenReturn(List.of(vehicleOccupied, vehicleAvailable));
+        when(repository.lockResource(ResourceType.WORKER, "W001")).thenReturn(List.of(workerOccupied));
+
+        // Act
+        int processed = dispatcher.dispatchBatch();
+
+        // Assert
+        assertEquals(3, processed);
+        verify(repository).lease(eq(ResourceType.VEHICLE), eq("V001"), eq(3L), any(), any());
+        verify(repository).lease(eq(ResourceType.WORKER), eq("W001"), eq(2L), any(), any());
+        verify(vehicleClient, times(1)).updateVehicleStatus(any());
+        verify(vehicleClient).updateVehicleStatus(new VehicleStatusUpdateDto("V001", StatusOutbox.AVAILABLE));
+        verify(workerClient).updateWorkerStatus(new WorkerStatusUpdateDto("W001", StatusOutbox.OCCUPIED));
+        verify(repository).deleteUpTo(ResourceType.VEHICLE, "V001", 3L);
+        verify(repository).deleteUpTo(ResourceType.WORKER, "W001", 2L);
+    }
+
+    @Test
+    void testDispatchBatch_SkipsResourceLeasedToAnotherDispatcher() {
+        // Arrange: the older row is still being sent elsewhere
+        OutboxEvent inFlight = event(1L, ResourceType.VEHICLE, "V001", StatusOutbox.OCCUPIED);
+        inFlight.setLeasedBy("dispatcher-other");
+        inFlight.setLeaseUntil(LocalDateTime.now().plusSeconds(30));
+        OutboxEvent newer = event(2L, ResourceType.VEHICLE, "V001", StatusOutbox.AVAILABLE);
+        when(repository.findDue(any(), any())).thenReturn(List.of(newer));
+        when(repository.lockResource(ResourceType.VEHICLE, "V001")).thenReturn(List.of(inFlight, newer));
+
+        // Act
+        int processed = dispatcher.dispatchBatch();
+
+        // Assert
+        assertEquals(0, processed);
+        verify(repository, never()).lease(any(), any(), anyLong(), any(), any());
+        verifyNoInteractions(vehicleClient);
+    }
+
+    @Test
+    void testDispatchBatch_FailureIsRetriedWithBackoff() {
+        // Arrange
+        OutboxEvent failing = event(7L, ResourceType.WORKER, "W002", StatusOutbox.OCCUPIED);
+        failing.setAttempts(2);
+        when(repository.findDue(any(), any())).thenReturn(List.of(failing));
+        when(repository.lockResource(ResourceType.WORKER, "W002")).thenReturn(List.of(failing));
+        doThrow(new IllegalStateException("worker-service unavailable")).when(workerClient).updateWorkerStatus(any());
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        dispatcher.dispatchBatch();
+
+        // Assert
+        verify(repository).retryLater(eq(7L), any(), eq(3),
+                argThat(nextAttemptAt -> !nextAttemptAt.isBefore(before.plusSeconds(4))));
+        // Only older, superseded rows are removed; the failed one stays for the retry
+        verify(repository).deleteUpTo(ResourceType.WORKER, "W002", 6L);
+    }
+
+    @Test
+    void testDrain_ContinuesWhileFullBatchesAreDue() {
+        // Arrange: batch size 2; the first batch holds one resource twice, so fewer rows are claimed
+        dispatcher = new StatusOutboxDispatcher(repository, vehicleClient, workerClient, transactionTemplate,
+                2, Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(30));
+        OutboxEvent occupied = event(1L, ResourceType.VEHICLE, "V001", StatusOutbox.OCCUPIED);
+        OutboxEvent available = event(2L, ResourceType.VEHICLE, "V001", StatusOutbox.AVAILABLE);
+        OutboxEvent worker = event(3L, ResourceType.WORKER, "W001", StatusOutbox.OCCUPIED);
+        when(repository.findDue(any(), any())).thenReturn(List.of(occupied, available), List.of(worker), List.of());
+        when(repository.lockResource(ResourceType.VEHICLE, "V001")).thenReturn(List.of(occupied));
+        when(repository.lockResource(ResourceType.WORKER, "W001")).thenReturn(List.of(worker));
+
+        // Act
+        dispatcher.drain();
+
+        // Assert
+        verify(repository, times(2)).findDue(any(), any());
+        verify(workerClient).updateWorkerStatus(new WorkerStatusUpdateDto("W001", StatusOutbox.OCCUPIED));
+    }
+
+    @Test
+    void testDrain_StopsWhenDueRowsCannotBeClaimed() {
+        // Arrange: a full batch is due, but its resource is leased elsewhere
+        dispatcher = new StatusOutboxDispatcher(repository, vehicleClient, workerClient, transactionTemplate,
+                1, Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(30));
+        OutboxEvent inFlight = event(1L, ResourceType.VEHICLE, "V001", StatusOutbox.OCCUPIED);
+        inFlight.setLeaseUntil(LocalDateTime.now().plusSeconds(30));
+        OutboxEvent newer = event(2L, ResourceType.VEHICLE, "V001", StatusOutbox.AVAILABLE);
+        when(repository.findDue(any(), any())).thenReturn(List.of(newer));
+        when(repository.lockResource(ResourceType.VEHICLE, "V001")).thenReturn(List.of(inFlight, newer));
+
+        // Act
+        dispatcher.drain();
+
+        // Assert
+        verify(repository, times(1)).findDue(any(), any());
+    }
+
+    @Test
+    void testBackoff_DoublesUpToMaximum() {
+        // Act & Assert
+        assertEquals(Duration.ofSeconds(1), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(8), dispatcher.backoff(4));
+        assertEquals(Duration.ofSeconds(30), dispatcher.backoff(10));
+        assertEquals(Duration.ofSeconds(30), dispatcher.backoff(500));
+    }
+
+    private static OutboxEvent event(long id, ResourceType type, String resourceId, String status) {
+        LocalDateTime now = LocalDateTime.now();
+        return new OutboxEvent(id, type, resourceId, status, now, now, 0, null, null);
+    }
+}
@@ -0,0 +1,137 @@
+package com.wastewise.pickup.recurrence;
+
+import com.wastewise.pickup.exception.InvalidPickUpRequestException;
+import com.wastewise.pickup.model.PickUp;
+import com.wastewise.pickup.model.enums.Frequency;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecurrenceExpanderTest {
+
+    private static PickUp pickUp(String id, LocalDateTime start, int hours, Frequency frequency) {
+        return new PickUp(id, "Z001", start, start.plusHours(hours), frequency,
+                "Location " + id, "V" + id, "WA" + id, "WB" + id, PickUpStatus.SCHEDULED, 0L, 0L);
+    }
+
+    private static List<Occurrence> toList(Iterator<Occurrence> iterator) {
+        List<Occurrence> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    @Test
+    void testMonthly_ClampsToMonthEndWithoutDrifting() {
+        // Arrange
+        PickUp series = pickUp("P001", LocalDateTime.of(2025, 1, 31, 9, 0), 1, Frequency.MONTHLY);
+
+        // Act
+        List<Occurrence> occurrences = toList(RecurrenceExpander.expand(series,
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 6, 1, 0, 0)));
+
+        // Assert
+        assertThat(occurrences).extracting(Occurrence::getStart).containsExactly(
+                LocalDateTime.of(2025, 1, 31, 9, 0),
+                LocalDateTime.of(2025, 2, 28, 9, 0),
+                LocalDateTime.of(2025, 3, 31, 9, 0),
+                LocalDateTime.of(2025, 4, 30, 9, 0),
+                LocalDateTime.of(2025, 5, 31, 9, 0));
+        assertThat(occurrences).extracting(Occurrence::getIndex).containsExactly(0L, 1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void testMonthly_LeapYearFebruary() {
+        // Arrange
+        PickUp series = pickUp("P001", LocalDateTime.of(2023, 1, 29, 9, 0), 1, Frequency.MONTHLY);
+
+        // Act
+        List<Occurrence> occurrences = toList(RecurrenceExpander.expand(series,
+                LocalDateTime.of(2024, 2, 1, 0, 0), LocalDateTime.of(2024, 3, 1, 0, 0)));
+
+        // Assert
+        assertThat(occurrences).extracting(Occurrence::getStart)
+                .containsExactly(LocalDateTime.of(2024, 2, 29, 9, 0));
+        assertThat(occurrences.get(0).getIndex()).isEqualTo(13L);
+    }
+
+    @Test
+    void testWeekly_SeeksToDistantWindow() {
+        // Arrange
+        LocalDateTime anchor = LocalDateTime.of(2025, 1, 6, 8, 0);
+        PickUp series = pickUp("P001", anchor, 2, Frequency.WEEKLY);
+        LocalDateTime from = anchor.plusWeeks(52_000).minusDays(1);
+
+        // Act
+        List<Occurrence> occurrences = toList(RecurrenceExpander.expand(series, from, from.plusDays(14)));
+
+        // Assert
+        assertThat(occurrences).extracting(Occurrence::getIndex).containsExactly(52_000L, 52_001L);
+        assertThat(occurrences.get(0).getStart()).isEqualTo(anchor.plusWeeks(52_000));
+        assertThat(occurrences.get(0).getEnd()).isEqualTo(anchor.plusWeeks(52_000).plusHours(2));
+    }
+
+    @Test
+    void testDaily_IncludesOccurrenceOverlappingWindowStart() {
+        // Arrange
+        PickUp series = pickUp("P001", LocalDateTime.of(2025, 3, 1, 22, 0), 4, Frequency.DAILY);
+
+        // Act
+        List<Occurrence> occurrences = toList(RecurrenceExpander.expand(series,
+                LocalDateTime.of(2025, 3, 10, 0, 0), LocalDateTime.of(2025, 3, 10, 22, 0)));
+
+        // Assert
+        assertThat(occurrences).extracting(Occurrence::getStart)
+                .containsExactly(LocalDateTime.of(2025, 3, 9, 22, 0));
+    }
+
+    @Test
+    void testOneOff_OccursOnlyInItsOwnSlot() {
+        // Arrange
+        PickUp oneOff = pickUp("P001", LocalDateTime.of(2025, 3, 1, 9, 0), 1, null);
+
+        // Act
+        List<Occurrence> inside = toList(RecurrenceExpander.expand(oneOff,
+                LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 3, 2, 0, 0)));
+        List<Occurrence> after = toList(RecurrenceExpander.expand(oneOff,
+                LocalDateTime.of(2025, 3, 2, 0, 0), LocalDateTime.of(2025, 3, 3, 0, 0)));
+
+        // Assert
+        assertThat(inside).hasSize(1);
+        assertThat(after).isEmpty();
+    }
+
+    @Test
+    void testExpandAll_MergesSeriesInTimeOrder() {
+        // Arrange
+        LocalDateTime monday = LocalDateTime.of(2025, 1, 6, 0, 0);
+        List<PickUp> series = List.of(
+                pickUp("P002", monday.plusHours(10), 1, Frequency.DAILY),
+                pickUp("P001", monday.plusHours(10), 1, Frequency.WEEKLY),
+                pickUp("P003", monday.plusDays(2).plusHours(6), 1, Frequency.MONTHLY));
+
+        // Act
+        List<Occurrence> occurrences = toList(RecurrenceExpander.expandAll(series, monday, monday.plusDays(3)));
+
+        // Assert
+        assertThat(occurrences).extracting(o -> o.getSeries().getId() + "@" + o.getStart().getDayOfMonth())
+                .containsExactly("P001@6", "P002@6", "P002@7", "P003@8", "P002@8");
+    }
+
+    @Test
+    void testWindowValidation() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        // Act & Assert
+        assertThrows(InvalidPickUpRequestException.class, () -> OccurrenceWindow.validate(from, from));
+        assertThrows(InvalidPickUpRequestException.class, () -> OccurrenceWindow.validate(from, from.plusDays(367)));
+        OccurrenceWindow.validate(from, from.plusDays(366));
+    }
+}
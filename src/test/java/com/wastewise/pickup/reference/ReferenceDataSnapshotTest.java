@@ -0,0 +1,129 @@
+package com.wastewise.pickup.reference;
+
+import com.wastewise.pickup.client.VehicleServiceClient;
+import com.wastewise.pickup.client.WorkerServiceClient;
+import com.wastewise.pickup.client.ZoneServiceClient;
+import com.wastewise.pickup.dto.VehicleDto;
+import com.wastewise.pickup.dto.WorkerDto;
+import com.wastewise.pickup.dto.ZoneDto;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReferenceDataSnapshotTest {
+
+    @Mock
+    private ZoneServiceClient zoneClient;
+
+    @Mock
+    private VehicleServiceClient vehicleClient;
+
+    @Mock
+    private WorkerServiceClient workerClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReferenceDataSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        snapshot = new ReferenceDataSnapshot(zoneClient, vehicleClient, workerClient, meterRegistry,
+                Duration.ofMinutes(5), Duration.ofMinutes(1), Duration.ofMinutes(1));
+        when(vehicleClient.getAllVehicles(any())).thenReturn(ResponseEntity.ok(List.of(new VehicleDto("V001"))));
+        when(workerClient.getAllWorkers(any())).thenReturn(ResponseEntity.ok(List.of(new WorkerDto("W001", "Asha"))));
+    }
+
+    @Test
+    void testRefresh_IndexesCatalogsById() {
+        // Arrange
+        when(zoneClient.getAllZones(any())).thenReturn(ResponseEntity.ok()
+                .eTag("\"v1\"")
+                .body(List.of(new ZoneDto("Z001", "North"), new ZoneDto("Z002", "South"))));
+
+        // Act
+        snapshot.refreshAll();
+
+        // Assert
+        assertEquals(2, snapshot.zones().size());
+        assertEquals("South", snapshot.zones().get("Z002").getName());
+        assertTrue(snapshot.vehicles().contains("V001"));
+        assertFalse(snapshot.workers().contains("W404"));
+        assertEquals(2.0, meterRegistry.get("pickup.reference.snapshot.size").tag("catalog", "zones").gauge().value());
+    }
+
+    @Test
+    void testRefresh_NotModifiedKeepsEntries() {
+        // Arrange
+        when(zoneClient.getAllZones(any())).thenReturn(ResponseEntity.ok()
+                .eTag("\"v1\"")
+                .body(List.of(new ZoneDto("Z001", "North"))));
+        snapshot.refreshAll();
+        Catalog<ZoneDto> first = snapshot.zones();
+        reset(zoneClient);
+        when(zoneClient.getAllZones("\"v1\"")).thenThrow(notModified());
+
+        // Act
+        snapshot.refreshAll();
+
+        // Assert
+        verify(zoneClient).getAllZones("\"v1\"");
+        assertSame(first.get("Z001"), snapshot.zones().get("Z001"));
+        assertFalse(snapshot.zones().getVerifiedAt().isBefore(first.getVerifiedAt()));
+        assertEquals(1, meterRegistry.get("pickup.reference.refresh")
+                .tags("catalog", "zones", "outcome", "not_modified").timer().count());
+    }
+
+    @Test
+    void testRefresh_FailureKeepsPreviousCopy() {
+        // Arrange
+        when(zoneClient.getAllZones(any()))
+                .thenReturn(ResponseEntity.ok(List.of(new ZoneDto("Z001", "North"))))
+                .thenThrow(new IllegalStateException("connection refused"));
+        snapshot.refreshAll();
+
+        // Act
+        snapshot.refreshAll();
+
+        // Assert
+        assertTrue(snapshot.zones().contains("Z001"));
+        assertEquals(1, meterRegistry.get("pickup.reference.refresh")
+                .tags("catalog", "zones", "outcome", "failed").timer().count());
+    }
+
+    @Test
+    void testZones_NullBeforeFirstLoad() {
+        // Act & Assert
+        assertNull(snapshot.zones());
+        assertTrue(Double.isNaN(meterRegistry.get("pickup.reference.snapshot.age").tag("catalog", "zones").gauge().value()));
+    }
+
+    private static FeignException notModified() {
+        Request request = Request.create(Request.HttpMethod.GET, "/zones", Map.of(), null, StandardCharsets.UTF_8, null);
+        return FeignException.errorStatus("getAllZones", Response.builder()
+                .status(304)
+                .reason("Not Modified")
+                .request(request)
+                .headers(Map.of())
+                .build());
+    }
+}
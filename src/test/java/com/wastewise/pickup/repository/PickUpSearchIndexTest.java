@@ -0,0 +1,163 @@
+package com.wastewise.pickup.repository;
+
+import com.wastewise.pickup.dto.PickUpFilter;
+import com.wastewise.pickup.model.PickUp;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import com.wastewise.pickup.utility.PageCursor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the filtered searches against schema.sql on a seeded H2 database and checks with
+ * EXPLAIN that each one seeks on its composite index instead of scanning the table.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.sql.init.mode=always",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.wastewise.pickup.repository.PickUpSearchIndexTest$LastStatement"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PickUpSearchIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Autowired
+    private PickUpRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Records the SQL of the last statement Hibernate prepared.
+     */
+    public static class LastStatement implements StatementInspector {
+
+        static volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            LastStatement.sql = sql;
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        // ANALYZE commits, so the rows outlive the test transaction and are only inserted once
+        if (jdbcTemplate.queryForObject("select count(*) from pickups where id like 'S%'", Integer.class) > 0) {
+            return;
+        }
+        // 20,000 hourly pickups spread over 50 zones, 400 vehicles and 500 + 700 workers
+        jdbcTemplate.update("insert into pickups (id, zone_id, time_slot_start, time_slot_end, frequency, "
+                + "location_name, vehicle_id, worker1id, worker2id, status) "
+                + "select 'S' || x, 'Z' || mod(x, 50), "
+                + "timestamp '2030-01-01 00:00:00' + x * interval '1' hour, "
+                + "timestamp '2030-01-01 01:00:00' + x * interval '1' hour, "
+                + "'DAILY', 'Location ' || x, 'V' || mod(x, 400), 'WA' || mod(x, 500), 'WB' || mod(x, 700), "
+                + "case when mod(x, 20) = 0 then 'IN_PROGRESS' else 'SCHEDULED' end "
+                + "from system_range(1, 20000)");
+        jdbcTemplate.execute("analyze");
+    }
+
+    private List<PickUp> search(Specification<PickUp> spec) {
+        return repository.findBy(spec, query -> query.sortBy(PickUpSpecifications.KEYSET_ORDER).limit(51).all());
+    }
+
+    private String explainLastStatement() {
+        return jdbcTemplate.queryForObject("explain " + LastStatement.sql, String.class).toUpperCase();
+    }
+
+    @Test
+    void testZoneFilter_UsesZoneIndex() {
+        // Act
+        List<PickUp> rows = search(PickUpSpecifications.matching(PickUpFilter.builder().zoneId("Z7").build()));
+
+        // Assert
+        assertThat(rows).hasSize(51).allMatch(p -> p.getZoneId().equals("Z7"));
+        assertThat(explainLastStatement()).contains("IDX_PICKUPS_ZONE_SLOT");
+    }
+
+    @Test
+    void testStatusFilter_UsesStatusIndex() {
+        // Act
+        List<PickUp> rows = search(PickUpSpecifications.matching(
+                PickUpFilter.builder().status(PickUpStatus.IN_PROGRESS).build()));
+
+        // Assert
+        assertThat(rows).hasSize(51).allMatch(p -> p.getStatus() == PickUpStatus.IN_PROGRESS);
+        assertThat(explainLastStatement()).contains("IDX_PICKUPS_STATUS_SLOT");
+    }
+
+    @Test
+    void testVehicleFilterAfterCursor_UsesVehicleIndex() {
+        // Arrange
+        PageCursor cursor = new PageCursor(BASE.plusHours(10_000), "S10000");
+
+        // Act
+        List<PickUp> rows = search(PickUpSpecifications.matching(PickUpFilter.builder().vehicleId("V3").build())
+                .and(PickUpSpecifications.after(cursor)));
+
+        // Assert
+        assertThat(rows).hasSize(25).allMatch(p -> p.getVehicleId().equals("V3")
+                && p.getTimeSlotStart().isAfter(cursor.getTimeSlotStart()));
+        assertThat(explainLastStatement()).contains("IDX_PICKUPS_VEHICLE_SLOT");
+    }
+
+    @Test
+    void testWorkerFilter_UsesOneIndexPerWorkerColumn() {
+        // Act
+        List<PickUp> asWorker1 = search(PickUpSpecifications.worker("worker1Id", "WA42"));
+        String worker1Plan = explainLastStatement();
+        List<PickUp> asWorker2 = search(PickUpSpecifications.worker("worker2Id", "WB42"));
+        String worker2Plan = explainLastStatement();
+
+        // Assert
+        assertThat(asWorker1).hasSize(40);
+        assertThat(asWorker2).hasSize(29);
+        assertThat(worker1Plan).contains("IDX_PICKUPS_WORKER1_SLOT");
+        assertThat(worker2Plan).contains("IDX_PICKUPS_WORKER2_SLOT");
+    }
+
+    @Test
+    void testTimeWindowWithZone_SeeksZoneIndexOnStart() {
+        // Arrange
+        PickUpFilter filter = PickUpFilter.builder()
+                .zoneId("Z7").from(BASE.plusHours(1_000)).to(BASE.plusHours(2_000)).build();
+
+        // Act
+        List<PickUp> rows = search(PickUpSpecifications.matching(filter));
+
+        // Assert
+        assertThat(rows).hasSize(20).allMatch(p -> p.getTimeSlotEnd().isAfter(filter.getFrom())
+                && p.getTimeSlotStart().isBefore(filter.getTo()));
+        assertThat(explainLastStatement()).contains("IDX_PICKUPS_ZONE_SLOT");
+    }
+
+    @Test
+    void testTimeWindow_UsesSlotStartIndex() {
+        // Act
+        List<PickUp> rows = search(PickUpSpecifications.matching(
+                PickUpFilter.builder().from(BASE.plusHours(5_000)).to(BASE.plusHours(5_010)).build()));
+
+        // Assert
+        assertThat(rows).hasSize(10);
+        assertThat(explainLastStatement()).contains("IDX_PICKUPS_SLOT_START_ID");
+    }
+}
@@ -0,0 +1,86 @@
+package com.wastewise.pickup.repository;
+
+import com.wastewise.pickup.dto.PickUpStatusDto;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the conditional status updates against schema.sql on H2.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transitions;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.sql.init.mode=always"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PickUpStatusUpdates.class)
+class PickUpStatusUpdatesTest {
+
+    @Autowired
+    private PickUpStatusUpdates statusUpdates;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        // Rolled back after each test; the version and change sequence columns take their default of 0
+        jdbcTemplate.update("insert into pickups (id, zone_id, time_slot_start, time_slot_end, frequency, "
+                + "location_name, vehicle_id, worker1id, worker2id, status) "
+                + "select 'T' || x, 'Z1', timestamp '2030-01-01 00:00:00', timestamp '2030-01-01 01:00:00', "
+                + "'DAILY', 'Location', 'V' || x, 'WA' || x, 'WB' || x, 'SCHEDULED' from system_range(1, 3)");
+    }
+
+    private String statusAndVersion(String id) {
+        return jdbcTemplate.queryForObject("select status || '@' || version || '#' || change_sequence from pickups where id = ?",
+                String.class, id);
+    }
+
+    @Test
+    void testTransition_AppliesOnlyAtExpectedStatusAndVersion() {
+        // Act
+        int first = statusUpdates.transition("T1", PickUpStatus.IN_PROGRESS, 0, 11);
+        int replayed = statusUpdates.transition("T1", PickUpStatus.IN_PROGRESS, 0, 12);
+        int skipped = statusUpdates.transition("T2", PickUpStatus.COMPLETED, 0, 13);
+        int missing = statusUpdates.transition("T9", PickUpStatus.IN_PROGRESS, 0, 14);
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(0, replayed);
+        assertEquals(0, skipped);
+        assertEquals(0, missing);
+        assertEquals("IN_PROGRESS@1#11", statusAndVersion("T1"));
+        assertEquals("SCHEDULED@0#0", statusAndVersion("T2"));
+    }
+
+    @Test
+    void testTransitionAll_ReportsCountPerItem() {
+        // Act
+        int[] counts = statusUpdates.transitionAll(List.of(
+                new PickUpStatusDto("T1", PickUpStatus.IN_PROGRESS, 0L),
+                new PickUpStatusDto("T2", PickUpStatus.IN_PROGRESS, 5L),
+                new PickUpStatusDto("T3", PickUpStatus.IN_PROGRESS, 0L),
+                new PickUpStatusDto("T3", PickUpStatus.COMPLETED, 1L)), List.of(20L, 21L, 22L, 24L));
+
+        // Assert
+        assertThat(counts).containsExactly(1, 0, 1, 1);
+        assertEquals("IN_PROGRESS@1#20", statusAndVersion("T1"));
+        assertEquals("SCHEDULED@0#0", statusAndVersion("T2"));
+        assertEquals("COMPLETED@2#24", statusAndVersion("T3"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.wastewise.pickup.repository;
+
+import com.wastewise.pickup.model.PickUp;
+import com.wastewise.pickup.model.enums.Frequency;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the statements Hibernate prepares for the pickup create and delete, on H2 with
+ * schema.sql: each must be a single statement, with no SELECT before it.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:writes;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.sql.init.mode=always",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.wastewise.pickup.repository.PickUpWriteStatementsTest$Statements"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PickUpWriteStatementsTest {
+
+    @Autowired
+    private PickUpRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Records the SQL of every statement Hibernate prepares.
+     */
+    public static class Statements implements StatementInspector {
+
+        static final List<String> sql = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            Statements.sql.add(sql.toLowerCase());
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void clear() {
+        Statements.sql.clear();
+    }
+
+    @Test
+    void testSave_NewPickUpIsOneInsert() {
+        // Arrange
+        PickUp pickUp = PickUp.builder()
+                .id("T1").zoneId("Z1").frequency(Frequency.DAILY).locationName("Location")
+                .timeSlotStart(LocalDateTime.of(2030, 1, 1, 10, 0)).timeSlotEnd(LocalDateTime.of(2030, 1, 1, 11, 0))
+                .vehicleId("V1").worker1Id("WA1").worker2Id("WB1").status(PickUpStatus.SCHEDULED)
+                .build();
+
+        // Act
+        repository.save(pickUp);
+        entityManager.flush();
+
+        // Assert
+        assertThat(Statements.sql).singleElement().satisfies(sql -> assertThat(sql).startsWith("insert into pickups"));
+        assertEquals(0L, pickUp.getVersion());
+    }
+
+    @Test
+    void testDeleteRowById_IsOneDeleteReturningCount() {
+        // Arrange
+        jdbcTemplate.update("insert into pickups (id, zone_id, time_slot_start, time_slot_end, frequency, "
+                + "location_name, vehicle_id, worker1id, worker2id, status) values ('T1', 'Z1', "
+                + "timestamp '2030-01-01 10:00:00', timestamp '2030-01-01 11:00:00', 'DAILY', 'Location', "
+                + "'V1', 'WA1', 'WB1', 'SCHEDULED')");
+
+        // Act
+        int deleted = repository.deleteRowById("T1");
+        int missing = repository.deleteRowById("T1");
+
+        // Assert
+        assertEquals(1, deleted);
+        assertEquals(0, missing);
+        assertThat(Statements.sql).hasSize(2).allSatisfy(sql -> assertThat(sql).startsWith("delete from pickups"));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from pickups where id = 'T1'", Integer.class));
+    }
+}
@@ -1,27 +1,72 @@
 package com.wastewise.pickup.service.impl;
 
+import com.wastewise.pickup.cache.LocalPickUpCache;
+import com.wastewise.pickup.cache.PickUpCache;
+import com.wastewise.pickup.dto.BulkCreatePickUpResponseDto;
+import com.wastewise.pickup.dto.BulkCreateResultDto;
+import com.wastewise.pickup.dto.BulkStatusTransitionResponseDto;
+import com.wastewise.pickup.dto.PickUpChangeDto;
+import com.wastewise.pickup.dto.PickUpChangesDto;
 import com.wastewise.pickup.dto.CreatePickUpDto;
 import com.wastewise.pickup.dto.DeletePickUpResponseDto;
 import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.dto.PickUpEventDto;
+import com.wastewise.pickup.dto.PickUpFilter;
+import com.wastewise.pickup.dto.PickUpPageDto;
+import com.wastewise.pickup.dto.PickUpStatusDto;
+import com.wastewise.pickup.dto.StatusTransitionDto;
+import com.wastewise.pickup.dto.StatusTransitionResultDto;
+import com.wastewise.pickup.exception.ChangeSequenceExpiredException;
 import com.wastewise.pickup.exception.InvalidPickUpRequestException;
+import com.wastewise.pickup.exception.PickUpConflictException;
 import com.wastewise.pickup.exception.PickUpNotFoundException;
+import com.wastewise.pickup.export.ColumnarPickUpReader;
+import com.wastewise.pickup.export.ExportFormat;
+import com.wastewise.pickup.index.Booking;
+import com.wastewise.pickup.index.ResourceBookingGuard;
+import com.wastewise.pickup.index.ResourceBookingIndex;
+import com.wastewise.pickup.live.PickUpEventHub;
+import com.wastewise.pickup.metrics.ValidationFailureMetrics;
 import com.wastewise.pickup.model.PickUp;
 import com.wastewise.pickup.model.enums.Frequency;
 import com.wastewise.pickup.model.enums.PickUpStatus;
+import com.wastewise.pickup.outbox.StatusOutbox;
 import com.wastewise.pickup.repository.PickUpRepository;
+import com.wastewise.pickup.repository.PickUpStatusUpdates;
+import com.wastewise.pickup.sync.PickUpChangeLog;
 import com.wastewise.pickup.utility.IdGenerator;
+import com.wastewise.pickup.utility.PageCursor;
+import com.wastewise.pickup.utility.PickUpMapper;
+import com.wastewise.pickup.validation.ResourceValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -33,12 +78,58 @@ class PickUpServiceImplTest {
     @Mock
     private IdGenerator idGenerator;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private ResourceBookingIndex bookingIndex;
+
+    @Mock
+    private ResourceBookingGuard bookingGuard;
+
+    @Mock
+    private ResourceValidator resourceValidator;
+
+    @Mock
+    private StatusOutbox statusOutbox;
+
+    @Mock
+    private ValidationFailureMetrics validationFailures;
+
+    @Mock
+    private PickUpStatusUpdates statusUpdates;
+
+    @Mock
+    private PickUpChangeLog changeLog;
+
+    @Mock
+    private PickUpEventHub eventHub;
+
+    @Spy
+    private PickUpCache pickUpCache = new LocalPickUpCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
     @InjectMocks
     private PickUpServiceImpl pickUpService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(changeLog.reserve(anyInt())).thenAnswer(inv -> LongStream.rangeClosed(1, inv.<Integer>getArgument(0)).boxed().toList());
+    }
+
+    private CreatePickUpDto validCreatePickUpDto(String vehicleId) {
+        return new CreatePickUpDto("Z001", LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(1).plusHours(1),
+                Frequency.DAILY, "Test Location", vehicleId, "W001", "W002");
     }
 
     @Test
@@ -57,6 +148,7 @@ class PickUpServiceImplTest {
 
         when(idGenerator.generatePickUpId()).thenReturn(expectedId);
         when(pickUpRepository.save(any(PickUp.class))).thenReturn(pickUp);
+        when(changeLog.reserve()).thenReturn(7L);
 
         // Act
         String resultId = pickUpService.createPickUp(createPickUpDto);
@@ -65,6 +157,8 @@ class PickUpServiceImplTest {
         assertEquals(expectedId, resultId);
         verify(idGenerator, times(1)).generatePickUpId();
         verify(pickUpRepository, times(1)).save(any(PickUp.class));
+        verify(statusOutbox, times(1)).enqueue(any(Booking.class), eq(StatusOutbox.OCCUPIED));
+        verify(eventHub, times(1)).publishAfterCommit(List.of(PickUpEventDto.created(7L, expectedId, "Z001")));
     }
 
     @Test
@@ -77,14 +171,51 @@ class PickUpServiceImplTest {
         verify(pickUpRepository, never()).save(any(PickUp.class)); // No interaction expected
     }
 
+    @Test
+    void testCreatePickUp_Conflict() {
+        // Arrange
+        when(idGenerator.generatePickUpId()).thenReturn("P124");
+        doThrow(new PickUpConflictException("Vehicle V001 is already booked"))
+                .when(bookingIndex).reserve(any(Booking.class));
+
+        // Act & Assert
+        assertThrows(PickUpConflictException.class, () -> pickUpService.createPickUp(validCreatePickUpDto("V001")));
+        verify(pickUpRepository, never()).save(any(PickUp.class));
+    }
+
+    @Test
+    void testCreatePickUp_ConflictWithAnotherInstance() {
+        // Arrange: the booking is free in this instance's index, not in the database
+        when(idGenerator.generatePickUpId()).thenReturn("P124");
+        doThrow(new PickUpConflictException("Vehicle V001 is already booked"))
+                .when(bookingGuard).check(anyList());
+
+        // Act & Assert
+        assertThrows(PickUpConflictException.class, () -> pickUpService.createPickUp(validCreatePickUpDto("V001")));
+        verify(bookingIndex, times(1)).reserve(any(Booking.class));
+        verify(pickUpRepository, never()).save(any(PickUp.class));
+    }
+
+    @Test
+    void testCreatePickUp_SameWorkerTwice() {
+        // Arrange
+        CreatePickUpDto dto = validCreatePickUpDto("V001");
+        dto.setWorker2Id(dto.getWorker1Id());
+
+        // Act & Assert
+        assertThrows(InvalidPickUpRequestException.class, () -> pickUpService.createPickUp(dto));
+        verify(bookingIndex, never()).reserve(any(Booking.class));
+    }
+
     @Test
     void testDeletePickUp_Success() {
         // Arrange
         String pickUpId = "P123";
-        PickUp pickUp = new PickUp();
+        PickUpDto pickUp = new PickUpDto();
         pickUp.setId(pickUpId);
 
-        when(pickUpRepository.findById(pickUpId)).thenReturn(Optional.of(pickUp));
+        when(pickUpRepository.findDtoById(pickUpId)).thenReturn(Optional.of(pickUp));
+        when(pickUpRepository.deleteRowById(pickUpId)).thenReturn(1);
 
         // Act
         DeletePickUpResponseDto response = pickUpService.deletePickUp(pickUpId);
@@ -92,18 +223,37 @@ class PickUpServiceImplTest {
         // Assert
         assertEquals(pickUpId, response.getPickUpId());
         assertEquals("DELETED", response.getStatus());
-        verify(pickUpRepository, times(1)).delete(pickUp);
+        verify(pickUpRepository, times(1)).deleteRowById(pickUpId);
+        verify(pickUpRepository, never()).findById(anyString());
+        verify(pickUpRepository, never()).delete(any(PickUp.class));
+        verify(bookingIndex, times(1)).releaseAfterCommit(any(Booking.class));
+        verify(statusOutbox, times(1)).enqueue(any(Booking.class), eq(StatusOutbox.AVAILABLE));
     }
 
     @Test
     void testDeletePickUp_NotFound() {
         // Arrange
         String pickUpId = "P123";
-        when(pickUpRepository.findById(pickUpId)).thenReturn(Optional.empty());
+        when(pickUpRepository.findDtoById(pickUpId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(PickUpNotFoundException.class, () -> pickUpService.deletePickUp(pickUpId));
-        verify(pickUpRepository, never()).delete(any(PickUp.class));
+        verify(pickUpRepository, never()).deleteRowById(anyString());
+    }
+
+    @Test
+    void testDeletePickUp_DeletedConcurrently() {
+        // Arrange: the row is read, but another request deletes it first
+        String pickUpId = "P123";
+        PickUpDto pickUp = new PickUpDto();
+        pickUp.setId(pickUpId);
+        when(pickUpRepository.findDtoById(pickUpId)).thenReturn(Optional.of(pickUp));
+        when(pickUpRepository.deleteRowById(pickUpId)).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(PickUpNotFoundException.class, () -> pickUpService.deletePickUp(pickUpId));
+        verify(changeLog, never()).recordDeletes(any(), any());
+        verify(statusOutbox, never()).enqueue(any(Booking.class), any());
     }
 
     @Test
@@ -111,12 +261,12 @@ class PickUpServiceImplTest {
         // Arrange
         List<PickUp> mockPickUps = List.of(
                 new PickUp("P001", "Z001", LocalDateTime.now(), LocalDateTime.now().plusHours(1),
-                        Frequency.DAILY, "Location 1", "V001", "W001", "W002", PickUpStatus.SCHEDULED),
+                        Frequency.DAILY, "Location 1", "V001", "W001", "W002", PickUpStatus.SCHEDULED, 0L, 0L),
                 new PickUp("P002", "Z002", LocalDateTime.now(), LocalDateTime.now().plusHours(2),
-                        Frequency.WEEKLY, "Location 2", "V002", "W003", "W004", PickUpStatus.COMPLETED)
+                        Frequency.WEEKLY, "Location 2", "V002", "W003", "W004", PickUpStatus.COMPLETED, 0L, 0L)
         );
 
-        when(pickUpRepository.findAll()).thenReturn(mockPickUps);
+        when(pickUpRepository.findAllDtos()).thenReturn(mockPickUps.stream().map(PickUpMapper::toDto).toList());
 
         // Act
         List<PickUpDto> result = pickUpService.listAllPickUps();
@@ -124,7 +274,8 @@ class PickUpServiceImplTest {
         // Assert
         assertEquals(2, result.size());
         assertThat(result).extracting(PickUpDto::getId).containsExactly("P001", "P002");
-        verify(pickUpRepository, times(1)).findAll();
+        verify(pickUpRepository, times(1)).findAllDtos();
+        verify(pickUpRepository, never()).findAll();
     }
 
     @Test
@@ -133,9 +284,9 @@ class PickUpServiceImplTest {
         String pickUpId = "P123";
         PickUp mockPickUp = new PickUp("P123", "Z001", LocalDateTime.now(),
                 LocalDateTime.now().plusHours(2), Frequency.DAILY,
-                "Test Location", "V001", "W001", "W002", PickUpStatus.SCHEDULED);
+                "Test Location", "V001", "W001", "W002", PickUpStatus.SCHEDULED, 0L, 0L);
 
-        when(pickUpRepository.findById(pickUpId)).thenReturn(Optional.of(mockPickUp));
+        when(pickUpRepository.findDtoById(pickUpId)).thenReturn(Optional.of(PickUpMapper.toDto(mockPickUp)));
 
         // Act
         PickUpDto result = pickUpService.getPickUpById(pickUpId);
@@ -144,17 +295,392 @@ class PickUpServiceImplTest {
         assertEquals(pickUpId, result.getId());
         assertEquals("Z001", result.getZoneId());
         assertEquals("Test Location", result.getLocationName());
-        verify(pickUpRepository, times(1)).findById(pickUpId);
+        verify(pickUpRepository, times(1)).findDtoById(pickUpId);
+        verify(pickUpRepository, never()).findById(pickUpId);
+    }
+
+    @Test
+    void testGetPickUpById_ServedFromCache() {
+        // Arrange
+        String pickUpId = "P123";
+        PickUp mockPickUp = new PickUp("P123", "Z001", LocalDateTime.now(),
+                LocalDateTime.now().plusHours(2), Frequency.DAILY,
+                "Test Location", "V001", "W001", "W002", PickUpStatus.SCHEDULED, 0L, 0L);
+        when(pickUpRepository.findDtoById(pickUpId)).thenReturn(Optional.of(PickUpMapper.toDto(mockPickUp)));
+
+        // Act
+        PickUpDto first = pickUpService.getPickUpById(pickUpId);
+        PickUpDto second = pickUpService.getPickUpById(pickUpId);
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        verify(pickUpRepository, times(1)).findDtoById(pickUpId);
+        assertEquals(1, pickUpCache.stats().getHits());
+        assertEquals(1, pickUpCache.stats().getMisses());
+    }
+
+    @Test
+    void testDeletePickUp_InvalidatesCache() {
+        // Arrange
+        String pickUpId = "P123";
+        PickUp mockPickUp = new PickUp("P123", "Z001", LocalDateTime.now(),
+                LocalDateTime.now().plusHours(2), Frequency.DAILY,
+                "Test Location", "V001", "W001", "W002", PickUpStatus.SCHEDULED, 0L, 0L);
+        when(pickUpRepository.findDtoById(pickUpId)).thenReturn(Optional.of(PickUpMapper.toDto(mockPickUp)));
+        when(pickUpRepository.deleteRowById(pickUpId)).thenReturn(1);
+        pickUpService.getPickUpById(pickUpId);
+
+        // Act
+        pickUpService.deletePickUp(pickUpId);
+        when(pickUpRepository.findDtoById(pickUpId)).thenReturn(Optional.empty());
+
+        // Assert
+        assertThrows(PickUpNotFoundException.class, () -> pickUpService.getPickUpById(pickUpId));
     }
 
     @Test
     void testGetPickUpById_NotFound() {
         // Arrange
         String pickUpId = "P123";
-        when(pickUpRepository.findById(pickUpId)).thenReturn(Optional.empty());
+        when(pickUpRepository.findDtoById(pickUpId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(PickUpNotFoundException.class, () -> pickUpService.getPickUpById(pickUpId));
-        verify(pickUpRepository, times(1)).findById(pickUpId);
+        verify(pickUpRepository, times(1)).findDtoById(pickUpId);
+    }
+
+    @Test
+    void testListPickUps_FirstPageHasNextCursor() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 8, 0);
+        List<PickUp> rows = List.of(
+                new PickUp("P001", "Z001", start, start.plusHours(1),
+                        Frequency.DAILY, "Location 1", "V001", "W001", "W002", PickUpStatus.SCHEDULED, 0L, 0L),
+                new PickUp("P002", "Z001", start.plusHours(1), start.plusHours(2),
+                        Frequency.DAILY, "Location 2", "V002", "W003", "W004", PickUpStatus.SCHEDULED, 0L, 0L),
+                new PickUp("P003", "Z001", start.plusHours(2), start.plusHours(3),
+                        Frequency.DAILY, "Location 3", "V003", "W005", "W006", PickUpStatus.SCHEDULED, 0L, 0L)
+        );
+        when(pickUpRepository.findFirstPage(Limit.of(3))).thenReturn(rows.stream().map(PickUpMapper::toDto).toList());
+
+        // Act
+        PickUpPageDto page = pickUpService.listPickUps(null, 2);
+
+        // Assert
+        assertThat(page.getItems()).extracting(PickUpDto::getId).containsExactly("P001", "P002");
+        PageCursor next = PageCursor.decode(page.getNextCursor());
+        assertEquals("P002", next.getId());
+        assertEquals(start.plusHours(1), next.getTimeSlotStart());
+    }
+
+    @Test
+    void testListPickUps_LastPageAfterCursor() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        String cursor = new PageCursor(start, "P002").encode();
+        List<PickUp> rows = List.of(
+                new PickUp("P003", "Z001", start.plusHours(1), start.plusHours(2),
+                        Frequency.DAILY, "Location 3", "V003", "W005", "W006", PickUpStatus.SCHEDULED, 0L, 0L)
+        );
+        when(pickUpRepository.findPageAfter(start, "P002", Limit.of(3))).thenReturn(rows.stream().map(PickUpMapper::toDto).toList());
+
+        // Act
+        PickUpPageDto page = pickUpService.listPickUps(cursor, 2);
+
+        // Assert
+        assertThat(page.getItems()).extracting(PickUpDto::getId).containsExactly("P003");
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testListPickUps_InvalidRequest() {
+        // Act & Assert
+        assertThrows(InvalidPickUpRequestException.class, () -> pickUpService.listPickUps(null, 0));
+        assertThrows(InvalidPickUpRequestException.class, () -> pickUpService.listPickUps("not-a-cursor", 10));
+        verify(pickUpRepository, never()).findFirstPage(any(Limit.class));
+    }
+
+    @Test
+    void testMergeByKeyset_InterleavesWorkerColumnsAndStopsAtLimit() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        PickUp a = new PickUp("P001", "Z001", start, start.plusHours(1), Frequency.DAILY, "L", "V001", "W001", "W002", PickUpStatus.SCHEDULED, 0L, 0L);
+        PickUp b = new PickUp("P002", "Z001", start, start.plusHours(1), Frequency.DAILY, "L", "V002", "W003", "W001", PickUpStatus.SCHEDULED, 0L, 0L);
+        PickUp c = new PickUp("P003", "Z001", start.plusHours(2), start.plusHours(3), Frequency.DAILY, "L", "V003", "W001", "W004", PickUpStatus.SCHEDULED, 0L, 0L);
+        PickUp d = new PickUp("P004", "Z001", start.plusHours(4), start.plusHours(5), Frequency.DAILY, "L", "V004", "W005", "W001", PickUpStatus.SCHEDULED, 0L, 0L);
+
+        // Act
+        List<PickUp> merged = PickUpServiceImpl.mergeByKeyset(List.of(a, c), List.of(b, d), 3);
+
+        // Assert
+        assertThat(merged).extracting(PickUp::getId).containsExactly("P001", "P002", "P003");
+    }
+
+    @Test
+    void testSearchPickUps_InvalidWindow() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        PickUpFilter filter = PickUpFilter.builder().from(from).to(from).build();
+
+        // Act & Assert
+        assertThrows(InvalidPickUpRequestException.class, () -> pickUpService.searchPickUps(filter, null, 10));
+        verifyNoInteractions(pickUpRepository);
+    }
+
+    @Test
+    void testCreatePickUps_ReportsPerItemResults() {
+        // Arrange
+        CreatePickUpDto invalid = validCreatePickUpDto("V002");
+        invalid.setZoneId("");
+        List<CreatePickUpDto> dtos = List.of(validCreatePickUpDto("V001"), invalid, validCreatePickUpDto("V003"));
+        when(idGenerator.generatePickUpIds(2)).thenReturn(List.of("P010", "P011"));
+
+        // Act
+        BulkCreatePickUpResponseDto response = pickUpService.createPickUps(dtos);
+
+        // Assert
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getFailed());
+        assertThat(response.getResults()).extracting(BulkCreateResultDto::getPickUpId)
+                .containsExactly("P010", null, "P011");
+        assertEquals("Zone ID is required", response.getResults().get(1).getError());
+        verify(validationFailures, times(1)).record("zone_id_missing");
+        verify(idGenerator, times(1)).generatePickUpIds(2);
+        verify(entityManager, times(2)).persist(any(PickUp.class));
+        verify(entityManager, times(1)).flush();
+        verify(pickUpRepository, never()).save(any(PickUp.class));
+    }
+
+    @Test
+    void testCreatePickUps_ValidatesResourcesOfWellFormedItemsTogether() {
+        // Arrange
+        CreatePickUpDto invalid = validCreatePickUpDto("V002");
+        invalid.setZoneId("");
+        CreatePickUpDto missingVehicle = validCreatePickUpDto("V404");
+        CreatePickUpDto first = validCreatePickUpDto("V001");
+        when(resourceValidator.validateAll(List.of(first, missingVehicle))).thenReturn(Map.of(1,
+                new InvalidPickUpRequestException("Vehicle V404 not found", "vehicle_not_found")));
+        when(idGenerator.generatePickUpIds(1)).thenReturn(List.of("P010"));
+
+        // Act
+        BulkCreatePickUpResponseDto response = pickUpService.createPickUps(List.of(first, invalid, missingVehicle));
+
+        // Assert
+        assertEquals(1, response.getCreated());
+        assertThat(response.getResults()).extracting(BulkCreateResultDto::getError)
+                .containsExactly(null, "Zone ID is required", "Vehicle V404 not found");
+        verify(validationFailures, times(1)).record("vehicle_not_found");
+        verify(resourceValidator, times(1)).validateAll(any());
+        verify(resourceValidator, never()).validate(any());
+    }
+
+    @Test
+    void testCreatePickUps_ChunkFailureMarksItemsFailed() {
+        // Arrange
+        when(idGenerator.generatePickUpIds(1)).thenReturn(List.of("P010"));
+        doThrow(new IllegalStateException("boom")).when(entityManager).flush();
+
+        // Act
+        BulkCreatePickUpResponseDto response = pickUpService.createPickUps(List.of(validCreatePickUpDto("V001")));
+
+        // Assert
+        assertEquals(0, response.getCreated());
+        assertEquals(1, response.getFailed());
+        assertEquals("Could not save pickup", response.getResults().get(0).getError());
+    }
+
+    private static PickUpDto pickUpDto(String id, PickUpStatus status, long version) {
+        PickUpDto dto = new PickUpDto();
+        dto.setId(id);
+        dto.setStatus(status);
+        dto.setVersion(version);
+        return dto;
+    }
+
+    @Test
+    void testTransitionStatus_Success() {
+        // Arrange
+        when(statusUpdates.transition("P001", PickUpStatus.IN_PROGRESS, 3L, 0L)).thenReturn(1);
+
+        // Act
+        PickUpStatusDto result = pickUpService.transitionStatus("P001", new StatusTransitionDto(PickUpStatus.IN_PROGRESS, 3L));
+
+        // Assert
+        assertEquals(PickUpStatus.IN_PROGRESS, result.getStatus());
+        assertEquals(4L, result.getVersion());
+        verify(pickUpCache, times(1)).invalidateAfterCommit("P001");
+        verify(pickUpRepository, never()).findDtoById(any());
+        verify(statusOutbox, never()).enqueueAll(any(), any());
+        verify(eventHub, times(1)).publishAfterCommit(
+                List.of(PickUpEventDto.statusChanged(0L, "P001", null, PickUpStatus.IN_PROGRESS, 4L)));
+    }
+
+    @Test
+    void testTransitionStatus_StaleVersionConflicts() {
+        // Arrange
+        when(statusUpdates.transition("P001", PickUpStatus.IN_PROGRESS, 3L, 0L)).thenReturn(0);
+        when(pickUpRepository.findDtoById("P001")).thenReturn(Optional.of(pickUpDto("P001", PickUpStatus.SCHEDULED, 4L)));
+
+        // Act & Assert
+        PickUpConflictException ex = assertThrows(PickUpConflictException.class,
+                () -> pickUpService.transitionStatus("P001", new StatusTransitionDto(PickUpStatus.IN_PROGRESS, 3L)));
+        assertEquals("PickUp P001 is SCHEDULED at version 4; moving it to IN_PROGRESS requires SCHEDULED at version 3",
+                ex.getMessage());
+    }
+
+    @Test
+    void testTransitionStatus_NotFound() {
+        // Arrange
+        when(statusUpdates.transition("P404", PickUpStatus.COMPLETED, 0L, 0L)).thenReturn(0);
+        when(pickUpRepository.findDtoById("P404")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(PickUpNotFoundException.class,
+                () -> pickUpService.transitionStatus("P404", new StatusTransitionDto(PickUpStatus.COMPLETED, 0L)));
+    }
+
+    @Test
+    void testTransitionStatus_BackToScheduledIsInvalid() {
+        // Act & Assert
+        InvalidPickUpRequestException ex = assertThrows(InvalidPickUpRequestException.class,
+                () -> pickUpService.transitionStatus("P001", new StatusTransitionDto(PickUpStatus.SCHEDULED, 1L)));
+        assertEquals("status_transition", ex.getReason());
+        verifyNoInteractions(statusUpdates);
+    }
+
+    @Test
+    void testTransitionStatus_CompletedReleasesResources() {
+        // Arrange
+        Booking booking = new Booking("P001", "V001", "W001", "W002",
+                LocalDateTime.of(2030, 1, 1, 9, 0), LocalDateTime.of(2030, 1, 1, 10, 0));
+        when(statusUpdates.transition("P001", PickUpStatus.COMPLETED, 1L, 0L)).thenReturn(1);
+        when(pickUpRepository.findBookingsByIdIn(List.of("P001"))).thenReturn(List.of(booking));
+
+        // Act
+        pickUpService.transitionStatus("P001", new StatusTransitionDto(PickUpStatus.COMPLETED, 1L));
+
+        // Assert
+        verify(bookingIndex, times(1)).releaseAfterCommit(booking);
+        verify(statusOutbox, times(1)).enqueueAll(List.of(booking), StatusOutbox.AVAILABLE);
+    }
+
+    @Test
+    void testTransitionStatuses_ReportsPerItemResults() {
+        // Arrange
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        List<PickUpStatusDto> transitions = List.of(
+                new PickUpStatusDto("P001", PickUpStatus.IN_PROGRESS, 0L),
+                new PickUpStatusDto("P002", PickUpStatus.SCHEDULED, 0L),
+                new PickUpStatusDto("P003", PickUpStatus.IN_PROGRESS, 0L),
+                new PickUpStatusDto("P004", PickUpStatus.COMPLETED, 2L));
+        when(changeLog.reserve(3)).thenReturn(List.of(20L, 21L, 23L));
+        when(statusUpdates.transitionAll(any(), any())).thenReturn(new int[]{1, 0, 0});
+        when(pickUpRepository.findDtosByIdIn(List.of("P003", "P004")))
+                .thenReturn(List.of(pickUpDto("P003", PickUpStatus.IN_PROGRESS, 1L)));
+
+        // Act
+        BulkStatusTransitionResponseDto response = pickUpService.transitionStatuses(transitions);
+
+        // Assert
+        assertEquals(1, response.getApplied());
+        assertEquals(3, response.getFailed());
+        assertThat(response.getResults()).extracting(StatusTransitionResultDto::getVersion)
+                .containsExactly(1L, null, null, null);
+        assertEquals("A pickup cannot be moved to SCHEDULED", response.getResults().get(1).getError());
+        assertThat(response.getResults().get(2).getError()).startsWith("PickUp P003 is IN_PROGRESS at version 1");
+        assertEquals("PickUp not found with ID: P004", response.getResults().get(3).getError());
+        verify(statusUpdates, times(1)).transitionAll(List.of(transitions.get(0), transitions.get(2), transitions.get(3)),
+                List.of(20L, 21L, 23L));
+        verify(validationFailures, times(1)).record("status_transition");
+        verify(validationFailures, times(1)).record("resource_conflict");
+        verify(pickUpCache, times(1)).invalidateAfterCommit("P001");
+    }
+
+    @Test
+    void testExportPickUps_StreamsEveryRowAndClosesCursor() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        PickUpDto first = PickUpDto.builder().id("P001").zoneId("Z001").timeSlotStart(start)
+                .timeSlotEnd(start.plusHours(1)).frequency(Frequency.DAILY).status(PickUpStatus.SCHEDULED).version(0L).build();
+        PickUpDto second = PickUpDto.builder().id("P002").zoneId("Z002").timeSlotStart(start.plusDays(1))
+                .timeSlotEnd(start.plusDays(1).plusHours(1)).frequency(Frequency.WEEKLY).status(PickUpStatus.COMPLETED).version(3L).build();
+        when(pickUpRepository.streamAll()).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long exported = pickUpService.exportPickUps(ExportFormat.COLUMNAR, out);
+
+        // Assert
+        assertEquals(2, exported);
+        assertThat(closed).isTrue();
+        try (ColumnarPickUpReader reader = new ColumnarPickUpReader(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(first, reader.next());
+            assertEquals(second, reader.next());
+            assertThat(reader.hasNext()).isFalse();
+        }
+    }
+
+    @Test
+    void testListChanges_MergesUpdatesAndTombstonesInSequenceOrder() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        PickUp created = new PickUp("P001", "Z001", start, start.plusHours(1), Frequency.DAILY, "Loc",
+                "V001", "W001", "W002", PickUpStatus.SCHEDULED, 0L, 4L);
+        PickUp updated = new PickUp("P002", "Z001", start, start.plusHours(1), Frequency.DAILY, "Loc",
+                "V002", "W003", "W004", PickUpStatus.IN_PROGRESS, 1L, 6L);
+        when(changeLog.currentSequence()).thenReturn(7L);
+        when(pickUpRepository.findChangedAfter(eq(3L), eq(7L), any(Limit.class))).thenReturn(List.of(created, updated));
+        when(changeLog.findDeletedAfter(eq(3L), eq(7L), anyInt())).thenReturn(List.of(PickUpChangeDto.deleted(5L, "P009")));
+
+        // Act
+        PickUpChangesDto all = pickUpService.listChanges(3L, 3);
+        PickUpChangesDto firstTwo = pickUpService.listChanges(3L, 2);
+
+        // Assert
+        assertThat(all.getChanges()).extracting(PickUpChangeDto::getPickUpId).containsExactly("P001", "P009", "P002");
+        assertThat(all.getChanges()).extracting(PickUpChangeDto::isDeleted).containsExactly(false, true, false);
+        assertEquals(7L, all.getSequence());
+        assertThat(all.isHasMore()).isFalse();
+        assertThat(firstTwo.getChanges()).hasSize(2);
+        assertEquals(5L, firstTwo.getSequence());
+        assertThat(firstTwo.isHasMore()).isTrue();
+    }
+
+    @Test
+    void testListChanges_RejectsNegativeSequence() {
+        // Act & Assert
+        assertThrows(InvalidPickUpRequestException.class, () -> pickUpService.listChanges(-1L, 10));
+        verify(pickUpRepository, never()).findChangedAfter(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void testListChanges_RejectsSequenceBelowPurgedTombstones() {
+        // Arrange
+        when(changeLog.currentSequence()).thenReturn(70L);
+        when(changeLog.purgedThrough()).thenReturn(40L);
+
+        // Act
+        PickUpChangesDto fromStart = pickUpService.listChanges(0L, 10);
+        PickUpChangesDto fromHorizon = pickUpService.listChanges(40L, 10);
+
+        // Assert
+        assertThrows(ChangeSequenceExpiredException.class, () -> pickUpService.listChanges(39L, 10));
+        assertEquals(70L, fromStart.getSequence());
+        assertEquals(70L, fromHorizon.getSequence());
+    }
+
+    @Test
+    void testListChanges_SequenceAheadOfWatermarkReturnsNothingNew() {
+        // Arrange: the client last called an instance whose watermark was further along
+        when(changeLog.currentSequence()).thenReturn(7L);
+
+        // Act
+        PickUpChangesDto changes = pickUpService.listChanges(9L, 10);
+
+        // Assert
+        assertThat(changes.getChanges()).isEmpty();
+        assertEquals(9L, changes.getSequence());
+        assertThat(changes.isHasMore()).isFalse();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,212 @@
+package com.wastewise.pickup.service.impl;
+
+import com.wastewise.pickup.cache.PickUpCache;
+import com.wastewise.pickup.dto.CreatePickUpDto;
+import com.wastewise.pickup.dto.PickUpDto;
+import com.wastewise.pickup.dto.PickUpEventDto;
+import com.wastewise.pickup.exception.PickUpConflictException;
+import com.wastewise.pickup.exception.PickUpNotFoundException;
+import com.wastewise.pickup.index.Booking;
+import com.wastewise.pickup.index.ReactiveResourceBookingGuard;
+import com.wastewise.pickup.index.ResourceBookingIndex;
+import com.wastewise.pickup.live.PickUpEventHub;
+import com.wastewise.pickup.model.PickUp;
+import com.wastewise.pickup.model.enums.Frequency;
+import com.wastewise.pickup.model.enums.PickUpStatus;
+import com.wastewise.pickup.outbox.ReactiveStatusOutbox;
+import com.wastewise.pickup.outbox.StatusOutbox;
+import com.wastewise.pickup.repository.ReactivePickUpRepository;
+import com.wastewise.pickup.service.PickUpService;
+import com.wastewise.pickup.sync.ReactivePickUpChangeLog;
+import com.wastewise.pickup.utility.IdGenerator;
+import com.wastewise.pickup.validation.ResourceValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class ReactivePickUpServiceImplTest {
+
+    @Mock
+    private ReactivePickUpRepository repository;
+
+    @Mock
+    private IdGenerator idGenerator;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private ResourceBookingIndex bookingIndex;
+
+    @Mock
+    private ReactiveResourceBookingGuard bookingGuard;
+
+    @Mock
+    private PickUpCache pickUpCache;
+
+    @Mock
+    private ResourceValidator resourceValidator;
+
+    @Mock
+    private ReactiveStatusOutbox statusOutbox;
+
+    @Mock
+    private PickUpService pickUpService;
+
+    @Mock
+    private ReactivePickUpChangeLog changeLog;
+
+    @Mock
+    private PickUpEventHub eventHub;
+
+    @InjectMocks
+    private ReactivePickUpServiceImpl reactivePickUpService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(statusOutbox.enqueue(any(Booking.class), anyString())).thenReturn(Mono.empty());
+        when(changeLog.reserve()).thenReturn(Mono.just(1L));
+        when(bookingGuard.check(any(Booking.class))).thenReturn(Mono.empty());
+        when(changeLog.recordDelete(anyString(), anyLong())).thenReturn(Mono.empty());
+    }
+
+    private CreatePickUpDto validCreatePickUpDto() {
+        return new CreatePickUpDto("Z001", LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(1).plusHours(1),
+                Frequency.DAILY, "Test Location", "V001", "W001", "W002");
+    }
+
+    @Test
+    void testCreatePickUp_Success() {
+        // Arrange
+        when(idGenerator.generatePickUpId()).thenReturn("P123");
+        when(repository.insert(any(PickUp.class))).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(reactivePickUpService.createPickUp(validCreatePickUpDto()))
+                .expectNext("P123")
+                .verifyComplete();
+        verify(bookingIndex, times(1)).reserve(any(Booking.class));
+        verify(statusOutbox, times(1)).enqueue(any(Booking.class), eq(StatusOutbox.OCCUPIED));
+        verify(bookingIndex, never()).release(any(Booking.class));
+        verify(pickUpCache, times(1)).invalidate("P123");
+    }
+
+    @Test
+    void testCreatePickUp_InsertFailsReleasesBooking() {
+        // Arrange
+        when(idGenerator.generatePickUpId()).thenReturn("P123");
+        when(repository.insert(any(PickUp.class)))
+                .thenReturn(Mono.error(new DataIntegrityViolationException("duplicate key")));
+
+        // Act & Assert
+        StepVerifier.create(reactivePickUpService.createPickUp(validCreatePickUpDto()))
+                .expectError(DataIntegrityViolationException.class)
+                .verify();
+        verify(bookingIndex, times(1)).release(any(Booking.class));
+        verify(pickUpCache, never()).invalidate(anyString());
+    }
+
+    @Test
+    void testCreatePickUp_Conflict() {
+        // Arrange
+        when(idGenerator.generatePickUpId()).thenReturn("P123");
+        doThrow(new PickUpConflictException("Vehicle V001 is already booked"))
+                .when(bookingIndex).reserve(any(Booking.class));
+
+        // Act & Assert
+        StepVerifier.create(reactivePickUpService.createPickUp(validCreatePickUpDto()))
+                .expectError(PickUpConflictException.class)
+                .verify();
+        verify(repository, never()).insert(any(PickUp.class));
+    }
+
+    @Test
+    void testCreatePickUp_ConflictWithAnotherInstanceReleasesBooking() {
+        // Arrange: the booking is free in this instance's index, not in the database
+        when(idGenerator.generatePickUpId()).thenReturn("P123");
+        when(bookingGuard.check(any(Booking.class)))
+                .thenReturn(Mono.error(new PickUpConflictException("Vehicle V001 is already booked")));
+
+        // Act & Assert
+        StepVerifier.create(reactivePickUpService.createPickUp(validCreatePickUpDto()))
+                .expectError(PickUpConflictException.class)
+                .verify();
+        verify(repository, never()).insert(any(PickUp.class));
+        verify(bookingIndex, times(1)).release(any(Booking.class));
+    }
+
+    private static PickUpDto pickUpDto() {
+        return new PickUpDto("P123", "Z001", LocalDateTime.now(), LocalDateTime.now().plusHours(1),
+                Frequency.DAILY, "Test Location", "V001", "W001", "W002", PickUpStatus.SCHEDULED, 0L);
+    }
+
+    @Test
+    void testDeletePickUp_Success() {
+        // Arrange
+        when(repository.findDtoById("P123")).thenReturn(Mono.just(pickUpDto()));
+        when(repository.deleteById("P123")).thenReturn(Mono.just(1L));
+
+        // Act & Assert
+        StepVerifier.create(reactivePickUpService.deletePickUp("P123"))
+                .expectNextMatches(response -> "P123".equals(response.getPickUpId())
+                        && "DELETED".equals(response.getStatus()))
+                .verifyComplete();
+        verify(statusOutbox, times(1)).enqueue(any(Booking.class), eq(StatusOutbox.AVAILABLE));
+        verify(bookingIndex, times(1)).release(any(Booking.class));
+        verify(changeLog, times(1)).recordDelete("P123", 1L);
+        verify(eventHub, times(1)).publish(List.of(PickUpEventDto.deleted(1L, "P123", "Z001")));
+    }
+
+    @Test
+    void testDeletePickUp_ConcurrentDeleteWinsIsNotFound() {
+        // Arrange
+        when(repository.findDtoById("P123")).thenReturn(Mono.just(pickUpDto()));
+        when(repository.deleteById("P123")).thenReturn(Mono.just(0L));
+
+        // Act & Assert
+        StepVerifier.create(reactivePickUpService.deletePickUp("P123"))
+                .expectError(PickUpNotFoundException.class)
+                .verify();
+        verify(statusOutbox, never()).enqueue(any(Booking.class), anyString());
+        verify(changeLog, never()).recordDelete(anyString(), anyLong());
+        verify(bookingIndex, never()).release(any(Booking.class));
+        verify(eventHub, never()).publish(any());
+    }
+
+    @Test
+    void testDeletePickUp_NotFound() {
+        // Arrange
+        when(repository.findDtoById("P123")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(reactivePickUpService.deletePickUp("P123"))
+                .expectError(PickUpNotFoundException.class)
+                .verify();
+        verify(repository, never()).deleteById(anyString());
+        verify(bookingIndex, never()).release(any(Booking.class));
+    }
+
+    @Test
+    void testGetPickUpById_NotFound() {
+        // Arrange
+        when(repository.findById("P999")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(reactivePickUpService.getPickUpById("P999"))
+                .expectError(PickUpNotFoundException.class)
+                .verify();
+    }
+}
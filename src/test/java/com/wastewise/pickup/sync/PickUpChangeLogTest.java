@@ -0,0 +1,182 @@
+package com.wastewise.pickup.sync;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Numbers changes in committed transactions on H2 with schema.sql, with one writer held open
+ * on a second thread while others commit.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:changelog;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.sql.init.mode=always"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PickUpChangeLogTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private PickUpChangeLog changeLog;
+    private final ExecutorService background = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Maintenance and purges are run by the tests themselves
+        changeLog = new PickUpChangeLog(jdbcTemplate, transactionTemplate, Duration.ofSeconds(10), Duration.ofHours(1),
+                Duration.ofDays(30), Duration.ofHours(1));
+        changeLog.afterSingletonsInstantiated();
+    }
+
+    @AfterEach
+    void tearDown() {
+        background.shutdownNow();
+        changeLog.destroy();
+    }
+
+    @Test
+    void testReserve_DoesNotWaitForOpenTransaction() throws Exception {
+        // Arrange: a writer has taken its number and not committed yet
+        long before = changeLog.currentSequence();
+        CountDownLatch reserved = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Future<Long> open = background.submit(() -> transactionTemplate.execute(status -> {
+            long sequence = changeLog.reserve();
+            reserved.countDown();
+            await(commit);
+            return sequence;
+        }));
+        assertThat(reserved.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act: two more writers reserve and commit meanwhile
+        long started = System.nanoTime();
+        long second = transactionTemplate.execute(status -> changeLog.reserve());
+        List<Long> third = transactionTemplate.execute(status -> changeLog.reserve(2));
+        long reserveMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        long whileOpen = changeLog.currentSequence();
+        commit.countDown();
+        long first = open.get(5, TimeUnit.SECONDS);
+        long afterCommit = changeLog.currentSequence();
+
+        // Assert: no writer queued, and readers were not served past the open one
+        assertThat(reserveMillis).isLessThan(1_000);
+        assertThat(second).isGreaterThan(first);
+        assertThat(third).hasSize(2).allSatisfy(sequence -> assertThat(sequence).isGreaterThan(second));
+        assertEquals(before, whileOpen);
+        assertEquals(third.get(1), afterCommit);
+    }
+
+    @Test
+    void testMaintain_SettlesNumbersOfRolledBackTransactions() {
+        // Arrange
+        transactionTemplate.executeWithoutResult(status -> {
+            changeLog.reserve(3);
+            status.setRollbackOnly();
+        });
+        long committed = transactionTemplate.execute(status -> changeLog.reserve());
+        long beforeMaintenance = changeLog.currentSequence();
+
+        // Act
+        changeLog.maintain();
+
+        // Assert
+        assertThat(beforeMaintenance).isLessThan(committed);
+        assertEquals(committed, changeLog.currentSequence());
+    }
+
+    @Test
+    void testMaintain_PrunesRowsOnlyOnceSettledAndOld() {
+        // Arrange
+        long first = transactionTemplate.execute(status -> changeLog.reserve());
+        jdbcTemplate.update("update pickup_change_log set created_at = ?", LocalDateTime.now().minusMinutes(1));
+        long last = transactionTemplate.execute(status -> changeLog.reserve());
+
+        // Act
+        changeLog.maintain();
+
+        // Assert: the newest row stays as the watermark's starting point
+        assertEquals(List.of(last), jdbcTemplate.queryForList(
+                "select change_sequence from pickup_change_log where change_sequence >= ?", Long.class, first));
+        assertEquals(last, changeLog.currentSequence());
+    }
+
+    @Test
+    void testAdvance_SkipsGapOnlyOnceCommitLagHasPassed() {
+        // Arrange
+        long from = changeLog.watermark();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Act
+        long recentGap = changeLog.advance(from, List.of(
+                new PickUpChangeLog.LogEntry(from + 1, now),
+                new PickUpChangeLog.LogEntry(from + 3, now)));
+        long oldGap = changeLog.advance(from, List.of(
+                new PickUpChangeLog.LogEntry(from + 1, now.minusMinutes(1)),
+                new PickUpChangeLog.LogEntry(from + 3, now.minusMinutes(1)),
+                new PickUpChangeLog.LogEntry(from + 5, now)));
+
+        // Assert
+        assertEquals(from + 1, recentGap);
+        assertEquals(from + 3, oldGap);
+    }
+
+    @Test
+    void testPurgeTombstones_RaisesHorizonAndKeepsRecentTombstones() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("delete from pickup_tombstones");
+        jdbcTemplate.update("insert into pickup_tombstones (id, change_sequence, deleted_at) values "
+                + "('OLD1', 101, ?), ('OLD2', 102, ?), ('NEW1', 103, ?)",
+                now.minusDays(40), now.minusDays(31), now.minusDays(1));
+
+        // Act
+        int purged = changeLog.purgeTombstones();
+        int purgedAgain = changeLog.purgeTombstones();
+
+        // Assert
+        assertEquals(2, purged);
+        assertEquals(0, purgedAgain);
+        assertEquals(102L, changeLog.purgedThrough());
+        assertEquals(List.of("NEW1"), jdbcTemplate.queryForList("select id from pickup_tombstones", String.class));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
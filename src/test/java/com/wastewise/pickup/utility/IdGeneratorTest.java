@@ -0,0 +1,178 @@
+package com.wastewise.pickup.utility;
+
+import com.wastewise.pickup.repository.IdSequenceRepository;
+import com.wastewise.pickup.repository.PickUpRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdGeneratorTest {
+
+    @Mock
+    private IdSequenceRepository sequenceRepository;
+
+    @Mock
+    private PickUpRepository pickUpRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    /** Simulated id_sequences row. */
+    private final AtomicLong sequence = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(sequenceRepository.advance(eq(IdGenerator.SEQUENCE_NAME), anyLong()))
+                .thenAnswer(inv -> {
+                    sequence.addAndGet(inv.getArgument(1));
+                    return 1;
+                });
+        when(sequenceRepository.findNextValue(IdGenerator.SEQUENCE_NAME)).thenAnswer(inv -> sequence.get());
+    }
+
+    @Test
+    void testGeneratePickUpId_KeepsPrefixedFormat() {
+        // Arrange
+        sequence.set(998);
+        IdGenerator generator = new IdGenerator(sequenceRepository, pickUpRepository, transactionManager, 3);
+
+        // Act & Assert
+        assertEquals("P998", generator.generatePickUpId());
+        assertEquals("P999", generator.generatePickUpId());
+        assertEquals("P1000", generator.generatePickUpId());
+        assertEquals("P1001", generator.generatePickUpId());
+    }
+
+    @Test
+    void testGeneratePickUpId_ReservesOneBlockPerBlockSize() {
+        // Arrange
+        sequence.set(1);
+        IdGenerator generator = new IdGenerator(sequenceRepository, pickUpRepository, transactionManager, 10);
+
+        // Act
+        for (int i = 0; i < 25; i++) {
+            generator.generatePickUpId();
+        }
+
+        // Assert
+        verify(sequenceRepository, times(3)).advance(IdGenerator.SEQUENCE_NAME, 10);
+        verify(pickUpRepository, never()).findMaxNumericId();
+    }
+
+    @Test
+    void testGeneratePickUpIds_ReservesWholeBatchAtOnce() {
+        // Arrange
+        sequence.set(10);
+        IdGenerator generator = new IdGenerator(sequenceRepository, pickUpRepository, transactionManager, 5);
+
+        // Act
+        List<String> ids = generator.generatePickUpIds(120);
+
+        // Assert
+        assertEquals(120, ids.size());
+        assertEquals("P010", ids.get(0));
+        assertEquals("P129", ids.get(119));
+        verify(sequenceRepository, times(1)).advance(IdGenerator.SEQUENCE_NAME, 120);
+        assertEquals("P130", generator.generatePickUpId());
+    }
+
+    @Test
+    void testGeneratePickUpId_SeedsSequenceAfterExistingIds() {
+        // Arrange: no row until it is inserted
+        AtomicBoolean seeded = new AtomicBoolean();
+        when(sequenceRepository.advance(eq(IdGenerator.SEQUENCE_NAME), anyLong())).thenAnswer(inv -> {
+            if (!seeded.get()) {
+                return 0;
+            }
+            sequence.addAndGet(inv.getArgument(1));
+            return 1;
+        });
+        when(sequenceRepository.insert(eq(IdGenerator.SEQUENCE_NAME), anyLong())).thenAnswer(inv -> {
+            sequence.set(inv.getArgument(1));
+            seeded.set(true);
+            return 1;
+        });
+        when(pickUpRepository.findMaxNumericId()).thenReturn(1200L);
+        IdGenerator generator = new IdGenerator(sequenceRepository, pickUpRepository, transactionManager, 5);
+
+        // Act & Assert
+        assertEquals("P1201", generator.generatePickUpId());
+        verify(sequenceRepository).insert(IdGenerator.SEQUENCE_NAME, 1201);
+        assertEquals(1206, sequence.get());
+        verify(sequenceRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testGeneratePickUpId_RetriesAgainstRowSeededConcurrently() {
+        // Arrange: the row is missing at the first update, then another instance inserts it at 1201
+        when(sequenceRepository.advance(eq(IdGenerator.SEQUENCE_NAME), anyLong()))
+                .thenReturn(0)
+                .thenAnswer(inv -> {
+                    sequence.addAndGet(inv.getArgument(1));
+                    return 1;
+                });
+        when(sequenceRepository.insert(eq(IdGenerator.SEQUENCE_NAME), anyLong())).thenAnswer(inv -> {
+            sequence.set(1201);
+            throw new DuplicateKeyException("id_sequences.PRIMARY");
+        });
+        when(pickUpRepository.findMaxNumericId()).thenReturn(1200L);
+        IdGenerator generator = new IdGenerator(sequenceRepository, pickUpRepository, transactionManager, 5);
+
+        // Act
+        String id = generator.generatePickUpId();
+
+        // Assert: the block is taken after the other instance's, not on top of it
+        assertEquals("P1201", id);
+        assertEquals(1206, sequence.get());
+        verify(sequenceRepository, times(1)).insert(eq(IdGenerator.SEQUENCE_NAME), anyLong());
+    }
+
+    @Test
+    void testGeneratePickUpId_UniqueUnderContention() throws Exception {
+        // Arrange
+        sequence.set(1);
+        IdGenerator generator = new IdGenerator(sequenceRepository, pickUpRepository, transactionManager, 7);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 2_000;
+
+        // Act
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(generator.generatePickUpId());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        // Assert
+        assertThat(ids).hasSize(threads * perThread);
+    }
+}
@@ -0,0 +1,187 @@
+package com.wastewise.pickup.validation;
+
+import com.sun.net.httpserver.HttpServer;
+import com.wastewise.pickup.dto.CreatePickUpDto;
+import com.wastewise.pickup.exception.DownstreamServiceException;
+import com.wastewise.pickup.exception.InvalidPickUpRequestException;
+import com.wastewise.pickup.model.enums.Frequency;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RemoteResourceValidatorTest {
+
+    private HttpServer server;
+    private String baseUrl;
+
+    /** Delay per path prefix, e.g. "/vehicles/"; status per prefix or per full path. */
+    private final Map<String, Long> delaysMillis = new ConcurrentHashMap<>();
+    private final Map<String, Integer> statuses = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            String path = exchange.getRequestURI().getPath();
+            String prefix = path.substring(0, path.indexOf('/', 1) + 1);
+            try {
+                Thread.sleep(delaysMillis.getOrDefault(prefix, 0L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{}".getBytes();
+            try {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(statuses.getOrDefault(path, statuses.getOrDefault(prefix, 200)), body.length);
+                exchange.getResponseBody().write(body);
+            } catch (IOException ignored) {
+                // The client gave up on this lookup
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testValidate_LookupsRunInParallel() {
+        // Arrange
+        delaysMillis.put("/zones/", 300L);
+        delaysMillis.put("/vehicles/", 300L);
+        delaysMillis.put("/workers/", 300L);
+        RemoteResourceValidator validator = validator(Duration.ofSeconds(5));
+
+        // Act
+        long started = System.nanoTime();
+        validator.validate(dto());
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        // Assert
+        assertEquals(4, requests.get());
+        assertThat(elapsedMillis).isLessThan(900);
+    }
+
+    @Test
+    void testValidate_MissingResourceFailsWithoutWaitingForSlowLookups() {
+        // Arrange
+        statuses.put("/vehicles/", 404);
+        delaysMillis.put("/workers/", 2_000L);
+        RemoteResourceValidator validator = validator(Duration.ofSeconds(5));
+
+        // Act
+        long started = System.nanoTime();
+        InvalidPickUpRequestException ex = assertThrows(InvalidPickUpRequestException.class,
+                () -> validator.validate(dto()));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        // Assert
+        assertEquals("Vehicle V001 not found", ex.getMessage());
+        assertThat(elapsedMillis).isLessThan(1_500);
+    }
+
+    @Test
+    void testValidate_DeadlineExceeded() {
+        // Arrange
+        delaysMillis.put("/zones/", 2_000L);
+        RemoteResourceValidator validator = validator(Duration.ofMillis(300));
+
+        // Act
+        long started = System.nanoTime();
+        assertThrows(DownstreamServiceException.class, () -> validator.validate(dto()));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        // Assert
+        assertThat(elapsedMillis).isLessThan(1_500);
+    }
+
+    @Test
+    void testValidate_ServerErrorIsDownstreamFailure() {
+        // Arrange
+        statuses.put("/workers/", 500);
+        RemoteResourceValidator validator = validator(Duration.ofSeconds(5));
+
+        // Act & Assert
+        assertThrows(DownstreamServiceException.class, () -> validator.validate(dto()));
+    }
+
+    @Test
+    void testValidateAll_LooksUpEachDistinctResourceOnce() {
+        // Arrange: 50 pickups over 2 zones, 5 vehicles and 10 workers, one of the vehicles missing
+        delaysMillis.put("/zones/", 100L);
+        delaysMillis.put("/vehicles/", 100L);
+        delaysMillis.put("/workers/", 100L);
+        statuses.put("/vehicles/V003", 404);
+        RemoteResourceValidator validator = validator(Duration.ofSeconds(5));
+        List<CreatePickUpDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            dtos.add(dto("Z00" + (i % 2), "V00" + (i % 5), "W0" + (i % 5), "W1" + (i % 5)));
+        }
+
+        // Act
+        long started = System.nanoTime();
+        Map<Integer, RuntimeException> errors = validator.validateAll(dtos);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        // Assert: 17 lookups of 100 ms, 16 at a time, instead of 200 one after the other
+        assertEquals(17, requests.get());
+        assertThat(elapsedMillis).isLessThan(2_000);
+        assertThat(errors).hasSize(10);
+        assertThat(errors.keySet()).allSatisfy(index -> assertEquals(3, index % 5));
+        assertThat(errors.get(3)).isInstanceOf(InvalidPickUpRequestException.class)
+                .hasMessage("Vehicle V003 not found");
+    }
+
+    @Test
+    void testValidateAll_ServerErrorFailsOnlyItemsUsingThatResource() {
+        // Arrange
+        statuses.put("/zones/Z009", 500);
+        RemoteResourceValidator validator = validator(Duration.ofSeconds(5));
+        List<CreatePickUpDto> dtos = List.of(dto(), dto("Z009", "V001", "W001", "W002"), dto());
+
+        // Act
+        Map<Integer, RuntimeException> errors = validator.validateAll(dtos);
+
+        // Assert
+        assertThat(errors).containsOnlyKeys(1);
+        assertThat(errors.get(1)).isInstanceOf(DownstreamServiceException.class);
+    }
+
+    private RemoteResourceValidator validator(Duration deadline) {
+        return new RemoteResourceValidator(WebClient.builder(), deadline, 16, baseUrl, baseUrl, baseUrl);
+    }
+
+    private CreatePickUpDto dto() {
+        return dto("Z001", "V001", "W001", "W002");
+    }
+
+    private CreatePickUpDto dto(String zoneId, String vehicleId, String worker1Id, String worker2Id) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return new CreatePickUpDto(zoneId, start, start.plusHours(1), Frequency.DAILY,
+                "Test Location", vehicleId, worker1Id, worker2Id);
+    }
+}
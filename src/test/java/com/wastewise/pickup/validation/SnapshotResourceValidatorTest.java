@@ -0,0 +1,69 @@
+package com.wastewise.pickup.validation;
+
+import com.wastewise.pickup.dto.CreatePickUpDto;
+import com.wastewise.pickup.dto.VehicleDto;
+import com.wastewise.pickup.dto.WorkerDto;
+import com.wastewise.pickup.dto.ZoneDto;
+import com.wastewise.pickup.exception.DownstreamServiceException;
+import com.wastewise.pickup.exception.InvalidPickUpRequestException;
+import com.wastewise.pickup.model.enums.Frequency;
+import com.wastewise.pickup.reference.Catalog;
+import com.wastewise.pickup.reference.ReferenceDataSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+class SnapshotResourceValidatorTest {
+
+    @Mock
+    private ReferenceDataSnapshot snapshot;
+
+    @InjectMocks
+    private SnapshotResourceValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(snapshot.vehicles()).thenReturn(Catalog.of(List.of(new VehicleDto("V001")), VehicleDto::getId, null, Instant.now()));
+        when(snapshot.workers()).thenReturn(Catalog.of(
+                List.of(new WorkerDto("W001", "Asha"), new WorkerDto("W002", "Ravi")), WorkerDto::getId, null, Instant.now()));
+    }
+
+    @Test
+    void testValidate_KnownAndUnknownResources() {
+        // Arrange
+        when(snapshot.zones()).thenReturn(Catalog.of(List.of(new ZoneDto("Z001", "North")), ZoneDto::getId, null, Instant.now()));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> validator.validate(dto("W002")));
+        InvalidPickUpRequestException ex = assertThrows(InvalidPickUpRequestException.class,
+                () -> validator.validate(dto("W003")));
+        assertEquals("Worker W003 not found", ex.getMessage());
+    }
+
+    @Test
+    void testValidate_CatalogNotLoaded() {
+        // Arrange
+        when(snapshot.zones()).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(DownstreamServiceException.class, () -> validator.validate(dto("W002")));
+    }
+
+    private CreatePickUpDto dto(String worker2Id) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return new CreatePickUpDto("Z001", start, start.plusHours(1), Frequency.DAILY,
+                "Test Location", "V001", "W001", worker2Id);
+    }
+}